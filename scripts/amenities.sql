@@ -7,5 +7,5 @@ INSERT INTO space_amenities (space_id, amenity) VALUES
 (105, 'Catering'), (105, 'Iluminação ambiente'), (105, 'Som e projeção'), (105, 'WiFi'),
 (106, 'Silencioso'), (106, 'WiFi'), (106, 'Ergonômico');
 SELECT setval('users_id_seq', 4);
-SELECT setval('spaces_id_seq', 107);
-SELECT setval('reservations_id_seq', 1005);
+SELECT setval('spaces_seq', 157);
+SELECT setval('reservations_seq', 1055);
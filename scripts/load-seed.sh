@@ -62,8 +62,8 @@ INSERT INTO reservations (id, space_id, user_name, user_email, user_phone, start
 VALUES (1004, 103, 'Maria Santos', 'maria.santos@example.com', '(11) 99999-0002', CURRENT_TIMESTAMP + INTERVAL '8 days' + INTERVAL '9 hours', CURRENT_TIMESTAMP + INTERVAL '10 days' + INTERVAL '12 hours', 'CONFIRMED', 1800.00, 'Treinamento de 3 dias - 40 participantes', NOW());
 
 SELECT setval('users_id_seq', (SELECT MAX(id) FROM users) + 1);
-SELECT setval('spaces_id_seq', (SELECT MAX(id) FROM spaces) + 1);
-SELECT setval('reservations_id_seq', (SELECT MAX(id) FROM reservations) + 1);
+SELECT setval('spaces_seq', (SELECT MAX(id) FROM spaces) + 50);
+SELECT setval('reservations_seq', (SELECT MAX(id) FROM reservations) + 50);
 
 SELECT 'Seed data loaded successfully!' AS status;
 EOF
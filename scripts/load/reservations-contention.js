@@ -0,0 +1,107 @@
+// Teste de contenção (k6): muitas atualizações concorrentes nas MESMAS reservas.
+//
+// Uso:
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=200 -e HOT=10 scripts/load/reservations-contention.js
+//
+// HOT reservas "quentes" são criadas no setup; cada iteração escolhe uma delas e
+// faz uma de duas escritas:
+//   - blind (50%): PUT sem If-Match; conflitos de versão são repetidos no servidor,
+//     então o esperado é 200 (409 só se as tentativas se esgotarem)
+//   - conditional (50%): GET + PUT com If-Match do ETag; 412 quando outra escrita
+//     passou na frente (o cliente deveria recarregar)
+//
+// Compare http_reqs (throughput de atualizações), update_duration p(95)/p(99) e
+// as taxas blind_update_ok / conditional_precondition_failed. Com várias instâncias
+// atrás de um balanceador, acompanhe também booking_optimistic_retries_total.
+import http from 'k6/http';
+import { check } from 'k6';
+import { Rate, Trend } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = parseInt(__ENV.VUS || '200', 10);
+const HOT = parseInt(__ENV.HOT || '10', 10);
+const EMAIL = __ENV.EMAIL || 'admin@example.com';
+const PASSWORD = __ENV.PASSWORD || 'admin123';
+
+const blindOk = new Rate('blind_update_ok');
+const preconditionFailed = new Rate('conditional_precondition_failed');
+const updateDuration = new Trend('update_duration', true);
+
+export const options = {
+    scenarios: {
+        contention: {
+            executor: 'constant-vus',
+            vus: VUS,
+            duration: __ENV.DURATION || '1m',
+        },
+    },
+    thresholds: {
+        blind_update_ok: ['rate>0.99'],
+        update_duration: ['p(95)<500'],
+    },
+};
+
+function isoAt(daysAhead, hour, minute) {
+    const d = new Date();
+    d.setUTCDate(d.getUTCDate() + daysAhead);
+    d.setUTCHours(hour, minute, 0, 0);
+    return d.toISOString().substring(0, 19);
+}
+
+export function setup() {
+    const res = http.post(`${BASE_URL}/api/auth/login`, JSON.stringify({ email: EMAIL, password: PASSWORD }),
+        { headers: { 'Content-Type': 'application/json' } });
+    check(res, { 'login ok': (r) => r.status === 200 });
+    const token = res.json('token');
+    const params = { headers: { Authorization: `Bearer ${token}`, 'Content-Type': 'application/json' } };
+    const spaces = http.get(`${BASE_URL}/api/spaces`, params).json();
+
+    // Horários distantes (400+ dias) para não colidir com outros testes
+    const hot = [];
+    for (let i = 0; i < HOT; i++) {
+        const created = http.post(`${BASE_URL}/api/reservations`, JSON.stringify({
+            spaceId: spaces[i % spaces.length].id,
+            userName: 'Contenção',
+            userEmail: EMAIL,
+            startTime: isoAt(400 + i, 9, 0),
+            endTime: isoAt(400 + i, 10, 0),
+        }), params);
+        check(created, { 'reserva quente criada': (r) => r.status === 200 });
+        const body = created.json();
+        hot.push({ id: body.id, startTime: body.startTime, endTime: body.endTime });
+    }
+    return { token, hot };
+}
+
+export default function (data) {
+    const params = { headers: { Authorization: `Bearer ${data.token}`, 'Content-Type': 'application/json' } };
+    const target = data.hot[Math.floor(Math.random() * data.hot.length)];
+    const body = JSON.stringify({
+        userName: 'Contenção',
+        userEmail: EMAIL,
+        startTime: target.startTime,
+        endTime: target.endTime,
+        notes: `vu ${__VU} iter ${__ITER}`,
+    });
+
+    if (Math.random() < 0.5) {
+        const res = http.put(`${BASE_URL}/api/reservations/${target.id}`, body, params);
+        updateDuration.add(res.timings.duration);
+        blindOk.add(res.status === 200);
+        check(res, { 'blind: 200': (r) => r.status === 200 });
+        return;
+    }
+
+    const current = http.get(`${BASE_URL}/api/reservations/${target.id}`, params);
+    const etag = current.headers['Etag'] || current.headers['ETag'];
+    const res = http.put(`${BASE_URL}/api/reservations/${target.id}`, body,
+        { headers: Object.assign({ 'If-Match': etag }, params.headers) });
+    updateDuration.add(res.timings.duration);
+    preconditionFailed.add(res.status === 412);
+    check(res, { 'conditional: 200 ou 412': (r) => r.status === 200 || r.status === 412 });
+}
+
+export function teardown(data) {
+    const params = { headers: { Authorization: `Bearer ${data.token}` } };
+    data.hot.forEach((r) => http.post(`${BASE_URL}/api/reservations/${r.id}/cancel`, null, params));
+}
@@ -0,0 +1,94 @@
+// Teste de carga (k6) para comparar o modo de threads da plataforma com virtual threads.
+//
+// Uso (mesma máquina/banco para os dois modos):
+//   VIRTUAL_THREADS=false ./mvnw spring-boot:run   (ou docker compose com a variável)
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=1000 scripts/load/reservations-load.js
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=5000 scripts/load/reservations-load.js
+//   VIRTUAL_THREADS=true ./mvnw spring-boot:run   e repetir os dois comandos acima
+//
+// Compare http_reqs (throughput), http_req_duration p(95)/p(99) e a taxa de 503
+// (requisições descartadas pelo limitador de concorrência).
+//
+// Mistura: 70% leituras (catálogo, matriz de disponibilidade, busca de espaço),
+// 30% escritas (criação + cancelamento de reserva em horário aleatório).
+import http from 'k6/http';
+import { check } from 'k6';
+import { Rate } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = parseInt(__ENV.VUS || '1000', 10);
+const EMAIL = __ENV.EMAIL || 'admin@example.com';
+const PASSWORD = __ENV.PASSWORD || 'admin123';
+
+const shed = new Rate('requests_shed');
+
+export const options = {
+    scenarios: {
+        steady: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: VUS },
+                { duration: '2m', target: VUS },
+                { duration: '15s', target: 0 },
+            ],
+            gracefulRampDown: '10s',
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.05'],
+        http_req_duration: ['p(95)<2000'],
+    },
+};
+
+export function setup() {
+    const res = http.post(`${BASE_URL}/api/auth/login`, JSON.stringify({ email: EMAIL, password: PASSWORD }),
+        { headers: { 'Content-Type': 'application/json' } });
+    check(res, { 'login ok': (r) => r.status === 200 });
+    const token = res.json('token');
+    const spaces = http.get(`${BASE_URL}/api/spaces`, { headers: { Authorization: `Bearer ${token}` } }).json();
+    return { token, spaceIds: spaces.map((s) => s.id) };
+}
+
+function isoAt(daysAhead, hour, minute) {
+    const d = new Date();
+    d.setUTCDate(d.getUTCDate() + daysAhead);
+    d.setUTCHours(hour, minute, 0, 0);
+    return d.toISOString().substring(0, 19);
+}
+
+export default function (data) {
+    const params = { headers: { Authorization: `Bearer ${data.token}`, 'Content-Type': 'application/json' } };
+    const spaceId = data.spaceIds[Math.floor(Math.random() * data.spaceIds.length)];
+    const roll = Math.random();
+    let res;
+
+    if (roll < 0.3) {
+        res = http.get(`${BASE_URL}/api/spaces/available`, params);
+    } else if (roll < 0.5) {
+        res = http.get(`${BASE_URL}/api/availability/matrix?days=7`, params);
+    } else if (roll < 0.7) {
+        const day = 1 + Math.floor(Math.random() * 60);
+        res = http.get(`${BASE_URL}/api/allocation?capacity=4&maxPrice=500`
+            + `&startTime=${isoAt(day, 9, 0)}&endTime=${isoAt(day, 10, 0)}`, params);
+    } else {
+        const day = 1 + Math.floor(Math.random() * 365);
+        const hour = 8 + Math.floor(Math.random() * 10);
+        const minute = 15 * Math.floor(Math.random() * 4);
+        res = http.post(`${BASE_URL}/api/reservations`, JSON.stringify({
+            spaceId,
+            userName: 'Carga',
+            userEmail: EMAIL,
+            startTime: isoAt(day, hour, minute),
+            endTime: isoAt(day, hour + 1, minute),
+        }), params);
+        // 400 = conflito de horário (esperado sob carga)
+        check(res, { 'reserva criada ou conflito': (r) => r.status === 200 || r.status === 400 });
+        if (res.status === 200) {
+            http.post(`${BASE_URL}/api/reservations/${res.json('id')}/cancel`, null, params);
+        }
+    }
+
+    shed.add(res.status === 503);
+    check(res, { 'sem erro 5xx': (r) => r.status < 500 || r.status === 503 });
+}
@@ -191,5 +191,5 @@ VALUES (1004, 103, 'Maria Santos', 'maria.santos@example.com', '(11) 99999-0002'
 -- ============================================================
 
 SELECT setval('users_id_seq', (SELECT MAX(id) FROM users) + 1);
-SELECT setval('spaces_id_seq', (SELECT MAX(id) FROM spaces) + 1);
-SELECT setval('reservations_id_seq', (SELECT MAX(id) FROM reservations) + 1);
+SELECT setval('spaces_seq', (SELECT MAX(id) FROM spaces) + 50);
+SELECT setval('reservations_seq', (SELECT MAX(id) FROM reservations) + 50);
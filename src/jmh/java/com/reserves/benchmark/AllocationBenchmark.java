@@ -0,0 +1,57 @@
+package com.reserves.benchmark;
+
+import com.reserves.algorithm.AllocationService;
+import com.reserves.model.Space;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * allocateOptimal (5 candidatos, verificação de ocupação em lote) e
+ * calculateOccupancyScore (rollups diários versus bitmap com bitCount).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AllocationBenchmark {
+
+    private static final int SPACES = 100;
+    private static final int QUERIES = 1024;
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int reservations;
+
+    @Param({"index", "bitmap", "repository"})
+    public String mode;
+
+    private AllocationService allocationService;
+    private List<Space> candidates;
+    private Space scored;
+    private LocalDateTime[][] windows;
+    private int next;
+
+    @Setup
+    public void setup() {
+        SyntheticCalendar calendar = new SyntheticCalendar(SPACES, reservations);
+        allocationService = calendar.allocationService("index".equals(mode), "bitmap".equals(mode));
+        candidates = calendar.spaces.subList(0, 5);
+        scored = calendar.spaces.get(0);
+        windows = SyntheticCalendar.queryWindows(QUERIES, 11);
+    }
+
+    @Benchmark
+    public Space allocateOptimal() {
+        LocalDateTime[] window = windows[next++ & (QUERIES - 1)];
+        return allocationService.allocateOptimal(candidates, window[0], window[1]);
+    }
+
+    @Benchmark
+    public double calculateOccupancyScore() {
+        return allocationService.calculateOccupancyScore(scored);
+    }
+}
@@ -0,0 +1,48 @@
+package com.reserves.benchmark;
+
+import com.reserves.dto.AvailabilityMatrixDTO;
+import com.reserves.model.Space;
+import com.reserves.service.AvailabilityMatrixService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matriz de disponibilidade de 50 espaços × 14 dias, a partir do índice
+ * em memória ou da range query (stand-in do repositório).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AvailabilityMatrixBenchmark {
+
+    private static final int SPACES = 100;
+
+    @Param({"1000", "100000", "1000000"})
+    public int reservations;
+
+    @Param({"true", "false"})
+    public boolean indexed;
+
+    private AvailabilityMatrixService matrixService;
+    private List<Space> spaces;
+    private LocalDate from;
+
+    @Setup
+    public void setup() {
+        SyntheticCalendar calendar = new SyntheticCalendar(SPACES, reservations);
+        matrixService = calendar.matrixService(indexed);
+        spaces = calendar.spaces.subList(0, 50);
+        from = SyntheticCalendar.ORIGIN.plusDays(120);
+    }
+
+    @Benchmark
+    public AvailabilityMatrixDTO build() {
+        return matrixService.build(spaces, from, 14);
+    }
+}
@@ -0,0 +1,39 @@
+package com.reserves.benchmark;
+
+import com.reserves.algorithm.AllocationService;
+import com.reserves.model.Space;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * bestFitDecreasing sobre catálogos de 10 a 100k espaços (documentado como O(n log n)).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BestFitDecreasingBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int spaces;
+
+    private AllocationService allocationService;
+    private List<Space> candidates;
+
+    @Setup
+    public void setup() {
+        SyntheticCalendar calendar = new SyntheticCalendar(spaces, 0);
+        allocationService = calendar.allocationService(true, false);
+        candidates = calendar.spaces;
+    }
+
+    @Benchmark
+    public List<Space> bestFitDecreasing() {
+        return allocationService.bestFitDecreasing(candidates, 20, BigDecimal.valueOf(300));
+    }
+}
@@ -0,0 +1,50 @@
+package com.reserves.benchmark;
+
+import com.reserves.algorithm.AllocationService;
+import com.reserves.model.Space;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * hasConflict com o índice de intervalos em memória ("index"), com o bitmap
+ * como pré-filtro ("bitmap") e pelo caminho do repositório ("repository").
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ConflictDetectionBenchmark {
+
+    private static final int SPACES = 100;
+    private static final int QUERIES = 1024;
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int reservations;
+
+    @Param({"index", "bitmap", "repository"})
+    public String mode;
+
+    private AllocationService allocationService;
+    private Space[] spaces;
+    private LocalDateTime[][] windows;
+    private int next;
+
+    @Setup
+    public void setup() {
+        SyntheticCalendar calendar = new SyntheticCalendar(SPACES, reservations);
+        allocationService = calendar.allocationService("index".equals(mode), "bitmap".equals(mode));
+        spaces = calendar.spaces.toArray(new Space[0]);
+        windows = SyntheticCalendar.queryWindows(QUERIES, 7);
+    }
+
+    @Benchmark
+    public boolean hasConflict() {
+        int i = next++ & (QUERIES - 1);
+        LocalDateTime[] window = windows[i];
+        return allocationService.hasConflict(spaces[i % spaces.length], window[0], window[1]);
+    }
+}
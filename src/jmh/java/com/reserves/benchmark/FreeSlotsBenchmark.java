@@ -0,0 +1,71 @@
+package com.reserves.benchmark;
+
+import com.reserves.algorithm.AllocationService;
+import com.reserves.algorithm.AllocationService.TimeSlot;
+import com.reserves.model.Space;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca de slots livres em uma semana de um espaço: sweep line sobre listas
+ * ("sweep", caminho padrão) versus bitmap de 15 min ("bitmap"), e as etapas
+ * mergeIntervals/calculateGaps isoladas sobre a lista já ordenada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FreeSlotsBenchmark {
+
+    private static final int SPACES = 100;
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int reservations;
+
+    @Param({"sweep", "bitmap"})
+    public String representation;
+
+    private AllocationService allocationService;
+    private Space space;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<TimeSlot> sortedOccupied;
+    private List<TimeSlot> merged;
+
+    @Setup
+    public void setup() {
+        SyntheticCalendar calendar = new SyntheticCalendar(SPACES, reservations);
+        allocationService = calendar.allocationService(true, "bitmap".equals(representation));
+        space = calendar.spaces.get(0);
+        from = SyntheticCalendar.ORIGIN.plusDays(100).atStartOfDay();
+        to = from.plusDays(7);
+
+        sortedOccupied = new ArrayList<>();
+        calendar.repository.findConflictingReservations(space.getId(), from, to)
+                .forEach(r -> sortedOccupied.add(new TimeSlot(r.getStartTime(), r.getEndTime())));
+        sortedOccupied.sort(Comparator.comparing(TimeSlot::getStart));
+        merged = AllocationService.mergeIntervals(sortedOccupied);
+    }
+
+    @Benchmark
+    public List<TimeSlot> getAvailableSlots() {
+        return allocationService.getAvailableSlots(space, from, to);
+    }
+
+    @Benchmark
+    public List<TimeSlot> mergeIntervals() {
+        return AllocationService.mergeIntervals(sortedOccupied);
+    }
+
+    @Benchmark
+    public List<TimeSlot> calculateGaps() {
+        return AllocationService.calculateGaps(merged, from, to);
+    }
+}
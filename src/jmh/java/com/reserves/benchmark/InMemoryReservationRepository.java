@@ -0,0 +1,209 @@
+package com.reserves.benchmark;
+
+import com.reserves.model.Reservation;
+import com.reserves.model.ReservationStatus;
+import com.reserves.repository.OccupancyTotalsView;
+import com.reserves.repository.ReservationRepository;
+import com.reserves.repository.ReservationSeriesRepository;
+import com.reserves.repository.ReservationSlotView;
+import com.reserves.repository.SpaceDailyOccupancyRepository;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Stand-in em memória do ReservationRepository para os benchmarks.
+ *
+ * Implementa só as consultas usadas pelos algoritmos medidos, com o mesmo
+ * critério do JPQL e reservas ordenadas por início (como o índice
+ * (space_id, start_time) do banco). Qualquer outro método lança
+ * UnsupportedOperationException, para que um novo acesso ao repositório
+ * não passe despercebido no benchmark.
+ */
+final class InMemoryReservationRepository {
+
+    private final Map<Long, List<Reservation>> bySpace = new HashMap<>();
+    private int size;
+
+    void add(Reservation reservation) {
+        bySpace.computeIfAbsent(reservation.getSpace().getId(), k -> new ArrayList<>()).add(reservation);
+        size++;
+    }
+
+    void sort() {
+        bySpace.values().forEach(list -> list.sort(Comparator.comparing(Reservation::getStartTime)));
+    }
+
+    int size() {
+        return size;
+    }
+
+    List<Reservation> findConflictingReservations(Long spaceId, LocalDateTime start, LocalDateTime end) {
+        List<Reservation> result = new ArrayList<>();
+        for (Reservation r : bySpace.getOrDefault(spaceId, List.of())) {
+            if (!r.getStartTime().isBefore(end)) {
+                break;
+            }
+            if (r.getStatus() != ReservationStatus.CANCELLED && r.getEndTime().isAfter(start)) {
+                result.add(r);
+            }
+        }
+        return result;
+    }
+
+    boolean existsConflictingReservation(Long spaceId, LocalDateTime start, LocalDateTime end, Long excludeId) {
+        return findConflictingReservations(spaceId, start, end).stream()
+                .anyMatch(r -> excludeId == null || !r.getId().equals(excludeId));
+    }
+
+    List<Long> findSpaceIdsWithConflicts(Collection<Long> spaceIds, LocalDateTime start, LocalDateTime end) {
+        return spaceIds.stream()
+                .filter(id -> existsConflictingReservation(id, start, end, null))
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    List<ReservationSlotView> findActiveSlotsBetween(Collection<Long> spaceIds, LocalDateTime start, LocalDateTime end) {
+        List<ReservationSlotView> result = new ArrayList<>();
+        for (Long spaceId : spaceIds) {
+            findConflictingReservations(spaceId, start, end).forEach(r -> result.add(view(r)));
+        }
+        return result;
+    }
+
+    List<ReservationSlotView> findActiveSlots() {
+        List<ReservationSlotView> result = new ArrayList<>(size);
+        bySpace.values().forEach(list -> list.stream()
+                .filter(r -> r.getStatus() != ReservationStatus.CANCELLED)
+                .forEach(r -> result.add(view(r))));
+        return result;
+    }
+
+    // Mesmo resultado dos rollups diários: minutos ativos dentro de [from, to)
+    long sumBookedMinutes(Long spaceId, LocalDate from, LocalDate to) {
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.atStartOfDay();
+        long minutes = 0;
+        for (Reservation r : findConflictingReservations(spaceId, start, end)) {
+            LocalDateTime s = r.getStartTime().isAfter(start) ? r.getStartTime() : start;
+            LocalDateTime e = r.getEndTime().isBefore(end) ? r.getEndTime() : end;
+            minutes += Duration.between(s, e).toMinutes();
+        }
+        return minutes;
+    }
+
+    // Totais dos rollups por espaço em [from, to) — só os minutos são usados pelos algoritmos
+    List<OccupancyTotalsView> sumBySpace(LocalDate from, LocalDate to) {
+        List<OccupancyTotalsView> result = new ArrayList<>(bySpace.size());
+        for (Long spaceId : bySpace.keySet()) {
+            long minutes = sumBookedMinutes(spaceId, from, to);
+            result.add(new OccupancyTotalsView() {
+                @Override public Long getSpaceId() { return spaceId; }
+                @Override public Long getBookedMinutes() { return minutes; }
+                @Override public BigDecimal getRevenue() { return BigDecimal.ZERO; }
+                @Override public Long getReservationCount() { return 0L; }
+                @Override public Long getCancellationCount() { return 0L; }
+            });
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    ReservationRepository asRepository() {
+        return (ReservationRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[] { ReservationRepository.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findConflictingReservations":
+                            return findConflictingReservations((Long) args[0], (LocalDateTime) args[1], (LocalDateTime) args[2]);
+                        case "existsConflictingReservation":
+                            return existsConflictingReservation((Long) args[0], (LocalDateTime) args[1], (LocalDateTime) args[2], (Long) args[3]);
+                        case "findSpaceIdsWithConflicts":
+                            return findSpaceIdsWithConflicts((Collection<Long>) args[0], (LocalDateTime) args[1], (LocalDateTime) args[2]);
+                        case "findActiveSlotsBetween":
+                            return findActiveSlotsBetween((Collection<Long>) args[0], (LocalDateTime) args[1], (LocalDateTime) args[2]);
+                        case "findActiveSlots":
+                            return findActiveSlots();
+                        case "toString":
+                            return "InMemoryReservationRepository(" + size + ")";
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            throw new UnsupportedOperationException("Não implementado no stand-in: " + method.getName());
+                    }
+                });
+    }
+
+    /**
+     * Rollups de ocupação calculados a partir das mesmas reservas.
+     */
+    SpaceDailyOccupancyRepository asRollupRepository() {
+        return (SpaceDailyOccupancyRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[] { SpaceDailyOccupancyRepository.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "sumBookedMinutes":
+                            return sumBookedMinutes((Long) args[0], (LocalDate) args[1], (LocalDate) args[2]);
+                        case "sumBySpace":
+                            if (args.length == 2) {
+                                return sumBySpace((LocalDate) args[0], (LocalDate) args[1]);
+                            }
+                            throw new UnsupportedOperationException("Não implementado no stand-in: sumBySpace(ids, from, to)");
+                        case "toString":
+                            return "InMemoryRollupRepository(" + size + ")";
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            throw new UnsupportedOperationException("Não implementado no stand-in: " + method.getName());
+                    }
+                });
+    }
+
+    /**
+     * Repositório de séries sem nenhuma série ativa.
+     */
+    static ReservationSeriesRepository emptySeriesRepository() {
+        return (ReservationSeriesRepository) Proxy.newProxyInstance(
+                InMemoryReservationRepository.class.getClassLoader(),
+                new Class<?>[] { ReservationSeriesRepository.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findAllActive":
+                        case "findActiveBySpaceId":
+                            return List.of();
+                        case "toString":
+                            return "EmptySeriesRepository";
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            throw new UnsupportedOperationException("Não implementado no stand-in: " + method.getName());
+                    }
+                });
+    }
+
+    private static ReservationSlotView view(Reservation r) {
+        Long id = r.getId();
+        Long spaceId = r.getSpace().getId();
+        LocalDateTime start = r.getStartTime();
+        LocalDateTime end = r.getEndTime();
+        return new ReservationSlotView() {
+            @Override public Long getId() { return id; }
+            @Override public Long getSpaceId() { return spaceId; }
+            @Override public LocalDateTime getStartTime() { return start; }
+            @Override public LocalDateTime getEndTime() { return end; }
+        };
+    }
+}
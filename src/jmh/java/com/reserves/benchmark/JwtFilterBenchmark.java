@@ -0,0 +1,87 @@
+package com.reserves.benchmark;
+
+import com.reserves.monitoring.BookingMetrics;
+import com.reserves.security.JwtRequestFilter;
+import com.reserves.security.JwtUtil;
+import com.reserves.service.CustomUserDetailsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do JwtRequestFilter por requisição.
+ *
+ * - "legacy": token sem claim de roles, usuário carregado pelo UserDetailsService
+ *   (o stand-in só cria o objeto; em produção é uma consulta ao banco)
+ * - "claims": roles no token, sem cache de tokens verificados
+ * - "cached": roles no token e cache de tokens verificados
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret";
+
+    @Param({"legacy", "claims", "cached"})
+    public String mode;
+
+    private JwtRequestFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setup() {
+        JwtUtil jwtUtil = new JwtUtil("cached".equals(mode), 10_000, Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3_600_000L);
+
+        UserDetails user = new User("admin@bench.local", "",
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        String token = "legacy".equals(mode)
+                ? io.jsonwebtoken.Jwts.builder()
+                    .setSubject(user.getUsername())
+                    .setExpiration(new java.util.Date(System.currentTimeMillis() + 3_600_000L))
+                    .signWith(io.jsonwebtoken.SignatureAlgorithm.HS256, SECRET)
+                    .compact()
+                : jwtUtil.generateToken(user);
+        authorization = "Bearer " + token;
+
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService() {
+            @Override
+            public UserDetails loadUserByUsername(String username) {
+                return new User(username, "", List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+            }
+        };
+
+        filter = new JwtRequestFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "metrics", new BookingMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Benchmark
+    public Object doFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/spaces");
+        request.addHeader("Authorization", authorization);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
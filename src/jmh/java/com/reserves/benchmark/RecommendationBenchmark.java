@@ -0,0 +1,69 @@
+package com.reserves.benchmark;
+
+import com.reserves.algorithm.SpaceRecommender;
+import com.reserves.model.Space;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SpaceRecommender.recommend (top-10 por score, com verificação de
+ * disponibilidade no índice em memória) sobre catálogos de 10 a 10k espaços.
+ * Meta: abaixo de 1 ms por busca com 10k espaços.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RecommendationBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int spaces;
+
+    private SpaceRecommender recommender;
+    private List<Space> catalog;
+    private SpaceRecommender.Criteria criteria;
+    private SpaceRecommender.Criteria criteriaWithPreferences;
+
+    @Setup
+    public void setup() {
+        SyntheticCalendar calendar = new SyntheticCalendar(spaces, spaces * 20);
+        recommender = calendar.recommender(true);
+        catalog = calendar.spaces;
+
+        LocalDateTime[] window = SyntheticCalendar.queryWindows(1, 7)[0];
+        criteria = new SpaceRecommender.Criteria();
+        criteria.setCapacity(20);
+        criteria.setMaxPrice(BigDecimal.valueOf(300));
+        criteria.setStartTime(window[0]);
+        criteria.setEndTime(window[1]);
+        criteria.setLimit(10);
+
+        criteriaWithPreferences = new SpaceRecommender.Criteria();
+        criteriaWithPreferences.setCapacity(20);
+        criteriaWithPreferences.setStartTime(window[0]);
+        criteriaWithPreferences.setEndTime(window[1]);
+        criteriaWithPreferences.setAmenities(List.of(SyntheticCalendar.AMENITIES[0], SyntheticCalendar.AMENITIES[2]));
+        criteriaWithPreferences.setFloor("3");
+        criteriaWithPreferences.setLocation("Bloco B");
+        criteriaWithPreferences.setLimit(10);
+
+        // Índice do catálogo e snapshot de ocupação prontos antes da medição
+        recommender.recommend(catalog, criteria);
+    }
+
+    @Benchmark
+    public List<SpaceRecommender.Recommendation> recommend() {
+        return recommender.recommend(catalog, criteria);
+    }
+
+    @Benchmark
+    public List<SpaceRecommender.Recommendation> recommendWithPreferences() {
+        return recommender.recommend(catalog, criteriaWithPreferences);
+    }
+}
@@ -0,0 +1,134 @@
+package com.reserves.benchmark;
+
+import com.reserves.algorithm.AllocationService;
+import com.reserves.algorithm.RecurringSeriesIndex;
+import com.reserves.algorithm.ReservationIntervalIndex;
+import com.reserves.algorithm.SpaceOccupancyBitmaps;
+import com.reserves.algorithm.SpaceRecommender;
+import com.reserves.model.Reservation;
+import com.reserves.model.ReservationStatus;
+import com.reserves.model.Space;
+import com.reserves.model.SpaceType;
+import com.reserves.service.AvailabilityMatrixService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Calendário sintético e determinístico (seed fixa) para os benchmarks.
+ *
+ * As reservas são distribuídas entre os espaços ao longo de DAYS dias a
+ * partir de ORIGIN, com início em múltiplos de 15 min (8h-20h) e duração de
+ * 30 a 180 min; com muitas reservas por espaço o calendário fica denso e há
+ * sobreposição (o pior caso para merge/sweep).
+ */
+final class SyntheticCalendar {
+
+    static final LocalDate ORIGIN = LocalDate.of(2026, 1, 5);
+    static final int DAYS = 365;
+
+    private static final SpaceType[] TYPES = SpaceType.values();
+    static final String[] AMENITIES = { "Projetor", "Wi-Fi", "Ar-condicionado", "Quadro branco", "Videoconferência" };
+
+    final List<Space> spaces;
+    final InMemoryReservationRepository repository = new InMemoryReservationRepository();
+
+    SyntheticCalendar(int spaceCount, int reservationCount) {
+        Random random = new Random(42);
+        spaces = new ArrayList<>(spaceCount);
+        for (int i = 0; i < spaceCount; i++) {
+            spaces.add(space(i + 1, random));
+        }
+        LocalDateTime createdAt = LocalDateTime.now().minusDays(10);
+        for (int i = 0; i < reservationCount; i++) {
+            Space space = spaces.get(random.nextInt(spaceCount));
+            LocalDateTime start = ORIGIN.plusDays(random.nextInt(DAYS)).atTime(8, 0)
+                    .plusMinutes(15L * random.nextInt(48));
+            Reservation r = new Reservation();
+            r.setId((long) i + 1);
+            r.setSpace(space);
+            r.setUserName("Usuário " + (i % 1000));
+            r.setUserEmail("user" + (i % 1000) + "@bench.local");
+            r.setStartTime(start);
+            r.setEndTime(start.plusMinutes(30L + 15L * random.nextInt(11)));
+            r.setStatus(ReservationStatus.CONFIRMED);
+            r.setTotalPrice(space.getPricePerHour());
+            r.setCreatedAt(createdAt);
+            repository.add(r);
+        }
+        repository.sort();
+    }
+
+    private static Space space(long id, Random random) {
+        Space s = new Space();
+        s.setId(id);
+        s.setName("Espaço " + id);
+        s.setType(TYPES[random.nextInt(TYPES.length)]);
+        s.setCapacity(2 + random.nextInt(200));
+        s.setPricePerHour(BigDecimal.valueOf(20 + random.nextInt(480)));
+        s.setAvailable(true);
+        // Andar, localização e comodidades derivados do id (não consomem o Random)
+        s.setFloor(String.valueOf(id % 10));
+        s.setLocation("Bloco " + (char) ('A' + id % 4));
+        List<String> amenities = new ArrayList<>();
+        for (int a = 0; a < AMENITIES.length; a++) {
+            if (((id >> a) & 1) == 1) {
+                amenities.add(AMENITIES[a]);
+            }
+        }
+        s.setAmenities(amenities);
+        return s;
+    }
+
+    /**
+     * Índice de intervalos: ativo (reconstruído a partir do stand-in) ou desabilitado (consultas vão ao repositório).
+     */
+    ReservationIntervalIndex intervalIndex(boolean enabled) {
+        ReservationIntervalIndex index = new ReservationIntervalIndex(repository.asRepository());
+        ReflectionTestUtils.setField(index, "enabled", enabled);
+        index.rebuild();
+        return index;
+    }
+
+    static RecurringSeriesIndex emptySeriesIndex() {
+        RecurringSeriesIndex index = new RecurringSeriesIndex(InMemoryReservationRepository.emptySeriesRepository());
+        index.rebuild();
+        return index;
+    }
+
+    AllocationService allocationService(boolean indexed, boolean bitmaps) {
+        ReservationIntervalIndex index = intervalIndex(indexed || bitmaps);
+        return new AllocationService(repository.asRepository(), index, emptySeriesIndex(),
+                new SpaceOccupancyBitmaps(index, bitmaps, 100_000, Duration.ofHours(1)),
+                repository.asRollupRepository());
+    }
+
+    SpaceRecommender recommender(boolean indexed) {
+        return new SpaceRecommender(repository.asRepository(), intervalIndex(indexed), emptySeriesIndex(),
+                repository.asRollupRepository(), SpaceRecommender.DEFAULT_WEIGHTS, 12, Duration.ofMinutes(5));
+    }
+
+    AvailabilityMatrixService matrixService(boolean indexed) {
+        return new AvailabilityMatrixService(repository.asRepository(), intervalIndex(indexed), emptySeriesIndex());
+    }
+
+    /**
+     * Janelas de consulta pseudo-aleatórias (1h a 4h) dentro do calendário.
+     */
+    static LocalDateTime[][] queryWindows(int count, long seed) {
+        Random random = new Random(seed);
+        LocalDateTime[][] windows = new LocalDateTime[count][];
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = ORIGIN.plusDays(random.nextInt(DAYS)).atTime(8, 0)
+                    .plusMinutes(15L * random.nextInt(48));
+            windows[i] = new LocalDateTime[] { start, start.plusMinutes(60L * (1 + random.nextInt(4))) };
+        }
+        return windows;
+    }
+}
@@ -34,6 +34,7 @@ public class ReservesApplication {
                         .allowedOrigins("http://localhost:5173", "http://localhost:3000")
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH")
                         .allowedHeaders("*")
+                        .exposedHeaders("X-Next-Cursor", "ETag", "Idempotent-Replayed")
                         .allowCredentials(true)
                         .maxAge(3600);
             }
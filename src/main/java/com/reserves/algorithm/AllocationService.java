@@ -3,6 +3,8 @@ package com.reserves.algorithm;
 import com.reserves.model.Reservation;
 import com.reserves.model.Space;
 import com.reserves.repository.ReservationRepository;
+import com.reserves.repository.SpaceDailyOccupancyRepository;
+import com.reserves.service.ReservationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -32,6 +34,10 @@ import java.util.stream.Collectors;
 public class AllocationService {
     
     private final ReservationRepository reservationRepository;
+    private final ReservationIntervalIndex intervalIndex;
+    private final RecurringSeriesIndex seriesIndex;
+    private final SpaceOccupancyBitmaps occupancyBitmaps;
+    private final SpaceDailyOccupancyRepository occupancyRollups;
     
     /**
      * Algoritmo 1: Best Fit Decreasing (BFD)
@@ -45,6 +51,8 @@ public class AllocationService {
      * @return Top 5 espaços ordenados por melhor ajuste
      * 
      * Complexidade: O(n log n) - dominado pela ordenação
+     * 
+     * A busca da API usa o SpaceRecommender (score multicritério com top-k em heap).
      */
     public List<Space> bestFitDecreasing(
             List<Space> candidateSpaces,
@@ -61,9 +69,10 @@ public class AllocationService {
                 .filter(space -> space.getPricePerHour().compareTo(maxPrice) <= 0)
                 // Ordenação: Preço (ascending) → Capacidade (descending)
                 // Critério: Espaço que custa menos e é mais justo
+                // (reverseOrder só no desempate: .reversed() no fim inverteria o preço também)
                 .sorted(Comparator
                         .comparing(Space::getPricePerHour)
-                        .thenComparingInt((Space s) -> s.getCapacity()).reversed()
+                        .thenComparing(Space::getCapacity, Comparator.reverseOrder())
                 )
                 // Top 5 resultados
                 .limit(5)
@@ -83,9 +92,10 @@ public class AllocationService {
      * 
      * Complexidade: O(log n + k) onde k = número de conflitos encontrados
      * 
-     * SQL Query otimizado com índices:
-     * CREATE INDEX idx_reservations_time ON reservations(start_time, end_time);
-     * CREATE INDEX idx_reservations_space ON reservations(space_id);
+     * Usa o ReservationIntervalIndex em memória; enquanto ele não estiver
+     * pronto, recorre ao banco, atendido pelo índice parcial da migração V2:
+     * idx_reservations_active_space_start ON reservations (space_id, start_time)
+     * INCLUDE (end_time) WHERE status <> 'CANCELLED'
      */
     public boolean hasConflict(
             Space space,
@@ -95,22 +105,31 @@ public class AllocationService {
         log.debug("Verificando conflito para espaço {}, intervalo [{}, {})",
                 space.getId(), startTime, endTime);
         
-        // Query com Range Tree emulado pelo BD
-        List<Reservation> conflicts = reservationRepository.findConflictingReservations(
-                space.getId(),
-                startTime,
-                endTime
-            );
-        
-        boolean hasConflict = !conflicts.isEmpty();
+        boolean hasConflict;
+        if (occupancyBitmaps.isActive() && isFreeInBitmap(space.getId(), startTime, endTime)) {
+            // Bitmap é conservador: slots livres garantem ausência de reserva simples
+            hasConflict = false;
+        } else if (intervalIndex.isActive()) {
+            hasConflict = intervalIndex.hasConflict(space.getId(), startTime, endTime, null);
+        } else {
+            hasConflict = reservationRepository.existsConflictingReservation(space.getId(), startTime, endTime, null);
+        }
+        hasConflict = hasConflict || seriesIndex.hasConflict(space.getId(), startTime, endTime, null);
         if (hasConflict) {
-            log.warn("Conflito detectado! Espaço {} tem {} reservas conflitantes",
-                    space.getId(), conflicts.size());
+            log.warn("Conflito detectado! Espaço {} já possui reserva em [{}, {})",
+                    space.getId(), startTime, endTime);
         }
         
         return hasConflict;
     }
     
+    private boolean isFreeInBitmap(Long spaceId, LocalDateTime startTime, LocalDateTime endTime) {
+        OccupancyBitmap bitmap = occupancyBitmaps.window(spaceId, startTime, endTime);
+        int from = (int) bitmap.slotOf(startTime);
+        int to = (int) bitmap.slotOf(endTime.minusNanos(1)) + 1;
+        return !bitmap.anyOccupied(from, to);
+    }
+    
     /**
      * Algoritmo 3: Merge Intervals & Sweep Line
      * 
@@ -136,18 +155,12 @@ public class AllocationService {
         log.info("Buscando slots livres para espaço {} em [{}, {})",
                 space.getId(), startTime, endTime);
         
-        // 1. Buscar todas as reservas que conflitam (já exclui CANCELLED)
-        List<Reservation> reservations = reservationRepository.findConflictingReservations(
-                space.getId(),
-                startTime,
-                endTime
-            );
+        if (occupancyBitmaps.isActive()) {
+            return getAvailableSlotsFromBitmap(space.getId(), startTime, endTime);
+        }
         
-        // 2. Converter para TimeSlots e ordenar
-        List<TimeSlot> occupied = reservations.stream()
-                .map(r -> new TimeSlot(r.getStartTime(), r.getEndTime()))
-                .sorted(Comparator.comparing(TimeSlot::getStart))
-                .collect(Collectors.toList());
+        // 1-2. Intervalos ocupados (já exclui CANCELLED), ordenados por início
+        List<TimeSlot> occupied = findOccupiedSlots(space.getId(), startTime, endTime);
         
         // 3. Merge overlapping intervals
         List<TimeSlot> merged = mergeIntervals(occupied);
@@ -161,6 +174,59 @@ public class AllocationService {
         return gaps;
     }
     
+    /**
+     * Variante com bitmap: percorre os runs de slots livres palavra a palavra
+     * (numberOfTrailingZeros) em vez de ordenar e mesclar intervalos.
+     * Os limites internos dos slots livres ficam alinhados a 15 minutos.
+     * 
+     * Complexidade: O(w + g) onde w = palavras da janela, g = gaps encontrados
+     */
+    private List<TimeSlot> getAvailableSlotsFromBitmap(Long spaceId, LocalDateTime startTime, LocalDateTime endTime) {
+        OccupancyBitmap bitmap = occupancyBitmaps.window(spaceId, startTime, endTime);
+        seriesIndex.occupied(spaceId, startTime, endTime)
+                .forEach(slot -> bitmap.markOccupied(slot.getStart(), slot.getEnd()));
+        
+        int first = (int) bitmap.slotOf(startTime);
+        int last = (int) bitmap.slotOf(endTime.minusNanos(1)) + 1;
+        
+        List<TimeSlot> gaps = new ArrayList<>();
+        int slot = bitmap.nextFree(first);
+        while (slot < last) {
+            int occupiedAt = Math.min(last, bitmap.nextOccupied(slot));
+            LocalDateTime gapStart = max(startTime, bitmap.slotStart(slot));
+            LocalDateTime gapEnd = min(endTime, bitmap.slotStart(occupiedAt));
+            gaps.add(new TimeSlot(gapStart, gapEnd));
+            slot = bitmap.nextFree(occupiedAt);
+        }
+        return gaps;
+    }
+    
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+    
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+    
+    /**
+     * Intervalos ocupados de um espaço que tocam [startTime, endTime),
+     * vindos do índice em memória ou, como fallback, do banco, somados
+     * às ocorrências de séries recorrentes expandidas na janela.
+     */
+    private List<TimeSlot> findOccupiedSlots(Long spaceId, LocalDateTime startTime, LocalDateTime endTime) {
+        List<TimeSlot> occupied = new ArrayList<>();
+        if (intervalIndex.isActive()) {
+            occupied.addAll(intervalIndex.occupied(spaceId, startTime, endTime));
+        } else {
+            reservationRepository.findConflictingReservations(spaceId, startTime, endTime)
+                    .forEach(r -> occupied.add(new TimeSlot(r.getStartTime(), r.getEndTime())));
+        }
+        occupied.addAll(seriesIndex.occupied(spaceId, startTime, endTime));
+        occupied.sort(Comparator.comparing(TimeSlot::getStart));
+        return occupied;
+    }
+    
     /**
      * Merge Intervals - Auxiliar para sweep line
      * 
@@ -170,9 +236,9 @@ public class AllocationService {
      * Input: [[1,3], [2,6], [8,10]]
      * Output: [[1,6], [8,10]]
      * 
-     * Complexidade: O(n)
+     * Complexidade: O(n) - a entrada deve estar ordenada por início
      */
-    private List<TimeSlot> mergeIntervals(List<TimeSlot> intervals) {
+    public static List<TimeSlot> mergeIntervals(List<TimeSlot> intervals) {
         if (intervals.isEmpty()) {
             return new ArrayList<>();
         }
@@ -207,7 +273,7 @@ public class AllocationService {
      * 
      * Complexidade: O(n)
      */
-    private List<TimeSlot> calculateGaps(
+    public static List<TimeSlot> calculateGaps(
             List<TimeSlot> occupied,
             LocalDateTime dayStart,
             LocalDateTime dayEnd
@@ -257,9 +323,10 @@ public class AllocationService {
                 ))
                 .collect(Collectors.toList());
         
-        // Verificar disponibilidade e alocar o primeiro
+        // Verificar disponibilidade de todos os candidatos de uma vez e alocar o primeiro livre
+        Set<Long> busy = findBusySpaceIds(sorted, startTime, endTime);
         for (Space space : sorted) {
-            if (!hasConflict(space, startTime, endTime)) {
+            if (!busy.contains(space.getId())) {
                 log.info("Espaço alocado: {} (Custo: R$ {})",
                         space.getName(),
                         calculateTotalCost(space, startTime, endTime));
@@ -271,9 +338,46 @@ public class AllocationService {
         return null;
     }
     
+    /**
+     * Conjunto de espaços (dentre os candidatos) com conflito no intervalo.
+     * 
+     * Usa o índice em memória (O(log n) por espaço) ou, como fallback,
+     * uma única query set-based no lugar de N consultas.
+     */
+    private Set<Long> findBusySpaceIds(
+            List<Space> candidates,
+            LocalDateTime startTime,
+            LocalDateTime endTime
+    ) {
+        if (candidates.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<Long> busy;
+        if (intervalIndex.isActive()) {
+            busy = candidates.stream()
+                    .map(Space::getId)
+                    .filter(id -> intervalIndex.hasConflict(id, startTime, endTime, null))
+                    .collect(Collectors.toSet());
+        } else {
+            List<Long> ids = candidates.stream().map(Space::getId).collect(Collectors.toList());
+            busy = new HashSet<>(reservationRepository.findSpaceIdsWithConflicts(ids, startTime, endTime));
+        }
+        
+        // Ocorrências de séries recorrentes
+        for (Space space : candidates) {
+            if (!busy.contains(space.getId()) && seriesIndex.hasConflict(space.getId(), startTime, endTime, null)) {
+                busy.add(space.getId());
+            }
+        }
+        return busy;
+    }
+    
     /**
      * Calcular custo total de uma reserva
      * 
+     * Mesma regra da cobrança (ReservationService.calculatePrice): a busca cota
+     * o que o usuário vai pagar ao reservar.
+     * 
      * @param space Espaço
      * @param startTime Início
      * @param endTime Fim
@@ -284,11 +388,7 @@ public class AllocationService {
             LocalDateTime startTime,
             LocalDateTime endTime
     ) {
-        long hours = Duration.between(startTime, endTime).toHours();
-        if (hours == 0) hours = 1; // Mínimo 1 hora
-        
-        return space.getPricePerHour()
-                .multiply(BigDecimal.valueOf(hours));
+        return ReservationService.calculatePrice(space.getPricePerHour(), startTime, endTime);
     }
     
     /**
@@ -297,6 +397,10 @@ public class AllocationService {
      * Calcula métrica de ocupação de um espaço
      * 0.0 = vazio, 1.0 = lotado
      * 
+     * Considera o horário efetivamente reservado nos últimos 30 dias (não a
+     * data de criação) e ignora reservas canceladas. Lê 30 linhas dos rollups
+     * diários (ou o bitmap em memória, quando habilitado).
+     * 
      * @param space Espaço
      * @return Score de ocupação (0.0 - 1.0)
      */
@@ -304,21 +408,21 @@ public class AllocationService {
         // Dias de análise: últimos 30 dias
         LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
         
-        List<Reservation> reservations = reservationRepository
-                .findBySpaceIdAndCreatedAtAfter(
-                    space.getId(),
-                    thirtyDaysAgo
-                );
+        if (occupancyBitmaps.isActive()) {
+            // Slots efetivamente ocupados nos últimos 30 dias, via bitCount
+            OccupancyBitmap bitmap = occupancyBitmaps.window(space.getId(), thirtyDaysAgo.toLocalDate(), 30);
+            long possibleSlots = 30L * 12 * 60 / OccupancyBitmap.SLOT_MINUTES;
+            return Math.min(1.0, (double) bitmap.countOccupied() / possibleSlots);
+        }
         
-        // Horas totais possíveis: 30 dias * 12 horas/dia
-        long totalPossibleHours = 30 * 12;
+        // Minutos totais possíveis: 30 dias * 12 horas/dia
+        long totalPossibleMinutes = 30L * 12 * 60;
         
-        // Horas reservadas
-        long reservedHours = reservations.stream()
-                .mapToLong(r -> Duration.between(r.getStartTime(), r.getEndTime()).toHours())
-                .sum();
+        // Minutos reservados (rollups de [hoje - 30, hoje))
+        long reservedMinutes = occupancyRollups.sumBookedMinutes(
+                space.getId(), thirtyDaysAgo.toLocalDate(), thirtyDaysAgo.toLocalDate().plusDays(30));
         
-        return Math.min(1.0, (double) reservedHours / totalPossibleHours);
+        return Math.min(1.0, (double) reservedMinutes / totalPossibleMinutes);
     }
     
     /**
@@ -0,0 +1,673 @@
+package com.reserves.algorithm;
+
+import com.reserves.model.Space;
+import com.reserves.model.SpaceType;
+import com.reserves.repository.ReservationRepository;
+import com.reserves.repository.ReservationSlotView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * BatchAllocationSolver - Alocação global de muitos pedidos em muitas salas
+ *
+ * Para planejamento de eventos: cada pedido tem capacidade, duração e uma
+ * janela preferida; o solver escolhe sala e horário para todos de uma vez,
+ * minimizando (nesta ordem) pedidos sem sala e custo total.
+ *
+ * - Linha do tempo por sala em slots de 15 min (BitSet), já com as reservas
+ *   e séries existentes marcadas como ocupadas
+ * - Construção gulosa: pedidos mais difíceis primeiro (heap por folga da
+ *   janela, capacidade e duração); cada um vai para a sala compatível mais
+ *   barata (depois a menor) no menor intervalo livre que o comporta (best fit
+ *   no tempo, para não fragmentar as salas)
+ * - Busca local: pedidos sem sala tentam entrar desalojando um pedido da
+ *   sala (que precisa ser realocado em outro lugar); pedidos alocados são
+ *   movidos para opções mais baratas
+ * - Busca local iterada: perturba a melhor solução (remove ~10% e reinsere
+ *   em ordem aleatória) até o orçamento de tempo acabar
+ * - Workers em paralelo no ForkJoinPool, cada um com sua semente (o worker 0
+ *   parte da ordem determinística); vence a melhor solução
+ * - Para antes do prazo se todos os pedidos estão alocados no custo mínimo
+ *   possível (soma da sala compatível mais barata de cada pedido)
+ *
+ * Complexidade: construção O(n log n + n·m·w/64) para n pedidos, m salas e
+ * w slots no horizonte; cada rodada de busca local O(n·m·(n + w/64))
+ */
+@Slf4j
+@Component
+public class BatchAllocationSolver {
+
+    private static final int SLOT_MINUTES = OccupancyBitmap.SLOT_MINUTES;
+
+    // Fração dos pedidos alocados removidos a cada perturbação
+    private static final double PERTURBATION = 0.1;
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationIntervalIndex intervalIndex;
+    private final RecurringSeriesIndex seriesIndex;
+    private final ForkJoinPool pool;
+    private final int parallelism;
+    private final Duration defaultBudget;
+    private final Duration maxBudget;
+
+    public BatchAllocationSolver(ReservationRepository reservationRepository,
+                                 ReservationIntervalIndex intervalIndex,
+                                 RecurringSeriesIndex seriesIndex,
+                                 @Value("${allocation.batch.parallelism:0}") int parallelism,
+                                 @Value("${allocation.batch.time-budget:2s}") Duration defaultBudget,
+                                 @Value("${allocation.batch.max-time-budget:30s}") Duration maxBudget) {
+        this.reservationRepository = reservationRepository;
+        this.intervalIndex = intervalIndex;
+        this.seriesIndex = seriesIndex;
+        this.defaultBudget = defaultBudget;
+        this.maxBudget = maxBudget;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(this.parallelism);
+        log.info("Alocação em lote: {} workers", this.parallelism);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Orçamento de otimização: o pedido do cliente (ms), limitado ao máximo
+     * configurado; sem pedido, o padrão.
+     */
+    public Duration budget(Long requestedMillis) {
+        if (requestedMillis == null || requestedMillis <= 0) {
+            return defaultBudget;
+        }
+        Duration requested = Duration.ofMillis(requestedMillis);
+        return requested.compareTo(maxBudget) > 0 ? maxBudget : requested;
+    }
+
+    /**
+     * Calcula a alocação dos pedidos nos espaços disponíveis do catálogo.
+     * Não grava nada: o resultado é um plano (ver POST /api/reservations/batch).
+     *
+     * @param spaces Catálogo (espaços com available = false são ignorados)
+     * @param requests Pedidos, na ordem do cliente
+     * @param budget Tempo máximo de otimização
+     * @return Melhor solução encontrada, com uma atribuição por pedido (mesma ordem)
+     */
+    public Result solve(List<Space> spaces, List<Request> requests, Duration budget) {
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + budget.toNanos();
+
+        Problem problem = buildProblem(spaces, requests);
+        List<Callable<Solution>> workers = new ArrayList<>(parallelism);
+        for (int w = 0; w < parallelism; w++) {
+            int worker = w;
+            workers.add(() -> new Worker(problem, worker, deadline).run());
+        }
+
+        Solution best = null;
+        try {
+            for (Future<Solution> future : pool.invokeAll(workers)) {
+                Solution candidate = future.get();
+                if (best == null || candidate.isBetterThan(best)) {
+                    best = candidate;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Alocação em lote interrompida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha na alocação em lote", e.getCause());
+        }
+
+        Result result = toResult(problem, best, System.nanoTime() - startedAt);
+        log.info("Alocação em lote: {}/{} pedidos alocados em {} salas, custo {} (mínimo {}), {} ms, {} workers",
+                result.getPlacedCount(), requests.size(), problem.rooms.length, result.getTotalCost(),
+                result.getLowerBound(), result.getElapsedMillis(), parallelism);
+        return result;
+    }
+
+    // ------------------- MODELO -------------------
+
+    private Problem buildProblem(List<Space> spaces, List<Request> requests) {
+        LocalDateTime origin = requests.stream().map(Request::getWindowStart).min(Comparator.naturalOrder())
+                .orElseThrow(() -> new IllegalArgumentException("Nenhum pedido informado"));
+        origin = floorToSlot(origin);
+        LocalDateTime horizonEnd = requests.stream().map(Request::getWindowEnd).max(Comparator.naturalOrder()).get();
+        int horizon = (int) ceilSlots(Duration.between(origin, horizonEnd).toMinutes());
+
+        List<Room> rooms = new ArrayList<>();
+        for (Space space : spaces) {
+            if (Boolean.TRUE.equals(space.getAvailable()) && space.getCapacity() != null
+                    && space.getPricePerHour() != null && space.getId() != null) {
+                rooms.add(new Room(space, new BitSet(horizon)));
+            }
+        }
+        markExisting(rooms, origin, horizonEnd);
+
+        Req[] reqs = new Req[requests.size()];
+        for (int i = 0; i < reqs.length; i++) {
+            reqs[i] = new Req(i, requests.get(i), origin, rooms);
+        }
+        return new Problem(origin, horizon, rooms.toArray(new Room[0]), reqs);
+    }
+
+    /**
+     * Reservas simples (índice em memória ou uma única query) e ocorrências de
+     * séries no horizonte, marcadas como ocupadas em slots inteiros.
+     */
+    private void markExisting(List<Room> rooms, LocalDateTime origin, LocalDateTime horizonEnd) {
+        if (rooms.isEmpty()) {
+            return;
+        }
+        Map<Long, Room> byId = new HashMap<>();
+        rooms.forEach(room -> byId.put(room.space.getId(), room));
+
+        if (intervalIndex.isActive()) {
+            for (Room room : rooms) {
+                intervalIndex.occupied(room.space.getId(), origin, horizonEnd)
+                        .forEach(slot -> markBusy(room.base, origin, slot.getStart(), slot.getEnd()));
+            }
+        } else {
+            for (ReservationSlotView slot : reservationRepository.findActiveSlotsBetween(byId.keySet(), origin, horizonEnd)) {
+                Room room = byId.get(slot.getSpaceId());
+                if (room != null) {
+                    markBusy(room.base, origin, slot.getStartTime(), slot.getEndTime());
+                }
+            }
+        }
+        for (Room room : rooms) {
+            seriesIndex.occupied(room.space.getId(), origin, horizonEnd)
+                    .forEach(slot -> markBusy(room.base, origin, slot.getStart(), slot.getEnd()));
+        }
+    }
+
+    private static void markBusy(BitSet timeline, LocalDateTime origin, LocalDateTime start, LocalDateTime end) {
+        long from = Math.max(0, Math.floorDiv(Duration.between(origin, start).toMinutes(), SLOT_MINUTES));
+        long to = ceilSlots(Duration.between(origin, end).toMinutes());
+        if (to > from) {
+            timeline.set((int) from, (int) to);
+        }
+    }
+
+    private static long ceilSlots(long minutes) {
+        return Math.floorDiv(minutes + SLOT_MINUTES - 1, SLOT_MINUTES);
+    }
+
+    private static LocalDateTime floorToSlot(LocalDateTime time) {
+        LocalDateTime minute = time.withSecond(0).withNano(0);
+        return minute.minusMinutes(minute.getMinute() % SLOT_MINUTES);
+    }
+
+    private static final class Problem {
+        final LocalDateTime origin;
+        final int horizon;
+        final Room[] rooms;
+        final Req[] reqs;
+        // Soma do custo da sala compatível mais barata de cada pedido (ignora o tempo)
+        final double lowerBound;
+
+        Problem(LocalDateTime origin, int horizon, Room[] rooms, Req[] reqs) {
+            this.origin = origin;
+            this.horizon = horizon;
+            this.rooms = rooms;
+            this.reqs = reqs;
+            double bound = 0;
+            for (Req req : reqs) {
+                if (req.feasible.length > 0) {
+                    bound += req.cost(rooms[req.feasible[0]]);
+                }
+            }
+            this.lowerBound = bound;
+        }
+    }
+
+    private static final class Room {
+        final Space space;
+        final int capacity;
+        final double price;
+        final BitSet base;
+
+        Room(Space space, BitSet base) {
+            this.space = space;
+            this.capacity = space.getCapacity();
+            this.price = space.getPricePerHour().doubleValue();
+            this.base = base;
+        }
+    }
+
+    private static final class Req {
+        final int index;
+        final int capacity;
+        final int durationMinutes;
+        final int slots;
+        // Início mais cedo (slot) e fim mais tarde (slot exclusivo) dentro da janela
+        final int from;
+        final int to;
+        final long billedHours;
+        // Salas compatíveis (capacidade, tipo, preço), da mais barata para a mais cara; empate: menor capacidade
+        final int[] feasible;
+
+        Req(int index, Request request, LocalDateTime origin, List<Room> rooms) {
+            this.index = index;
+            this.capacity = request.getCapacity();
+            this.durationMinutes = request.getDurationMinutes();
+            this.slots = (int) ceilSlots(durationMinutes);
+            this.from = (int) ceilSlots(Duration.between(origin, request.getWindowStart()).toMinutes());
+            this.to = (int) Math.floorDiv(Duration.between(origin, request.getWindowEnd()).toMinutes(), SLOT_MINUTES);
+            // Mesma regra de preço das reservas: horas cheias, arredondadas para cima, mínimo 1
+            this.billedHours = Math.max(1, (durationMinutes + 59) / 60);
+
+            double maxPrice = request.getMaxPrice() != null ? request.getMaxPrice().doubleValue() : Double.MAX_VALUE;
+            List<Integer> compatible = new ArrayList<>();
+            for (int r = 0; r < rooms.size(); r++) {
+                Room room = rooms.get(r);
+                if (room.capacity >= capacity && room.price <= maxPrice
+                        && (request.getType() == null || request.getType() == room.space.getType())) {
+                    compatible.add(r);
+                }
+            }
+            compatible.sort(Comparator.<Integer>comparingDouble(r -> rooms.get(r).price)
+                    .thenComparingInt(r -> rooms.get(r).capacity)
+                    .thenComparingLong(r -> rooms.get(r).space.getId()));
+            this.feasible = compatible.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        double cost(Room room) {
+            return room.price * billedHours;
+        }
+    }
+
+    // ------------------- SOLUÇÃO -------------------
+
+    private static final class Solution {
+        final int worker;
+        final int[] room;
+        final int[] start;
+        final int placed;
+        final double cost;
+
+        Solution(int worker, int[] room, int[] start, int placed, double cost) {
+            this.worker = worker;
+            this.room = room;
+            this.start = start;
+            this.placed = placed;
+            this.cost = cost;
+        }
+
+        boolean isBetterThan(Solution other) {
+            if (placed != other.placed) {
+                return placed > other.placed;
+            }
+            if (Math.abs(cost - other.cost) > 1e-6) {
+                return cost < other.cost;
+            }
+            return worker < other.worker;
+        }
+    }
+
+    /**
+     * Estado de um worker: atribuição corrente e linhas do tempo das salas
+     * (cópias das linhas base). Nada é compartilhado entre workers.
+     */
+    private static final class Worker {
+        final Problem problem;
+        final int id;
+        final long deadline;
+        final Random random;
+        final BitSet[] busy;
+        final int[] room;
+        final int[] start;
+        int placed;
+        double cost;
+        long iterations;
+
+        Worker(Problem problem, int id, long deadline) {
+            this.problem = problem;
+            this.id = id;
+            this.deadline = deadline;
+            this.random = new Random(42L + id);
+            this.busy = new BitSet[problem.rooms.length];
+            for (int r = 0; r < busy.length; r++) {
+                busy[r] = (BitSet) problem.rooms[r].base.clone();
+            }
+            this.room = new int[problem.reqs.length];
+            this.start = new int[problem.reqs.length];
+            Arrays.fill(room, -1);
+        }
+
+        Solution run() {
+            construct();
+            Solution best = snapshot();
+            while (!timeUp() && !isOptimal(best)) {
+                localSearch();
+                Solution current = snapshot();
+                if (current.isBetterThan(best)) {
+                    best = current;
+                } else {
+                    restore(best);
+                }
+                if (isOptimal(best)) {
+                    break;
+                }
+                perturb();
+                iterations++;
+            }
+            log.debug("Worker {}: {} iterações, {} alocados, custo {}", id, iterations, best.placed, best.cost);
+            return best;
+        }
+
+        /**
+         * Construção gulosa: heap por dificuldade (menor folga na janela, maior
+         * capacidade, maior duração). Workers além do 0 embaralham a folga para
+         * explorar outras ordens.
+         */
+        private void construct() {
+            double[] slack = new double[problem.reqs.length];
+            for (Req req : problem.reqs) {
+                slack[req.index] = (req.to - req.from - req.slots) * (id == 0 ? 1.0 : 0.5 + random.nextDouble());
+            }
+            PriorityQueue<Req> hardestFirst = new PriorityQueue<>(Math.max(1, problem.reqs.length),
+                    Comparator.<Req>comparingDouble(r -> slack[r.index])
+                            .thenComparing(r -> r.capacity, Comparator.reverseOrder())
+                            .thenComparing(r -> r.slots, Comparator.reverseOrder())
+                            .thenComparingInt(r -> r.index));
+            hardestFirst.addAll(Arrays.asList(problem.reqs));
+            while (!hardestFirst.isEmpty()) {
+                placeBest(hardestFirst.poll());
+            }
+        }
+
+        private void localSearch() {
+            boolean improved = true;
+            while (improved && !timeUp()) {
+                improved = false;
+                for (Req req : problem.reqs) {
+                    if (timeUp()) {
+                        return;
+                    }
+                    if (room[req.index] < 0 && (placeBest(req) || ejectAndInsert(req))) {
+                        improved = true;
+                    }
+                }
+                for (Req req : problem.reqs) {
+                    if (timeUp()) {
+                        return;
+                    }
+                    if (room[req.index] >= 0 && relocate(req)) {
+                        improved = true;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Sala compatível mais barata com um intervalo livre na janela; como as
+         * salas já estão ordenadas por custo, a primeira encontrada é a melhor.
+         */
+        private boolean placeBest(Req req) {
+            for (int r : req.feasible) {
+                int s = findStart(busy[r], req);
+                if (s >= 0) {
+                    place(req, r, s);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Pedido sem sala: tenta desalojar um pedido que ocupa uma sala compatível
+         * na janela dele, desde que o desalojado caiba em outro lugar.
+         */
+        private boolean ejectAndInsert(Req req) {
+            for (int r : req.feasible) {
+                for (Req other : problem.reqs) {
+                    if (room[other.index] != r || !overlapsWindow(other, req)) {
+                        continue;
+                    }
+                    int otherStart = start[other.index];
+                    remove(other);
+                    int s = findStart(busy[r], req);
+                    if (s >= 0) {
+                        place(req, r, s);
+                        if (placeBest(other)) {
+                            return true;
+                        }
+                        remove(req);
+                    }
+                    place(other, r, otherStart);
+                }
+            }
+            return false;
+        }
+
+        // Move para uma opção mais barata, se houver (nunca piora: a posição atual continua disponível)
+        private boolean relocate(Req req) {
+            int currentRoom = room[req.index];
+            double before = req.cost(problem.rooms[currentRoom]);
+            remove(req);
+            placeBest(req);
+            return req.cost(problem.rooms[room[req.index]]) < before - 1e-9;
+        }
+
+        private void perturb() {
+            int toRemove = Math.max(1, (int) (placed * PERTURBATION));
+            List<Req> placedReqs = new ArrayList<>();
+            for (Req req : problem.reqs) {
+                if (room[req.index] >= 0) {
+                    placedReqs.add(req);
+                }
+            }
+            Collections.shuffle(placedReqs, random);
+            List<Req> reinsert = new ArrayList<>(placedReqs.subList(0, Math.min(toRemove, placedReqs.size())));
+            reinsert.forEach(this::remove);
+            for (Req req : problem.reqs) {
+                if (room[req.index] < 0 && !reinsert.contains(req)) {
+                    reinsert.add(req);
+                }
+            }
+            Collections.shuffle(reinsert, random);
+            reinsert.forEach(this::placeBest);
+        }
+
+        /**
+         * Início do menor intervalo livre da janela que comporta o pedido
+         * (best fit no tempo), ou -1.
+         */
+        private int findStart(BitSet timeline, Req req) {
+            int bestStart = -1;
+            int bestLength = Integer.MAX_VALUE;
+            int s = timeline.nextClearBit(req.from);
+            while (s + req.slots <= req.to) {
+                int next = timeline.nextSetBit(s);
+                int end = next < 0 || next > req.to ? req.to : next;
+                int length = end - s;
+                if (length >= req.slots && length < bestLength) {
+                    bestStart = s;
+                    bestLength = length;
+                    if (length == req.slots) {
+                        break;
+                    }
+                }
+                if (end >= req.to) {
+                    break;
+                }
+                s = timeline.nextClearBit(end);
+            }
+            return bestStart;
+        }
+
+        private boolean overlapsWindow(Req placedReq, Req window) {
+            int s = start[placedReq.index];
+            return s < window.to && s + placedReq.slots > window.from;
+        }
+
+        private void place(Req req, int r, int s) {
+            busy[r].set(s, s + req.slots);
+            room[req.index] = r;
+            start[req.index] = s;
+            placed++;
+            cost += req.cost(problem.rooms[r]);
+        }
+
+        private void remove(Req req) {
+            int r = room[req.index];
+            int s = start[req.index];
+            busy[r].clear(s, s + req.slots);
+            room[req.index] = -1;
+            placed--;
+            cost -= req.cost(problem.rooms[r]);
+        }
+
+        private Solution snapshot() {
+            return new Solution(id, room.clone(), start.clone(), placed, cost);
+        }
+
+        private void restore(Solution solution) {
+            for (Req req : problem.reqs) {
+                if (room[req.index] >= 0) {
+                    remove(req);
+                }
+            }
+            for (Req req : problem.reqs) {
+                int r = solution.room[req.index];
+                if (r >= 0) {
+                    place(req, r, solution.start[req.index]);
+                }
+            }
+        }
+
+        private boolean isOptimal(Solution solution) {
+            return solution.placed == problem.reqs.length && solution.cost <= problem.lowerBound + 1e-6;
+        }
+
+        private boolean timeUp() {
+            return System.nanoTime() >= deadline;
+        }
+    }
+
+    // ------------------- RESULTADO -------------------
+
+    private Result toResult(Problem problem, Solution best, long elapsedNanos) {
+        List<Assignment> assignments = new ArrayList<>(problem.reqs.length);
+        BigDecimal totalCost = BigDecimal.ZERO;
+        for (Req req : problem.reqs) {
+            int r = best.room[req.index];
+            if (r < 0) {
+                assignments.add(Assignment.unplaced(req.index, req.feasible.length == 0
+                        ? "Nenhum espaço compatível com capacidade, tipo e preço máximo."
+                        : "Nenhum horário livre na janela informada."));
+                continue;
+            }
+            Room room = problem.rooms[r];
+            LocalDateTime startTime = problem.origin.plusMinutes((long) best.start[req.index] * SLOT_MINUTES);
+            BigDecimal cost = room.space.getPricePerHour().multiply(BigDecimal.valueOf(req.billedHours));
+            totalCost = totalCost.add(cost);
+            assignments.add(Assignment.placed(req.index, room.space, startTime,
+                    startTime.plusMinutes(req.durationMinutes), cost));
+        }
+        return new Result(assignments, best.placed, totalCost,
+                BigDecimal.valueOf(problem.lowerBound).setScale(2, RoundingMode.HALF_UP),
+                elapsedNanos / 1_000_000, parallelism);
+    }
+
+    /**
+     * Pedido de alocação: capacidade, duração e janela preferida [windowStart, windowEnd).
+     */
+    public static class Request {
+        private int capacity;
+        private int durationMinutes;
+        private LocalDateTime windowStart;
+        private LocalDateTime windowEnd;
+        private SpaceType type;
+        private BigDecimal maxPrice;
+
+        public int getCapacity() { return capacity; }
+        public void setCapacity(int capacity) { this.capacity = capacity; }
+        public int getDurationMinutes() { return durationMinutes; }
+        public void setDurationMinutes(int durationMinutes) { this.durationMinutes = durationMinutes; }
+        public LocalDateTime getWindowStart() { return windowStart; }
+        public void setWindowStart(LocalDateTime windowStart) { this.windowStart = windowStart; }
+        public LocalDateTime getWindowEnd() { return windowEnd; }
+        public void setWindowEnd(LocalDateTime windowEnd) { this.windowEnd = windowEnd; }
+        public SpaceType getType() { return type; }
+        public void setType(SpaceType type) { this.type = type; }
+        public BigDecimal getMaxPrice() { return maxPrice; }
+        public void setMaxPrice(BigDecimal maxPrice) { this.maxPrice = maxPrice; }
+    }
+
+    /**
+     * Sala e horário atribuídos a um pedido (ou o motivo de ter ficado sem sala).
+     */
+    public static final class Assignment {
+        private final int index;
+        private final Space space;
+        private final LocalDateTime startTime;
+        private final LocalDateTime endTime;
+        private final BigDecimal cost;
+        private final String reason;
+
+        private Assignment(int index, Space space, LocalDateTime startTime, LocalDateTime endTime,
+                           BigDecimal cost, String reason) {
+            this.index = index;
+            this.space = space;
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.cost = cost;
+            this.reason = reason;
+        }
+
+        static Assignment placed(int index, Space space, LocalDateTime startTime, LocalDateTime endTime, BigDecimal cost) {
+            return new Assignment(index, space, startTime, endTime, cost, null);
+        }
+
+        static Assignment unplaced(int index, String reason) {
+            return new Assignment(index, null, null, null, null, reason);
+        }
+
+        public boolean isPlaced() { return space != null; }
+        public int getIndex() { return index; }
+        public Space getSpace() { return space; }
+        public LocalDateTime getStartTime() { return startTime; }
+        public LocalDateTime getEndTime() { return endTime; }
+        public BigDecimal getCost() { return cost; }
+        public String getReason() { return reason; }
+    }
+
+    public static final class Result {
+        private final List<Assignment> assignments;
+        private final int placedCount;
+        private final BigDecimal totalCost;
+        private final BigDecimal lowerBound;
+        private final long elapsedMillis;
+        private final int workers;
+
+        Result(List<Assignment> assignments, int placedCount, BigDecimal totalCost, BigDecimal lowerBound,
+               long elapsedMillis, int workers) {
+            this.assignments = assignments;
+            this.placedCount = placedCount;
+            this.totalCost = totalCost;
+            this.lowerBound = lowerBound;
+            this.elapsedMillis = elapsedMillis;
+            this.workers = workers;
+        }
+
+        public List<Assignment> getAssignments() { return assignments; }
+        public int getPlacedCount() { return placedCount; }
+        public BigDecimal getTotalCost() { return totalCost; }
+        public BigDecimal getLowerBound() { return lowerBound; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        public int getWorkers() { return workers; }
+    }
+}
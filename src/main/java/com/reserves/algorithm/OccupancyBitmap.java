@@ -0,0 +1,210 @@
+package com.reserves.algorithm;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * OccupancyBitmap - Ocupação de um espaço em slots fixos de 15 minutos
+ *
+ * Um bit por slot (1 = ocupado), agrupados em palavras de 64 bits (long[]).
+ * Um dia ocupa 96 bits; 30 dias cabem em 45 longs.
+ *
+ * - Um slot é marcado se qualquer parte dele estiver reservada (conservador)
+ * - Marcação, busca de slots livres, detecção de conflito e contagem operam
+ *   sobre palavras inteiras (máscaras, numberOfTrailingZeros, bitCount)
+ *
+ * Complexidades (w = palavras cobertas):
+ * - markOccupied / anyOccupied / countOccupied: O(w)
+ * - nextFree / nextOccupied: O(w) no pior caso, normalmente O(1)
+ */
+public final class OccupancyBitmap {
+
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    private final LocalDateTime origin;
+    private final int slots;
+    private final long[] words;
+
+    public OccupancyBitmap(LocalDate firstDay, int days) {
+        this.origin = firstDay.atStartOfDay();
+        this.slots = days * SLOTS_PER_DAY;
+        this.words = new long[(slots + 63) >>> 6];
+    }
+
+    public int getSlots() {
+        return slots;
+    }
+
+    public LocalDateTime getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Marca como ocupados os slots tocados por [start, end), recortando ao período do bitmap.
+     */
+    public void markOccupied(LocalDateTime start, LocalDateTime end) {
+        if (!end.isAfter(origin) || !end.isAfter(start)) {
+            return;
+        }
+        long fromMinutes = Duration.between(origin, start).toMinutes();
+        long toMinutes = Duration.between(origin, end).toMinutes();
+        if (Duration.between(origin, end).toSeconds() % 60 != 0) {
+            toMinutes++;
+        }
+        int from = (int) Math.min(slots, Math.max(0, Math.floorDiv(fromMinutes, SLOT_MINUTES)));
+        int to = (int) Math.min(slots, Math.floorDiv(toMinutes + SLOT_MINUTES - 1, SLOT_MINUTES));
+        setRange(from, to);
+    }
+
+    /**
+     * Liga os bits [from, to).
+     */
+    void setRange(int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (firstWord == lastWord) {
+            words[firstWord] |= firstMask & lastMask;
+            return;
+        }
+        words[firstWord] |= firstMask;
+        for (int w = firstWord + 1; w < lastWord; w++) {
+            words[w] = -1L;
+        }
+        words[lastWord] |= lastMask;
+    }
+
+    public boolean isOccupied(int slot) {
+        return (words[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    /**
+     * Slot que contém o instante (pode ser negativo ou >= getSlots() fora do período).
+     */
+    public long slotOf(LocalDateTime time) {
+        return Math.floorDiv(Duration.between(origin, time).toMinutes(), SLOT_MINUTES);
+    }
+
+    public LocalDateTime slotStart(int slot) {
+        return origin.plusMinutes((long) slot * SLOT_MINUTES);
+    }
+
+    /**
+     * Algum slot ocupado em [from, to)? (detecção de conflito por máscara)
+     */
+    public boolean anyOccupied(int from, int to) {
+        from = Math.max(0, from);
+        to = Math.min(slots, to);
+        if (from >= to) {
+            return false;
+        }
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (firstWord == lastWord) {
+            return (words[firstWord] & firstMask & lastMask) != 0;
+        }
+        if ((words[firstWord] & firstMask) != 0 || (words[lastWord] & lastMask) != 0) {
+            return true;
+        }
+        for (int w = firstWord + 1; w < lastWord; w++) {
+            if (words[w] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Primeiro slot livre a partir de `from` (getSlots() se nenhum).
+     */
+    public int nextFree(int from) {
+        return nextBit(from, true);
+    }
+
+    /**
+     * Primeiro slot ocupado a partir de `from` (getSlots() se nenhum).
+     */
+    public int nextOccupied(int from) {
+        return nextBit(from, false);
+    }
+
+    private int nextBit(int from, boolean free) {
+        if (from >= slots) {
+            return slots;
+        }
+        int w = from >>> 6;
+        long word = (free ? ~words[w] : words[w]) & (-1L << from);
+        while (word == 0) {
+            if (++w == words.length) {
+                return slots;
+            }
+            word = free ? ~words[w] : words[w];
+        }
+        return Math.min(slots, (w << 6) + Long.numberOfTrailingZeros(word));
+    }
+
+    /**
+     * Total de slots ocupados (score de ocupação).
+     */
+    public int countOccupied() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Combina (OR) os bits de um dia, vindos de um bitmap de 1 dia, na posição do dia informado.
+     */
+    public void orDay(int dayOffset, long[] dayWords) {
+        int offset = dayOffset * SLOTS_PER_DAY;
+        int shift = offset & 63;
+        for (int i = 0; i < dayWords.length; i++) {
+            long src = dayWords[i];
+            if (src == 0) continue;
+            int target = (offset >>> 6) + i;
+            if (target < words.length) {
+                words[target] |= src << shift;
+            }
+            if (shift != 0 && target + 1 < words.length) {
+                words[target + 1] |= src >>> (64 - shift);
+            }
+        }
+    }
+
+    /**
+     * Cópia das palavras (para guardar bitmaps diários).
+     */
+    public long[] toWords() {
+        return words.clone();
+    }
+
+    /**
+     * Máscara de slots livres (1 = livre), em bytes little-endian codificados em Base64.
+     * O bit i corresponde ao slot i a partir de origin.
+     */
+    public String toBase64FreeMask() {
+        int bytes = (slots + 7) >>> 3;
+        byte[] out = new byte[bytes];
+        for (int i = 0; i < bytes; i++) {
+            long word = ~words[i >>> 3];
+            out[i] = (byte) (word >>> ((i & 7) << 3));
+        }
+        // zera bits além do último slot
+        int tail = slots & 7;
+        if (tail != 0) {
+            out[bytes - 1] &= (byte) ((1 << tail) - 1);
+        }
+        return Base64.getEncoder().encodeToString(out);
+    }
+}
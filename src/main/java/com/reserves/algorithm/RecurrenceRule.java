@@ -0,0 +1,168 @@
+package com.reserves.algorithm;
+
+import com.reserves.model.RecurrenceFrequency;
+import com.reserves.model.ReservationSeries;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * RecurrenceRule - Regra imutável de uma série recorrente
+ *
+ * Expande ocorrências de forma preguiçosa (Stream), somente dentro da janela
+ * consultada, em vez de materializar todas as reservas da série.
+ *
+ * Complexidades:
+ * - occursOn: O(log e) onde e = número de exceções
+ * - occurrences / overlaps: O(d) onde d = dias da janela consultada
+ * - conflictsWith (outra série): O(1) quando os horários não se sobrepõem,
+ *   O(d) sobre a interseção dos horizontes caso contrário
+ */
+public final class RecurrenceRule {
+
+    private final Long seriesId;
+    private final Long spaceId;
+    private final RecurrenceFrequency frequency;
+    private final int interval;
+    private final int daysMask;
+    private final LocalDate startDate;
+    private final LocalDate untilDate;
+    private final LocalTime startTime;
+    private final LocalTime endTime;
+    private final long[] exceptions; // epochDay ordenado
+
+    public RecurrenceRule(Long seriesId,
+                          Long spaceId,
+                          RecurrenceFrequency frequency,
+                          int interval,
+                          int daysMask,
+                          LocalDate startDate,
+                          LocalDate untilDate,
+                          LocalTime startTime,
+                          LocalTime endTime,
+                          Collection<LocalDate> cancelledDates) {
+        this.seriesId = seriesId;
+        this.spaceId = spaceId;
+        this.frequency = frequency;
+        this.interval = Math.max(1, interval);
+        this.daysMask = daysMask;
+        this.startDate = startDate;
+        this.untilDate = untilDate;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.exceptions = cancelledDates.stream().mapToLong(LocalDate::toEpochDay).sorted().toArray();
+    }
+
+    public static RecurrenceRule of(ReservationSeries series) {
+        return new RecurrenceRule(
+                series.getId(),
+                series.getSpace() != null ? series.getSpace().getId() : null,
+                series.getFrequency(),
+                series.getIntervalCount() != null ? series.getIntervalCount() : 1,
+                series.getDaysOfWeek() != null ? series.getDaysOfWeek() : 0,
+                series.getStartDate(),
+                series.getUntilDate(),
+                series.getStartTime(),
+                series.getEndTime(),
+                series.getCancelledDates());
+    }
+
+    /**
+     * Máscara de bits para os dias da semana (bit 0 = segunda).
+     */
+    public static int maskOf(Collection<DayOfWeek> days) {
+        int mask = 0;
+        for (DayOfWeek day : days) {
+            mask |= 1 << (day.getValue() - 1);
+        }
+        return mask;
+    }
+
+    public Long getSeriesId() { return seriesId; }
+    public Long getSpaceId() { return spaceId; }
+
+    public LocalDateTime getHorizonStart() {
+        return startDate.atTime(startTime);
+    }
+
+    public LocalDateTime getHorizonEnd() {
+        return untilDate.atTime(endTime);
+    }
+
+    /**
+     * A série tem ocorrência (não cancelada) nesta data?
+     */
+    public boolean occursOn(LocalDate date) {
+        if (date.isBefore(startDate) || date.isAfter(untilDate)) {
+            return false;
+        }
+        if (Arrays.binarySearch(exceptions, date.toEpochDay()) >= 0) {
+            return false;
+        }
+        if (frequency == RecurrenceFrequency.DAILY) {
+            return ChronoUnit.DAYS.between(startDate, date) % interval == 0;
+        }
+        if ((daysMask & (1 << (date.getDayOfWeek().getValue() - 1))) == 0) {
+            return false;
+        }
+        LocalDate firstWeek = startDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate week = date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return ChronoUnit.WEEKS.between(firstWeek, week) % interval == 0;
+    }
+
+    /**
+     * Ocorrências que tocam [from, to), em ordem, expandidas sob demanda.
+     */
+    public Stream<AllocationService.TimeSlot> occurrences(LocalDateTime from, LocalDateTime to) {
+        LocalDate first = max(startDate, from.toLocalDate());
+        LocalDate last = min(untilDate, to.toLocalDate());
+        if (first.isAfter(last)) {
+            return Stream.empty();
+        }
+        return Stream.iterate(first, d -> !d.isAfter(last), d -> d.plusDays(1))
+                .filter(this::occursOn)
+                .map(d -> new AllocationService.TimeSlot(d.atTime(startTime), d.atTime(endTime)))
+                .filter(slot -> slot.getStart().isBefore(to) && slot.getEnd().isAfter(from));
+    }
+
+    /**
+     * Alguma ocorrência sobrepõe [from, to)?
+     */
+    public boolean overlaps(LocalDateTime from, LocalDateTime to) {
+        return occurrences(from, to).findAny().isPresent();
+    }
+
+    /**
+     * Primeira data em que esta série e a outra têm ocorrências sobrepostas.
+     */
+    public Optional<LocalDate> firstConflictWith(RecurrenceRule other) {
+        // Horários do dia não se sobrepõem: nunca conflitam
+        if (!startTime.isBefore(other.endTime) || !other.startTime.isBefore(endTime)) {
+            return Optional.empty();
+        }
+        LocalDate first = max(startDate, other.startDate);
+        LocalDate last = min(untilDate, other.untilDate);
+        for (LocalDate d = first; !d.isAfter(last); d = d.plusDays(1)) {
+            if (occursOn(d) && other.occursOn(d)) {
+                return Optional.of(d);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
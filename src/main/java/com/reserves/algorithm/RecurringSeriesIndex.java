@@ -0,0 +1,132 @@
+package com.reserves.algorithm;
+
+import com.reserves.model.ReservationSeries;
+import com.reserves.model.ReservationStatus;
+import com.reserves.repository.ReservationSeriesRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * RecurringSeriesIndex - Regras das séries recorrentes ativas, por espaço
+ *
+ * Complementa o ReservationIntervalIndex: as séries não viram linhas em
+ * `reservations`, então a verificação de conflito e a busca de slots
+ * expandem as ocorrências das regras apenas dentro da janela consultada.
+ *
+ * - Reconstruído no startup; atualizado após o commit (mesmo padrão do índice de intervalos)
+ * - Enquanto não está pronto, as consultas leem as séries do espaço no banco
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecurringSeriesIndex {
+
+    private final ReservationSeriesRepository seriesRepository;
+
+    private final Map<Long, List<RecurrenceRule>> bySpace = new ConcurrentHashMap<>();
+
+    // O rebuild (tabela pequena) segura o write lock durante a carga; mutações usam o read lock
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    private volatile boolean ready = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuildLock.writeLock().lock();
+        try {
+            List<ReservationSeries> active = seriesRepository.findAllActive();
+            bySpace.clear();
+            for (ReservationSeries series : active) {
+                bySpace.computeIfAbsent(series.getSpace().getId(), k -> new ArrayList<>())
+                        .add(RecurrenceRule.of(series));
+            }
+            bySpace.replaceAll((spaceId, rules) -> List.copyOf(rules));
+            ready = true;
+            log.info("Índice de séries recorrentes reconstruído: {} séries ativas", active.size());
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Existe ocorrência de alguma série do espaço sobrepondo [start, end)?
+     *
+     * @param excludeSeriesId série a ignorar, ou null
+     */
+    public boolean hasConflict(Long spaceId, LocalDateTime start, LocalDateTime end, Long excludeSeriesId) {
+        return rulesOf(spaceId).stream()
+                .filter(rule -> !rule.getSeriesId().equals(excludeSeriesId))
+                .anyMatch(rule -> rule.overlaps(start, end));
+    }
+
+    /**
+     * Ocorrências de todas as séries do espaço em [from, to), ordenadas por início.
+     */
+    public List<AllocationService.TimeSlot> occupied(Long spaceId, LocalDateTime from, LocalDateTime to) {
+        return rulesOf(spaceId).stream()
+                .flatMap(rule -> rule.occurrences(from, to))
+                .sorted(Comparator.comparing(AllocationService.TimeSlot::getStart))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Regras ativas do espaço (do índice, ou do banco enquanto o índice não está pronto).
+     */
+    public List<RecurrenceRule> rulesOf(Long spaceId) {
+        if (ready) {
+            return bySpace.getOrDefault(spaceId, List.of());
+        }
+        return seriesRepository.findActiveBySpaceId(spaceId).stream()
+                .map(RecurrenceRule::of)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Registra o estado atual da série; aplicado somente após o commit.
+     */
+    public void register(ReservationSeries series) {
+        Long spaceId = series.getSpace().getId();
+        RecurrenceRule rule = series.getStatus() == ReservationStatus.CANCELLED ? null : RecurrenceRule.of(series);
+        Long seriesId = series.getId();
+
+        Runnable apply = () -> {
+            rebuildLock.readLock().lock();
+            try {
+                bySpace.compute(spaceId, (id, current) -> {
+                    List<RecurrenceRule> next = new ArrayList<>();
+                    if (current != null) {
+                        current.stream().filter(r -> !r.getSeriesId().equals(seriesId)).forEach(next::add);
+                    }
+                    if (rule != null) {
+                        next.add(rule);
+                    }
+                    return next.isEmpty() ? null : List.copyOf(next);
+                });
+            } finally {
+                rebuildLock.readLock().unlock();
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+}
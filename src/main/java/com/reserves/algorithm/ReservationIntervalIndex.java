@@ -0,0 +1,450 @@
+package com.reserves.algorithm;
+
+import com.reserves.model.Reservation;
+import com.reserves.model.ReservationStatus;
+import com.reserves.repository.ReservationRepository;
+import com.reserves.repository.ReservationSlotView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * ReservationIntervalIndex - Índice de intervalos em memória por espaço
+ *
+ * Mantém, para cada Space, os intervalos [início, fim) das reservas não
+ * canceladas como arrays primitivos (minutos desde a epoch) ordenados por
+ * início, com uma árvore de segmentos implícita do maior fim por faixa de
+ * posições. Assim a verificação de conflito não precisa ir ao banco nem
+ * materializar entidades.
+ *
+ * - O banco continua sendo a fonte da verdade: o índice é reconstruído no
+ *   startup e atualizado somente após o commit de cada transação.
+ * - Enquanto não estiver pronto (ou se desabilitado via
+ *   reservation.conflict-index.enabled=false) os chamadores usam o banco.
+ * - Cada snapshot por espaço é imutável (copy-on-write): leituras não usam lock.
+ *
+ * Complexidades:
+ * - Conflict Detection: O(log n), com ou sem conflito (inclusive com reservas
+ *   longas, de vários dias, antes de muitas curtas)
+ * - Intervalos ocupados numa janela: O((k + 1) log n) para k intervalos
+ * - Insert/Remove: O(n) no espaço afetado (cópia dos arrays)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationIntervalIndex {
+
+    private final ReservationRepository reservationRepository;
+
+    @Value("${reservation.conflict-index.enabled:true}")
+    private boolean enabled;
+
+    private final Map<Long, SpaceIntervals> bySpace = new ConcurrentHashMap<>();
+
+    // Mutações comuns usam o read lock (concorrentes entre si); a troca do snapshot no rebuild usa o write lock
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+    // Mutações ocorridas durante um rebuild, reaplicadas sobre o snapshot carregado do banco
+    private volatile Queue<Mutation> journal;
+
+    private volatile boolean ready = false;
+
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Notificado (após o commit) com os intervalos, em minutos desde a epoch, afetados por cada mudança.
+     */
+    public interface ChangeListener {
+        void onChange(long spaceId, long fromMinute, long toMinute);
+
+        void onRebuild();
+    }
+
+    public void addListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Reconstrói o índice a partir do banco (chamado no startup).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            log.info("Índice de conflitos em memória desabilitado");
+            return;
+        }
+
+        swapLock.writeLock().lock();
+        try {
+            journal = new ConcurrentLinkedQueue<>();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        long startedAt = System.currentTimeMillis();
+        List<ReservationSlotView> slots = reservationRepository.findActiveSlots();
+
+        Map<Long, List<ReservationSlotView>> grouped = new HashMap<>();
+        for (ReservationSlotView slot : slots) {
+            grouped.computeIfAbsent(slot.getSpaceId(), k -> new ArrayList<>()).add(slot);
+        }
+
+        Map<Long, SpaceIntervals> loaded = new HashMap<>();
+        grouped.forEach((spaceId, list) -> loaded.put(spaceId, SpaceIntervals.of(list)));
+
+        swapLock.writeLock().lock();
+        try {
+            bySpace.clear();
+            bySpace.putAll(loaded);
+            for (Mutation m : journal) {
+                m.applyTo(bySpace);
+            }
+            journal = null;
+            ready = true;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        listeners.forEach(ChangeListener::onRebuild);
+
+        log.info("Índice de conflitos reconstruído: {} reservas em {} espaços ({} ms)",
+                slots.size(), loaded.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * @return true quando o índice pode responder consultas no lugar do banco
+     */
+    public boolean isActive() {
+        return enabled && ready;
+    }
+
+    /**
+     * Verifica se existe reserva ativa que sobrepõe [startTime, endTime) no espaço.
+     *
+     * @param excludeReservationId reserva a ignorar (atualização), ou null
+     */
+    public boolean hasConflict(Long spaceId, LocalDateTime startTime, LocalDateTime endTime, Long excludeReservationId) {
+        SpaceIntervals intervals = bySpace.get(spaceId);
+        if (intervals == null) {
+            return false;
+        }
+        long exclude = excludeReservationId != null ? excludeReservationId : Long.MIN_VALUE;
+        return intervals.overlaps(floorMinute(startTime), ceilMinute(endTime), exclude);
+    }
+
+    /**
+     * Intervalos ocupados que tocam [from, to), ordenados por início.
+     */
+    public List<AllocationService.TimeSlot> occupied(Long spaceId, LocalDateTime from, LocalDateTime to) {
+        SpaceIntervals intervals = bySpace.get(spaceId);
+        if (intervals == null) {
+            return new ArrayList<>();
+        }
+        return intervals.between(floorMinute(from), ceilMinute(to));
+    }
+
+    /**
+     * Registra o estado atual de uma reserva (criada, alterada ou cancelada).
+     * A alteração só é aplicada ao índice após o commit da transação corrente.
+     */
+    public void register(Reservation reservation) {
+        Long spaceId = reservation.getSpace().getId();
+        if (reservation.getStatus() == ReservationStatus.CANCELLED) {
+            afterCommit(Mutation.remove(spaceId, reservation.getId()));
+        } else {
+            afterCommit(Mutation.upsert(spaceId, reservation.getId(),
+                    floorMinute(reservation.getStartTime()), ceilMinute(reservation.getEndTime())));
+        }
+    }
+
+    /**
+     * Remove uma reserva do índice (após o commit).
+     */
+    public void unregister(Long spaceId, Long reservationId) {
+        afterCommit(Mutation.remove(spaceId, reservationId));
+    }
+
+    private void afterCommit(Mutation mutation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(mutation);
+                }
+            });
+        } else {
+            apply(mutation);
+        }
+    }
+
+    private void apply(Mutation mutation) {
+        long[] previous;
+        swapLock.readLock().lock();
+        try {
+            Queue<Mutation> pending = journal;
+            if (pending != null) {
+                pending.add(mutation);
+            }
+            previous = mutation.applyTo(bySpace);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+        for (ChangeListener listener : listeners) {
+            if (previous != null) {
+                listener.onChange(mutation.spaceId, previous[0], previous[1]);
+            }
+            if (!mutation.removal) {
+                listener.onChange(mutation.spaceId, mutation.start, mutation.end);
+            }
+        }
+    }
+
+    // Arredondamento conservador: início para baixo e fim para cima (nunca perde um conflito)
+    static long floorMinute(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    static long ceilMinute(LocalDateTime time) {
+        return -Math.floorDiv(-time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    static LocalDateTime fromMinute(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Alteração idempotente (upsert/remove por id de reserva).
+     */
+    private static final class Mutation {
+        private final long spaceId;
+        private final long reservationId;
+        private final long start;
+        private final long end;
+        private final boolean removal;
+
+        private Mutation(long spaceId, long reservationId, long start, long end, boolean removal) {
+            this.spaceId = spaceId;
+            this.reservationId = reservationId;
+            this.start = start;
+            this.end = end;
+            this.removal = removal;
+        }
+
+        static Mutation upsert(long spaceId, long reservationId, long start, long end) {
+            return new Mutation(spaceId, reservationId, start, end, false);
+        }
+
+        static Mutation remove(long spaceId, long reservationId) {
+            return new Mutation(spaceId, reservationId, 0, 0, true);
+        }
+
+        /**
+         * @return intervalo anterior da reserva [início, fim], ou null se não estava no índice
+         */
+        long[] applyTo(Map<Long, SpaceIntervals> target) {
+            long[][] previous = new long[1][];
+            target.compute(spaceId, (id, current) -> {
+                SpaceIntervals base = current != null ? current : SpaceIntervals.EMPTY;
+                previous[0] = base.rangeOf(reservationId);
+                SpaceIntervals next = removal
+                        ? base.without(reservationId)
+                        : base.with(reservationId, start, end);
+                return next.size() == 0 ? null : next;
+            });
+            return previous[0];
+        }
+    }
+
+    /**
+     * Snapshot imutável dos intervalos de um espaço, ordenados por (início, id).
+     *
+     * Os candidatos a conflito com [start, end) são as posições com início < end
+     * (um prefixo, por busca binária); entre eles, conflita quem tem fim > start.
+     * Um máximo acumulado dos fins não limita essa busca: uma reserva longa no
+     * começo mantém o máximo alto e obriga a percorrer todas as curtas depois
+     * dela. Por isso o maior fim fica numa árvore de segmentos sobre as posições
+     * (maxEnd[1] = raiz, folhas a partir de maxEnd[leaves]), que encontra a
+     * última posição do prefixo com fim > start em O(log n).
+     */
+    static final class SpaceIntervals {
+
+        static final SpaceIntervals EMPTY = new SpaceIntervals(new long[0], new long[0], new long[0]);
+
+        private final long[] ids;
+        private final long[] starts;
+        private final long[] ends;
+        private final long[] maxEnd;
+        private final int leaves;
+
+        private SpaceIntervals(long[] ids, long[] starts, long[] ends) {
+            this.ids = ids;
+            this.starts = starts;
+            this.ends = ends;
+            int size = 1;
+            while (size < ends.length) {
+                size <<= 1;
+            }
+            this.leaves = size;
+            this.maxEnd = new long[2 * size];
+            Arrays.fill(maxEnd, Long.MIN_VALUE);
+            System.arraycopy(ends, 0, maxEnd, size, ends.length);
+            for (int node = size - 1; node >= 1; node--) {
+                maxEnd[node] = Math.max(maxEnd[2 * node], maxEnd[2 * node + 1]);
+            }
+        }
+
+        static SpaceIntervals of(List<ReservationSlotView> slots) {
+            List<ReservationSlotView> sorted = new ArrayList<>(slots);
+            sorted.sort(Comparator.comparing(ReservationSlotView::getStartTime)
+                    .thenComparing(ReservationSlotView::getId));
+            int n = sorted.size();
+            long[] ids = new long[n];
+            long[] starts = new long[n];
+            long[] ends = new long[n];
+            for (int i = 0; i < n; i++) {
+                ReservationSlotView slot = sorted.get(i);
+                ids[i] = slot.getId();
+                starts[i] = floorMinute(slot.getStartTime());
+                ends[i] = ceilMinute(slot.getEndTime());
+            }
+            return new SpaceIntervals(ids, starts, ends);
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        /**
+         * Existe intervalo (diferente de exclude) com start < end e fim > start?
+         */
+        boolean overlaps(long start, long end, long exclude) {
+            int i = lastEndingAfter(lastStartBefore(end), start);
+            if (i >= 0 && ids[i] == exclude) {
+                // ids são únicos: basta pular a própria reserva uma vez
+                i = lastEndingAfter(i - 1, start);
+            }
+            return i >= 0;
+        }
+
+        List<AllocationService.TimeSlot> between(long from, long to) {
+            Deque<AllocationService.TimeSlot> result = new ArrayDeque<>();
+            for (int i = lastEndingAfter(lastStartBefore(to), from); i >= 0; i = lastEndingAfter(i - 1, from)) {
+                result.addFirst(new AllocationService.TimeSlot(fromMinute(starts[i]), fromMinute(ends[i])));
+            }
+            return new ArrayList<>(result);
+        }
+
+        long[] rangeOf(long id) {
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    return new long[] { starts[i], ends[i] };
+                }
+            }
+            return null;
+        }
+
+        SpaceIntervals with(long id, long start, long end) {
+            SpaceIntervals base = without(id);
+            int n = base.ids.length;
+            int pos = base.insertionPoint(start, id);
+
+            long[] newIds = new long[n + 1];
+            long[] newStarts = new long[n + 1];
+            long[] newEnds = new long[n + 1];
+            System.arraycopy(base.ids, 0, newIds, 0, pos);
+            System.arraycopy(base.starts, 0, newStarts, 0, pos);
+            System.arraycopy(base.ends, 0, newEnds, 0, pos);
+            newIds[pos] = id;
+            newStarts[pos] = start;
+            newEnds[pos] = end;
+            System.arraycopy(base.ids, pos, newIds, pos + 1, n - pos);
+            System.arraycopy(base.starts, pos, newStarts, pos + 1, n - pos);
+            System.arraycopy(base.ends, pos, newEnds, pos + 1, n - pos);
+            return new SpaceIntervals(newIds, newStarts, newEnds);
+        }
+
+        SpaceIntervals without(long id) {
+            int pos = -1;
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    pos = i;
+                    break;
+                }
+            }
+            if (pos < 0) {
+                return this;
+            }
+            int n = ids.length;
+            long[] newIds = new long[n - 1];
+            long[] newStarts = new long[n - 1];
+            long[] newEnds = new long[n - 1];
+            System.arraycopy(ids, 0, newIds, 0, pos);
+            System.arraycopy(starts, 0, newStarts, 0, pos);
+            System.arraycopy(ends, 0, newEnds, 0, pos);
+            System.arraycopy(ids, pos + 1, newIds, pos, n - pos - 1);
+            System.arraycopy(starts, pos + 1, newStarts, pos, n - pos - 1);
+            System.arraycopy(ends, pos + 1, newEnds, pos, n - pos - 1);
+            return new SpaceIntervals(newIds, newStarts, newEnds);
+        }
+
+        // Índice do último intervalo com início < time (-1 se nenhum) — busca binária
+        private int lastStartBefore(long time) {
+            int lo = 0;
+            int hi = starts.length - 1;
+            int result = -1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (starts[mid] < time) {
+                    result = mid;
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            return result;
+        }
+
+        // Maior posição em [0, last] com fim > time (-1 se nenhuma) — O(log n) na árvore de segmentos
+        private int lastEndingAfter(int last, long time) {
+            return last < 0 ? -1 : lastEndingAfter(1, 0, leaves - 1, last, time);
+        }
+
+        private int lastEndingAfter(int node, int lo, int hi, int last, long time) {
+            if (lo > last || maxEnd[node] <= time) {
+                return -1;
+            }
+            if (lo == hi) {
+                return lo;
+            }
+            int mid = (lo + hi) >>> 1;
+            int right = lastEndingAfter(2 * node + 1, mid + 1, hi, last, time);
+            return right >= 0 ? right : lastEndingAfter(2 * node, lo, mid, last, time);
+        }
+
+        private int insertionPoint(long start, long id) {
+            int lo = 0;
+            int hi = starts.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (starts[mid] < start || (starts[mid] == start && ids[mid] < id)) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.reserves.algorithm;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * SpaceOccupancyBitmaps - Bitmaps diários de ocupação por espaço (opcional)
+ *
+ * Guarda, para cada (espaço, dia), os 96 bits de ocupação das reservas
+ * simples, derivados do ReservationIntervalIndex. Janelas de vários dias são
+ * montadas com OR das palavras de cada dia, sem criar TimeSlot/LocalDateTime
+ * por reserva.
+ *
+ * - Manutenção incremental: cada mudança no índice (após o commit) invalida
+ *   apenas os dias tocados pelo intervalo antigo e pelo novo; o dia é
+ *   recalculado sob demanda na próxima consulta
+ * - Cache limitado (Caffeine): número máximo de dias e expiração após o último
+ *   acesso, para que dias passados e espaços consultados uma vez não fiquem para sempre
+ * - Séries recorrentes não entram aqui (são expandidas pelo chamador na janela)
+ * - Habilitado via reservation.occupancy-bitmap.enabled=true
+ *
+ * Complexidade: window O(d) palavras copiadas para d dias já calculados
+ */
+@Slf4j
+@Component
+public class SpaceOccupancyBitmaps implements ReservationIntervalIndex.ChangeListener {
+
+    private static final long MINUTES_PER_DAY = 24 * 60;
+
+    // Acima disso é mais barato descartar o espaço inteiro do que dia a dia
+    private static final long MAX_DAYS_INVALIDATED = 400;
+
+    private final ReservationIntervalIndex intervalIndex;
+    private final boolean enabled;
+
+    // (spaceId, epochDay) -> palavras do dia (imutáveis depois de publicadas)
+    private final Cache<DayKey, long[]> days;
+
+    public SpaceOccupancyBitmaps(ReservationIntervalIndex intervalIndex,
+                                 @Value("${reservation.occupancy-bitmap.enabled:false}") boolean enabled,
+                                 @Value("${reservation.occupancy-bitmap.max-days:100000}") long maxDays,
+                                 @Value("${reservation.occupancy-bitmap.expire-after-access:1h}") Duration expireAfterAccess) {
+        this.intervalIndex = intervalIndex;
+        this.enabled = enabled;
+        this.days = Caffeine.newBuilder().maximumSize(maxDays).expireAfterAccess(expireAfterAccess).build();
+        if (enabled) {
+            intervalIndex.addListener(this);
+            log.info("Bitmaps de ocupação habilitados (slots de {} min)", OccupancyBitmap.SLOT_MINUTES);
+        }
+    }
+
+    /**
+     * @return true quando os bitmaps podem ser usados (habilitados e índice pronto)
+     */
+    public boolean isActive() {
+        return enabled && intervalIndex.isActive();
+    }
+
+    /**
+     * Bitmap das reservas simples do espaço em [firstDay, firstDay + dayCount).
+     * O bitmap retornado é uma cópia: o chamador pode marcar outros intervalos nele.
+     */
+    public OccupancyBitmap window(Long spaceId, LocalDate firstDay, int dayCount) {
+        OccupancyBitmap bitmap = new OccupancyBitmap(firstDay, dayCount);
+        long first = firstDay.toEpochDay();
+        for (int d = 0; d < dayCount; d++) {
+            // get calcula dentro do bin: uma invalidação concorrente espera e remove o resultado
+            long[] words = days.get(new DayKey(spaceId, first + d), key -> computeDay(key.spaceId, key.epochDay));
+            bitmap.orDay(d, words);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Bitmap que cobre todos os dias tocados por [start, end).
+     */
+    public OccupancyBitmap window(Long spaceId, LocalDateTime start, LocalDateTime end) {
+        LocalDate firstDay = start.toLocalDate();
+        LocalDate lastDay = end.minusNanos(1).toLocalDate();
+        int dayCount = (int) (lastDay.toEpochDay() - firstDay.toEpochDay()) + 1;
+        return window(spaceId, firstDay, Math.max(1, dayCount));
+    }
+
+    private long[] computeDay(Long spaceId, long epochDay) {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        OccupancyBitmap day = new OccupancyBitmap(date, 1);
+        intervalIndex.occupied(spaceId, date.atStartOfDay(), date.plusDays(1).atStartOfDay())
+                .forEach(slot -> day.markOccupied(slot.getStart(), slot.getEnd()));
+        return day.toWords();
+    }
+
+    @Override
+    public void onChange(long spaceId, long fromMinute, long toMinute) {
+        long firstDay = Math.floorDiv(fromMinute, MINUTES_PER_DAY);
+        long lastDay = Math.floorDiv(toMinute - 1, MINUTES_PER_DAY);
+        if (lastDay - firstDay > MAX_DAYS_INVALIDATED) {
+            days.asMap().keySet().removeIf(key -> key.spaceId == spaceId);
+            return;
+        }
+        for (long d = firstDay; d <= lastDay; d++) {
+            days.invalidate(new DayKey(spaceId, d));
+        }
+    }
+
+    @Override
+    public void onRebuild() {
+        days.invalidateAll();
+    }
+
+    private static final class DayKey {
+        private final long spaceId;
+        private final long epochDay;
+
+        DayKey(long spaceId, long epochDay) {
+            this.spaceId = spaceId;
+            this.epochDay = epochDay;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof DayKey)) return false;
+            DayKey other = (DayKey) o;
+            return spaceId == other.spaceId && epochDay == other.epochDay;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(spaceId) * 31 + Long.hashCode(epochDay);
+        }
+    }
+}
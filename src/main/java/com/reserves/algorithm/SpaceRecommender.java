@@ -0,0 +1,605 @@
+package com.reserves.algorithm;
+
+import com.reserves.model.Space;
+import com.reserves.model.SpaceType;
+import com.reserves.repository.OccupancyTotalsView;
+import com.reserves.repository.ReservationRepository;
+import com.reserves.repository.SpaceDailyOccupancyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * SpaceRecommender - Recomendação de espaços por score multicritério
+ *
+ * Substitui o top-5 do Best Fit Decreasing na busca "find me a room": cada
+ * espaço elegível recebe um score ponderado em [0, 1] a partir de
+ *
+ * - capacidade: pessoas / capacidade (penaliza lugares desperdiçados)
+ * - preço: 1 - preço / teto (maxPrice ou o maior preço do catálogo)
+ * - comodidades: fração das amenities pedidas que o espaço possui
+ * - proximidade: distância em andares e mesma localização, quando informadas
+ * - ocupação: 1 - taxa de utilização dos últimos 30 dias (espalha a carga)
+ *
+ * Estruturas:
+ * - Índice do catálogo por tipo e faixa de capacidade (potências de 2),
+ *   reconstruído apenas quando a lista do catálogo (cache) muda
+ * - Taxas de ocupação lidas dos rollups diários em uma única query e
+ *   reaproveitadas por allocation.recommend.occupancy-refresh
+ * - Top-k com heap limitado (min-heap de tamanho k); a verificação de
+ *   disponibilidade só roda para quem entraria no heap
+ *
+ * Complexidade: O(n log k) para n espaços elegíveis, sem ordenar o catálogo
+ */
+@Slf4j
+@Component
+public class SpaceRecommender {
+
+    public static final String DEFAULT_WEIGHTS = "capacity=0.35,price=0.25,amenities=0.2,proximity=0.1,occupancy=0.1";
+
+    private static final int OCCUPANCY_WINDOW_DAYS = 30;
+
+    // Faixas de capacidade: [2^b, 2^(b+1))
+    private static final int BUCKETS = 32;
+
+    private static final Pattern FLOOR_NUMBER = Pattern.compile("-?\\d+");
+
+    // Pior recomendação na cabeça do heap: menor score e, no empate, maior id
+    private static final Comparator<Recommendation> WORST_FIRST = Comparator
+            .comparingDouble(Recommendation::getScore)
+            .thenComparing((Recommendation r) -> r.getSpace().getId(), Comparator.reverseOrder());
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationIntervalIndex intervalIndex;
+    private final RecurringSeriesIndex seriesIndex;
+    private final SpaceDailyOccupancyRepository occupancyRollups;
+    private final Weights weights;
+    private final int openHoursPerDay;
+    private final long occupancyRefreshNanos;
+
+    private final ReentrantLock occupancyLock = new ReentrantLock();
+    private volatile CatalogIndex catalog = CatalogIndex.build(List.of());
+    private volatile OccupancySnapshot occupancy;
+
+    public SpaceRecommender(ReservationRepository reservationRepository,
+                            ReservationIntervalIndex intervalIndex,
+                            RecurringSeriesIndex seriesIndex,
+                            SpaceDailyOccupancyRepository occupancyRollups,
+                            @Value("${allocation.recommend.weights:" + DEFAULT_WEIGHTS + "}") String weights,
+                            @Value("${analytics.occupancy.open-hours-per-day:12}") int openHoursPerDay,
+                            @Value("${allocation.recommend.occupancy-refresh:5m}") Duration occupancyRefresh) {
+        this.reservationRepository = reservationRepository;
+        this.intervalIndex = intervalIndex;
+        this.seriesIndex = seriesIndex;
+        this.occupancyRollups = occupancyRollups;
+        this.weights = Weights.parse(weights);
+        this.openHoursPerDay = openHoursPerDay;
+        this.occupancyRefreshNanos = occupancyRefresh.toNanos();
+        log.info("Recomendação de espaços: pesos {}", this.weights);
+    }
+
+    /**
+     * Os k melhores espaços do catálogo para os critérios, do maior para o menor score.
+     * Com startTime/endTime informados, só entram espaços livres no intervalo.
+     *
+     * @param spaces Catálogo completo (a mesma instância enquanto não mudar, para reaproveitar o índice)
+     * @param criteria Critérios da busca
+     * @return Até criteria.limit recomendações
+     */
+    public List<Recommendation> recommend(List<Space> spaces, Criteria criteria) {
+        CatalogIndex index = indexFor(spaces);
+        List<Entry> eligible = index.eligible(criteria.getType(), criteria.getCapacity(), criteria.getMaxPrice());
+        int k = Math.max(1, criteria.getLimit());
+
+        boolean checkAvailability = criteria.getStartTime() != null && criteria.getEndTime() != null;
+        Set<Long> busy = checkAvailability && !intervalIndex.isActive()
+                ? findBusyInDatabase(eligible, criteria.getStartTime(), criteria.getEndTime())
+                : null;
+
+        double[] utilization = index.occupancyRates(occupancySnapshot());
+        Request request = new Request(criteria, index);
+
+        PriorityQueue<Recommendation> heap = new PriorityQueue<>(k + 1, WORST_FIRST);
+        for (Entry e : eligible) {
+            double occupancyRate = utilization[e.ordinal];
+            double score = score(e, request, occupancyRate);
+            if (heap.size() == k && !isBetter(score, e.id, heap.peek())) {
+                continue;
+            }
+            if (checkAvailability && isBusy(e.id, busy, criteria.getStartTime(), criteria.getEndTime())) {
+                continue;
+            }
+            heap.offer(new Recommendation(e.space, score, amenityMatch(e, request), occupancyRate));
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        }
+
+        List<Recommendation> ranked = new ArrayList<>(heap);
+        ranked.sort(WORST_FIRST.reversed());
+        log.debug("Recomendação: {} elegíveis de {} espaços, top {} retornados",
+                eligible.size(), index.size, ranked.size());
+        return ranked;
+    }
+
+    // ------------------- SCORE -------------------
+
+    private double score(Entry e, Request r, double occupancyRate) {
+        double fit = r.capacity > 0 ? (double) r.capacity / e.capacity : 1.0;
+        double price = r.priceCap > 0 ? Math.max(0.0, 1.0 - e.price / r.priceCap) : 1.0;
+        double amenities = amenityMatch(e, r);
+        double proximity = proximity(e, r);
+        double idle = 1.0 - Math.min(1.0, occupancyRate);
+        return weights.combine(fit, price, amenities, proximity, idle);
+    }
+
+    private static double amenityMatch(Entry e, Request r) {
+        if (r.amenityCount == 0) {
+            return 1.0;
+        }
+        int matched = 0;
+        int words = Math.min(r.amenityMask.length, e.amenityMask.length);
+        for (int i = 0; i < words; i++) {
+            matched += Long.bitCount(r.amenityMask[i] & e.amenityMask[i]);
+        }
+        return (double) matched / r.amenityCount;
+    }
+
+    /**
+     * Média dos critérios de localização informados: 1 / (1 + andares de
+     * distância) e 1 para a mesma localização. Sem preferência, é neutro (1).
+     */
+    private static double proximity(Entry e, Request r) {
+        double total = 0;
+        int criteria = 0;
+        if (r.hasFloor) {
+            total += e.hasFloor ? 1.0 / (1 + Math.abs(e.floor - r.floor)) : 0.0;
+            criteria++;
+        }
+        if (r.hasLocation) {
+            total += r.location == e.location ? 1.0 : 0.0;
+            criteria++;
+        }
+        return criteria == 0 ? 1.0 : total / criteria;
+    }
+
+    private static boolean isBetter(double score, long id, Recommendation worst) {
+        return score > worst.getScore() || (score == worst.getScore() && id < worst.getSpace().getId());
+    }
+
+    // ------------------- DISPONIBILIDADE -------------------
+
+    private boolean isBusy(long spaceId, Set<Long> busy, LocalDateTime startTime, LocalDateTime endTime) {
+        boolean conflict = busy != null
+                ? busy.contains(spaceId)
+                : intervalIndex.hasConflict(spaceId, startTime, endTime, null);
+        return conflict || seriesIndex.hasConflict(spaceId, startTime, endTime, null);
+    }
+
+    // Fallback sem índice em memória: uma única query set-based para todos os elegíveis
+    private Set<Long> findBusyInDatabase(List<Entry> eligible, LocalDateTime startTime, LocalDateTime endTime) {
+        if (eligible.isEmpty()) {
+            return Collections.emptySet();
+        }
+        List<Long> ids = new ArrayList<>(eligible.size());
+        for (Entry e : eligible) {
+            ids.add(e.id);
+        }
+        return new HashSet<>(reservationRepository.findSpaceIdsWithConflicts(ids, startTime, endTime));
+    }
+
+    // ------------------- OCUPAÇÃO -------------------
+
+    /**
+     * Taxa de utilização (0.0 - 1.0) de cada espaço nos últimos 30 dias, a
+     * partir dos rollups diários; recarregada quando passa do prazo de refresh.
+     */
+    private OccupancySnapshot occupancySnapshot() {
+        OccupancySnapshot current = occupancy;
+        if (current != null && System.nanoTime() - current.loadedAt < occupancyRefreshNanos) {
+            return current;
+        }
+        occupancyLock.lock();
+        try {
+            current = occupancy;
+            if (current == null || System.nanoTime() - current.loadedAt >= occupancyRefreshNanos) {
+                current = loadOccupancy();
+                occupancy = current;
+            }
+            return current;
+        } finally {
+            occupancyLock.unlock();
+        }
+    }
+
+    private OccupancySnapshot loadOccupancy() {
+        LocalDate to = LocalDate.now().plusDays(1);
+        LocalDate from = to.minusDays(OCCUPANCY_WINDOW_DAYS);
+        double possibleMinutes = (double) OCCUPANCY_WINDOW_DAYS * openHoursPerDay * 60;
+
+        Map<Long, Double> rates = new HashMap<>();
+        for (OccupancyTotalsView totals : occupancyRollups.sumBySpace(from, to)) {
+            long minutes = totals.getBookedMinutes() != null ? totals.getBookedMinutes() : 0L;
+            rates.put(totals.getSpaceId(), Math.min(1.0, minutes / possibleMinutes));
+        }
+        return new OccupancySnapshot(rates, System.nanoTime());
+    }
+
+    // ------------------- ÍNDICE DO CATÁLOGO -------------------
+
+    private CatalogIndex indexFor(List<Space> spaces) {
+        CatalogIndex current = catalog;
+        if (current.source == spaces) {
+            return current;
+        }
+        CatalogIndex rebuilt = CatalogIndex.build(spaces);
+        catalog = rebuilt;
+        log.debug("Índice do catálogo reconstruído: {} espaços disponíveis", rebuilt.size);
+        return rebuilt;
+    }
+
+    private static int bucketOf(int capacity) {
+        return 31 - Integer.numberOfLeadingZeros(Math.max(1, capacity));
+    }
+
+    /**
+     * Espaços disponíveis agrupados por tipo e faixa de capacidade, com os
+     * campos usados no score já convertidos: preço em double, andar numérico,
+     * localização como id e amenities como máscara de bits sobre o dicionário
+     * de amenities do catálogo (match = bitCount do AND).
+     */
+    private static final class CatalogIndex {
+        final List<Space> source;
+        final Map<SpaceType, Entry[][]> byType = new EnumMap<>(SpaceType.class);
+        final Entry[][] all;
+        final Entry[] entries;
+        final Map<String, Integer> amenityBits;
+        final Map<String, Integer> locationIds;
+        final double maxPrice;
+        final int size;
+
+        // Taxas de ocupação alinhadas a Entry.ordinal, recalculadas a cada novo snapshot
+        private volatile OccupancySnapshot ratesSource;
+        private volatile double[] rates;
+
+        private CatalogIndex(List<Space> source, Entry[] entries, Map<String, Integer> amenityBits,
+                             Map<String, Integer> locationIds, double maxPrice) {
+            this.source = source;
+            this.entries = entries;
+            this.amenityBits = amenityBits;
+            this.locationIds = locationIds;
+            this.maxPrice = maxPrice;
+            this.size = entries.length;
+            this.rates = new double[entries.length];
+
+            Map<SpaceType, List<List<Entry>>> typed = new EnumMap<>(SpaceType.class);
+            List<List<Entry>> untyped = newBuckets();
+            for (Entry entry : entries) {
+                int bucket = bucketOf(entry.capacity);
+                untyped.get(bucket).add(entry);
+                if (entry.space.getType() != null) {
+                    typed.computeIfAbsent(entry.space.getType(), t -> newBuckets()).get(bucket).add(entry);
+                }
+            }
+            this.all = toArrays(untyped);
+            typed.forEach((type, buckets) -> byType.put(type, toArrays(buckets)));
+        }
+
+        static CatalogIndex build(List<Space> spaces) {
+            Map<String, Integer> amenityBits = new HashMap<>();
+            Map<String, Integer> locationIds = new HashMap<>();
+            List<Entry> entries = new ArrayList<>(spaces.size());
+            double maxPrice = 0;
+            for (Space space : spaces) {
+                if (!Boolean.TRUE.equals(space.getAvailable()) || space.getCapacity() == null
+                        || space.getPricePerHour() == null || space.getId() == null) {
+                    continue;
+                }
+                for (String amenity : normalizeAll(space.getAmenities())) {
+                    amenityBits.putIfAbsent(amenity, amenityBits.size());
+                }
+                String location = normalize(space.getLocation());
+                if (location != null) {
+                    locationIds.putIfAbsent(location, locationIds.size());
+                }
+                Entry entry = new Entry(space, entries.size(), amenityBits, locationIds);
+                entries.add(entry);
+                maxPrice = Math.max(maxPrice, entry.price);
+            }
+            return new CatalogIndex(spaces, entries.toArray(new Entry[0]), amenityBits, locationIds, maxPrice);
+        }
+
+        /**
+         * Elegíveis: tipo (opcional), capacidade mínima e preço máximo (opcional).
+         * Faixas abaixo da capacidade pedida nem são visitadas; só a faixa da
+         * própria capacidade precisa ser filtrada item a item.
+         */
+        List<Entry> eligible(SpaceType type, int capacity, BigDecimal maxPrice) {
+            Entry[][] buckets = type != null ? byType.get(type) : all;
+            if (buckets == null) {
+                return List.of();
+            }
+            double priceCap = maxPrice != null ? maxPrice.doubleValue() : Double.MAX_VALUE;
+            int first = bucketOf(capacity);
+            List<Entry> result = new ArrayList<>(size);
+            for (int b = first; b < BUCKETS; b++) {
+                for (Entry e : buckets[b]) {
+                    if ((b > first || e.capacity >= capacity) && e.price <= priceCap) {
+                        result.add(e);
+                    }
+                }
+            }
+            return result;
+        }
+
+        double[] occupancyRates(OccupancySnapshot snapshot) {
+            if (ratesSource == snapshot) {
+                return rates;
+            }
+            double[] aligned = new double[entries.length];
+            for (Entry e : entries) {
+                aligned[e.ordinal] = snapshot.rates.getOrDefault(e.id, 0.0);
+            }
+            rates = aligned;
+            ratesSource = snapshot;
+            return aligned;
+        }
+
+        private static List<List<Entry>> newBuckets() {
+            List<List<Entry>> buckets = new ArrayList<>(BUCKETS);
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets.add(new ArrayList<>());
+            }
+            return buckets;
+        }
+
+        private static Entry[][] toArrays(List<List<Entry>> buckets) {
+            Entry[][] arrays = new Entry[BUCKETS][];
+            for (int i = 0; i < BUCKETS; i++) {
+                arrays[i] = buckets.get(i).toArray(new Entry[0]);
+            }
+            return arrays;
+        }
+    }
+
+    private static final class Entry {
+        final Space space;
+        final int ordinal;
+        final long id;
+        final int capacity;
+        final double price;
+        final long[] amenityMask;
+        final boolean hasFloor;
+        final int floor;
+        // Id da localização no dicionário do catálogo; -1 sem localização
+        final int location;
+
+        Entry(Space space, int ordinal, Map<String, Integer> amenityBits, Map<String, Integer> locationIds) {
+            this.space = space;
+            this.ordinal = ordinal;
+            this.id = space.getId();
+            this.capacity = space.getCapacity();
+            this.price = space.getPricePerHour().doubleValue();
+            this.amenityMask = mask(normalizeAll(space.getAmenities()), amenityBits);
+            Integer parsedFloor = parseFloor(space.getFloor());
+            this.hasFloor = parsedFloor != null;
+            this.floor = parsedFloor != null ? parsedFloor : 0;
+            String normalizedLocation = normalize(space.getLocation());
+            this.location = normalizedLocation != null ? locationIds.get(normalizedLocation) : -1;
+        }
+    }
+
+    /**
+     * Critérios já normalizados para o laço de score.
+     */
+    private static final class Request {
+        final int capacity;
+        final double priceCap;
+        // Amenities pedidas que nenhum espaço tem não entram na máscara, mas contam no total
+        final long[] amenityMask;
+        final int amenityCount;
+        final boolean hasFloor;
+        final int floor;
+        final boolean hasLocation;
+        // Localização fora do catálogo: -2, não coincide com nenhum espaço
+        final int location;
+
+        Request(Criteria criteria, CatalogIndex index) {
+            this.capacity = criteria.getCapacity();
+            this.priceCap = criteria.getMaxPrice() != null ? criteria.getMaxPrice().doubleValue() : index.maxPrice;
+            Set<String> amenities = normalizeAll(criteria.getAmenities());
+            this.amenityMask = mask(amenities, index.amenityBits);
+            this.amenityCount = amenities.size();
+            Integer parsedFloor = parseFloor(criteria.getFloor());
+            this.hasFloor = parsedFloor != null;
+            this.floor = parsedFloor != null ? parsedFloor : 0;
+            String normalizedLocation = normalize(criteria.getLocation());
+            this.hasLocation = normalizedLocation != null;
+            this.location = hasLocation ? index.locationIds.getOrDefault(normalizedLocation, -2) : -2;
+        }
+    }
+
+    private static long[] mask(Set<String> amenities, Map<String, Integer> amenityBits) {
+        long[] mask = new long[(amenityBits.size() + 63) / 64];
+        for (String amenity : amenities) {
+            Integer bit = amenityBits.get(amenity);
+            if (bit != null) {
+                mask[bit >>> 6] |= 1L << bit;
+            }
+        }
+        return mask;
+    }
+
+    private static final class OccupancySnapshot {
+        final Map<Long, Double> rates;
+        final long loadedAt;
+
+        OccupancySnapshot(Map<Long, Double> rates, long loadedAt) {
+            this.rates = rates;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private static Set<String> normalizeAll(Collection<String> values) {
+        if (values == null || values.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> normalized = new HashSet<>();
+        for (String value : values) {
+            String n = normalize(value);
+            if (n != null) {
+                normalized.add(n);
+            }
+        }
+        return normalized;
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Andar numérico a partir do texto livre ("3", "3º andar", "Térreo", "-1").
+     */
+    static Integer parseFloor(String floor) {
+        String n = normalize(floor);
+        if (n == null) {
+            return null;
+        }
+        if (n.startsWith("térreo") || n.startsWith("terreo")) {
+            return 0;
+        }
+        Matcher m = FLOOR_NUMBER.matcher(n);
+        return m.find() ? Integer.valueOf(m.group()) : null;
+    }
+
+    /**
+     * Pesos dos critérios (allocation.recommend.weights), normalizados para somar 1.
+     */
+    static final class Weights {
+        final double capacity;
+        final double price;
+        final double amenities;
+        final double proximity;
+        final double occupancy;
+
+        private Weights(double capacity, double price, double amenities, double proximity, double occupancy) {
+            double total = capacity + price + amenities + proximity + occupancy;
+            if (total <= 0) {
+                throw new IllegalArgumentException("A soma dos pesos de recomendação deve ser positiva");
+            }
+            this.capacity = capacity / total;
+            this.price = price / total;
+            this.amenities = amenities / total;
+            this.proximity = proximity / total;
+            this.occupancy = occupancy / total;
+        }
+
+        /**
+         * Formato "capacity=0.35,price=0.25,..."; critérios omitidos têm peso 0.
+         */
+        static Weights parse(String spec) {
+            Map<String, Double> values = new HashMap<>();
+            for (String part : spec.split(",")) {
+                if (part.isBlank()) {
+                    continue;
+                }
+                String[] kv = part.split("=", 2);
+                if (kv.length != 2) {
+                    throw new IllegalArgumentException("Peso de recomendação inválido: " + part);
+                }
+                String key = kv[0].trim();
+                if (!List.of("capacity", "price", "amenities", "proximity", "occupancy").contains(key)) {
+                    throw new IllegalArgumentException("Critério de recomendação desconhecido: " + key);
+                }
+                double value = Double.parseDouble(kv[1].trim());
+                if (value < 0) {
+                    throw new IllegalArgumentException("Peso de recomendação negativo: " + part);
+                }
+                values.put(key, value);
+            }
+            return new Weights(values.getOrDefault("capacity", 0.0), values.getOrDefault("price", 0.0),
+                    values.getOrDefault("amenities", 0.0), values.getOrDefault("proximity", 0.0),
+                    values.getOrDefault("occupancy", 0.0));
+        }
+
+        double combine(double fit, double price, double amenities, double proximity, double idle) {
+            return capacity * fit + this.price * price + this.amenities * amenities
+                    + this.proximity * proximity + occupancy * idle;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "capacity=%.2f,price=%.2f,amenities=%.2f,proximity=%.2f,occupancy=%.2f",
+                    capacity, price, amenities, proximity, occupancy);
+        }
+    }
+
+    /**
+     * Critérios da busca. Apenas capacity é obrigatório; os demais são opcionais.
+     */
+    public static class Criteria {
+        private int capacity;
+        private BigDecimal maxPrice;
+        private SpaceType type;
+        private List<String> amenities = List.of();
+        private String floor;
+        private String location;
+        private LocalDateTime startTime;
+        private LocalDateTime endTime;
+        private int limit = 5;
+
+        public int getCapacity() { return capacity; }
+        public void setCapacity(int capacity) { this.capacity = capacity; }
+        public BigDecimal getMaxPrice() { return maxPrice; }
+        public void setMaxPrice(BigDecimal maxPrice) { this.maxPrice = maxPrice; }
+        public SpaceType getType() { return type; }
+        public void setType(SpaceType type) { this.type = type; }
+        public List<String> getAmenities() { return amenities; }
+        public void setAmenities(List<String> amenities) { this.amenities = amenities != null ? amenities : List.of(); }
+        public String getFloor() { return floor; }
+        public void setFloor(String floor) { this.floor = floor; }
+        public String getLocation() { return location; }
+        public void setLocation(String location) { this.location = location; }
+        public LocalDateTime getStartTime() { return startTime; }
+        public void setStartTime(LocalDateTime startTime) { this.startTime = startTime; }
+        public LocalDateTime getEndTime() { return endTime; }
+        public void setEndTime(LocalDateTime endTime) { this.endTime = endTime; }
+        public int getLimit() { return limit; }
+        public void setLimit(int limit) { this.limit = limit; }
+    }
+
+    /**
+     * Espaço recomendado com o score final e os indicadores usados no ranking.
+     */
+    public static final class Recommendation {
+        private final Space space;
+        private final double score;
+        private final double amenityMatch;
+        private final double occupancyRate;
+
+        public Recommendation(Space space, double score, double amenityMatch, double occupancyRate) {
+            this.space = space;
+            this.score = score;
+            this.amenityMatch = amenityMatch;
+            this.occupancyRate = occupancyRate;
+        }
+
+        public Space getSpace() { return space; }
+        public double getScore() { return score; }
+        public double getAmenityMatch() { return amenityMatch; }
+        public double getOccupancyRate() { return occupancyRate; }
+    }
+}
@@ -0,0 +1,38 @@
+package com.reserves.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Cache local (Caffeine) do catálogo de espaços.
+ *
+ * - Caches fixos (sem criação dinâmica) e limitados por tamanho/TTL via spec
+ * - Transaction-aware: evicts/puts feitos dentro de uma transação só são
+ *   aplicados após o commit, evitando recarregar o valor antigo no meio dela
+ * - recordStats na spec expõe hits/misses/evictions em /actuator/metrics (cache.*)
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String SPACES = "spaces";
+    public static final String SPACE_BY_ID = "spaceById";
+    public static final String AVAILABLE_SPACES = "availableSpaces";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${cache.spaces.spec:maximumSize=1000,expireAfterWrite=10m,recordStats}") String spec) {
+        CaffeineCacheManager manager = new CaffeineCacheManager();
+        manager.setCacheNames(List.of(SPACES, SPACE_BY_ID, AVAILABLE_SPACES));
+        manager.setCacheSpecification(spec);
+        manager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(manager);
+    }
+}
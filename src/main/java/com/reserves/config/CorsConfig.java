@@ -13,6 +13,7 @@ public class CorsConfig implements WebMvcConfigurer {
                 .allowedOrigins("http://localhost:3000", "http://localhost:80", "http://frontend:80")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH")
                 .allowedHeaders("*")
+                .exposedHeaders("X-Next-Cursor", "ETag", "Idempotent-Replayed")
                 .allowCredentials(true)
                 .maxAge(3600);
     }
@@ -0,0 +1,12 @@
+package com.reserves.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Tarefas agendadas (dispatcher e limpeza do outbox).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,113 @@
+package com.reserves.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Modo de execução em virtual threads (Java 21), habilitado com
+ * server.virtual-threads.enabled=true.
+ *
+ * - Tomcat atende cada requisição em uma virtual thread (em vez do pool de 200 threads)
+ * - Tarefas assíncronas do MVC (ex.: exportação em streaming) também
+ * - Como virtual threads não limitam a concorrência, um semáforo limita as
+ *   requisições /api em andamento; por padrão, ao tamanho do pool de conexões
+ *   (spring.datasource.hikari.maximum-pool-size / DB_POOL_SIZE). O excedente
+ *   espera até max-wait e então recebe 503 (em vez de estourar o
+ *   connection-timeout do Hikari segurando memória). Pode ser aumentado com
+ *   MAX_CONCURRENT_REQUESTS quando boa parte das requisições é atendida sem
+ *   banco (catálogo em cache, índices em memória)
+ *
+ * Pinning: os locks do caminho de reserva (SpaceLockManager) são
+ * ReentrantLock e o driver PostgreSQL (42.7) não usa synchronized no I/O,
+ * então a espera por JDBC libera a carrier thread.
+ */
+@Configuration
+@ConditionalOnProperty(name = "server.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandler() {
+        logger.info("Tomcat configurado para atender requisições em virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    // Substitui o executor padrão do Spring Boot (usado pelo MVC assíncrono)
+    @Bean(name = "applicationTaskExecutor")
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            @Value("${server.virtual-threads.max-concurrent-requests:${spring.datasource.hikari.maximum-pool-size:20}}") int maxConcurrent,
+            @Value("${server.virtual-threads.max-wait-ms:2000}") long maxWaitMs,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(maxConcurrent, maxWaitMs, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        // Antes da autenticação: requisições descartadas não chegam a validar o JWT
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Limita as requisições em andamento; com virtual threads esperar no semáforo é barato.
+     */
+    static class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+        private final Semaphore permits;
+        private final long maxWaitMs;
+        private final MeterRegistry meterRegistry;
+
+        ConcurrencyLimitFilter(int maxConcurrent, long maxWaitMs, MeterRegistry meterRegistry) {
+            this.permits = new Semaphore(maxConcurrent, true);
+            this.maxWaitMs = maxWaitMs;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                acquired = false;
+            }
+            if (!acquired) {
+                meterRegistry.counter("http.server.requests.shed").increment();
+                response.setHeader("Retry-After", "1");
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Servidor sobrecarregado, tente novamente.");
+                return;
+            }
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                permits.release();
+            }
+        }
+    }
+}
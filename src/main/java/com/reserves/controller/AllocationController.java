@@ -0,0 +1,218 @@
+package com.reserves.controller;
+
+import com.reserves.algorithm.AllocationService;
+import com.reserves.algorithm.BatchAllocationSolver;
+import com.reserves.algorithm.SpaceRecommender;
+import com.reserves.dto.AllocationBatchRequest;
+import com.reserves.dto.AllocationBatchResponse;
+import com.reserves.dto.AllocationCandidateDTO;
+import com.reserves.exception.BadRequestException;
+import com.reserves.model.Space;
+import com.reserves.monitoring.BookingMetrics;
+import com.reserves.model.SpaceType;
+import com.reserves.service.SpaceService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Busca de espaços ("find me a room"): filtra o catálogo por tipo/capacidade/preço,
+ * descarta os espaços ocupados no intervalo e devolve os livres ranqueados por
+ * score (capacidade, preço, comodidades, proximidade e ocupação).
+ *
+ * Em lote (POST /batch): planeja sala e horário para muitos pedidos de uma vez
+ * (ver BatchAllocationSolver); nada é reservado.
+ */
+@RestController
+@RequestMapping("/api/allocation")
+public class AllocationController {
+
+    private static final int MAX_LIMIT = 50;
+    private static final int MAX_BATCH_ITEMS = 1000;
+    private static final Duration MAX_BATCH_HORIZON = Duration.ofDays(31);
+
+    private final AllocationService allocationService;
+    private final SpaceRecommender recommender;
+    private final BatchAllocationSolver batchSolver;
+    private final SpaceService spaceService;
+    private final BookingMetrics metrics;
+
+    public AllocationController(AllocationService allocationService,
+                                SpaceRecommender recommender,
+                                BatchAllocationSolver batchSolver,
+                                SpaceService spaceService,
+                                BookingMetrics metrics) {
+        this.allocationService = allocationService;
+        this.recommender = recommender;
+        this.batchSolver = batchSolver;
+        this.spaceService = spaceService;
+        this.metrics = metrics;
+    }
+
+    @GetMapping
+    public List<AllocationCandidateDTO> search(
+            @RequestParam int capacity,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @RequestParam(required = false) SpaceType type,
+            @RequestParam(required = false) List<String> amenities,
+            @RequestParam(required = false) String floor,
+            @RequestParam(required = false) String location,
+            @RequestParam(defaultValue = "5") int limit
+    ) {
+        if (capacity < 1) {
+            throw new BadRequestException("Capacidade deve ser pelo menos 1.");
+        }
+        if (!endTime.isAfter(startTime)) {
+            throw new BadRequestException("Horário final deve ser após o horário inicial.");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("limit deve estar entre 1 e " + MAX_LIMIT + ".");
+        }
+
+        SpaceRecommender.Criteria criteria = new SpaceRecommender.Criteria();
+        criteria.setCapacity(capacity);
+        criteria.setMaxPrice(maxPrice);
+        criteria.setType(type);
+        criteria.setAmenities(amenities);
+        criteria.setFloor(floor);
+        criteria.setLocation(location);
+        criteria.setStartTime(startTime);
+        criteria.setEndTime(endTime);
+        criteria.setLimit(limit);
+
+        // Catálogo completo (cache): o recomendador indexa por tipo/capacidade e filtra o restante
+        List<SpaceRecommender.Recommendation> ranked = metrics.timeAllocationSearch(
+                () -> recommender.recommend(spaceService.findAll(), criteria));
+
+        List<AllocationCandidateDTO> result = new ArrayList<>(ranked.size());
+        for (int i = 0; i < ranked.size(); i++) {
+            result.add(toDTO(ranked.get(i), i + 1, startTime, endTime));
+        }
+        return result;
+    }
+
+    /**
+     * Plano de alocação para um conjunto de pedidos (planejamento de eventos).
+     * Minimiza pedidos sem sala e depois o custo total, dentro do orçamento de tempo.
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public AllocationBatchResponse batch(@RequestBody AllocationBatchRequest request) {
+        List<AllocationBatchRequest.Item> items = request.getItems();
+        if (items == null || items.isEmpty()) {
+            throw new BadRequestException("Informe ao menos um pedido.");
+        }
+        if (items.size() > MAX_BATCH_ITEMS) {
+            throw new BadRequestException("Máximo de " + MAX_BATCH_ITEMS + " pedidos por lote.");
+        }
+
+        List<BatchAllocationSolver.Request> requests = new ArrayList<>(items.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < items.size(); i++) {
+            requests.add(toSolverRequest(i, items.get(i), now));
+        }
+        LocalDateTime first = requests.stream().map(BatchAllocationSolver.Request::getWindowStart).min(LocalDateTime::compareTo).get();
+        LocalDateTime last = requests.stream().map(BatchAllocationSolver.Request::getWindowEnd).max(LocalDateTime::compareTo).get();
+        if (Duration.between(first, last).compareTo(MAX_BATCH_HORIZON) > 0) {
+            throw new BadRequestException("As janelas do lote devem caber em " + MAX_BATCH_HORIZON.toDays() + " dias.");
+        }
+
+        BatchAllocationSolver.Result result = batchSolver.solve(
+                spaceService.findAll(), requests, batchSolver.budget(request.getTimeBudgetMs()));
+
+        List<AllocationBatchResponse.Item> out = new ArrayList<>(items.size());
+        for (BatchAllocationSolver.Assignment assignment : result.getAssignments()) {
+            AllocationBatchResponse.Item item = new AllocationBatchResponse.Item();
+            item.setIndex(assignment.getIndex());
+            item.setLabel(items.get(assignment.getIndex()).getLabel());
+            if (assignment.isPlaced()) {
+                item.setStatus("PLACED");
+                item.setSpaceId(assignment.getSpace().getId());
+                item.setSpaceName(assignment.getSpace().getName());
+                item.setStartTime(assignment.getStartTime());
+                item.setEndTime(assignment.getEndTime());
+                item.setCost(assignment.getCost());
+            } else {
+                item.setStatus("UNPLACED");
+                item.setMessage(assignment.getReason());
+            }
+            out.add(item);
+        }
+
+        AllocationBatchResponse response = new AllocationBatchResponse();
+        response.setPlacedCount(result.getPlacedCount());
+        response.setUnplacedCount(items.size() - result.getPlacedCount());
+        response.setTotalCost(result.getTotalCost());
+        response.setLowerBound(result.getLowerBound());
+        response.setElapsedMs(result.getElapsedMillis());
+        response.setWorkers(result.getWorkers());
+        response.setItems(out);
+        return response;
+    }
+
+    private BatchAllocationSolver.Request toSolverRequest(int index, AllocationBatchRequest.Item item, LocalDateTime now) {
+        String prefix = "Pedido " + index + ": ";
+        if (item.getCapacity() == null || item.getCapacity() < 1) {
+            throw new BadRequestException(prefix + "capacidade deve ser pelo menos 1.");
+        }
+        if (item.getDurationMinutes() == null || item.getDurationMinutes() < 1) {
+            throw new BadRequestException(prefix + "duração deve ser pelo menos 1 minuto.");
+        }
+        if (item.getWindowStart() == null || item.getWindowEnd() == null) {
+            throw new BadRequestException(prefix + "informe windowStart e windowEnd.");
+        }
+        if (item.getWindowStart().isBefore(now)) {
+            throw new BadRequestException(prefix + "a janela não pode começar no passado.");
+        }
+        if (Duration.between(item.getWindowStart(), item.getWindowEnd()).toMinutes() < item.getDurationMinutes()) {
+            throw new BadRequestException(prefix + "a janela é menor que a duração.");
+        }
+
+        BatchAllocationSolver.Request request = new BatchAllocationSolver.Request();
+        request.setCapacity(item.getCapacity());
+        request.setDurationMinutes(item.getDurationMinutes());
+        request.setWindowStart(item.getWindowStart());
+        request.setWindowEnd(item.getWindowEnd());
+        request.setMaxPrice(item.getMaxPrice());
+        if (item.getType() != null) {
+            try {
+                request.setType(SpaceType.valueOf(item.getType()));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException(prefix + "tipo de espaço inválido: " + item.getType());
+            }
+        }
+        return request;
+    }
+
+    private AllocationCandidateDTO toDTO(SpaceRecommender.Recommendation recommendation, int rank,
+                                         LocalDateTime startTime, LocalDateTime endTime) {
+        Space s = recommendation.getSpace();
+        AllocationCandidateDTO dto = new AllocationCandidateDTO();
+        dto.setRank(rank);
+        dto.setSpaceId(s.getId());
+        dto.setSpaceName(s.getName());
+        dto.setType(s.getType() != null ? s.getType().name() : null);
+        dto.setCapacity(s.getCapacity());
+        dto.setPricePerHour(s.getPricePerHour());
+        dto.setTotalCost(allocationService.calculateTotalCost(s, startTime, endTime));
+        dto.setFloor(s.getFloor());
+        dto.setLocation(s.getLocation());
+        dto.setAmenities(s.getAmenities());
+        dto.setScore(round(recommendation.getScore()));
+        dto.setAmenityMatch(round(recommendation.getAmenityMatch()));
+        dto.setOccupancyRate(round(recommendation.getOccupancyRate()));
+        return dto;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10000) / 10000.0;
+    }
+}
@@ -0,0 +1,67 @@
+package com.reserves.controller;
+
+import com.reserves.dto.OccupancyReportDTO;
+import com.reserves.exception.BadRequestException;
+import com.reserves.service.OccupancyAnalyticsService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    // Período máximo de um relatório (dias)
+    public static final int MAX_REPORT_DAYS = 731;
+
+    private final OccupancyAnalyticsService occupancyAnalytics;
+
+    public AnalyticsController(OccupancyAnalyticsService occupancyAnalytics) {
+        this.occupancyAnalytics = occupancyAnalytics;
+    }
+
+    /**
+     * Ocupação, receita e cancelamentos por espaço em [from, to) (to exclusivo).
+     * Padrão: últimos 30 dias. daily=true inclui a série diária de cada espaço.
+     */
+    @GetMapping("/occupancy")
+    @PreAuthorize("hasRole('ADMIN')")
+    public OccupancyReportDTO getOccupancy(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<Long> spaceId,
+            @RequestParam(defaultValue = "false") boolean daily
+    ) {
+        LocalDate end = to != null ? to : LocalDate.now().plusDays(1);
+        LocalDate start = from != null ? from : end.minusDays(30);
+        long days = ChronoUnit.DAYS.between(start, end);
+        if (days < 1 || days > MAX_REPORT_DAYS) {
+            throw new BadRequestException("Período deve ter entre 1 e " + MAX_REPORT_DAYS + " dias (to é exclusivo).");
+        }
+        return occupancyAnalytics.report(start, end, spaceId, daily);
+    }
+
+    /**
+     * Recalcula os rollups a partir das reservas. Sem from/to, recalcula tudo.
+     */
+    @PostMapping("/occupancy/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> rebuild(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        if ((from == null) != (to == null)) {
+            throw new BadRequestException("Informe from e to juntos (ou nenhum para recalcular tudo).");
+        }
+        if (from != null && !to.isAfter(from)) {
+            throw new BadRequestException("to deve ser posterior a from.");
+        }
+        long processed = occupancyAnalytics.rebuild(from, to);
+        return Map.of("reservations", processed);
+    }
+}
@@ -0,0 +1,88 @@
+package com.reserves.controller;
+
+import com.reserves.dto.AvailabilityMatrixDTO;
+import com.reserves.exception.BadRequestException;
+import com.reserves.model.Space;
+import com.reserves.model.SpaceType;
+import com.reserves.service.AvailabilityMatrixService;
+import com.reserves.service.AvailabilityStreamService;
+import com.reserves.service.SpaceService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/availability")
+public class AvailabilityController {
+
+    private final AvailabilityMatrixService matrixService;
+    private final AvailabilityStreamService streamService;
+    private final SpaceService spaceService;
+
+    public AvailabilityController(AvailabilityMatrixService matrixService,
+                                  AvailabilityStreamService streamService,
+                                  SpaceService spaceService) {
+        this.matrixService = matrixService;
+        this.streamService = streamService;
+        this.spaceService = spaceService;
+    }
+
+    /**
+     * Grade de disponibilidade espaços × dias em uma única chamada.
+     * Sem spaceIds, considera todos os espaços disponíveis (opcionalmente filtrados por tipo).
+     */
+    @GetMapping("/matrix")
+    public AvailabilityMatrixDTO getMatrix(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "14") int days,
+            @RequestParam(required = false) List<Long> spaceIds,
+            @RequestParam(required = false) SpaceType type
+    ) {
+        validateDays(days);
+        LocalDate start = from != null ? from : LocalDate.now();
+        return matrixService.build(resolveSpaces(spaceIds, type), start, days);
+    }
+
+    /**
+     * Disponibilidade em tempo real (Server-Sent Events): evento "snapshot" com a
+     * matriz dos mesmos parâmetros e depois um "delta" por (espaço, dia) a cada
+     * reserva criada, alterada, cancelada ou removida. Substitui o polling.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "14") int days,
+            @RequestParam(required = false) List<Long> spaceIds,
+            @RequestParam(required = false) SpaceType type
+    ) {
+        validateDays(days);
+        LocalDate start = from != null ? from : LocalDate.now();
+        boolean filterBySpace = (spaceIds != null && !spaceIds.isEmpty()) || type != null;
+        return streamService.subscribe(resolveSpaces(spaceIds, type), filterBySpace, start, days);
+    }
+
+    private static void validateDays(int days) {
+        if (days < 1 || days > AvailabilityMatrixService.MAX_DAYS) {
+            throw new BadRequestException("days deve estar entre 1 e " + AvailabilityMatrixService.MAX_DAYS + ".");
+        }
+    }
+
+    /**
+     * Sem spaceIds, todos os espaços disponíveis (opcionalmente filtrados por tipo).
+     */
+    private List<Space> resolveSpaces(List<Long> spaceIds, SpaceType type) {
+        List<Space> spaces = spaceService.findAvailableWithFilters(type, null, null);
+        if (spaceIds != null && !spaceIds.isEmpty()) {
+            Set<Long> wanted = new HashSet<>(spaceIds);
+            spaces = spaces.stream().filter(s -> wanted.contains(s.getId())).collect(Collectors.toList());
+        }
+        return spaces;
+    }
+}
@@ -33,6 +33,6 @@ public class DebugController {
     @GetMapping("/debug/reservations")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<Reservation>> debugReservations() {
-        return ResponseEntity.ok(reservationRepository.findAll());
+        return ResponseEntity.ok(reservationRepository.findAllWithSpace());
     }
 }
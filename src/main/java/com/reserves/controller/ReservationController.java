@@ -1,95 +1,331 @@
 package com.reserves.controller;
 
+import com.reserves.model.ArchivedReservation;
 import com.reserves.model.Reservation;
+import com.reserves.service.ReservationArchiveService;
+import com.reserves.service.IdempotencyService;
+import com.reserves.service.ReservationExportService;
+import com.reserves.service.ReservationSeriesService;
 import com.reserves.service.ReservationService;
 import com.reserves.dto.ReservationDTO;
 import com.reserves.dto.ReservationCreateRequest;
 import com.reserves.dto.ReservationUpdateRequest;
+import com.reserves.dto.ReservationBatchRequest;
+import com.reserves.dto.ReservationBatchResponse;
+import com.reserves.exception.BadRequestException;
 import com.reserves.repository.UserRepository;
 import com.reserves.model.User;
+import com.reserves.model.ReservationSeries;
+import com.reserves.model.ReservationStatus;
+import com.reserves.repository.ReservationSearchFilter;
+import com.reserves.repository.ReservationSummary;
 import javax.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/reservations")
 public class ReservationController {
 
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ReservationService service;
     private final UserRepository userRepository;
+    private final ReservationExportService exportService;
+    private final ReservationArchiveService archiveService;
+    private final IdempotencyService idempotency;
+    private final ReservationSeriesService seriesService;
 
-    public ReservationController(ReservationService service, UserRepository userRepository) {
+    public ReservationController(ReservationService service,
+                                 UserRepository userRepository,
+                                 ReservationExportService exportService,
+                                 ReservationArchiveService archiveService,
+                                 IdempotencyService idempotency,
+                                 ReservationSeriesService seriesService) {
         this.service = service;
+        this.seriesService = seriesService;
         this.userRepository = userRepository;
+        this.exportService = exportService;
+        this.archiveService = archiveService;
+        this.idempotency = idempotency;
     }
 
+    /**
+     * Listagem administrativa com filtros aplicados na consulta e paginação por cursor.
+     * Ordem estável (startTime, id); quando há mais linhas, o cabeçalho X-Next-Cursor
+     * traz o cursor a ser enviado em `cursor` para obter a próxima página.
+     * Lista só reservas avulsas: ocorrências de séries não têm linha nem id para o
+     * cursor (ver /api/reservations/series/{id}/occurrences e /my).
+     */
     @GetMapping
     @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')")
-    public List<ReservationDTO> getAll(
+    public ResponseEntity<List<ReservationDTO>> getAll(
+            @RequestParam(required = false) Long spaceId,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit
+    ) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("limit deve estar entre 1 e " + MAX_PAGE_SIZE + ".");
+        }
+
+        ReservationSearchFilter filter = buildFilter(spaceId, userId, status, startDate, endDate);
+        if (filter == null) {
+            return ResponseEntity.ok(List.of());
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            decodeCursor(cursor, filter);
+        }
+
+        // Uma linha a mais indica se existe próxima página
+        List<ReservationSummary> rows = service.search(filter, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+
+        List<ReservationDTO> body = rows.stream().map(this::toDTO).collect(Collectors.toList());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (hasMore) {
+            ReservationSummary last = rows.get(rows.size() - 1);
+            response.header(NEXT_CURSOR_HEADER, encodeCursor(last.getStartTime(), last.getId()));
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Histórico (reservas já arquivadas), com os mesmos filtros e cursor da listagem.
+     * Caminho separado e mais lento: a listagem principal só vê a tabela quente.
+     */
+    @GetMapping("/history")
+    @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ReservationDTO>> getHistory(
+            @RequestParam(required = false) Long spaceId,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit
+    ) {
+        return historyPage(buildFilter(spaceId, userId, status, startDate, endDate), cursor, limit);
+    }
+
+    @GetMapping("/my/history")
+    public ResponseEntity<List<ReservationDTO>> getMyHistory(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit
+    ) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String email = auth != null ? auth.getName() : null;
+        if (email == null) return ResponseEntity.ok(List.of());
+        ReservationSearchFilter filter = new ReservationSearchFilter();
+        filter.setUserEmail(email);
+        return historyPage(filter, cursor, limit);
+    }
+
+    /**
+     * Executa o arquivamento agora (além da execução agendada).
+     */
+    @PostMapping("/archive")
+    @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Long> archiveEnded() {
+        return Map.of("archived", archiveService.archiveEnded());
+    }
+
+    /**
+     * Exportação completa (NDJSON ou CSV) escrita em streaming, com os mesmos filtros da listagem.
+     * Como a listagem, exporta as reservas avulsas (sem expandir séries recorrentes); quando o
+     * período alcança o histórico, as reservas arquivadas vêm em seguida.
+     */
+    @GetMapping("/export")
+    @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "ndjson") String format,
             @RequestParam(required = false) Long spaceId,
             @RequestParam(required = false) Long userId,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String startDate,
             @RequestParam(required = false) String endDate
     ) {
-        // For simplicity we return all reservations; filtering can be added to service later
-        return service.findAll().stream().map(this::toDTO).collect(Collectors.toList());
+        ReservationExportService.Format exportFormat;
+        try {
+            exportFormat = ReservationExportService.Format.valueOf(format.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Formato inválido: " + format + " (use ndjson ou csv).");
+        }
+        ReservationSearchFilter filter = buildFilter(spaceId, userId, status, startDate, endDate);
+
+        MediaType contentType = exportFormat == ReservationExportService.Format.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.parseMediaType("application/x-ndjson");
+        String fileName = "reservations." + exportFormat.name().toLowerCase();
+
+        StreamingResponseBody body = out -> {
+            if (filter != null) {
+                exportService.export(filter, exportFormat, out);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
     }
 
+    /**
+     * Reservas do usuário autenticado e as ocorrências das suas séries recorrentes
+     * que se sobrepõem à janela [from, to) (padrão: próximos 30 dias), ordenadas
+     * por início. As duas fontes usam a mesma janela.
+     * As ocorrências são expandidas sob demanda e vêm com seriesId (sem id).
+     */
     @GetMapping("/my")
-    public List<ReservationDTO> getMyReservations() {
+    public List<ReservationDTO> getMyReservations(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String email = auth != null ? auth.getName() : null;
         if (email == null) return List.of();
-        return service.findByUserEmail(email).stream().map(this::toDTO).collect(Collectors.toList());
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        LocalDateTime end = to != null ? to : start.plusDays(30);
+        if (!end.isAfter(start)) {
+            throw new BadRequestException("O fim da janela deve ser após o início.");
+        }
+
+        List<ReservationDTO> body = new ArrayList<>();
+        service.findByUserEmail(email, start, end).forEach(r -> body.add(toDTO(r)));
+        seriesService.occurrencesOfUser(email, start, end).forEach(o -> body.add(toDTO(o)));
+        body.sort(Comparator.comparing(ReservationDTO::getStartTime));
+        return body;
     }
 
     @GetMapping("/{id}")
-    public ReservationDTO getReservationById(@PathVariable Long id) {
-        return toDTO(service.findById(id));
+    public ResponseEntity<ReservationDTO> getReservationById(@PathVariable Long id) {
+        return withETag(service.findById(id));
     }
 
+    /**
+     * Com o cabeçalho Idempotency-Key, repetições da mesma requisição (mesmo usuário,
+     * mesma chave) devolvem a reserva já criada sem executar a criação de novo.
+     */
     @PostMapping
-    public ReservationDTO createReservation(@Valid @RequestBody ReservationCreateRequest request) {
-        // Build Reservation entity from request
-        Reservation r = new Reservation();
-        com.reserves.model.Space sp = new com.reserves.model.Space();
-        sp.setId(request.getSpaceId());
-        r.setSpace(sp);
-
+    public ResponseEntity<ReservationDTO> createReservation(
+            @Valid @RequestBody ReservationCreateRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         // If authenticated, prefer authenticated user's email
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String email = auth != null ? auth.getName() : null;
-        if (email != null) {
-            r.setUserEmail(email);
-            // try get name from user repository
-            User u = userRepository.findByEmail(email).orElse(null);
-            r.setUserName(u != null ? u.getName() : request.getUserName());
-        } else {
-            r.setUserEmail(request.getUserEmail());
-            r.setUserName(request.getUserName());
+
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(create(request, email));
+        }
+        IdempotencyService.Outcome<ReservationDTO> outcome = idempotency.execute(
+                email != null ? email : "anonymous:" + request.getUserEmail(), idempotencyKey, fingerprint(request),
+                () -> create(request, email));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (outcome.isReplayed()) {
+            response.header(IdempotencyService.REPLAYED_HEADER, "true");
         }
+        return response.body(outcome.getValue());
+    }
 
-        r.setUserPhone(request.getUserPhone());
-        r.setStartTime(request.getStartTime());
-        r.setEndTime(request.getEndTime());
-        r.setNotes(request.getNotes());
+    private ReservationDTO create(ReservationCreateRequest request, String email) {
+        // try get name from user repository
+        User u = email != null ? userRepository.findByEmail(email).orElse(null) : null;
+        return toDTO(service.create(fromCreateRequest(request, email, u)));
+    }
 
-        Reservation created = service.create(r);
-        return toDTO(created);
+    private static String fingerprint(ReservationCreateRequest r) {
+        return r.getSpaceId() + "|" + r.getStartTime() + "|" + r.getEndTime() + "|" + r.getUserName()
+                + "|" + r.getUserEmail() + "|" + r.getUserPhone() + "|" + r.getNotes();
     }
 
+    /**
+     * Cria várias reservas em uma única requisição (lote atômico):
+     * ou todas são criadas, ou nenhuma — com resultado por item.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ReservationBatchResponse> createBatch(@Valid @RequestBody ReservationBatchRequest request) {
+        List<ReservationCreateRequest> items = request.getItems();
+        if (items == null || items.isEmpty()) {
+            throw new BadRequestException("O lote deve conter pelo menos uma reserva.");
+        }
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("O lote pode conter no máximo " + MAX_BATCH_SIZE + " reservas.");
+        }
+
+        // Usuário autenticado resolvido uma única vez para todo o lote
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String email = auth != null ? auth.getName() : null;
+        User u = email != null ? userRepository.findByEmail(email).orElse(null) : null;
+
+        List<Reservation> reservations = new ArrayList<>(items.size());
+        for (ReservationCreateRequest item : items) {
+            reservations.add(fromCreateRequest(item, email, u));
+        }
+
+        List<ReservationService.BatchItemResult> results = service.createBatch(reservations);
+
+        List<ReservationBatchResponse.Item> body = new ArrayList<>(results.size());
+        int created = 0;
+        boolean conflict = false;
+        for (ReservationService.BatchItemResult result : results) {
+            ReservationBatchResponse.Item item = new ReservationBatchResponse.Item();
+            item.setIndex(result.getIndex());
+            item.setStatus(result.getStatus().name());
+            item.setMessage(result.getMessage());
+            if (result.getStatus() == ReservationService.BatchItemStatus.CREATED) {
+                item.setReservation(toDTO(result.getReservation()));
+                created++;
+            }
+            conflict |= result.getStatus() == ReservationService.BatchItemStatus.CONFLICT;
+            body.add(item);
+        }
+
+        boolean success = created == results.size();
+        HttpStatus status = success ? HttpStatus.OK : (conflict ? HttpStatus.CONFLICT : HttpStatus.BAD_REQUEST);
+        return ResponseEntity.status(status).body(new ReservationBatchResponse(success, created, body));
+    }
+
+    /**
+     * If-Match opcional com o ETag (versão) da reserva: se ela mudou desde então, responde 412.
+     */
     @PostMapping("/{id}/cancel")
-    public ReservationDTO cancelReservation(@PathVariable Long id) {
-        return toDTO(service.cancel(id));
+    public ResponseEntity<ReservationDTO> cancelReservation(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return withETag(service.cancel(id, parseIfMatch(ifMatch)));
     }
 
     @PutMapping("/{id}")
-    public ReservationDTO updateReservation(@PathVariable Long id, @Valid @RequestBody ReservationUpdateRequest request) {
+    public ResponseEntity<ReservationDTO> updateReservation(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody ReservationUpdateRequest request) {
         Reservation r = new Reservation();
         r.setUserName(request.getUserName());
         r.setUserEmail(request.getUserEmail());
@@ -98,8 +334,8 @@ public class ReservationController {
         r.setEndTime(request.getEndTime());
         r.setNotes(request.getNotes());
 
-        Reservation updated = service.update(id, r);
-        return toDTO(updated);
+        Reservation updated = service.update(id, r, parseIfMatch(ifMatch));
+        return withETag(updated);
     }
 
     @DeleteMapping("/{id}")
@@ -108,6 +344,142 @@ public class ReservationController {
         service.delete(id);
     }
 
+    private Reservation fromCreateRequest(ReservationCreateRequest request, String email, User u) {
+        // Build Reservation entity from request
+        Reservation r = new Reservation();
+        com.reserves.model.Space sp = new com.reserves.model.Space();
+        sp.setId(request.getSpaceId());
+        r.setSpace(sp);
+
+        if (email != null) {
+            r.setUserEmail(email);
+            r.setUserName(u != null ? u.getName() : request.getUserName());
+        } else {
+            r.setUserEmail(request.getUserEmail());
+            r.setUserName(request.getUserName());
+        }
+
+        r.setUserPhone(request.getUserPhone());
+        r.setStartTime(request.getStartTime());
+        r.setEndTime(request.getEndTime());
+        r.setNotes(request.getNotes());
+        return r;
+    }
+
+    /**
+     * Monta o filtro da listagem/exportação; null quando o usuário informado não existe.
+     */
+    private ReservationSearchFilter buildFilter(Long spaceId, Long userId, String status,
+                                                String startDate, String endDate) {
+        ReservationSearchFilter filter = new ReservationSearchFilter();
+        filter.setSpaceId(spaceId);
+        if (userId != null) {
+            // Reservas são vinculadas ao usuário pelo email
+            User user = userRepository.findById(userId).orElse(null);
+            if (user == null) {
+                return null;
+            }
+            filter.setUserEmail(user.getEmail());
+        }
+        if (status != null && !status.isBlank()) {
+            try {
+                filter.setStatus(ReservationStatus.valueOf(status.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Status inválido: " + status);
+            }
+        }
+        filter.setFrom(parseDateParam(startDate, false));
+        filter.setTo(parseDateParam(endDate, true));
+        return filter;
+    }
+
+    /**
+     * Aceita data (yyyy-MM-dd) ou data/hora ISO. Uma data final inclui o dia inteiro.
+     */
+    private LocalDateTime parseDateParam(String value, boolean endOfRange) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            if (value.length() == 10) {
+                LocalDate date = LocalDate.parse(value);
+                return endOfRange ? date.plusDays(1).atStartOfDay() : date.atStartOfDay();
+            }
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Data inválida: " + value);
+        }
+    }
+
+    private ResponseEntity<List<ReservationDTO>> historyPage(ReservationSearchFilter filter, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("limit deve estar entre 1 e " + MAX_PAGE_SIZE + ".");
+        }
+        if (filter == null) {
+            return ResponseEntity.ok(List.of());
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            decodeCursor(cursor, filter);
+        }
+
+        List<ArchivedReservation> rows = archiveService.searchHistory(filter, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+
+        List<ReservationDTO> body = rows.stream().map(this::toDTO).collect(Collectors.toList());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (hasMore) {
+            ArchivedReservation last = rows.get(rows.size() - 1);
+            response.header(NEXT_CURSOR_HEADER, encodeCursor(last.getStartTime(), last.getId()));
+        }
+        return response.body(body);
+    }
+
+    private String encodeCursor(LocalDateTime startTime, Long id) {
+        String raw = startTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void decodeCursor(String cursor, ReservationSearchFilter filter) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            filter.setAfterStartTime(LocalDateTime.parse(raw.substring(0, sep)));
+            filter.setAfterId(Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Cursor inválido.");
+        }
+    }
+
+    private ResponseEntity<ReservationDTO> withETag(Reservation r) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (r.getVersion() != null) {
+            response.eTag(String.valueOf(r.getVersion()));
+        }
+        return response.body(toDTO(r));
+    }
+
+    /**
+     * Versão esperada a partir do If-Match ("3", W/"3" ou 3); ausente ou "*" = sem pré-condição.
+     */
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        value = value.replace("\"", "");
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("If-Match inválido: " + ifMatch);
+        }
+    }
+
     private ReservationDTO toDTO(Reservation r) {
         ReservationDTO dto = new ReservationDTO();
         dto.setId(r.getId());
@@ -121,6 +493,57 @@ public class ReservationController {
         dto.setTotalPrice(r.getTotalPrice());
         dto.setNotes(r.getNotes());
         dto.setCreatedAt(r.getCreatedAt());
+        dto.setVersion(r.getVersion());
+        return dto;
+    }
+
+    private ReservationDTO toDTO(ReservationSummary r) {
+        ReservationDTO dto = new ReservationDTO();
+        dto.setId(r.getId());
+        dto.setSpaceId(r.getSpaceId());
+        dto.setSpaceName(r.getSpaceName());
+        dto.setUserName(r.getUserName());
+        dto.setUserEmail(r.getUserEmail());
+        dto.setStartTime(r.getStartTime());
+        dto.setEndTime(r.getEndTime());
+        dto.setStatus(r.getStatus() != null ? r.getStatus().name() : null);
+        dto.setTotalPrice(r.getTotalPrice());
+        dto.setNotes(r.getNotes());
+        dto.setCreatedAt(r.getCreatedAt());
+        dto.setVersion(r.getVersion());
+        return dto;
+    }
+
+    private ReservationDTO toDTO(ReservationSeriesService.Occurrence o) {
+        ReservationSeries s = o.getSeries();
+        ReservationDTO dto = new ReservationDTO();
+        dto.setSeriesId(s.getId());
+        dto.setSpaceId(s.getSpace().getId());
+        dto.setSpaceName(s.getSpace().getName());
+        dto.setUserName(s.getUserName());
+        dto.setUserEmail(s.getUserEmail());
+        dto.setStartTime(o.getSlot().getStart());
+        dto.setEndTime(o.getSlot().getEnd());
+        dto.setStatus(s.getStatus() != null ? s.getStatus().name() : null);
+        dto.setTotalPrice(s.getPricePerOccurrence());
+        dto.setNotes(s.getNotes());
+        dto.setCreatedAt(s.getCreatedAt());
+        return dto;
+    }
+
+    private ReservationDTO toDTO(ArchivedReservation r) {
+        ReservationDTO dto = new ReservationDTO();
+        dto.setId(r.getId());
+        dto.setSpaceId(r.getSpaceId());
+        dto.setSpaceName(r.getSpaceName());
+        dto.setUserName(r.getUserName());
+        dto.setUserEmail(r.getUserEmail());
+        dto.setStartTime(r.getStartTime());
+        dto.setEndTime(r.getEndTime());
+        dto.setStatus(r.getStatus() != null ? r.getStatus().name() : null);
+        dto.setTotalPrice(r.getTotalPrice());
+        dto.setNotes(r.getNotes());
+        dto.setCreatedAt(r.getCreatedAt());
         return dto;
     }
 }
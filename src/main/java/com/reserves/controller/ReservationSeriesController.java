@@ -0,0 +1,158 @@
+package com.reserves.controller;
+
+import com.reserves.algorithm.RecurrenceRule;
+import com.reserves.dto.ReservationSeriesDTO;
+import com.reserves.dto.ReservationSeriesRequest;
+import com.reserves.dto.SeriesOccurrenceDTO;
+import com.reserves.exception.BadRequestException;
+import com.reserves.model.RecurrenceFrequency;
+import com.reserves.model.ReservationSeries;
+import com.reserves.model.Space;
+import com.reserves.model.User;
+import com.reserves.repository.UserRepository;
+import com.reserves.service.ReservationSeriesService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/reservations/series")
+public class ReservationSeriesController {
+
+    private final ReservationSeriesService service;
+    private final UserRepository userRepository;
+
+    public ReservationSeriesController(ReservationSeriesService service, UserRepository userRepository) {
+        this.service = service;
+        this.userRepository = userRepository;
+    }
+
+    @PostMapping
+    public ReservationSeriesDTO create(@RequestBody ReservationSeriesRequest request) {
+        ReservationSeries s = new ReservationSeries();
+        Space sp = new Space();
+        sp.setId(request.getSpaceId());
+        s.setSpace(sp);
+
+        // If authenticated, prefer authenticated user's email
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String email = auth != null ? auth.getName() : null;
+        if (email != null) {
+            s.setUserEmail(email);
+            User u = userRepository.findByEmail(email).orElse(null);
+            s.setUserName(u != null ? u.getName() : request.getUserName());
+        } else {
+            s.setUserEmail(request.getUserEmail());
+            s.setUserName(request.getUserName());
+        }
+
+        s.setUserPhone(request.getUserPhone());
+        s.setFrequency(parseFrequency(request.getFrequency()));
+        s.setIntervalCount(request.getInterval());
+        s.setDaysOfWeek(request.getDaysOfWeek() != null ? RecurrenceRule.maskOf(request.getDaysOfWeek()) : 0);
+        s.setStartDate(request.getStartDate());
+        s.setUntilDate(request.getUntilDate());
+        s.setStartTime(request.getStartTime());
+        s.setEndTime(request.getEndTime());
+        s.setNotes(request.getNotes());
+
+        return toDTO(service.create(s));
+    }
+
+    @GetMapping("/my")
+    public List<ReservationSeriesDTO> getMySeries() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String email = auth != null ? auth.getName() : null;
+        if (email == null) return List.of();
+        return service.findByUserEmail(email).stream().map(this::toDTO).collect(Collectors.toList());
+    }
+
+    @GetMapping("/{id}")
+    public ReservationSeriesDTO getById(@PathVariable Long id) {
+        return toDTO(service.findById(id));
+    }
+
+    /**
+     * Ocorrências da série na janela (padrão: próximos 30 dias), expandidas sob demanda.
+     */
+    @GetMapping("/{id}/occurrences")
+    public List<SeriesOccurrenceDTO> getOccurrences(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        LocalDateTime end = to != null ? to : start.plusDays(30);
+        if (!end.isAfter(start)) {
+            throw new BadRequestException("O fim da janela deve ser após o início.");
+        }
+        ReservationSeries series = service.findById(id);
+        Long spaceId = series.getSpace() != null ? series.getSpace().getId() : null;
+        return service.occurrences(id, start, end).stream()
+                .map(slot -> new SeriesOccurrenceDTO(id, spaceId, slot.getStart(), slot.getEnd()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Cancela uma única ocorrência da série (exceção).
+     */
+    @PostMapping("/{id}/exceptions")
+    public ReservationSeriesDTO cancelOccurrence(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        return toDTO(service.cancelOccurrence(id, date));
+    }
+
+    @PostMapping("/{id}/cancel")
+    public ReservationSeriesDTO cancel(@PathVariable Long id) {
+        return toDTO(service.cancel(id));
+    }
+
+    private RecurrenceFrequency parseFrequency(String frequency) {
+        if (frequency == null) {
+            throw new BadRequestException("Frequência é obrigatória.");
+        }
+        try {
+            return RecurrenceFrequency.valueOf(frequency.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Frequência inválida: " + frequency);
+        }
+    }
+
+    private ReservationSeriesDTO toDTO(ReservationSeries s) {
+        ReservationSeriesDTO dto = new ReservationSeriesDTO();
+        dto.setId(s.getId());
+        dto.setSpaceId(s.getSpace() != null ? s.getSpace().getId() : null);
+        dto.setUserName(s.getUserName());
+        dto.setUserEmail(s.getUserEmail());
+        dto.setFrequency(s.getFrequency() != null ? s.getFrequency().name() : null);
+        dto.setInterval(s.getIntervalCount());
+        List<DayOfWeek> days = new ArrayList<>();
+        int mask = s.getDaysOfWeek() != null ? s.getDaysOfWeek() : 0;
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if ((mask & (1 << (day.getValue() - 1))) != 0) {
+                days.add(day);
+            }
+        }
+        dto.setDaysOfWeek(days);
+        dto.setStartDate(s.getStartDate());
+        dto.setUntilDate(s.getUntilDate());
+        dto.setStartTime(s.getStartTime());
+        dto.setEndTime(s.getEndTime());
+        dto.setStatus(s.getStatus() != null ? s.getStatus().name() : null);
+        dto.setPricePerOccurrence(s.getPricePerOccurrence());
+        dto.setCancelledDates(s.getCancelledDates().stream().sorted().collect(Collectors.toList()));
+        dto.setNotes(s.getNotes());
+        dto.setCreatedAt(s.getCreatedAt());
+        return dto;
+    }
+}
@@ -0,0 +1,107 @@
+package com.reserves.controller;
+
+import com.reserves.dto.WaitlistEntryDTO;
+import com.reserves.dto.WaitlistRequest;
+import com.reserves.model.Space;
+import com.reserves.model.User;
+import com.reserves.model.WaitlistEntry;
+import com.reserves.repository.UserRepository;
+import com.reserves.service.WaitlistService;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/waitlist")
+public class WaitlistController {
+
+    private final WaitlistService service;
+    private final UserRepository userRepository;
+
+    public WaitlistController(WaitlistService service, UserRepository userRepository) {
+        this.service = service;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Entra na lista de espera de um horário ocupado. Quando uma reserva que
+     * sobrepõe o horário for cancelada/removida, o pedido vira reserva automaticamente.
+     */
+    @PostMapping
+    public WaitlistEntryDTO join(@RequestBody WaitlistRequest request) {
+        WaitlistEntry entry = new WaitlistEntry();
+        Space sp = new Space();
+        sp.setId(request.getSpaceId());
+        entry.setSpace(sp);
+
+        // If authenticated, prefer authenticated user's email
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String email = auth != null ? auth.getName() : null;
+        if (email != null) {
+            entry.setUserEmail(email);
+            User u = userRepository.findByEmail(email).orElse(null);
+            entry.setUserName(u != null ? u.getName() : request.getUserName());
+        } else {
+            entry.setUserEmail(request.getUserEmail());
+            entry.setUserName(request.getUserName());
+        }
+
+        entry.setUserPhone(request.getUserPhone());
+        entry.setStartTime(request.getStartTime());
+        entry.setEndTime(request.getEndTime());
+        entry.setNotes(request.getNotes());
+        entry.setPriority(isAdmin(auth) && request.getPriority() != null ? request.getPriority() : 0);
+
+        return toDTO(service.join(entry));
+    }
+
+    @GetMapping("/my")
+    public List<WaitlistEntryDTO> getMine() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String email = auth != null ? auth.getName() : null;
+        if (email == null) return List.of();
+        return service.findByUserEmail(email).stream().map(this::toDTO).collect(Collectors.toList());
+    }
+
+    /**
+     * Fila de espera de um espaço (pedidos em espera), por horário e ordem de atendimento.
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<WaitlistEntryDTO> getQueue(@RequestParam Long spaceId) {
+        return service.findQueue(spaceId).stream().map(this::toDTO).collect(Collectors.toList());
+    }
+
+    @DeleteMapping("/{id}")
+    public WaitlistEntryDTO leave(@PathVariable Long id) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String email = auth != null ? auth.getName() : null;
+        return toDTO(service.leave(id, email, isAdmin(auth)));
+    }
+
+    private static boolean isAdmin(Authentication auth) {
+        return auth != null && auth.getAuthorities().stream()
+                .anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()));
+    }
+
+    private WaitlistEntryDTO toDTO(WaitlistEntry w) {
+        WaitlistEntryDTO dto = new WaitlistEntryDTO();
+        dto.setId(w.getId());
+        dto.setSpaceId(w.getSpace() != null ? w.getSpace().getId() : null);
+        dto.setUserName(w.getUserName());
+        dto.setUserEmail(w.getUserEmail());
+        dto.setStartTime(w.getStartTime());
+        dto.setEndTime(w.getEndTime());
+        dto.setPriority(w.getPriority());
+        dto.setStatus(w.getStatus() != null ? w.getStatus().name() : null);
+        dto.setReservationId(w.getReservationId());
+        dto.setNotes(w.getNotes());
+        dto.setCreatedAt(w.getCreatedAt());
+        dto.setPromotedAt(w.getPromotedAt());
+        return dto;
+    }
+}
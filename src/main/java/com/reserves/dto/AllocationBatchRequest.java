@@ -0,0 +1,49 @@
+package com.reserves.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class AllocationBatchRequest {
+    private List<Item> items = new ArrayList<>();
+    // Orçamento de otimização em ms (opcional; limitado por allocation.batch.max-time-budget)
+    private Long timeBudgetMs;
+
+    public AllocationBatchRequest() {}
+
+    public List<Item> getItems() { return items; }
+    public void setItems(List<Item> items) { this.items = items; }
+    public Long getTimeBudgetMs() { return timeBudgetMs; }
+    public void setTimeBudgetMs(Long timeBudgetMs) { this.timeBudgetMs = timeBudgetMs; }
+
+    /**
+     * Pedido de sala: capacidade, duração e janela preferida [windowStart, windowEnd).
+     */
+    public static class Item {
+        private String label;
+        private Integer capacity;
+        private Integer durationMinutes;
+        private LocalDateTime windowStart;
+        private LocalDateTime windowEnd;
+        private String type;
+        private BigDecimal maxPrice;
+
+        public Item() {}
+
+        public String getLabel() { return label; }
+        public void setLabel(String label) { this.label = label; }
+        public Integer getCapacity() { return capacity; }
+        public void setCapacity(Integer capacity) { this.capacity = capacity; }
+        public Integer getDurationMinutes() { return durationMinutes; }
+        public void setDurationMinutes(Integer durationMinutes) { this.durationMinutes = durationMinutes; }
+        public LocalDateTime getWindowStart() { return windowStart; }
+        public void setWindowStart(LocalDateTime windowStart) { this.windowStart = windowStart; }
+        public LocalDateTime getWindowEnd() { return windowEnd; }
+        public void setWindowEnd(LocalDateTime windowEnd) { this.windowEnd = windowEnd; }
+        public String getType() { return type; }
+        public void setType(String type) { this.type = type; }
+        public BigDecimal getMaxPrice() { return maxPrice; }
+        public void setMaxPrice(BigDecimal maxPrice) { this.maxPrice = maxPrice; }
+    }
+}
@@ -0,0 +1,69 @@
+package com.reserves.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class AllocationBatchResponse {
+    private int placedCount;
+    private int unplacedCount;
+    private BigDecimal totalCost;
+    // Soma da sala compatível mais barata de cada pedido (custo mínimo possível, ignorando horários)
+    private BigDecimal lowerBound;
+    private long elapsedMs;
+    private int workers;
+    private List<Item> items;
+
+    public AllocationBatchResponse() {}
+
+    public int getPlacedCount() { return placedCount; }
+    public void setPlacedCount(int placedCount) { this.placedCount = placedCount; }
+    public int getUnplacedCount() { return unplacedCount; }
+    public void setUnplacedCount(int unplacedCount) { this.unplacedCount = unplacedCount; }
+    public BigDecimal getTotalCost() { return totalCost; }
+    public void setTotalCost(BigDecimal totalCost) { this.totalCost = totalCost; }
+    public BigDecimal getLowerBound() { return lowerBound; }
+    public void setLowerBound(BigDecimal lowerBound) { this.lowerBound = lowerBound; }
+    public long getElapsedMs() { return elapsedMs; }
+    public void setElapsedMs(long elapsedMs) { this.elapsedMs = elapsedMs; }
+    public int getWorkers() { return workers; }
+    public void setWorkers(int workers) { this.workers = workers; }
+    public List<Item> getItems() { return items; }
+    public void setItems(List<Item> items) { this.items = items; }
+
+    /**
+     * Resultado por pedido, na mesma ordem do request.
+     */
+    public static class Item {
+        private int index;
+        private String label;
+        private String status;
+        private String message;
+        private Long spaceId;
+        private String spaceName;
+        private LocalDateTime startTime;
+        private LocalDateTime endTime;
+        private BigDecimal cost;
+
+        public Item() {}
+
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+        public String getLabel() { return label; }
+        public void setLabel(String label) { this.label = label; }
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+        public Long getSpaceId() { return spaceId; }
+        public void setSpaceId(Long spaceId) { this.spaceId = spaceId; }
+        public String getSpaceName() { return spaceName; }
+        public void setSpaceName(String spaceName) { this.spaceName = spaceName; }
+        public LocalDateTime getStartTime() { return startTime; }
+        public void setStartTime(LocalDateTime startTime) { this.startTime = startTime; }
+        public LocalDateTime getEndTime() { return endTime; }
+        public void setEndTime(LocalDateTime endTime) { this.endTime = endTime; }
+        public BigDecimal getCost() { return cost; }
+        public void setCost(BigDecimal cost) { this.cost = cost; }
+    }
+}
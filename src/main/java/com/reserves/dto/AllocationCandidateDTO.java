@@ -0,0 +1,51 @@
+package com.reserves.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class AllocationCandidateDTO {
+    private int rank;
+    private Long spaceId;
+    private String spaceName;
+    private String type;
+    private Integer capacity;
+    private BigDecimal pricePerHour;
+    private BigDecimal totalCost;
+    private String floor;
+    private String location;
+    private List<String> amenities;
+    // Score da recomendação (0 a 1) e indicadores usados no ranking
+    private double score;
+    private double amenityMatch;
+    private double occupancyRate;
+
+    public AllocationCandidateDTO() {}
+
+    // getters and setters
+    public int getRank() { return rank; }
+    public void setRank(int rank) { this.rank = rank; }
+    public Long getSpaceId() { return spaceId; }
+    public void setSpaceId(Long spaceId) { this.spaceId = spaceId; }
+    public String getSpaceName() { return spaceName; }
+    public void setSpaceName(String spaceName) { this.spaceName = spaceName; }
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    public Integer getCapacity() { return capacity; }
+    public void setCapacity(Integer capacity) { this.capacity = capacity; }
+    public BigDecimal getPricePerHour() { return pricePerHour; }
+    public void setPricePerHour(BigDecimal pricePerHour) { this.pricePerHour = pricePerHour; }
+    public BigDecimal getTotalCost() { return totalCost; }
+    public void setTotalCost(BigDecimal totalCost) { this.totalCost = totalCost; }
+    public String getFloor() { return floor; }
+    public void setFloor(String floor) { this.floor = floor; }
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+    public List<String> getAmenities() { return amenities; }
+    public void setAmenities(List<String> amenities) { this.amenities = amenities; }
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+    public double getAmenityMatch() { return amenityMatch; }
+    public void setAmenityMatch(double amenityMatch) { this.amenityMatch = amenityMatch; }
+    public double getOccupancyRate() { return occupancyRate; }
+    public void setOccupancyRate(double occupancyRate) { this.occupancyRate = occupancyRate; }
+}
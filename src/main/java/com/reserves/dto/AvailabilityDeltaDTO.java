@@ -0,0 +1,35 @@
+package com.reserves.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Mudança de disponibilidade de um espaço em um dia (evento "delta" do stream):
+ * máscara de slots livres do dia inteiro, no mesmo formato da matriz.
+ * reservationId ou seriesId identificam o que mudou.
+ */
+public class AvailabilityDeltaDTO {
+    private Long eventId;
+    private String eventType;
+    private Long reservationId;
+    private Long seriesId;
+    private Long spaceId;
+    private LocalDate date;
+    private String free;
+
+    public AvailabilityDeltaDTO() {}
+
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+    public String getEventType() { return eventType; }
+    public void setEventType(String eventType) { this.eventType = eventType; }
+    public Long getReservationId() { return reservationId; }
+    public void setReservationId(Long reservationId) { this.reservationId = reservationId; }
+    public Long getSeriesId() { return seriesId; }
+    public void setSeriesId(Long seriesId) { this.seriesId = seriesId; }
+    public Long getSpaceId() { return spaceId; }
+    public void setSpaceId(Long spaceId) { this.spaceId = spaceId; }
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+    public String getFree() { return free; }
+    public void setFree(String free) { this.free = free; }
+}
@@ -0,0 +1,51 @@
+package com.reserves.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Matriz de disponibilidade: para cada espaço, uma máscara de bits (Base64,
+ * little-endian) com um bit por slot de slotMinutes a partir de `from` 00:00.
+ * Bit 1 = slot livre.
+ */
+public class AvailabilityMatrixDTO {
+    private LocalDate from;
+    private int days;
+    private int slotMinutes;
+    private int slotsPerDay;
+    private List<Row> spaces;
+
+    public AvailabilityMatrixDTO() {}
+
+    public LocalDate getFrom() { return from; }
+    public void setFrom(LocalDate from) { this.from = from; }
+    public int getDays() { return days; }
+    public void setDays(int days) { this.days = days; }
+    public int getSlotMinutes() { return slotMinutes; }
+    public void setSlotMinutes(int slotMinutes) { this.slotMinutes = slotMinutes; }
+    public int getSlotsPerDay() { return slotsPerDay; }
+    public void setSlotsPerDay(int slotsPerDay) { this.slotsPerDay = slotsPerDay; }
+    public List<Row> getSpaces() { return spaces; }
+    public void setSpaces(List<Row> spaces) { this.spaces = spaces; }
+
+    public static class Row {
+        private Long spaceId;
+        private String spaceName;
+        private String free;
+
+        public Row() {}
+
+        public Row(Long spaceId, String spaceName, String free) {
+            this.spaceId = spaceId;
+            this.spaceName = spaceName;
+            this.free = free;
+        }
+
+        public Long getSpaceId() { return spaceId; }
+        public void setSpaceId(Long spaceId) { this.spaceId = spaceId; }
+        public String getSpaceName() { return spaceName; }
+        public void setSpaceName(String spaceName) { this.spaceName = spaceName; }
+        public String getFree() { return free; }
+        public void setFree(String free) { this.free = free; }
+    }
+}
@@ -0,0 +1,90 @@
+package com.reserves.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Relatório de ocupação por espaço em [from, to) a partir dos rollups diários.
+ * utilization = minutos reservados / (dias × horas de funcionamento por dia).
+ */
+public class OccupancyReportDTO {
+    private LocalDate from;
+    private LocalDate to;
+    private int days;
+    private int openHoursPerDay;
+    private List<Row> spaces;
+
+    public OccupancyReportDTO() {}
+
+    public LocalDate getFrom() { return from; }
+    public void setFrom(LocalDate from) { this.from = from; }
+    public LocalDate getTo() { return to; }
+    public void setTo(LocalDate to) { this.to = to; }
+    public int getDays() { return days; }
+    public void setDays(int days) { this.days = days; }
+    public int getOpenHoursPerDay() { return openHoursPerDay; }
+    public void setOpenHoursPerDay(int openHoursPerDay) { this.openHoursPerDay = openHoursPerDay; }
+    public List<Row> getSpaces() { return spaces; }
+    public void setSpaces(List<Row> spaces) { this.spaces = spaces; }
+
+    public static class Row {
+        private Long spaceId;
+        private String spaceName;
+        private double bookedHours;
+        private double utilization;
+        private BigDecimal revenue;
+        private long reservations;
+        private long cancellations;
+        // Apenas com daily=true; dias sem movimento são omitidos
+        private List<Day> daily;
+
+        public Row() {}
+
+        public Long getSpaceId() { return spaceId; }
+        public void setSpaceId(Long spaceId) { this.spaceId = spaceId; }
+        public String getSpaceName() { return spaceName; }
+        public void setSpaceName(String spaceName) { this.spaceName = spaceName; }
+        public double getBookedHours() { return bookedHours; }
+        public void setBookedHours(double bookedHours) { this.bookedHours = bookedHours; }
+        public double getUtilization() { return utilization; }
+        public void setUtilization(double utilization) { this.utilization = utilization; }
+        public BigDecimal getRevenue() { return revenue; }
+        public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+        public long getReservations() { return reservations; }
+        public void setReservations(long reservations) { this.reservations = reservations; }
+        public long getCancellations() { return cancellations; }
+        public void setCancellations(long cancellations) { this.cancellations = cancellations; }
+        public List<Day> getDaily() { return daily; }
+        public void setDaily(List<Day> daily) { this.daily = daily; }
+    }
+
+    public static class Day {
+        private LocalDate date;
+        private double bookedHours;
+        private BigDecimal revenue;
+        private int reservations;
+        private int cancellations;
+
+        public Day() {}
+
+        public Day(LocalDate date, double bookedHours, BigDecimal revenue, int reservations, int cancellations) {
+            this.date = date;
+            this.bookedHours = bookedHours;
+            this.revenue = revenue;
+            this.reservations = reservations;
+            this.cancellations = cancellations;
+        }
+
+        public LocalDate getDate() { return date; }
+        public void setDate(LocalDate date) { this.date = date; }
+        public double getBookedHours() { return bookedHours; }
+        public void setBookedHours(double bookedHours) { this.bookedHours = bookedHours; }
+        public BigDecimal getRevenue() { return revenue; }
+        public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+        public int getReservations() { return reservations; }
+        public void setReservations(int reservations) { this.reservations = reservations; }
+        public int getCancellations() { return cancellations; }
+        public void setCancellations(int cancellations) { this.cancellations = cancellations; }
+    }
+}
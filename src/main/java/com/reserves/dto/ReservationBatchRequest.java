@@ -0,0 +1,14 @@
+package com.reserves.dto;
+
+import javax.validation.Valid;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ReservationBatchRequest {
+    private List<@Valid ReservationCreateRequest> items = new ArrayList<>();
+
+    public ReservationBatchRequest() {}
+
+    public List<ReservationCreateRequest> getItems() { return items; }
+    public void setItems(List<ReservationCreateRequest> items) { this.items = items; }
+}
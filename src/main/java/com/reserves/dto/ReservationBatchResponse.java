@@ -0,0 +1,45 @@
+package com.reserves.dto;
+
+import java.util.List;
+
+public class ReservationBatchResponse {
+    private boolean success;
+    private int createdCount;
+    private List<Item> items;
+
+    public ReservationBatchResponse() {}
+
+    public ReservationBatchResponse(boolean success, int createdCount, List<Item> items) {
+        this.success = success;
+        this.createdCount = createdCount;
+        this.items = items;
+    }
+
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+    public int getCreatedCount() { return createdCount; }
+    public void setCreatedCount(int createdCount) { this.createdCount = createdCount; }
+    public List<Item> getItems() { return items; }
+    public void setItems(List<Item> items) { this.items = items; }
+
+    /**
+     * Resultado por item, na mesma ordem do request.
+     */
+    public static class Item {
+        private int index;
+        private String status;
+        private String message;
+        private ReservationDTO reservation;
+
+        public Item() {}
+
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+        public ReservationDTO getReservation() { return reservation; }
+        public void setReservation(ReservationDTO reservation) { this.reservation = reservation; }
+    }
+}
@@ -1,14 +1,26 @@
 package com.reserves.dto;
 
+import javax.validation.constraints.Email;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
 import java.time.LocalDateTime;
 
+// Limites iguais aos das colunas de Reservation (também valida cada item do lote)
 public class ReservationCreateRequest {
+    @NotNull(message = "Espaço é obrigatório")
     private Long spaceId;
+    @Size(max = 100, message = "Nome deve ter no máximo 100 caracteres")
     private String userName;
+    @Email(message = "Email inválido")
+    @Size(max = 100, message = "Email deve ter no máximo 100 caracteres")
     private String userEmail;
+    @Size(max = 20, message = "Telefone deve ter no máximo 20 caracteres")
     private String userPhone;
+    @NotNull(message = "Horário de início é obrigatório")
     private LocalDateTime startTime;
+    @NotNull(message = "Horário de término é obrigatório")
     private LocalDateTime endTime;
+    @Size(max = 500, message = "Observações devem ter no máximo 500 caracteres")
     private String notes;
 
     public ReservationCreateRequest() {}
@@ -16,6 +16,9 @@ public class ReservationDTO {
     private BigDecimal totalPrice;
     private String notes;
     private LocalDateTime createdAt;
+    private Long version;
+    // Preenchido nas ocorrências de séries recorrentes (que não têm id próprio)
+    private Long seriesId;
 
     public ReservationDTO() {}
 
@@ -44,4 +47,8 @@ public class ReservationDTO {
     public void setNotes(String notes) { this.notes = notes; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    public Long getSeriesId() { return seriesId; }
+    public void setSeriesId(Long seriesId) { this.seriesId = seriesId; }
 }
@@ -0,0 +1,63 @@
+package com.reserves.dto;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+public class ReservationSeriesDTO {
+    private Long id;
+    private Long spaceId;
+    private String userName;
+    private String userEmail;
+    private String frequency;
+    private Integer interval;
+    private List<DayOfWeek> daysOfWeek;
+    private LocalDate startDate;
+    private LocalDate untilDate;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private String status;
+    private BigDecimal pricePerOccurrence;
+    private List<LocalDate> cancelledDates;
+    private String notes;
+    private LocalDateTime createdAt;
+
+    public ReservationSeriesDTO() {}
+
+    // getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getSpaceId() { return spaceId; }
+    public void setSpaceId(Long spaceId) { this.spaceId = spaceId; }
+    public String getUserName() { return userName; }
+    public void setUserName(String userName) { this.userName = userName; }
+    public String getUserEmail() { return userEmail; }
+    public void setUserEmail(String userEmail) { this.userEmail = userEmail; }
+    public String getFrequency() { return frequency; }
+    public void setFrequency(String frequency) { this.frequency = frequency; }
+    public Integer getInterval() { return interval; }
+    public void setInterval(Integer interval) { this.interval = interval; }
+    public List<DayOfWeek> getDaysOfWeek() { return daysOfWeek; }
+    public void setDaysOfWeek(List<DayOfWeek> daysOfWeek) { this.daysOfWeek = daysOfWeek; }
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+    public LocalDate getUntilDate() { return untilDate; }
+    public void setUntilDate(LocalDate untilDate) { this.untilDate = untilDate; }
+    public LocalTime getStartTime() { return startTime; }
+    public void setStartTime(LocalTime startTime) { this.startTime = startTime; }
+    public LocalTime getEndTime() { return endTime; }
+    public void setEndTime(LocalTime endTime) { this.endTime = endTime; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public BigDecimal getPricePerOccurrence() { return pricePerOccurrence; }
+    public void setPricePerOccurrence(BigDecimal pricePerOccurrence) { this.pricePerOccurrence = pricePerOccurrence; }
+    public List<LocalDate> getCancelledDates() { return cancelledDates; }
+    public void setCancelledDates(List<LocalDate> cancelledDates) { this.cancelledDates = cancelledDates; }
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
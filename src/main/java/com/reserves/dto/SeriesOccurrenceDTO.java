@@ -0,0 +1,28 @@
+package com.reserves.dto;
+
+import java.time.LocalDateTime;
+
+public class SeriesOccurrenceDTO {
+    private Long seriesId;
+    private Long spaceId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    public SeriesOccurrenceDTO() {}
+
+    public SeriesOccurrenceDTO(Long seriesId, Long spaceId, LocalDateTime startTime, LocalDateTime endTime) {
+        this.seriesId = seriesId;
+        this.spaceId = spaceId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public Long getSeriesId() { return seriesId; }
+    public void setSeriesId(Long seriesId) { this.seriesId = seriesId; }
+    public Long getSpaceId() { return spaceId; }
+    public void setSpaceId(Long spaceId) { this.spaceId = spaceId; }
+    public LocalDateTime getStartTime() { return startTime; }
+    public void setStartTime(LocalDateTime startTime) { this.startTime = startTime; }
+    public LocalDateTime getEndTime() { return endTime; }
+    public void setEndTime(LocalDateTime endTime) { this.endTime = endTime; }
+}
@@ -0,0 +1,34 @@
+package com.reserves.dto;
+
+import java.time.LocalDateTime;
+
+public class WaitlistRequest {
+    private Long spaceId;
+    private String userName;
+    private String userEmail;
+    private String userPhone;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private String notes;
+    // Considerado apenas para ADMIN (demais usuários entram com prioridade 0)
+    private Integer priority;
+
+    public WaitlistRequest() {}
+
+    public Long getSpaceId() { return spaceId; }
+    public void setSpaceId(Long spaceId) { this.spaceId = spaceId; }
+    public String getUserName() { return userName; }
+    public void setUserName(String userName) { this.userName = userName; }
+    public String getUserEmail() { return userEmail; }
+    public void setUserEmail(String userEmail) { this.userEmail = userEmail; }
+    public String getUserPhone() { return userPhone; }
+    public void setUserPhone(String userPhone) { this.userPhone = userPhone; }
+    public LocalDateTime getStartTime() { return startTime; }
+    public void setStartTime(LocalDateTime startTime) { this.startTime = startTime; }
+    public LocalDateTime getEndTime() { return endTime; }
+    public void setEndTime(LocalDateTime endTime) { this.endTime = endTime; }
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+    public Integer getPriority() { return priority; }
+    public void setPriority(Integer priority) { this.priority = priority; }
+}
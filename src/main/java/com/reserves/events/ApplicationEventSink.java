@@ -0,0 +1,29 @@
+package com.reserves.events;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Repassa os eventos para listeners locais (@EventListener ReservationEvent),
+ * já fora da transação da reserva. É o ponto de extensão para efeitos
+ * colaterais dentro da aplicação (notificações, invalidação de caches...).
+ */
+@Component
+public class ApplicationEventSink implements ReservationEventSink {
+
+    private final ApplicationEventPublisher publisher;
+
+    public ApplicationEventSink(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @Override
+    public String name() {
+        return "application";
+    }
+
+    @Override
+    public void deliver(ReservationEvent event) {
+        publisher.publishEvent(event);
+    }
+}
@@ -0,0 +1,43 @@
+package com.reserves.events;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Sink local que apenas guarda os últimos eventos entregues em memória.
+ * Para testes e inspeção em desenvolvimento (outbox.sinks.in-memory.enabled=true).
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sinks.in-memory.enabled", havingValue = "true")
+public class InMemoryEventSink implements ReservationEventSink {
+
+    private static final int CAPACITY = 10_000;
+
+    private final Deque<ReservationEvent> events = new ArrayDeque<>();
+
+    @Override
+    public String name() {
+        return "in-memory";
+    }
+
+    @Override
+    public synchronized void deliver(ReservationEvent event) {
+        if (events.size() == CAPACITY) {
+            events.removeFirst();
+        }
+        events.addLast(event);
+    }
+
+    public synchronized List<ReservationEvent> getEvents() {
+        return new ArrayList<>(events);
+    }
+
+    public synchronized void clear() {
+        events.clear();
+    }
+}
@@ -0,0 +1,198 @@
+package com.reserves.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reserves.model.OutboxEvent;
+import com.reserves.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entrega os eventos do outbox aos sinks, em lotes e fora das requisições.
+ *
+ * - Três passos, nenhuma transação aberta durante a entrega (webhook lento não
+ *   segura conexão nem locks de linha):
+ *   1. Reserva: o lote é lido com FOR UPDATE SKIP LOCKED e recebe um lease
+ *      (next_attempt_at = agora + outbox.dispatcher.lease); commit
+ *   2. Entrega aos sinks, fora de transação
+ *   3. Transação curta: marca os entregues, registra a falha e devolve o
+ *      restante do lote à fila
+ * - Várias instâncias podem rodar o dispatcher: o lease esconde o lote das
+ *   demais. Se a instância cai (ou a entrega passa do lease), o lote volta a
+ *   ser entregue depois do lease
+ * - Um evento só é marcado como entregue depois que todos os sinks o aceitaram
+ *   (entrega "pelo menos uma vez")
+ * - Ordem de gravação (id) em operação normal. Falha em um evento: nova
+ *   tentativa com backoff exponencial e o restante do lote fica para a próxima
+ *   execução (um sink fora do ar não segura a transação evento a evento);
+ *   eventos seguintes podem então ser entregues antes do que falhou.
+ *   Esgotadas as tentativas, o evento é marcado como falho (failed_at)
+ * - Eventos entregues são apagados depois de outbox.retention
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private static final int MAX_BATCHES_PER_RUN = 20;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxRepository;
+    private final List<ReservationEventSink> sinks;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate tx;
+    private final MeterRegistry registry;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration retention;
+    private final Duration lease;
+
+    public OutboxDispatcher(OutboxEventRepository outboxRepository,
+                            List<ReservationEventSink> sinks,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry registry,
+                            @Value("${outbox.dispatcher.enabled:true}") boolean enabled,
+                            @Value("${outbox.dispatcher.batch-size:100}") int batchSize,
+                            @Value("${outbox.dispatcher.max-attempts:10}") int maxAttempts,
+                            @Value("${outbox.dispatcher.initial-backoff:1s}") Duration initialBackoff,
+                            @Value("${outbox.retention:7d}") Duration retention,
+                            @Value("${outbox.dispatcher.lease:5m}") Duration lease) {
+        this.outboxRepository = outboxRepository;
+        this.sinks = sinks;
+        this.objectMapper = objectMapper;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.registry = registry;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.retention = retention;
+        this.lease = lease;
+
+        Gauge.builder("outbox.pending", outboxRepository, OutboxEventRepository::countPending)
+                .description("Eventos do outbox ainda não entregues")
+                .register(registry);
+        logger.info("Outbox: dispatcher {} com sinks {}", enabled ? "habilitado" : "desabilitado",
+                sinks.stream().map(ReservationEventSink::name).toArray());
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.dispatcher.fixed-delay-ms:500}")
+    public void dispatchPending() {
+        if (!enabled) {
+            return;
+        }
+        for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+            if (dispatchBatch() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return quantidade de eventos entregues no lote (menor que batchSize = fila vazia ou falha)
+     */
+    private int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = tx.execute(status -> claimBatch(now));
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> delivered = new ArrayList<>(batch.size());
+        OutboxEvent failed = null;
+        for (OutboxEvent row : batch) {
+            String failedSink = null;
+            try {
+                ReservationEvent event = objectMapper.readValue(row.getPayload(), ReservationEvent.class);
+                event.setEventId(row.getId());
+                for (ReservationEventSink sink : sinks) {
+                    failedSink = sink.name();
+                    sink.deliver(event);
+                }
+                delivered.add(row.getId());
+            } catch (Exception e) {
+                recordFailure(row, failedSink, e, now);
+                failed = row;
+                break;
+            }
+        }
+
+        // Não tentados (depois da falha): voltam à fila já, sem esperar o lease
+        List<Long> released = new ArrayList<>();
+        for (int i = delivered.size() + 1; i < batch.size(); i++) {
+            released.add(batch.get(i).getId());
+        }
+        OutboxEvent failedRow = failed;
+        tx.executeWithoutResult(status -> {
+            if (!delivered.isEmpty()) {
+                outboxRepository.markDispatched(delivered, LocalDateTime.now());
+            }
+            if (failedRow != null) {
+                outboxRepository.save(failedRow);
+            }
+            if (!released.isEmpty()) {
+                outboxRepository.scheduleNextAttempt(released, now);
+            }
+        });
+        if (!delivered.isEmpty()) {
+            registry.counter("outbox.events.dispatched").increment(delivered.size());
+        }
+        return delivered.size() == batch.size() ? delivered.size() : 0;
+    }
+
+    private List<OutboxEvent> claimBatch(LocalDateTime now) {
+        List<OutboxEvent> batch = outboxRepository.lockNextBatch(now, batchSize);
+        if (!batch.isEmpty()) {
+            List<Long> ids = new ArrayList<>(batch.size());
+            batch.forEach(row -> ids.add(row.getId()));
+            outboxRepository.scheduleNextAttempt(ids, now.plus(lease));
+        }
+        return batch;
+    }
+
+    private void recordFailure(OutboxEvent row, String sink, Exception e, LocalDateTime now) {
+        int attempts = row.getAttempts() + 1;
+        String error = (sink != null ? sink + ": " : "") + e.getMessage();
+        row.setAttempts(attempts);
+        row.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        registry.counter("outbox.events.failed", "sink", sink != null ? sink : "payload").increment();
+
+        if (attempts >= maxAttempts) {
+            row.setFailedAt(now);
+            logger.error("Outbox: evento {} ({}) descartado após {} tentativas: {}",
+                    row.getId(), row.getEventType(), attempts, error);
+            return;
+        }
+        // Backoff exponencial limitado a 2^10 vezes o inicial
+        long delayMillis = initialBackoff.toMillis() << Math.min(attempts - 1, 10);
+        row.setNextAttemptAt(now.plusNanos(delayMillis * 1_000_000));
+        logger.warn("Outbox: falha ao entregar evento {} ({}), tentativa {}/{}: {}",
+                row.getId(), row.getEventType(), attempts, maxAttempts, error);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.cleanup.fixed-delay-ms:3600000}")
+    public void purgeDispatched() {
+        if (!enabled) {
+            return;
+        }
+        Integer removed = tx.execute(status ->
+                outboxRepository.deleteDispatchedBefore(LocalDateTime.now().minus(retention)));
+        if (removed != null && removed > 0) {
+            logger.info("Outbox: {} eventos entregues removidos", removed);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.reserves.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reserves.model.OutboxEvent;
+import com.reserves.model.Reservation;
+import com.reserves.model.ReservationSeries;
+import com.reserves.repository.OutboxEventRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Grava eventos de reserva no outbox, dentro da transação do chamador.
+ *
+ * Não há efeito colateral aqui além do insert (em batch com os demais inserts
+ * da transação): a entrega fica com o OutboxDispatcher, fora da requisição.
+ */
+@Component
+public class OutboxPublisher {
+
+    static final String AGGREGATE_RESERVATION = "Reservation";
+    static final String AGGREGATE_SERIES = "ReservationSeries";
+
+    private final OutboxEventRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxPublisher(OutboxEventRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(ReservationEventType type, Reservation reservation) {
+        outboxRepository.save(toOutbox(toEvent(type, reservation)));
+    }
+
+    /**
+     * RESERVATION_UPDATED com o intervalo anterior à alteração.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishUpdate(Reservation reservation, LocalDateTime previousStart, LocalDateTime previousEnd) {
+        ReservationEvent event = toEvent(ReservationEventType.RESERVATION_UPDATED, reservation);
+        event.setPreviousStartTime(previousStart);
+        event.setPreviousEndTime(previousEnd);
+        outboxRepository.save(toOutbox(event));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishAll(ReservationEventType type, List<Reservation> reservations) {
+        List<OutboxEvent> rows = new ArrayList<>(reservations.size());
+        for (Reservation r : reservations) {
+            rows.add(toOutbox(toEvent(type, r)));
+        }
+        outboxRepository.saveAll(rows);
+    }
+
+    /**
+     * SERIES_CHANGED para cada dia afetado da série (uma linha por dia, como
+     * os deltas de disponibilidade). O horizonte da série é limitado, então o
+     * número de linhas também é.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishSeriesChanged(ReservationSeries series, Collection<LocalDate> days) {
+        List<OutboxEvent> rows = new ArrayList<>(days.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (LocalDate day : days) {
+            ReservationEvent event = new ReservationEvent();
+            event.setType(ReservationEventType.SERIES_CHANGED);
+            event.setOccurredAt(now);
+            event.setSeriesId(series.getId());
+            event.setSpaceId(series.getSpace().getId());
+            event.setUserEmail(series.getUserEmail());
+            event.setStartTime(day.atTime(series.getStartTime()));
+            event.setEndTime(day.atTime(series.getEndTime()));
+            event.setStatus(series.getStatus() != null ? series.getStatus().name() : null);
+            event.setTotalPrice(series.getPricePerOccurrence());
+            rows.add(toOutbox(event));
+        }
+        outboxRepository.saveAll(rows);
+    }
+
+    private static ReservationEvent toEvent(ReservationEventType type, Reservation r) {
+        ReservationEvent event = new ReservationEvent();
+        event.setType(type);
+        event.setOccurredAt(LocalDateTime.now());
+        event.setReservationId(r.getId());
+        event.setSpaceId(r.getSpace().getId());
+        event.setUserEmail(r.getUserEmail());
+        event.setStartTime(r.getStartTime());
+        event.setEndTime(r.getEndTime());
+        event.setStatus(r.getStatus() != null ? r.getStatus().name() : null);
+        event.setTotalPrice(r.getTotalPrice());
+        return event;
+    }
+
+    private OutboxEvent toOutbox(ReservationEvent event) {
+        OutboxEvent row = new OutboxEvent();
+        if (event.getType() == ReservationEventType.SERIES_CHANGED) {
+            row.setAggregateType(AGGREGATE_SERIES);
+            row.setAggregateId(event.getSeriesId());
+        } else {
+            row.setAggregateType(AGGREGATE_RESERVATION);
+            row.setAggregateId(event.getReservationId());
+        }
+        row.setEventType(event.getType().name());
+        row.setCreatedAt(event.getOccurredAt());
+        row.setNextAttemptAt(event.getOccurredAt());
+        try {
+            row.setPayload(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar evento " + event.getType(), e);
+        }
+        return row;
+    }
+}
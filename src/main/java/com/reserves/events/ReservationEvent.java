@@ -0,0 +1,58 @@
+package com.reserves.events;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Evento do ciclo de vida de uma reserva (payload do outbox).
+ *
+ * eventId é o id da linha no outbox: a entrega é "pelo menos uma vez", então
+ * sinks que não podem processar duas vezes devem deduplicar por ele.
+ * previousStartTime/previousEndTime só vêm em RESERVATION_UPDATED.
+ * SERIES_CHANGED traz seriesId (sem reservationId) e o horário da ocorrência
+ * afetada em startTime/endTime; totalPrice é o preço de uma ocorrência.
+ */
+public class ReservationEvent {
+    private Long eventId;
+    private ReservationEventType type;
+    private LocalDateTime occurredAt;
+    private Long reservationId;
+    private Long seriesId;
+    private Long spaceId;
+    private String userEmail;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private LocalDateTime previousStartTime;
+    private LocalDateTime previousEndTime;
+    private String status;
+    private BigDecimal totalPrice;
+
+    public ReservationEvent() {}
+
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+    public ReservationEventType getType() { return type; }
+    public void setType(ReservationEventType type) { this.type = type; }
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+    public Long getReservationId() { return reservationId; }
+    public void setReservationId(Long reservationId) { this.reservationId = reservationId; }
+    public Long getSeriesId() { return seriesId; }
+    public void setSeriesId(Long seriesId) { this.seriesId = seriesId; }
+    public Long getSpaceId() { return spaceId; }
+    public void setSpaceId(Long spaceId) { this.spaceId = spaceId; }
+    public String getUserEmail() { return userEmail; }
+    public void setUserEmail(String userEmail) { this.userEmail = userEmail; }
+    public LocalDateTime getStartTime() { return startTime; }
+    public void setStartTime(LocalDateTime startTime) { this.startTime = startTime; }
+    public LocalDateTime getEndTime() { return endTime; }
+    public void setEndTime(LocalDateTime endTime) { this.endTime = endTime; }
+    public LocalDateTime getPreviousStartTime() { return previousStartTime; }
+    public void setPreviousStartTime(LocalDateTime previousStartTime) { this.previousStartTime = previousStartTime; }
+    public LocalDateTime getPreviousEndTime() { return previousEndTime; }
+    public void setPreviousEndTime(LocalDateTime previousEndTime) { this.previousEndTime = previousEndTime; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public BigDecimal getTotalPrice() { return totalPrice; }
+    public void setTotalPrice(BigDecimal totalPrice) { this.totalPrice = totalPrice; }
+}
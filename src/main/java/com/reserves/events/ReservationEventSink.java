@@ -0,0 +1,15 @@
+package com.reserves.events;
+
+/**
+ * Destino dos eventos do outbox (notificações, webhooks, listeners locais...).
+ *
+ * Todo bean que implementa esta interface recebe todos os eventos, em ordem de
+ * gravação. Uma exceção faz o OutboxDispatcher reenviar o evento mais tarde
+ * (para todos os sinks): implementações devem ser idempotentes por eventId.
+ */
+public interface ReservationEventSink {
+
+    String name();
+
+    void deliver(ReservationEvent event) throws Exception;
+}
@@ -0,0 +1,10 @@
+package com.reserves.events;
+
+public enum ReservationEventType {
+    RESERVATION_CREATED,
+    RESERVATION_UPDATED,
+    RESERVATION_CANCELLED,
+    RESERVATION_DELETED,
+    // Um dia de uma série recorrente criado ou cancelado (série inteira ou uma ocorrência)
+    SERIES_CHANGED
+}
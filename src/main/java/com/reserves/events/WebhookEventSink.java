@@ -0,0 +1,57 @@
+package com.reserves.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Envia cada evento como POST JSON para outbox.webhook.url.
+ * Cabeçalhos X-Event-Id e X-Event-Type permitem deduplicar do lado do receptor.
+ * Qualquer resposta fora de 2xx conta como falha (o evento é reenviado).
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.webhook.url")
+public class WebhookEventSink implements ReservationEventSink {
+
+    private final URI url;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper;
+    private final HttpClient client;
+
+    public WebhookEventSink(@Value("${outbox.webhook.url}") String url,
+                            @Value("${outbox.webhook.timeout:5s}") Duration timeout,
+                            ObjectMapper objectMapper) {
+        this.url = URI.create(url);
+        this.timeout = timeout;
+        this.objectMapper = objectMapper;
+        this.client = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public String name() {
+        return "webhook";
+    }
+
+    @Override
+    public void deliver(ReservationEvent event) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(url)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .header("X-Event-Id", String.valueOf(event.getEventId()))
+                .header("X-Event-Type", event.getType().name())
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(event)))
+                .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Webhook respondeu HTTP " + response.statusCode());
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.reserves.exception;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -27,6 +29,41 @@ public class GlobalExceptionHandler {
                 .body(new ErrorResponse(ex.getMessage(), 400));
     }
 
+    @ExceptionHandler(ResourceBusyException.class)
+    public ResponseEntity<?> busy(ResourceBusyException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ErrorResponse(ex.getMessage(), 503));
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<?> preconditionFailed(PreconditionFailedException ex) {
+        return ResponseEntity
+                .status(HttpStatus.PRECONDITION_FAILED)
+                .body(new ErrorResponse(ex.getMessage(), 412));
+    }
+
+    // Outra transação alterou a mesma linha antes do commit (@Version)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<?> optimisticLock(OptimisticLockingFailureException ex) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse("O registro foi alterado por outra operação. Recarregue e tente novamente.", 409));
+    }
+
+    // Restrições do banco; ex_reservations_no_overlap = sobreposição que escapou da verificação da aplicação
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<?> integrity(DataIntegrityViolationException ex) {
+        if (String.valueOf(ex.getMostSpecificCause().getMessage()).contains("ex_reservations_no_overlap")) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Este espaço já está reservado nesse horário.", 400));
+        }
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse("A operação viola uma restrição de integridade dos dados.", 409));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<?> validation(MethodArgumentNotValidException ex) {
 
@@ -0,0 +1,10 @@
+package com.reserves.exception;
+
+/**
+ * A versão informada pelo cliente (If-Match) não é mais a versão atual do recurso.
+ */
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,7 @@
+package com.reserves.exception;
+
+public class ResourceBusyException extends RuntimeException {
+    public ResourceBusyException(String msg) {
+        super(msg);
+    }
+}
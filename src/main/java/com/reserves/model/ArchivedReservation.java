@@ -0,0 +1,75 @@
+package com.reserves.model;
+
+import javax.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Reserva já encerrada, movida da tabela quente (reservations) para o histórico.
+ *
+ * A tabela reservations guarda apenas o conjunto "quente" (reservas futuras,
+ * em andamento ou encerradas há pouco); conflitos, listagens e o índice em
+ * memória nunca tocam o histórico. O ReservationArchiveService move as linhas
+ * encerradas para cá em lotes.
+ *
+ * - Mesmo id da reserva original (sem sequence): a cópia é idempotente
+ * - space_id sem chave estrangeira e nome do espaço copiado: o histórico
+ *   continua legível mesmo que o espaço seja removido depois
+ * - Somente leitura para a aplicação (sem @Version)
+ */
+@Entity
+@Table(name = "reservations_archive", indexes = {
+        // Histórico por espaço e por usuário, na ordem da paginação (start_time, id)
+        @Index(name = "idx_reservations_archive_space_start", columnList = "space_id, start_time"),
+        @Index(name = "idx_reservations_archive_email_start", columnList = "user_email, start_time")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedReservation {
+
+    @Id
+    private Long id;
+
+    @Column(name = "space_id", nullable = false)
+    private Long spaceId;
+
+    @Column(name = "space_name", length = 100)
+    private String spaceName;
+
+    @Column(name = "user_name", nullable = false, length = 100)
+    private String userName;
+
+    @Column(name = "user_email", nullable = false, length = 100)
+    private String userEmail;
+
+    @Column(name = "user_phone", length = 20)
+    private String userPhone;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalDateTime endTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReservationStatus status;
+
+    @Column(name = "total_price", nullable = false, precision = 10, scale = 2)
+    private BigDecimal totalPrice;
+
+    @Column(length = 500)
+    private String notes;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    // Momento em que a linha saiu da tabela quente
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,65 @@
+package com.reserves.model;
+
+import javax.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de domínio pendente de entrega (transactional outbox).
+ *
+ * Gravado na mesma transação da alteração que o originou: se a reserva foi
+ * commitada, o evento também foi. O OutboxDispatcher lê os pendentes em lotes
+ * e os entrega aos sinks; dispatchedAt é preenchido só depois da entrega
+ * (entrega "pelo menos uma vez").
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        // Busca dos pendentes pelo dispatcher e limpeza dos já entregues
+        @Index(name = "idx_outbox_events_pending", columnList = "dispatched_at, next_attempt_at")
+})
+@Data
+@NoArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    // Ex.: "Reservation"
+    @Column(name = "aggregate_type", nullable = false, length = 50)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    // Ex.: RESERVATION_CREATED
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    // Evento serializado em JSON
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Próxima tentativa de entrega (backoff após falha)
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+
+    // Preenchido quando as tentativas se esgotam (não é mais reenviado automaticamente)
+    @Column(name = "failed_at")
+    private LocalDateTime failedAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+}
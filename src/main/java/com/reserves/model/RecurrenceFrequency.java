@@ -0,0 +1,11 @@
+package com.reserves.model;
+
+/**
+ * Frequência de uma série de reservas recorrentes.
+ * - DAILY: a cada N dias
+ * - WEEKLY: a cada N semanas, nos dias da semana selecionados
+ */
+public enum RecurrenceFrequency {
+    DAILY,
+    WEEKLY
+}
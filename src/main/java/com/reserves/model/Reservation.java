@@ -18,14 +18,19 @@ import java.time.LocalDateTime;
  * - Validations (@NotBlank, @Email, @NotNull) garantem integridade antes do serviço persistir.
  */
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations", indexes = {
+        // Seleção das reservas encerradas para o arquivamento
+        @Index(name = "idx_reservations_end_time", columnList = "end_time")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Reservation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence com pool (allocationSize) em vez de IDENTITY: permite batch insert via JDBC
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservation_seq")
+    @SequenceGenerator(name = "reservation_seq", sequenceName = "reservations_seq", allocationSize = 50)
     private Long id;
 
     // Espaço reservado — obrigatório
@@ -77,6 +82,11 @@ public class Reservation {
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
+    // Versão para controle otimista de concorrência (ETag / If-Match); default 0 para linhas antigas
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -0,0 +1,117 @@
+package com.reserves.model;
+
+import javax.persistence.*;
+import javax.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Série de reservas recorrentes (ex.: "toda terça das 9h às 10h por 6 meses").
+ *
+ * Observações:
+ * - Guardamos apenas a regra; as ocorrências são expandidas sob demanda
+ *   (ver RecurrenceRule) em vez de materializar milhares de linhas.
+ * - cancelledDates: exceções (ocorrências canceladas) em tabela separada,
+ *   sem reescrever a série.
+ * - daysOfWeek: máscara de bits (bit 0 = segunda ... bit 6 = domingo), usada em WEEKLY.
+ */
+@Entity
+@Table(name = "reservation_series")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationSeries {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservation_series_seq")
+    @SequenceGenerator(name = "reservation_series_seq", sequenceName = "reservation_series_seq", allocationSize = 50)
+    private Long id;
+
+    // Espaço reservado — obrigatório
+    @NotNull(message = "Espaço é obrigatório")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "space_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Space space;
+
+    @NotBlank(message = "Nome do usuário é obrigatório")
+    @Column(name = "user_name", nullable = false, length = 100)
+    private String userName;
+
+    @NotBlank(message = "Email é obrigatório")
+    @Email(message = "Email inválido")
+    @Column(name = "user_email", nullable = false, length = 100)
+    private String userEmail;
+
+    @Column(name = "user_phone", length = 20)
+    private String userPhone;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RecurrenceFrequency frequency;
+
+    // Intervalo da recorrência (a cada N dias/semanas)
+    @Min(1)
+    @Column(name = "interval_count", nullable = false)
+    private Integer intervalCount = 1;
+
+    @Column(name = "days_of_week", nullable = false)
+    private Integer daysOfWeek = 0;
+
+    // Primeiro e último dia (inclusivos) da série
+    @NotNull
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @NotNull
+    @Column(name = "until_date", nullable = false)
+    private LocalDate untilDate;
+
+    // Horário de cada ocorrência (no mesmo dia)
+    @NotNull
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    @NotNull
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+
+    // CONFIRMED enquanto ativa; CANCELLED cancela todas as ocorrências
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReservationStatus status = ReservationStatus.CONFIRMED;
+
+    // Preço de cada ocorrência (horas * pricePerHour)
+    @Column(name = "price_per_occurrence", nullable = false, precision = 10, scale = 2)
+    private BigDecimal pricePerOccurrence;
+
+    @Column(length = 500)
+    private String notes;
+
+    @ElementCollection
+    @CollectionTable(name = "reservation_series_exceptions", joinColumns = @JoinColumn(name = "series_id"))
+    @Column(name = "occurrence_date")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Set<LocalDate> cancelledDates = new HashSet<>();
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -26,7 +26,9 @@ import java.util.List;
 @AllArgsConstructor
 public class Space {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence com pool (allocationSize) em vez de IDENTITY: permite batch insert via JDBC
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "space_seq")
+    @SequenceGenerator(name = "space_seq", sequenceName = "spaces_seq", allocationSize = 50)
     private Long id;
 
     // Nome do espaço (obrigatório)
@@ -82,6 +84,11 @@ public class Space {
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
+    // Versão para controle otimista de concorrência; default 0 para linhas antigas
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
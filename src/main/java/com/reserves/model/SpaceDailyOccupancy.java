@@ -0,0 +1,70 @@
+package com.reserves.model;
+
+import javax.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Rollup diário de ocupação por espaço (analytics).
+ *
+ * Uma linha por (espaço, dia), mantida incrementalmente pelo ReservationService
+ * na mesma transação da reserva. Relatórios leem O(dias) linhas em vez de
+ * varrer as reservas.
+ *
+ * - bookedMinutes: minutos reservados naquele dia (reservas que atravessam a
+ *   meia-noite são divididas entre os dias)
+ * - revenue / reservationCount: atribuídos ao dia de início da reserva
+ * - cancellationCount: reservas canceladas com início naquele dia
+ * - Reservas CANCELLED não contam em minutos nem receita
+ */
+@Entity
+@Table(name = "space_daily_occupancy", indexes = {
+        // Relatórios por período de todos os espaços
+        @Index(name = "idx_space_daily_occupancy_date", columnList = "occupancy_date")
+})
+@IdClass(SpaceDailyOccupancy.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpaceDailyOccupancy {
+
+    @Id
+    @Column(name = "space_id", nullable = false)
+    private Long spaceId;
+
+    @Id
+    @Column(name = "occupancy_date", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "booked_minutes", nullable = false)
+    private long bookedMinutes;
+
+    @Column(name = "revenue", nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @Column(name = "reservation_count", nullable = false)
+    private int reservationCount;
+
+    @Column(name = "cancellation_count", nullable = false)
+    private int cancellationCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Chave composta (space_id, day).
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long spaceId;
+        private LocalDate day;
+    }
+}
@@ -0,0 +1,86 @@
+package com.reserves.model;
+
+import javax.persistence.*;
+import javax.validation.constraints.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pedido na lista de espera de um espaço para um intervalo já reservado.
+ *
+ * Quando uma reserva do espaço é cancelada ou removida, os pedidos que
+ * sobrepõem o intervalo liberado são atendidos por prioridade (maior
+ * primeiro) e, dentro da mesma prioridade, por ordem de chegada.
+ */
+@Entity
+@Table(name = "waitlist_entries", indexes = {
+        // Busca dos pedidos em espera que sobrepõem o intervalo liberado (range scan por início)
+        @Index(name = "idx_waitlist_space_status_start", columnList = "space_id, status, start_time"),
+        @Index(name = "idx_waitlist_user_email", columnList = "user_email")
+})
+@Data
+@NoArgsConstructor
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "waitlist_entry_seq")
+    @SequenceGenerator(name = "waitlist_entry_seq", sequenceName = "waitlist_entries_seq", allocationSize = 50)
+    private Long id;
+
+    @NotNull(message = "Espaço é obrigatório")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "space_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Space space;
+
+    @NotBlank(message = "Nome do usuário é obrigatório")
+    @Column(name = "user_name", nullable = false, length = 100)
+    private String userName;
+
+    @NotBlank(message = "Email é obrigatório")
+    @Email(message = "Email inválido")
+    @Column(name = "user_email", nullable = false, length = 100)
+    private String userEmail;
+
+    @Column(name = "user_phone", length = 20)
+    private String userPhone;
+
+    @NotNull
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+
+    @NotNull
+    @Column(name = "end_time", nullable = false)
+    private LocalDateTime endTime;
+
+    // Nível de prioridade (maior = atendido antes); 0 = normal
+    @Column(nullable = false)
+    private int priority;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private WaitlistStatus status = WaitlistStatus.WAITING;
+
+    // Reserva criada na promoção
+    @Column(name = "reservation_id")
+    private Long reservationId;
+
+    @Column(length = 500)
+    private String notes;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "promoted_at")
+    private LocalDateTime promotedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,15 @@
+package com.reserves.model;
+
+/**
+ * Status de uma entrada na lista de espera.
+ * - WAITING: aguardando o horário ser liberado
+ * - PROMOTED: virou reserva (ver reservationId)
+ * - CANCELLED: o usuário saiu da lista
+ * - EXPIRED: o horário passou sem vaga
+ */
+public enum WaitlistStatus {
+    WAITING,
+    PROMOTED,
+    CANCELLED,
+    EXPIRED
+}
@@ -0,0 +1,125 @@
+package com.reserves.monitoring;
+
+import com.reserves.exception.BadRequestException;
+import com.reserves.exception.PreconditionFailedException;
+import com.reserves.exception.ResourceBusyException;
+import com.reserves.exception.ResourceNotFoundException;
+import com.reserves.model.SpaceType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Métricas (Micrometer) dos caminhos quentes de reserva, alocação e autenticação.
+ *
+ * Nomes publicados (Prometheus converte pontos em underscores):
+ * - booking.operation        timer   operation=create|batch|update|cancel|delete, outcome
+ * - booking.conflict.check   timer   source=index|database
+ * - booking.conflicts.rejected counter operation
+ * - booking.created          counter space_type
+ * - booking.waitlist.promoted counter (pedidos da lista de espera que viraram reserva)
+ * - booking.optimistic.retries counter operation (conflito de versão repetido automaticamente)
+ * - allocation.search        timer   outcome
+ * - security.jwt.filter      timer   result=claims|database|invalid
+ *
+ * Os histogramas de percentis são ligados em application.properties
+ * (management.metrics.distribution.percentiles-histogram.*).
+ */
+@Component
+public class BookingMetrics {
+
+    public static final String OUTCOME_SUCCESS = "success";
+
+    private final MeterRegistry registry;
+
+    public BookingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Executa e cronometra uma operação de reserva, com o resultado como tag.
+     */
+    public <T> T timeBooking(String operation, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            T result = action.get();
+            outcome = OUTCOME_SUCCESS;
+            return result;
+        } catch (RuntimeException e) {
+            outcome = outcomeOf(e);
+            throw e;
+        } finally {
+            sample.stop(registry.timer("booking.operation", "operation", operation, "outcome", outcome));
+        }
+    }
+
+    public void timeBooking(String operation, Runnable action) {
+        timeBooking(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public Timer.Sample startConflictCheck() {
+        return Timer.start(registry);
+    }
+
+    public void stopConflictCheck(Timer.Sample sample, boolean fromIndex) {
+        sample.stop(registry.timer("booking.conflict.check", "source", fromIndex ? "index" : "database"));
+    }
+
+    public void conflictRejected(String operation) {
+        registry.counter("booking.conflicts.rejected", "operation", operation).increment();
+    }
+
+    public void waitlistPromoted() {
+        registry.counter("booking.waitlist.promoted").increment();
+    }
+
+    public void optimisticRetry(String operation) {
+        registry.counter("booking.optimistic.retries", "operation", operation).increment();
+    }
+
+    public void bookingCreated(SpaceType type, int count) {
+        Counter.builder("booking.created")
+                .tag("space_type", type != null ? type.name() : "UNKNOWN")
+                .register(registry)
+                .increment(count);
+    }
+
+    public <T> T timeAllocationSearch(Supplier<T> search) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            T result = search.get();
+            outcome = OUTCOME_SUCCESS;
+            return result;
+        } catch (RuntimeException e) {
+            outcome = outcomeOf(e);
+            throw e;
+        } finally {
+            sample.stop(registry.timer("allocation.search", "outcome", outcome));
+        }
+    }
+
+    public Timer.Sample startJwtFilter() {
+        return Timer.start(registry);
+    }
+
+    public void stopJwtFilter(Timer.Sample sample, String result) {
+        sample.stop(registry.timer("security.jwt.filter", "result", result));
+    }
+
+    private static String outcomeOf(RuntimeException e) {
+        if (e instanceof BadRequestException) return "rejected";
+        if (e instanceof ResourceNotFoundException) return "not_found";
+        if (e instanceof ResourceBusyException) return "busy";
+        if (e instanceof PreconditionFailedException || e instanceof OptimisticLockingFailureException) return "stale";
+        return "error";
+    }
+}
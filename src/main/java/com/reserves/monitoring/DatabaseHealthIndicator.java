@@ -0,0 +1,71 @@
+package com.reserves.monitoring;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Health do banco com latência real e saturação do pool (componente "db" em /actuator/health).
+ *
+ * O nome do bean (dbHealthContributor) substitui o indicador "db" padrão do Boot,
+ * que faria a mesma consulta de novo a cada verificação.
+ *
+ * - DOWN: a consulta de verificação falha
+ * - DEGRADED: latência acima do limite ou pool saturado (todas as conexões em uso
+ *   e threads esperando). Não derruba o health para 503: sob carga a instância
+ *   continua atendendo, e tirá-la do balanceador só pioraria
+ * - UP: caso contrário
+ */
+@Component("dbHealthContributor")
+public class DatabaseHealthIndicator extends AbstractHealthIndicator {
+
+    public static final Status DEGRADED = new Status("DEGRADED", "Banco lento ou pool de conexões saturado");
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final long maxLatencyMs;
+
+    public DatabaseHealthIndicator(DataSource dataSource,
+                                   @Value("${health.database.max-latency-ms:250}") long maxLatencyMs) {
+        super("Falha ao verificar o banco de dados");
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setQueryTimeout(5);
+        this.maxLatencyMs = maxLatencyMs;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        long startedAt = System.nanoTime();
+        jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+        long latencyMs = (System.nanoTime() - startedAt) / 1_000_000;
+
+        boolean degraded = latencyMs > maxLatencyMs;
+        builder.withDetail("latencyMs", latencyMs)
+                .withDetail("maxLatencyMs", maxLatencyMs);
+
+        HikariPoolMXBean pool = dataSource instanceof HikariDataSource
+                ? ((HikariDataSource) dataSource).getHikariPoolMXBean()
+                : null;
+        if (pool != null) {
+            int max = ((HikariDataSource) dataSource).getMaximumPoolSize();
+            int active = pool.getActiveConnections();
+            int waiting = pool.getThreadsAwaitingConnection();
+            builder.withDetail("activeConnections", active)
+                    .withDetail("idleConnections", pool.getIdleConnections())
+                    .withDetail("maxConnections", max)
+                    .withDetail("threadsAwaitingConnection", waiting)
+                    .withDetail("poolUsage", max > 0 ? (double) active / max : 0.0);
+            degraded = degraded || (active >= max && waiting > 0);
+        }
+
+        builder.status(degraded ? DEGRADED : Status.UP);
+    }
+}
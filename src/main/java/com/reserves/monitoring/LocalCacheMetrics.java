@@ -0,0 +1,34 @@
+package com.reserves.monitoring;
+
+import com.reserves.security.JwtUtil;
+import com.reserves.service.IdempotencyService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publica hits/misses/evictions dos caches Caffeine locais que não passam pelo
+ * CacheManager: tokens verificados (cache="jwtTokens") e store de
+ * Idempotency-Key (cache="idempotencyKeys"; hit = requisição repetida).
+ * Os caches do catálogo de espaços são registrados automaticamente pelo Actuator.
+ */
+@Component
+public class LocalCacheMetrics implements MeterBinder {
+
+    private final JwtUtil jwtUtil;
+    private final IdempotencyService idempotency;
+
+    public LocalCacheMetrics(JwtUtil jwtUtil, IdempotencyService idempotency) {
+        this.jwtUtil = jwtUtil;
+        this.idempotency = idempotency;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (jwtUtil.getVerifiedTokenCache() != null) {
+            CaffeineCacheMetrics.monitor(registry, jwtUtil.getVerifiedTokenCache(), "jwtTokens");
+        }
+        CaffeineCacheMetrics.monitor(registry, idempotency.getCache(), "idempotencyKeys");
+    }
+}
@@ -0,0 +1,35 @@
+package com.reserves.repository;
+
+import com.reserves.model.ArchivedReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+public interface ArchivedReservationRepository extends JpaRepository<ArchivedReservation, Long>,
+        ArchivedReservationRepositoryCustom {
+
+	/**
+	 * Copia as reservas informadas da tabela quente para o histórico em um único
+	 * INSERT ... SELECT (com o nome atual do espaço). Linhas já arquivadas são
+	 * ignoradas, então repetir um lote interrompido é seguro.
+	 *
+	 * @return quantidade de linhas copiadas
+	 */
+	@Modifying
+	@Query(value = "INSERT INTO reservations_archive " +
+		"(id, space_id, space_name, user_name, user_email, user_phone, start_time, end_time, " +
+		"status, total_price, notes, created_at, archived_at) " +
+		"SELECT r.id, r.space_id, s.name, r.user_name, r.user_email, r.user_phone, r.start_time, r.end_time, " +
+		"r.status, r.total_price, r.notes, r.created_at, :archivedAt " +
+		"FROM reservations r JOIN spaces s ON s.id = r.space_id " +
+		"WHERE r.id IN (:ids) " +
+		"ON CONFLICT (id) DO NOTHING",
+		nativeQuery = true)
+	int copyFromReservations(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+}
@@ -0,0 +1,26 @@
+package com.reserves.repository;
+
+import com.reserves.model.ArchivedReservation;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Consultas ao histórico de reservas, com os mesmos filtros e cursor da
+ * listagem da tabela quente ({@link ReservationSearchFilter}).
+ */
+public interface ArchivedReservationRepositoryCustom {
+
+    /**
+     * Página do histórico ordenada por (startTime, id).
+     *
+     * @param limit máximo de linhas retornadas
+     */
+    List<ArchivedReservation> search(ReservationSearchFilter filter, int limit);
+
+    /**
+     * Todo o histórico que atende aos filtros, lido sob demanda com o fetch size
+     * informado. Deve ser consumido (e fechado) dentro de uma transação.
+     */
+    Stream<ArchivedReservation> stream(ReservationSearchFilter filter, int fetchSize);
+}
@@ -0,0 +1,79 @@
+package com.reserves.repository;
+
+import com.reserves.model.ArchivedReservation;
+import org.hibernate.jpa.QueryHints;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Mesma estratégia de {@link ReservationRepositoryCustomImpl} (filtros só
+ * quando informados, keyset em vez de OFFSET), aplicada à tabela de histórico.
+ * Não há join: o nome do espaço foi copiado no arquivamento.
+ */
+public class ArchivedReservationRepositoryCustomImpl implements ArchivedReservationRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ArchivedReservation> search(ReservationSearchFilter filter, int limit) {
+        return entityManager.createQuery(buildQuery(filter))
+                .setMaxResults(limit)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<ArchivedReservation> stream(ReservationSearchFilter filter, int fetchSize) {
+        return entityManager.createQuery(buildQuery(filter))
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream()
+                .map(reservation -> {
+                    entityManager.detach(reservation);
+                    return reservation;
+                });
+    }
+
+    private CriteriaQuery<ArchivedReservation> buildQuery(ReservationSearchFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ArchivedReservation> query = cb.createQuery(ArchivedReservation.class);
+        Root<ArchivedReservation> r = query.from(ArchivedReservation.class);
+
+        List<Predicate> where = new ArrayList<>();
+        if (filter.getSpaceId() != null) {
+            where.add(cb.equal(r.get("spaceId"), filter.getSpaceId()));
+        }
+        if (filter.getUserEmail() != null) {
+            where.add(cb.equal(r.get("userEmail"), filter.getUserEmail()));
+        }
+        if (filter.getStatus() != null) {
+            where.add(cb.equal(r.get("status"), filter.getStatus()));
+        }
+        if (filter.getFrom() != null) {
+            where.add(cb.greaterThan(r.<LocalDateTime>get("endTime"), filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            where.add(cb.lessThan(r.<LocalDateTime>get("startTime"), filter.getTo()));
+        }
+        if (filter.getAfterStartTime() != null && filter.getAfterId() != null) {
+            Path<LocalDateTime> startTime = r.get("startTime");
+            where.add(cb.or(
+                    cb.greaterThan(startTime, filter.getAfterStartTime()),
+                    cb.and(
+                            cb.equal(startTime, filter.getAfterStartTime()),
+                            cb.greaterThan(r.<Long>get("id"), filter.getAfterId()))));
+        }
+
+        query.select(r)
+                .where(where.toArray(new Predicate[0]))
+                .orderBy(cb.asc(r.get("startTime")), cb.asc(r.get("id")));
+        return query;
+    }
+}
@@ -0,0 +1,19 @@
+package com.reserves.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Totais de ocupação de um espaço em um período (agregado dos rollups diários).
+ */
+public interface OccupancyTotalsView {
+
+    Long getSpaceId();
+
+    Long getBookedMinutes();
+
+    BigDecimal getRevenue();
+
+    Long getReservationCount();
+
+    Long getCancellationCount();
+}
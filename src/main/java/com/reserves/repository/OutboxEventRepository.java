@@ -0,0 +1,47 @@
+package com.reserves.repository;
+
+import com.reserves.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+	/**
+	 * Próximo lote de eventos pendentes, em ordem de gravação. FOR UPDATE SKIP LOCKED:
+	 * enquanto a transação de reserva do lote (ver scheduleNextAttempt) não termina,
+	 * outra instância pega o lote seguinte em vez de esperar pelo mesmo.
+	 */
+	@Query(value = "SELECT * FROM outbox_events " +
+		"WHERE dispatched_at IS NULL AND failed_at IS NULL AND next_attempt_at <= :now " +
+		"ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+		nativeQuery = true)
+	List<OutboxEvent> lockNextBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+	/**
+	 * Reagenda a próxima tentativa dos eventos. Usado como lease: o lote reservado
+	 * fica fora de lockNextBatch até `at`, também depois do commit da reserva.
+	 */
+	@Modifying
+	@Query("UPDATE OutboxEvent e SET e.nextAttemptAt = :at WHERE e.id IN :ids")
+	int scheduleNextAttempt(@Param("ids") Collection<Long> ids, @Param("at") LocalDateTime at);
+
+	@Modifying
+	@Query("UPDATE OutboxEvent e SET e.dispatchedAt = :now, e.attempts = e.attempts + 1 WHERE e.id IN :ids")
+	int markDispatched(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+	@Query("SELECT COUNT(e) FROM OutboxEvent e WHERE e.dispatchedAt IS NULL AND e.failedAt IS NULL")
+	long countPending();
+
+	// Limpeza: eventos entregues há mais tempo que a retenção
+	@Modifying
+	@Query("DELETE FROM OutboxEvent e WHERE e.dispatchedAt < :before")
+	int deleteDispatchedBefore(@Param("before") LocalDateTime before);
+}
@@ -2,7 +2,10 @@ package com.reserves.repository;
 
 import com.reserves.model.Reservation;
 import com.reserves.model.ReservationStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -11,7 +14,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+public interface ReservationRepository extends JpaRepository<Reservation, Long>, ReservationRepositoryCustom {
 
     List<Reservation> findBySpaceId(Long spaceId);
 
@@ -19,6 +22,27 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
 
     List<Reservation> findByUserEmail(String userEmail);
 
+	// Reservas de um usuário que se sobrepõem a [from, to) (mesmo critério de ReservationSearchFilter),
+	// já projetadas para a listagem (um SELECT com join no espaço)
+	@Query("SELECT new com.reserves.repository.ReservationSummary(r.id, s.id, s.name, r.userName, r.userEmail, " +
+		"r.startTime, r.endTime, r.status, r.totalPrice, r.notes, r.createdAt, r.version) " +
+		"FROM Reservation r JOIN r.space s WHERE r.userEmail = :userEmail " +
+		"AND r.endTime > :from AND r.startTime < :to ORDER BY r.startTime, r.id")
+	List<ReservationSummary> findSummariesByUserEmail(@Param("userEmail") String userEmail,
+													  @Param("from") LocalDateTime from,
+													  @Param("to") LocalDateTime to);
+
+	// Todas as reservas com o espaço e as amenities (endpoint de debug serializa a entidade
+	// inteira depois da transação). DISTINCT: o fetch das amenities repete a reserva por linha
+	@EntityGraph(attributePaths = {"space", "space.amenities"})
+	@Query("SELECT DISTINCT r FROM Reservation r")
+	List<Reservation> findAllWithSpace();
+
+	// Reserva por id com o espaço no mesmo SELECT (o DTO sempre lê o nome do espaço)
+	@EntityGraph(attributePaths = "space")
+	@Query("SELECT r FROM Reservation r WHERE r.id = :id")
+	java.util.Optional<Reservation> findWithSpaceById(@Param("id") Long id);
+
 	 @Query("SELECT r FROM Reservation r WHERE " +
 		 "r.space.id = :spaceId AND " +
 		 "r.status <> com.reserves.model.ReservationStatus.CANCELLED AND " +
@@ -46,4 +70,71 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
 
 	// Busca reservas de um espaço criadas depois de uma data
 	List<Reservation> findBySpaceIdAndCreatedAtAfter(Long spaceId, LocalDateTime dateTime);
+
+	/**
+	 * Mesmo critério de {@link #findConflictingReservations}, mas responde apenas
+	 * se existe conflito (sem materializar entidades). Usado como fallback
+	 * quando o índice em memória ainda não está pronto.
+	 */
+	@Query("SELECT CASE WHEN COUNT(r) > 0 THEN true ELSE false END FROM Reservation r WHERE " +
+		"r.space.id = :spaceId AND " +
+		"r.status <> com.reserves.model.ReservationStatus.CANCELLED AND " +
+		"r.startTime < :endTime AND " +
+		"r.endTime > :startTime AND " +
+		"(:excludeId IS NULL OR r.id <> :excludeId)")
+	boolean existsConflictingReservation(
+	    @Param("spaceId") Long spaceId,
+	    @Param("startTime") LocalDateTime startTime,
+	    @Param("endTime") LocalDateTime endTime,
+	    @Param("excludeId") Long excludeId
+	);
+
+	/**
+	 * Versão set-based da verificação de conflito: dentre os espaços informados,
+	 * retorna os que possuem alguma reserva ativa sobrepondo o intervalo (uma única query).
+	 */
+	@Query("SELECT DISTINCT r.space.id FROM Reservation r WHERE " +
+		"r.space.id IN :spaceIds AND " +
+		"r.status <> com.reserves.model.ReservationStatus.CANCELLED AND " +
+		"r.startTime < :endTime AND " +
+		"r.endTime > :startTime")
+	List<Long> findSpaceIdsWithConflicts(
+	    @Param("spaceIds") java.util.Collection<Long> spaceIds,
+	    @Param("startTime") LocalDateTime startTime,
+	    @Param("endTime") LocalDateTime endTime
+	);
+
+	// Intervalos ativos de vários espaços em uma janela (uma única range query) — matriz de disponibilidade
+	@Query("SELECT r.id AS id, r.space.id AS spaceId, r.startTime AS startTime, r.endTime AS endTime " +
+		"FROM Reservation r WHERE r.space.id IN :spaceIds AND " +
+		"r.status <> com.reserves.model.ReservationStatus.CANCELLED AND " +
+		"r.startTime < :endTime AND r.endTime > :startTime")
+	List<ReservationSlotView> findActiveSlotsBetween(
+	    @Param("spaceIds") java.util.Collection<Long> spaceIds,
+	    @Param("startTime") LocalDateTime startTime,
+	    @Param("endTime") LocalDateTime endTime
+	);
+
+	// Apenas o espaço de uma reserva (sem carregar a entidade) — usado para travar o espaço antes da leitura
+	@Query("SELECT r.space.id FROM Reservation r WHERE r.id = :id")
+	java.util.Optional<Long> findSpaceIdById(@Param("id") Long id);
+
+	// Intervalos de todas as reservas ativas (não canceladas) — usado para reconstruir o índice em memória
+	@Query("SELECT r.id AS id, r.space.id AS spaceId, r.startTime AS startTime, r.endTime AS endTime " +
+		"FROM Reservation r WHERE r.status <> com.reserves.model.ReservationStatus.CANCELLED")
+	List<ReservationSlotView> findActiveSlots();
+
+	// Próximo lote de reservas encerradas antes do corte (qualquer status) — candidatas ao arquivamento
+	@Query("SELECT r.id AS id, r.space.id AS spaceId, r.startTime AS startTime, r.endTime AS endTime " +
+		"FROM Reservation r WHERE r.endTime < :cutoff ORDER BY r.endTime, r.id")
+	List<ReservationSlotView> findEndedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable page);
+
+	// Das reservas informadas, as que ainda existem e terminaram antes do corte (lote relido sob lock)
+	@Query("SELECT r.id FROM Reservation r WHERE r.id IN :ids AND r.endTime < :cutoff")
+	List<Long> findIdsEndedBefore(@Param("ids") java.util.Collection<Long> ids, @Param("cutoff") LocalDateTime cutoff);
+
+	// Remoção em lote (bulk) das reservas já copiadas para o histórico
+	@Modifying
+	@Query("DELETE FROM Reservation r WHERE r.id IN :ids")
+	int deleteByIdIn(@Param("ids") java.util.Collection<Long> ids);
 }
@@ -0,0 +1,28 @@
+package com.reserves.repository;
+
+import com.reserves.model.Reservation;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Consultas de reservas montadas dinamicamente (Criteria API).
+ */
+public interface ReservationRepositoryCustom {
+
+    /**
+     * Página de reservas que atendem aos filtros, ordenadas por (startTime, id),
+     * projetada direto nas colunas da listagem (um único SELECT com join no
+     * espaço, sem entidades).
+     *
+     * @param limit máximo de linhas retornadas
+     */
+    List<ReservationSummary> searchSummaries(ReservationSearchFilter filter, int limit);
+
+    /**
+     * Todas as reservas que atendem aos filtros, na mesma ordem, com o Space já
+     * carregado (fetch join), lidas sob demanda com o fetch size informado.
+     * Deve ser consumido (e fechado) dentro de uma transação.
+     */
+    Stream<Reservation> stream(ReservationSearchFilter filter, int fetchSize);
+}
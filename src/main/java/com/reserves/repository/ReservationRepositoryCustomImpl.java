@@ -0,0 +1,104 @@
+package com.reserves.repository;
+
+import com.reserves.model.Reservation;
+import com.reserves.model.Space;
+import org.hibernate.jpa.QueryHints;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Implementação da listagem filtrada com paginação por keyset.
+ *
+ * Só os filtros informados entram no WHERE, para que o planner use o índice
+ * adequado (space_id, start_time) ou (status). O cursor evita OFFSET: cada
+ * página custa o mesmo, independentemente da profundidade.
+ *
+ * A listagem lê só as colunas do DTO por uma expressão de construtor (sem
+ * entidades gerenciadas nem carga LAZY do Space por linha).
+ *
+ * A exportação usa a mesma consulta como cursor JDBC (fetch size), sem
+ * limite, desanexando cada entidade após a leitura.
+ */
+public class ReservationRepositoryCustomImpl implements ReservationRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ReservationSummary> searchSummaries(ReservationSearchFilter filter, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ReservationSummary> query = cb.createQuery(ReservationSummary.class);
+        Root<Reservation> r = query.from(Reservation.class);
+        Join<Reservation, Space> space = r.join("space", JoinType.INNER);
+
+        query.select(cb.construct(ReservationSummary.class,
+                        r.get("id"), space.get("id"), space.get("name"), r.get("userName"), r.get("userEmail"),
+                        r.get("startTime"), r.get("endTime"), r.get("status"), r.get("totalPrice"),
+                        r.get("notes"), r.get("createdAt"), r.get("version")))
+                .where(predicates(cb, r, filter))
+                .orderBy(cb.asc(r.get("startTime")), cb.asc(r.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<Reservation> stream(ReservationSearchFilter filter, int fetchSize) {
+        return entityManager.createQuery(buildQuery(filter))
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream()
+                .map(reservation -> {
+                    // Sem referência no contexto de persistência: o GC libera cada linha já escrita
+                    entityManager.detach(reservation);
+                    return reservation;
+                });
+    }
+
+    private CriteriaQuery<Reservation> buildQuery(ReservationSearchFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Reservation> query = cb.createQuery(Reservation.class);
+        Root<Reservation> r = query.from(Reservation.class);
+        r.fetch("space", JoinType.INNER);
+
+        query.select(r)
+                .where(predicates(cb, r, filter))
+                .orderBy(cb.asc(r.get("startTime")), cb.asc(r.get("id")));
+        return query;
+    }
+
+    private static Predicate[] predicates(CriteriaBuilder cb, Root<Reservation> r, ReservationSearchFilter filter) {
+        List<Predicate> where = new ArrayList<>();
+        if (filter.getSpaceId() != null) {
+            where.add(cb.equal(r.get("space").get("id"), filter.getSpaceId()));
+        }
+        if (filter.getUserEmail() != null) {
+            where.add(cb.equal(r.get("userEmail"), filter.getUserEmail()));
+        }
+        if (filter.getStatus() != null) {
+            where.add(cb.equal(r.get("status"), filter.getStatus()));
+        }
+        if (filter.getFrom() != null) {
+            where.add(cb.greaterThan(r.<LocalDateTime>get("endTime"), filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            where.add(cb.lessThan(r.<LocalDateTime>get("startTime"), filter.getTo()));
+        }
+        if (filter.getAfterStartTime() != null && filter.getAfterId() != null) {
+            // (startTime, id) > (afterStartTime, afterId)
+            Path<LocalDateTime> startTime = r.get("startTime");
+            where.add(cb.or(
+                    cb.greaterThan(startTime, filter.getAfterStartTime()),
+                    cb.and(
+                            cb.equal(startTime, filter.getAfterStartTime()),
+                            cb.greaterThan(r.<Long>get("id"), filter.getAfterId()))));
+        }
+        return where.toArray(new Predicate[0]);
+    }
+}
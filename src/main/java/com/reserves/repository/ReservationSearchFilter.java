@@ -0,0 +1,44 @@
+package com.reserves.repository;
+
+import com.reserves.model.ReservationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filtros opcionais da listagem de reservas (campos nulos são ignorados)
+ * e posição do cursor (keyset) na ordenação estável (startTime, id).
+ */
+public class ReservationSearchFilter {
+
+    private Long spaceId;
+    private String userEmail;
+    private ReservationStatus status;
+    // Reservas que se sobrepõem a [from, to)
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    // Cursor: devolve apenas linhas após (afterStartTime, afterId)
+    private LocalDateTime afterStartTime;
+    private Long afterId;
+
+    public Long getSpaceId() { return spaceId; }
+    public void setSpaceId(Long spaceId) { this.spaceId = spaceId; }
+
+    public String getUserEmail() { return userEmail; }
+    public void setUserEmail(String userEmail) { this.userEmail = userEmail; }
+
+    public ReservationStatus getStatus() { return status; }
+    public void setStatus(ReservationStatus status) { this.status = status; }
+
+    public LocalDateTime getFrom() { return from; }
+    public void setFrom(LocalDateTime from) { this.from = from; }
+
+    public LocalDateTime getTo() { return to; }
+    public void setTo(LocalDateTime to) { this.to = to; }
+
+    public LocalDateTime getAfterStartTime() { return afterStartTime; }
+    public void setAfterStartTime(LocalDateTime afterStartTime) { this.afterStartTime = afterStartTime; }
+
+    public Long getAfterId() { return afterId; }
+    public void setAfterId(Long afterId) { this.afterId = afterId; }
+}
@@ -0,0 +1,44 @@
+package com.reserves.repository;
+
+import com.reserves.model.ReservationSeries;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReservationSeriesRepository extends JpaRepository<ReservationSeries, Long> {
+
+    // Exceções carregadas junto: o DTO é montado fora da transação (open-in-view desligado)
+    @Override
+    @EntityGraph(attributePaths = "cancelledDates")
+    Optional<ReservationSeries> findById(Long id);
+
+    // Com o espaço: as ocorrências listadas em /api/reservations/my levam o nome dele
+    @EntityGraph(attributePaths = {"cancelledDates", "space"})
+    List<ReservationSeries> findByUserEmail(String userEmail);
+
+    // Apenas o espaço de uma série — usado para travar o espaço antes da leitura
+    @Query("SELECT s.space.id FROM ReservationSeries s WHERE s.id = :id")
+    Optional<Long> findSpaceIdById(@Param("id") Long id);
+
+    /**
+     * Séries ativas (com exceções e id do espaço carregados) — usado para reconstruir o índice em memória.
+     */
+    @Query("SELECT DISTINCT s FROM ReservationSeries s " +
+	    "JOIN FETCH s.space LEFT JOIN FETCH s.cancelledDates " +
+	    "WHERE s.status <> com.reserves.model.ReservationStatus.CANCELLED")
+    List<ReservationSeries> findAllActive();
+
+    /**
+     * Séries ativas de um espaço — fallback quando o índice em memória não está pronto.
+     */
+    @Query("SELECT DISTINCT s FROM ReservationSeries s " +
+	    "JOIN FETCH s.space LEFT JOIN FETCH s.cancelledDates " +
+	    "WHERE s.space.id = :spaceId AND s.status <> com.reserves.model.ReservationStatus.CANCELLED")
+    List<ReservationSeries> findActiveBySpaceId(@Param("spaceId") Long spaceId);
+}
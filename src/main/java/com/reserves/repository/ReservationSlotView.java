@@ -0,0 +1,18 @@
+package com.reserves.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção mínima de uma reserva: apenas as colunas necessárias para
+ * montar índices de intervalos (sem carregar a entidade nem o Space).
+ */
+public interface ReservationSlotView {
+
+    Long getId();
+
+    Long getSpaceId();
+
+    LocalDateTime getStartTime();
+
+    LocalDateTime getEndTime();
+}
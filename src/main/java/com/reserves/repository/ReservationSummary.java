@@ -0,0 +1,61 @@
+package com.reserves.repository;
+
+import com.reserves.model.ReservationStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Projeção de leitura de uma reserva para as listagens: exatamente as colunas
+ * do ReservationDTO, incluindo o nome do espaço, lidas em um único SELECT com
+ * join (sem entidades gerenciadas nem carga LAZY do Space por linha).
+ *
+ * Montada por expressão de construtor, tanto em JPQL
+ * (SELECT new com.reserves.repository.ReservationSummary(...)) quanto na
+ * Criteria API (cb.construct); a ordem dos argumentos é a do construtor.
+ */
+public class ReservationSummary {
+
+    private final Long id;
+    private final Long spaceId;
+    private final String spaceName;
+    private final String userName;
+    private final String userEmail;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final ReservationStatus status;
+    private final BigDecimal totalPrice;
+    private final String notes;
+    private final LocalDateTime createdAt;
+    private final Long version;
+
+    public ReservationSummary(Long id, Long spaceId, String spaceName, String userName, String userEmail,
+                              LocalDateTime startTime, LocalDateTime endTime, ReservationStatus status,
+                              BigDecimal totalPrice, String notes, LocalDateTime createdAt, Long version) {
+        this.id = id;
+        this.spaceId = spaceId;
+        this.spaceName = spaceName;
+        this.userName = userName;
+        this.userEmail = userEmail;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.status = status;
+        this.totalPrice = totalPrice;
+        this.notes = notes;
+        this.createdAt = createdAt;
+        this.version = version;
+    }
+
+    public Long getId() { return id; }
+    public Long getSpaceId() { return spaceId; }
+    public String getSpaceName() { return spaceName; }
+    public String getUserName() { return userName; }
+    public String getUserEmail() { return userEmail; }
+    public LocalDateTime getStartTime() { return startTime; }
+    public LocalDateTime getEndTime() { return endTime; }
+    public ReservationStatus getStatus() { return status; }
+    public BigDecimal getTotalPrice() { return totalPrice; }
+    public String getNotes() { return notes; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public Long getVersion() { return version; }
+}
@@ -0,0 +1,77 @@
+package com.reserves.repository;
+
+import com.reserves.model.SpaceDailyOccupancy;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SpaceDailyOccupancyRepository extends JpaRepository<SpaceDailyOccupancy, SpaceDailyOccupancy.Key> {
+
+	/**
+	 * Soma os deltas na linha (espaço, dia), criando-a se ainda não existir.
+	 * Um único comando atômico (INSERT ... ON CONFLICT): não depende de ler a
+	 * linha antes nem de a entidade estar no contexto de persistência.
+	 */
+	@Modifying
+	@Query(value = "INSERT INTO space_daily_occupancy " +
+		"(space_id, occupancy_date, booked_minutes, revenue, reservation_count, cancellation_count, updated_at) " +
+		"VALUES (:spaceId, :day, :minutes, :revenue, :reservations, :cancellations, CURRENT_TIMESTAMP) " +
+		"ON CONFLICT (space_id, occupancy_date) DO UPDATE SET " +
+		"booked_minutes = space_daily_occupancy.booked_minutes + EXCLUDED.booked_minutes, " +
+		"revenue = space_daily_occupancy.revenue + EXCLUDED.revenue, " +
+		"reservation_count = space_daily_occupancy.reservation_count + EXCLUDED.reservation_count, " +
+		"cancellation_count = space_daily_occupancy.cancellation_count + EXCLUDED.cancellation_count, " +
+		"updated_at = EXCLUDED.updated_at",
+		nativeQuery = true)
+	void addDelta(
+	    @Param("spaceId") Long spaceId,
+	    @Param("day") LocalDate day,
+	    @Param("minutes") long minutes,
+	    @Param("revenue") BigDecimal revenue,
+	    @Param("reservations") int reservations,
+	    @Param("cancellations") int cancellations
+	);
+
+	// Totais por espaço em [from, to) — uma linha por espaço
+	@Query("SELECT o.spaceId AS spaceId, SUM(o.bookedMinutes) AS bookedMinutes, SUM(o.revenue) AS revenue, " +
+		"SUM(o.reservationCount) AS reservationCount, SUM(o.cancellationCount) AS cancellationCount " +
+		"FROM SpaceDailyOccupancy o WHERE o.day >= :from AND o.day < :to " +
+		"GROUP BY o.spaceId ORDER BY o.spaceId")
+	List<OccupancyTotalsView> sumBySpace(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+	@Query("SELECT o.spaceId AS spaceId, SUM(o.bookedMinutes) AS bookedMinutes, SUM(o.revenue) AS revenue, " +
+		"SUM(o.reservationCount) AS reservationCount, SUM(o.cancellationCount) AS cancellationCount " +
+		"FROM SpaceDailyOccupancy o WHERE o.spaceId IN :spaceIds AND o.day >= :from AND o.day < :to " +
+		"GROUP BY o.spaceId ORDER BY o.spaceId")
+	List<OccupancyTotalsView> sumBySpace(
+	    @Param("spaceIds") Collection<Long> spaceIds,
+	    @Param("from") LocalDate from,
+	    @Param("to") LocalDate to
+	);
+
+	// Minutos reservados de um espaço em [from, to) — score de ocupação
+	@Query("SELECT COALESCE(SUM(o.bookedMinutes), 0) FROM SpaceDailyOccupancy o " +
+		"WHERE o.spaceId = :spaceId AND o.day >= :from AND o.day < :to")
+	long sumBookedMinutes(@Param("spaceId") Long spaceId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+	// Série diária (apenas dias com movimento) para os espaços informados
+	@Query("SELECT o FROM SpaceDailyOccupancy o WHERE o.spaceId IN :spaceIds AND o.day >= :from AND o.day < :to " +
+		"ORDER BY o.spaceId, o.day")
+	List<SpaceDailyOccupancy> findDaily(
+	    @Param("spaceIds") Collection<Long> spaceIds,
+	    @Param("from") LocalDate from,
+	    @Param("to") LocalDate to
+	);
+
+	@Modifying
+	@Query("DELETE FROM SpaceDailyOccupancy o WHERE o.day >= :from AND o.day < :to")
+	int deleteRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
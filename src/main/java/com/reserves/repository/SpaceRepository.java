@@ -4,11 +4,14 @@ import com.reserves.model.Space;
 import com.reserves.model.SpaceType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface SpaceRepository extends JpaRepository<Space, Long> {
@@ -31,8 +34,10 @@ public interface SpaceRepository extends JpaRepository<Space, Long> {
      * - maxPrice: filtra por preço por hora máximo quando informado
      *
      * Observação: usamos parâmetros opcionais (IS NULL) para tornar os filtros combináveis.
+     * As amenities vêm no mesmo SELECT (fetch join), sem N+1 ao montar os DTOs.
      */
-    @Query("SELECT s FROM Space s WHERE " +
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("SELECT DISTINCT s FROM Space s LEFT JOIN FETCH s.amenities WHERE " +
 	    "(:type IS NULL OR s.type = :type) AND " +
 	    "(:minCapacity IS NULL OR s.capacity >= :minCapacity) AND " +
 	    "(:maxPrice IS NULL OR s.pricePerHour <= :maxPrice) AND " +
@@ -42,4 +47,19 @@ public interface SpaceRepository extends JpaRepository<Space, Long> {
 	    @Param("minCapacity") Integer minCapacity,
 	    @Param("maxPrice") BigDecimal maxPrice
     );
+
+    /**
+     * Todos os espaços com as amenities carregadas em um único SELECT.
+     * DISTINCT remove as linhas repetidas do join (não é enviado ao SQL).
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("SELECT DISTINCT s FROM Space s LEFT JOIN FETCH s.amenities")
+    List<Space> findAllWithAmenities();
+
+    /**
+     * Espaço por id com as amenities carregadas.
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("SELECT DISTINCT s FROM Space s LEFT JOIN FETCH s.amenities WHERE s.id = :id")
+    Optional<Space> findWithAmenitiesById(@Param("id") Long id);
 }
@@ -0,0 +1,62 @@
+package com.reserves.repository;
+
+import com.reserves.model.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+	/**
+	 * Pedidos em espera que sobrepõem [startTime, endTime), na ordem de atendimento
+	 * (prioridade desc, chegada asc). earliestStart = startTime - duração máxima de
+	 * um pedido: limita o range scan do índice (space_id, status, start_time) aos
+	 * pedidos que podem sobrepor o intervalo, mesmo com milhares na fila do espaço.
+	 */
+	@Query("SELECT w FROM WaitlistEntry w WHERE " +
+		"w.space.id = :spaceId AND " +
+		"w.status = com.reserves.model.WaitlistStatus.WAITING AND " +
+		"w.startTime >= :earliestStart AND " +
+		"w.startTime < :endTime AND " +
+		"w.endTime > :startTime AND " +
+		"w.startTime > :now " +
+		"ORDER BY w.priority DESC, w.createdAt ASC, w.id ASC")
+	List<WaitlistEntry> findCandidates(
+	    @Param("spaceId") Long spaceId,
+	    @Param("startTime") LocalDateTime startTime,
+	    @Param("endTime") LocalDateTime endTime,
+	    @Param("earliestStart") LocalDateTime earliestStart,
+	    @Param("now") LocalDateTime now
+	);
+
+	// Fila de um espaço (pedidos futuros em espera), na ordem de atendimento
+	@Query("SELECT w FROM WaitlistEntry w WHERE w.space.id = :spaceId AND " +
+		"w.status = com.reserves.model.WaitlistStatus.WAITING " +
+		"ORDER BY w.startTime ASC, w.priority DESC, w.createdAt ASC, w.id ASC")
+	List<WaitlistEntry> findQueue(@Param("spaceId") Long spaceId);
+
+	List<WaitlistEntry> findByUserEmailOrderByCreatedAtDesc(String userEmail);
+
+	@Query("SELECT CASE WHEN COUNT(w) > 0 THEN true ELSE false END FROM WaitlistEntry w WHERE " +
+		"w.space.id = :spaceId AND w.userEmail = :userEmail AND " +
+		"w.status = com.reserves.model.WaitlistStatus.WAITING AND " +
+		"w.startTime < :endTime AND w.endTime > :startTime")
+	boolean existsWaitingOverlap(
+	    @Param("spaceId") Long spaceId,
+	    @Param("userEmail") String userEmail,
+	    @Param("startTime") LocalDateTime startTime,
+	    @Param("endTime") LocalDateTime endTime
+	);
+
+	// Pedidos cujo horário já começou não podem mais ser atendidos
+	@Modifying
+	@Query("UPDATE WaitlistEntry w SET w.status = com.reserves.model.WaitlistStatus.EXPIRED " +
+		"WHERE w.status = com.reserves.model.WaitlistStatus.WAITING AND w.startTime <= :now")
+	int expireStarted(@Param("now") LocalDateTime now);
+}
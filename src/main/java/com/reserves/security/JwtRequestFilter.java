@@ -1,9 +1,13 @@
 package com.reserves.security;
 
+import com.reserves.monitoring.BookingMetrics;
 import com.reserves.service.CustomUserDetailsService;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -23,33 +27,46 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private BookingMetrics metrics;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
 
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
-
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            Timer.Sample sample = metrics.startJwtFilter();
+            String result = "invalid";
+            String jwt = authorizationHeader.substring(7);
+            JwtUtil.VerifiedToken token = null;
             try {
-                username = jwtUtil.extractUsername(jwt);
+                // Um único parse: assinatura e expiração verificadas juntas
+                token = jwtUtil.verify(jwt);
             } catch (Exception e) {
                 // invalid token, proceed without authentication
             }
-        }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            var userDetails = this.userDetailsService.loadUserByUsername(username);
+            if (token != null && token.getUsername() != null) {
+                UserDetails userDetails;
+                if (token.hasAuthorities()) {
+                    // Roles vêm do próprio token: nenhuma consulta ao banco
+                    userDetails = new User(token.getUsername(), "", token.getAuthorities());
+                    result = "claims";
+                } else {
+                    // Tokens emitidos antes do claim de roles: busca o usuário como antes
+                    userDetails = this.userDetailsService.loadUserByUsername(token.getUsername());
+                    result = "database";
+                }
 
-            if (jwtUtil.validateToken(jwt, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
+            metrics.stopJwtFilter(sample, result);
         }
 
         chain.doFilter(request, response);
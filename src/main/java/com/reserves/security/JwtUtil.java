@@ -1,24 +1,122 @@
 package com.reserves.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import java.util.Date;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.*;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtUtil {
 
+    // Claim com as authorities do usuário (ex.: ROLE_ADMIN), para autenticar sem ir ao banco
+    static final String ROLES_CLAIM = "roles";
+
     @Value("${jwt.secret:secret-key-for-dev}")
     private String secret;
 
     @Value("${jwt.expiration:86400000}")
     private Long expiration; // in ms
 
+    // Tokens já verificados, pela hash SHA-256 (o token em si não fica em memória)
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtUtil(@Value("${jwt.cache.enabled:true}") boolean cacheEnabled,
+                   @Value("${jwt.cache.max-size:10000}") long cacheMaxSize,
+                   @Value("${jwt.cache.ttl:5m}") Duration cacheTtl) {
+        this.verifiedTokens = cacheEnabled
+                ? Caffeine.newBuilder().maximumSize(cacheMaxSize).expireAfterWrite(cacheTtl).recordStats().build()
+                : null;
+    }
+
+    /**
+     * Cache de tokens verificados (null quando desabilitado), para métricas.
+     */
+    public Cache<String, VerifiedToken> getVerifiedTokenCache() {
+        return verifiedTokens;
+    }
+
+    /**
+     * Dados de um token com assinatura e expiração já verificadas.
+     * authorities é null em tokens antigos, emitidos sem o claim de roles.
+     */
+    public static final class VerifiedToken {
+        private final String username;
+        private final List<GrantedAuthority> authorities;
+        private final Date expiresAt;
+
+        VerifiedToken(String username, List<GrantedAuthority> authorities, Date expiresAt) {
+            this.username = username;
+            this.authorities = authorities;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getUsername() { return username; }
+        public List<GrantedAuthority> getAuthorities() { return authorities; }
+        public Date getExpiresAt() { return expiresAt; }
+
+        public boolean hasAuthorities() {
+            return authorities != null;
+        }
+    }
+
+    /**
+     * Verifica o token com um único parse (assinatura + expiração) e devolve seus dados.
+     * Com o cache habilitado, um token já visto só é reparseado após o TTL do cache.
+     *
+     * @throws io.jsonwebtoken.JwtException token inválido ou expirado
+     */
+    public VerifiedToken verify(String token) {
+        if (verifiedTokens == null) {
+            return parse(token);
+        }
+        String key = sha256(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            if (cached.getExpiresAt().after(new Date())) {
+                return cached;
+            }
+            verifiedTokens.invalidate(key);
+        }
+        VerifiedToken verified = parse(token);
+        verifiedTokens.put(key, verified);
+        return verified;
+    }
+
+    private VerifiedToken parse(String token) {
+        Claims claims = extractAllClaims(token);
+        Object roles = claims.get(ROLES_CLAIM);
+        List<GrantedAuthority> authorities = null;
+        if (roles instanceof Collection) {
+            authorities = ((Collection<?>) roles).stream()
+                    .map(r -> new SimpleGrantedAuthority(String.valueOf(r)))
+                    .collect(Collectors.toUnmodifiableList());
+        }
+        return new VerifiedToken(claims.getSubject(), authorities, claims.getExpiration());
+    }
+
+    private static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -41,12 +139,16 @@ public class JwtUtil {
     }
 
     public String generateToken(UserDetails userDetails) {
-        return createToken(userDetails.getUsername());
+        List<String> roles = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
+        return createToken(userDetails.getUsername(), roles);
     }
 
-    private String createToken(String subject) {
+    private String createToken(String subject, List<String> roles) {
         return Jwts.builder()
                 .setSubject(subject)
+                .claim(ROLES_CLAIM, roles)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
                 .signWith(SignatureAlgorithm.HS256, secret)
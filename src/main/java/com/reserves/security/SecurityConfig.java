@@ -30,7 +30,10 @@ public class SecurityConfig {
                 // Public endpoints
                 .antMatchers("/api/auth/**").permitAll()
                 .antMatchers("/api/health").permitAll()
-                .antMatchers("/actuator/**").permitAll()
+                .antMatchers("/actuator/health/**").permitAll()
+                // Scrape do Prometheus (sem JWT): protegido na rede, não exposto pelo balanceador
+                .antMatchers("/actuator/prometheus").permitAll()
+                .antMatchers("/actuator/**").hasRole("ADMIN")
                 .antMatchers("/h2-console/**").permitAll()
                 // Protected endpoints
                 .antMatchers("/api/spaces/**").authenticated()
@@ -0,0 +1,115 @@
+package com.reserves.service;
+
+import com.reserves.algorithm.AllocationService;
+import com.reserves.algorithm.OccupancyBitmap;
+import com.reserves.algorithm.RecurringSeriesIndex;
+import com.reserves.algorithm.ReservationIntervalIndex;
+import com.reserves.dto.AvailabilityMatrixDTO;
+import com.reserves.model.Space;
+import com.reserves.repository.ReservationRepository;
+import com.reserves.repository.ReservationSlotView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Matriz de disponibilidade (espaços × dias) em slots de 15 minutos.
+ *
+ * - Reservas de todos os espaços vêm de uma única fonte: o índice em memória
+ *   ou, como fallback, uma única range query agrupada por espaço
+ * - Cada espaço é varrido uma vez (sweep sobre os intervalos ordenados) e
+ *   vira um OccupancyBitmap; os espaços são processados em paralelo
+ */
+@Service
+public class AvailabilityMatrixService {
+
+    public static final int MAX_DAYS = 62;
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationIntervalIndex intervalIndex;
+    private final RecurringSeriesIndex seriesIndex;
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityMatrixService.class);
+
+    public AvailabilityMatrixService(ReservationRepository reservationRepository,
+                                     ReservationIntervalIndex intervalIndex,
+                                     RecurringSeriesIndex seriesIndex) {
+        this.reservationRepository = reservationRepository;
+        this.intervalIndex = intervalIndex;
+        this.seriesIndex = seriesIndex;
+    }
+
+    public AvailabilityMatrixDTO build(List<Space> spaces, LocalDate from, int days) {
+        long startedAt = System.nanoTime();
+        LocalDateTime windowStart = from.atStartOfDay();
+        LocalDateTime windowEnd = from.plusDays(days).atStartOfDay();
+
+        List<Long> ids = spaces.stream().map(Space::getId).collect(Collectors.toList());
+        Map<Long, List<AllocationService.TimeSlot>> occupied = loadOccupied(ids, windowStart, windowEnd);
+
+        List<AvailabilityMatrixDTO.Row> rows = spaces.parallelStream()
+                .map(space -> new AvailabilityMatrixDTO.Row(space.getId(), space.getName(),
+                        bitmapOf(space.getId(), occupied, from, days).toBase64FreeMask()))
+                .collect(Collectors.toList());
+
+        AvailabilityMatrixDTO dto = new AvailabilityMatrixDTO();
+        dto.setFrom(from);
+        dto.setDays(days);
+        dto.setSlotMinutes(OccupancyBitmap.SLOT_MINUTES);
+        dto.setSlotsPerDay(OccupancyBitmap.SLOTS_PER_DAY);
+        dto.setSpaces(rows);
+
+        logger.debug("Availability matrix {} spaces x {} days built in {} ms",
+                spaces.size(), days, (System.nanoTime() - startedAt) / 1_000_000);
+        return dto;
+    }
+
+    /**
+     * Máscara de slots livres (mesmo formato da matriz) de um espaço em um único dia.
+     */
+    public String freeMask(Long spaceId, LocalDate day) {
+        Map<Long, List<AllocationService.TimeSlot>> occupied =
+                loadOccupied(List.of(spaceId), day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+        return bitmapOf(spaceId, occupied, day, 1).toBase64FreeMask();
+    }
+
+    private OccupancyBitmap bitmapOf(Long spaceId, Map<Long, List<AllocationService.TimeSlot>> occupied,
+                                     LocalDate from, int days) {
+        OccupancyBitmap bitmap = new OccupancyBitmap(from, days);
+        for (AllocationService.TimeSlot slot : occupied.getOrDefault(spaceId, List.of())) {
+            bitmap.markOccupied(slot.getStart(), slot.getEnd());
+        }
+        for (AllocationService.TimeSlot slot : seriesIndex.occupied(spaceId, from.atStartOfDay(), from.plusDays(days).atStartOfDay())) {
+            bitmap.markOccupied(slot.getStart(), slot.getEnd());
+        }
+        return bitmap;
+    }
+
+    /**
+     * Intervalos ocupados por espaço: do índice em memória, ou de uma única
+     * range query (agrupada por espaço) quando o índice não está pronto.
+     */
+    private Map<Long, List<AllocationService.TimeSlot>> loadOccupied(List<Long> ids,
+                                                                    LocalDateTime from,
+                                                                    LocalDateTime to) {
+        Map<Long, List<AllocationService.TimeSlot>> bySpace = new HashMap<>();
+        if (ids.isEmpty()) {
+            return bySpace;
+        }
+        if (intervalIndex.isActive()) {
+            for (Long id : ids) {
+                bySpace.put(id, intervalIndex.occupied(id, from, to));
+            }
+            return bySpace;
+        }
+        for (ReservationSlotView slot : reservationRepository.findActiveSlotsBetween(ids, from, to)) {
+            bySpace.computeIfAbsent(slot.getSpaceId(), k -> new ArrayList<>())
+                    .add(new AllocationService.TimeSlot(slot.getStartTime(), slot.getEndTime()));
+        }
+        return bySpace;
+    }
+}
@@ -0,0 +1,429 @@
+package com.reserves.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reserves.dto.AvailabilityDeltaDTO;
+import com.reserves.dto.AvailabilityMatrixDTO;
+import com.reserves.events.ReservationEvent;
+import com.reserves.events.ReservationEventType;
+import com.reserves.exception.ResourceBusyException;
+import com.reserves.model.Space;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Disponibilidade em tempo real por Server-Sent Events.
+ *
+ * O cliente assina um conjunto de espaços e um intervalo de dias; recebe um
+ * "snapshot" (mesma matriz de GET /api/availability/matrix) e depois um
+ * "delta" por (espaço, dia) afetado a cada reserva criada, alterada,
+ * cancelada ou removida, e a cada dia de série recorrente criado ou
+ * cancelado (SERIES_CHANGED, um evento por dia). O delta traz a máscara de slots livres recalculada
+ * do dia inteiro: aplicar deltas repetidos ou fora de ordem converge.
+ *
+ * - Os eventos chegam pelo outbox (ApplicationEventSink), já após o commit.
+ *   O listener só repassa o evento a uma thread própria: a máscara não é
+ *   calculada na thread do dispatcher, que segue entregando aos outros sinks
+ * - A máscara é calculada uma vez por (espaço, dia) e serializada uma vez;
+ *   o fan-out só enfileira a mensagem nas assinaturas interessadas
+ * - Conexões ociosas não ocupam threads (SseEmitter é assíncrono); cada
+ *   assinatura tem uma fila limitada, esvaziada por um pool pequeno de
+ *   envio. Cliente lento (fila cheia) é desconectado e refaz a assinatura
+ * - Cada envio tem um prazo (send-timeout). Um envio que passa dele (cliente
+ *   que não lê o socket) tira a assinatura do fan-out e o pool ganha uma
+ *   thread no lugar da que ficou presa, até a escrita retornar
+ * - Heartbeat periódico mantém proxies abertos e detecta conexões mortas
+ */
+@Service
+public class AvailabilityStreamService {
+
+    static final String EVENT_SNAPSHOT = "snapshot";
+    static final String EVENT_DELTA = "delta";
+
+    private static final long STALLED = -1;
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityStreamService.class);
+
+    private final AvailabilityMatrixService matrixService;
+    private final ObjectMapper objectMapper;
+    private final int maxSubscribers;
+    private final int queueCapacity;
+    private final long timeoutMs;
+    private final long sendTimeoutMs;
+    private final ThreadPoolExecutor senders;
+    // Prazo dos envios em andamento
+    private final ScheduledExecutorService watchdog;
+    // Cálculo dos deltas, fora da thread do dispatcher do outbox (uma thread: preserva a ordem dos eventos)
+    private final ExecutorService deltas;
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    // Assinaturas por espaço; as sem filtro de espaço ficam em allSpaces
+    private final Map<Long, Set<Subscription>> bySpace = new ConcurrentHashMap<>();
+    private final Set<Subscription> allSpaces = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public AvailabilityStreamService(AvailabilityMatrixService matrixService,
+                                     ObjectMapper objectMapper,
+                                     @Value("${availability.stream.max-subscribers:10000}") int maxSubscribers,
+                                     @Value("${availability.stream.queue-capacity:256}") int queueCapacity,
+                                     @Value("${availability.stream.timeout:30m}") Duration timeout,
+                                     @Value("${availability.stream.send-threads:4}") int sendThreads,
+                                     @Value("${availability.stream.send-timeout:10s}") Duration sendTimeout) {
+        this.matrixService = matrixService;
+        this.objectMapper = objectMapper;
+        this.maxSubscribers = maxSubscribers;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMs = timeout.toMillis();
+        this.sendTimeoutMs = sendTimeout.toMillis();
+        this.senders = new ThreadPoolExecutor(sendThreads, sendThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), daemonThreads("sse-sender-"));
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(daemonThreads("sse-watchdog-"));
+        this.deltas = Executors.newSingleThreadExecutor(daemonThreads("sse-delta-"));
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        deltas.shutdownNow();
+        senders.shutdownNow();
+        watchdog.shutdownNow();
+        subscriptions.forEach(sub -> sub.emitter.complete());
+    }
+
+    /**
+     * Abre uma assinatura e envia o snapshot inicial.
+     *
+     * @param spaces Espaços do snapshot
+     * @param filterBySpace false = deltas de todos os espaços (sem filtro na requisição)
+     */
+    public SseEmitter subscribe(List<Space> spaces, boolean filterBySpace, LocalDate from, int days) {
+        if (subscriptions.size() >= maxSubscribers) {
+            throw new ResourceBusyException("Limite de assinaturas de disponibilidade atingido. Tente novamente.");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Set<Long> spaceIds = null;
+        if (filterBySpace) {
+            spaceIds = new HashSet<>();
+            for (Space space : spaces) {
+                spaceIds.add(space.getId());
+            }
+        }
+        Subscription sub = new Subscription(sequence.incrementAndGet(), emitter, spaceIds,
+                from, from.plusDays(days), queueCapacity);
+        emitter.onCompletion(() -> unregister(sub));
+        emitter.onTimeout(() -> unregister(sub));
+        emitter.onError(e -> unregister(sub));
+
+        // Registra antes do snapshot: deltas concorrentes ficam na fila e são enviados depois dele
+        register(sub);
+        try {
+            AvailabilityMatrixDTO snapshot = matrixService.build(spaces, from, days);
+            emitter.send(SseEmitter.event().name(EVENT_SNAPSHOT).data(snapshot, MediaType.APPLICATION_JSON));
+        } catch (IOException | RuntimeException e) {
+            unregister(sub);
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        sub.ready = true;
+        scheduleDrain(sub);
+
+        logger.debug("Assinatura de disponibilidade {}: {} espaços, {} a {} ({} ativas)",
+                sub.id, filterBySpace ? spaceIds.size() : "todos", from, sub.to, subscriptions.size());
+        return emitter;
+    }
+
+    /**
+     * Recebe os eventos do outbox (ApplicationEventSink) e só os repassa à
+     * thread de deltas. Erros são apenas registrados: uma falha aqui não deve
+     * reenviar o evento para os demais sinks.
+     */
+    @EventListener
+    public void onReservationEvent(ReservationEvent event) {
+        if (subscriptions.isEmpty() || event.getSpaceId() == null) {
+            return;
+        }
+        try {
+            deltas.execute(() -> {
+                try {
+                    broadcast(event);
+                } catch (RuntimeException e) {
+                    logger.warn("Falha ao publicar delta de disponibilidade do evento {}: {}",
+                            event.getEventId(), e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Encerrando a aplicação
+        }
+    }
+
+    private void broadcast(ReservationEvent event) {
+        List<Subscription> targets = new ArrayList<>(allSpaces);
+        targets.addAll(bySpace.getOrDefault(event.getSpaceId(), Set.of()));
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        // SERIES_CHANGED traz o horário da ocorrência afetada: mesmo caminho de uma reserva avulsa
+        SortedSet<LocalDate> days = new TreeSet<>();
+        addDays(days, event.getStartTime(), event.getEndTime());
+        if (event.getType() == ReservationEventType.RESERVATION_UPDATED) {
+            addDays(days, event.getPreviousStartTime(), event.getPreviousEndTime());
+        }
+
+        for (LocalDate day : days) {
+            Message message = null;
+            for (Subscription sub : targets) {
+                if (!sub.covers(day)) {
+                    continue;
+                }
+                if (message == null) {
+                    message = delta(event, day);
+                }
+                enqueue(sub, message);
+            }
+        }
+    }
+
+    private Message delta(ReservationEvent event, LocalDate day) {
+        AvailabilityDeltaDTO dto = new AvailabilityDeltaDTO();
+        dto.setEventId(event.getEventId());
+        dto.setEventType(event.getType() != null ? event.getType().name() : null);
+        dto.setReservationId(event.getReservationId());
+        dto.setSeriesId(event.getSeriesId());
+        dto.setSpaceId(event.getSpaceId());
+        dto.setDate(day);
+        dto.setFree(matrixService.freeMask(event.getSpaceId(), day));
+        try {
+            return new Message(String.valueOf(event.getEventId()), EVENT_DELTA, objectMapper.writeValueAsString(dto));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar delta de disponibilidade", e);
+        }
+    }
+
+    private static void addDays(Set<LocalDate> days, LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null || !end.isAfter(start)) {
+            return;
+        }
+        // Fim exclusivo: uma reserva até 00:00 não afeta o dia seguinte
+        LocalDate last = end.minusNanos(1).toLocalDate();
+        for (LocalDate day = start.toLocalDate(); !day.isAfter(last); day = day.plusDays(1)) {
+            days.add(day);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${availability.stream.heartbeat-ms:30000}")
+    public void heartbeat() {
+        for (Subscription sub : subscriptions) {
+            enqueue(sub, Message.HEARTBEAT);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    // ------------------- ASSINATURAS -------------------
+
+    private void register(Subscription sub) {
+        subscriptions.add(sub);
+        if (sub.spaceIds == null) {
+            allSpaces.add(sub);
+        } else {
+            for (Long spaceId : sub.spaceIds) {
+                bySpace.computeIfAbsent(spaceId, k -> ConcurrentHashMap.newKeySet()).add(sub);
+            }
+        }
+    }
+
+    private void unregister(Subscription sub) {
+        if (!subscriptions.remove(sub)) {
+            return;
+        }
+        if (sub.spaceIds == null) {
+            allSpaces.remove(sub);
+        } else {
+            for (Long spaceId : sub.spaceIds) {
+                bySpace.computeIfPresent(spaceId, (k, set) -> {
+                    set.remove(sub);
+                    return set.isEmpty() ? null : set;
+                });
+            }
+        }
+    }
+
+    private void enqueue(Subscription sub, Message message) {
+        if (!sub.queue.offer(message)) {
+            // Cliente lento: desconecta em vez de acumular memória; ele reassina e recebe um snapshot novo
+            logger.debug("Assinatura de disponibilidade {} desconectada: fila cheia", sub.id);
+            unregister(sub);
+            sub.emitter.complete();
+            return;
+        }
+        scheduleDrain(sub);
+    }
+
+    private void scheduleDrain(Subscription sub) {
+        if (sub.ready && sub.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(sub));
+            } catch (RejectedExecutionException e) {
+                sub.draining.set(false);
+            }
+        }
+    }
+
+    /**
+     * Envia as mensagens pendentes de uma assinatura (no máximo um drain por
+     * assinatura por vez, preservando a ordem).
+     */
+    private void drain(Subscription sub) {
+        try {
+            Message message;
+            while ((message = sub.queue.poll()) != null) {
+                if (message == Message.HEARTBEAT) {
+                    send(sub, SseEmitter.event().comment("heartbeat"));
+                } else {
+                    send(sub, SseEmitter.event().id(message.id).name(message.name)
+                            .data(message.json, MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Conexão fechada pelo cliente (ou emitter já concluído), ou envio além do prazo
+            unregister(sub);
+            sub.queue.clear();
+        } finally {
+            sub.draining.set(false);
+        }
+        if (!sub.queue.isEmpty() && subscriptions.contains(sub)) {
+            scheduleDrain(sub);
+        }
+    }
+
+    /**
+     * Envia um evento com prazo. Os métodos do SseEmitter são sincronizados
+     * com o envio, então o watchdog não consegue concluir o emitter enquanto a
+     * escrita está presa: ele desliga a assinatura e repõe a thread do pool
+     * (stall); quando a escrita retorna, o emitter é concluído aqui.
+     */
+    private void send(Subscription sub, SseEmitter.SseEventBuilder event) throws IOException {
+        long send = sub.sends.incrementAndGet();
+        sub.inFlight.set(send);
+        ScheduledFuture<?> deadline;
+        try {
+            deadline = watchdog.schedule(() -> stall(sub, send), sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException("Envio de disponibilidade encerrado", e);
+        }
+        try {
+            sub.emitter.send(event);
+        } finally {
+            deadline.cancel(false);
+            if (!sub.inFlight.compareAndSet(send, 0)) {
+                // O watchdog já desligou a assinatura: devolve a thread extra e conclui o emitter
+                resizeSenders(-1);
+                sub.emitter.complete();
+            }
+        }
+        if (sub.inFlight.get() != 0) {
+            throw new IOException("Envio de disponibilidade excedeu " + sendTimeoutMs + " ms");
+        }
+    }
+
+    /**
+     * Executado pelo watchdog quando o envio {@code send} passa do prazo.
+     */
+    private void stall(Subscription sub, long send) {
+        if (!sub.inFlight.compareAndSet(send, STALLED)) {
+            return;
+        }
+        logger.debug("Assinatura de disponibilidade {} desconectada: envio excedeu {} ms", sub.id, sendTimeoutMs);
+        unregister(sub);
+        sub.queue.clear();
+        resizeSenders(1);
+    }
+
+    private void resizeSenders(int delta) {
+        synchronized (senders) {
+            int size = senders.getCorePoolSize() + delta;
+            if (delta > 0) {
+                senders.setMaximumPoolSize(size);
+                senders.setCorePoolSize(size);
+            } else {
+                senders.setCorePoolSize(size);
+                senders.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    private static final class Subscription {
+        final long id;
+        final SseEmitter emitter;
+        // null = todos os espaços
+        final Set<Long> spaceIds;
+        final LocalDate from;
+        final LocalDate to;
+        final BlockingQueue<Message> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        // Número do envio em andamento (0 = nenhum, STALLED = passou do prazo)
+        final AtomicLong inFlight = new AtomicLong();
+        final AtomicLong sends = new AtomicLong();
+        // false até o snapshot ser enviado
+        volatile boolean ready;
+
+        Subscription(long id, SseEmitter emitter, Set<Long> spaceIds, LocalDate from, LocalDate to, int capacity) {
+            this.id = id;
+            this.emitter = emitter;
+            this.spaceIds = spaceIds;
+            this.from = from;
+            this.to = to;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        boolean covers(LocalDate day) {
+            return !day.isBefore(from) && day.isBefore(to);
+        }
+    }
+
+    /**
+     * Mensagem já serializada, compartilhada entre as assinaturas.
+     */
+    private static final class Message {
+        static final Message HEARTBEAT = new Message(null, null, null);
+
+        final String id;
+        final String name;
+        final String json;
+
+        Message(String id, String name, String json) {
+            this.id = id;
+            this.name = name;
+            this.json = json;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.reserves.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.reserves.exception.BadRequestException;
+import com.reserves.exception.ResourceBusyException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key: repetições de uma requisição (retries de clientes móveis)
+ * devolvem a resposta guardada em vez de executar a operação de novo.
+ *
+ * - Chave = escopo (usuário) + Idempotency-Key; guarda também a impressão
+ *   digital do corpo: a mesma chave com outro conteúdo é rejeitada (400)
+ * - Store limitado em memória (Caffeine): tamanho máximo e TTL após a escrita
+ * - Duplicatas concorrentes esperam a primeira execução (um único
+ *   CompletableFuture por chave) e recebem o mesmo resultado
+ * - Só respostas de sucesso ficam guardadas: se a operação falha, a chave é
+ *   liberada (quem estava esperando recebe o mesmo erro) e um novo retry executa
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private final Cache<String, Entry> entries;
+    private final Duration waitTimeout;
+
+    public IdempotencyService(@Value("${reservation.idempotency.max-size:100000}") long maxSize,
+                              @Value("${reservation.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${reservation.idempotency.wait-timeout:10s}") Duration waitTimeout) {
+        this.entries = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+        this.waitTimeout = waitTimeout;
+    }
+
+    /**
+     * Executa a operação uma única vez por (escopo, chave).
+     *
+     * @param scope Dono da chave (ex.: e-mail do usuário autenticado)
+     * @param key Valor do cabeçalho Idempotency-Key
+     * @param fingerprint Conteúdo relevante da requisição (comparado entre repetições)
+     * @return resultado e se ele veio do store (replay)
+     */
+    public <T> Outcome<T> execute(String scope, String key, String fingerprint, Supplier<T> operation) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(HEADER + " deve ter entre 1 e " + MAX_KEY_LENGTH + " caracteres.");
+        }
+        String cacheKey = scope + '\n' + key;
+        Entry mine = new Entry(sha256(fingerprint));
+        // get com função trivial: atômico por chave e contabilizado como hit/miss nas métricas
+        Entry existing = entries.get(cacheKey, k -> mine);
+
+        if (existing != mine) {
+            if (!existing.fingerprint.equals(mine.fingerprint)) {
+                throw new BadRequestException(HEADER + " já utilizada com uma requisição diferente.");
+            }
+            logger.debug("Idempotency-Key repetida ({}): devolvendo o resultado da primeira execução", scope);
+            return new Outcome<>(await(existing), true);
+        }
+
+        try {
+            T result = operation.get();
+            mine.result.complete(result);
+            return new Outcome<>(result, false);
+        } catch (RuntimeException | Error e) {
+            entries.asMap().remove(cacheKey, mine);
+            mine.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T await(Entry entry) {
+        try {
+            return (T) entry.result.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ResourceBusyException("Requisição com a mesma " + HEADER + " ainda em processamento. Tente novamente.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceBusyException("Requisição interrompida.");
+        } catch (ExecutionException e) {
+            // Mesmo erro da execução original (ex.: conflito de horário)
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Store de chaves (para métricas).
+     */
+    public Cache<String, ?> getCache() {
+        return entries;
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private static final class Entry {
+        final String fingerprint;
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    public static final class Outcome<T> {
+        private final T value;
+        private final boolean replayed;
+
+        Outcome(T value, boolean replayed) {
+            this.value = value;
+            this.replayed = replayed;
+        }
+
+        public T getValue() { return value; }
+        public boolean isReplayed() { return replayed; }
+    }
+}
@@ -0,0 +1,349 @@
+package com.reserves.service;
+
+import com.reserves.dto.OccupancyReportDTO;
+import com.reserves.model.ArchivedReservation;
+import com.reserves.model.Reservation;
+import com.reserves.model.ReservationStatus;
+import com.reserves.model.Space;
+import com.reserves.model.SpaceDailyOccupancy;
+import com.reserves.repository.OccupancyTotalsView;
+import com.reserves.repository.ArchivedReservationRepository;
+import com.reserves.repository.ReservationRepository;
+import com.reserves.repository.ReservationSearchFilter;
+import com.reserves.repository.SpaceDailyOccupancyRepository;
+import com.reserves.repository.SpaceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Analytics de ocupação: rollups diários por espaço (SpaceDailyOccupancy).
+ *
+ * - O ReservationService chama record* dentro da própria transação, com o
+ *   espaço já travado: o rollup é commitado (ou desfeito) junto com a reserva
+ * - Cada evento vira deltas por (espaço, dia) aplicados com upsert atômico;
+ *   alteração = retira a contribuição antiga e soma a nova
+ * - Relatórios somam as linhas diárias do período: O(espaços × dias), sem
+ *   tocar na tabela de reservas
+ * - rebuild recalcula um período a partir das reservas (carga inicial ou
+ *   correção), travando todos os espaços enquanto reescreve as linhas
+ *
+ * Ocorrências de séries recorrentes não entram nos rollups (não são
+ * persistidas como reservas).
+ */
+@Service
+public class OccupancyAnalyticsService {
+
+    private static final int REBUILD_FETCH_SIZE = 500;
+
+    private static final Comparator<SpaceDailyOccupancy.Key> KEY_ORDER =
+            Comparator.comparing(SpaceDailyOccupancy.Key::getSpaceId).thenComparing(SpaceDailyOccupancy.Key::getDay);
+
+    private static final Logger logger = LoggerFactory.getLogger(OccupancyAnalyticsService.class);
+
+    private final SpaceDailyOccupancyRepository rollupRepository;
+    private final ReservationRepository reservationRepository;
+    private final ArchivedReservationRepository archiveRepository;
+    private final SpaceRepository spaceRepository;
+    private final SpaceService spaceService;
+    private final SpaceLockManager spaceLocks;
+    private final TransactionTemplate writeTx;
+    private final int openHoursPerDay;
+
+    public OccupancyAnalyticsService(SpaceDailyOccupancyRepository rollupRepository,
+                                     ReservationRepository reservationRepository,
+                                     ArchivedReservationRepository archiveRepository,
+                                     SpaceRepository spaceRepository,
+                                     SpaceService spaceService,
+                                     SpaceLockManager spaceLocks,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${analytics.occupancy.open-hours-per-day:12}") int openHoursPerDay) {
+        this.rollupRepository = rollupRepository;
+        this.reservationRepository = reservationRepository;
+        this.archiveRepository = archiveRepository;
+        this.spaceRepository = spaceRepository;
+        this.spaceService = spaceService;
+        this.spaceLocks = spaceLocks;
+        this.writeTx = new TransactionTemplate(transactionManager);
+        this.openHoursPerDay = openHoursPerDay;
+    }
+
+    // ------------------- EVENTOS DE RESERVA -------------------
+
+    public void recordCreated(Reservation reservation) {
+        recordCreated(List.of(reservation));
+    }
+
+    public void recordCreated(Collection<Reservation> reservations) {
+        Map<SpaceDailyOccupancy.Key, Delta> deltas = new TreeMap<>(KEY_ORDER);
+        for (Reservation r : reservations) {
+            accumulate(deltas, Contribution.of(r), 1, null, null);
+        }
+        apply(deltas);
+    }
+
+    /**
+     * @param before contribuição capturada antes de alterar a entidade
+     */
+    public void recordChanged(Contribution before, Reservation after) {
+        Contribution current = Contribution.of(after);
+        if (current.equals(before)) {
+            return;
+        }
+        Map<SpaceDailyOccupancy.Key, Delta> deltas = new TreeMap<>(KEY_ORDER);
+        accumulate(deltas, before, -1, null, null);
+        accumulate(deltas, current, 1, null, null);
+        apply(deltas);
+    }
+
+    public void recordDeleted(Contribution before) {
+        Map<SpaceDailyOccupancy.Key, Delta> deltas = new TreeMap<>(KEY_ORDER);
+        accumulate(deltas, before, -1, null, null);
+        apply(deltas);
+    }
+
+    // ------------------- RELATÓRIO -------------------
+
+    /**
+     * Ocupação por espaço em [from, to). Sem spaceIds, todos os espaços.
+     */
+    @Transactional(readOnly = true)
+    public OccupancyReportDTO report(LocalDate from, LocalDate to, Collection<Long> spaceIds, boolean daily) {
+        List<Space> spaces = spaceService.findAll();
+        if (spaceIds != null && !spaceIds.isEmpty()) {
+            Set<Long> wanted = new HashSet<>(spaceIds);
+            spaces = spaces.stream().filter(s -> wanted.contains(s.getId())).collect(Collectors.toList());
+        }
+        List<Long> ids = spaces.stream().map(Space::getId).collect(Collectors.toList());
+
+        int days = (int) ChronoUnit.DAYS.between(from, to);
+        Map<Long, OccupancyTotalsView> totals = ids.isEmpty()
+                ? Map.of()
+                : (spaceIds == null || spaceIds.isEmpty()
+                        ? rollupRepository.sumBySpace(from, to)
+                        : rollupRepository.sumBySpace(ids, from, to)).stream()
+                .collect(Collectors.toMap(OccupancyTotalsView::getSpaceId, Function.identity()));
+
+        Map<Long, List<OccupancyReportDTO.Day>> dailyBySpace = new HashMap<>();
+        if (daily && !ids.isEmpty()) {
+            for (SpaceDailyOccupancy row : rollupRepository.findDaily(ids, from, to)) {
+                dailyBySpace.computeIfAbsent(row.getSpaceId(), k -> new ArrayList<>())
+                        .add(new OccupancyReportDTO.Day(row.getDay(), row.getBookedMinutes() / 60.0,
+                                row.getRevenue(), row.getReservationCount(), row.getCancellationCount()));
+            }
+        }
+
+        long possibleMinutes = (long) days * openHoursPerDay * 60;
+        List<OccupancyReportDTO.Row> rows = new ArrayList<>(spaces.size());
+        for (Space space : spaces) {
+            OccupancyTotalsView t = totals.get(space.getId());
+            long minutes = t != null && t.getBookedMinutes() != null ? t.getBookedMinutes() : 0;
+
+            OccupancyReportDTO.Row row = new OccupancyReportDTO.Row();
+            row.setSpaceId(space.getId());
+            row.setSpaceName(space.getName());
+            row.setBookedHours(minutes / 60.0);
+            row.setUtilization(possibleMinutes > 0 ? Math.min(1.0, (double) minutes / possibleMinutes) : 0);
+            row.setRevenue(t != null && t.getRevenue() != null ? t.getRevenue() : BigDecimal.ZERO);
+            row.setReservations(t != null && t.getReservationCount() != null ? t.getReservationCount() : 0);
+            row.setCancellations(t != null && t.getCancellationCount() != null ? t.getCancellationCount() : 0);
+            if (daily) {
+                row.setDaily(dailyBySpace.getOrDefault(space.getId(), List.of()));
+            }
+            rows.add(row);
+        }
+
+        OccupancyReportDTO dto = new OccupancyReportDTO();
+        dto.setFrom(from);
+        dto.setTo(to);
+        dto.setDays(days);
+        dto.setOpenHoursPerDay(openHoursPerDay);
+        dto.setSpaces(rows);
+        return dto;
+    }
+
+    // ------------------- RECONSTRUÇÃO -------------------
+
+    /**
+     * Carga inicial: bancos que já tinham reservas antes dos rollups existirem.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrapIfEmpty() {
+        if (rollupRepository.count() == 0
+                && (reservationRepository.count() > 0 || archiveRepository.count() > 0)) {
+            logger.info("Rollups de ocupação vazios: reconstruindo a partir das reservas");
+            rebuild(null, null);
+        }
+    }
+
+    /**
+     * Recalcula os rollups de [from, to) a partir das reservas (tabela quente e
+     * histórico). Com from e to nulos, recalcula tudo. Escritas de reservas
+     * esperam o término (todos os espaços ficam travados até o commit).
+     *
+     * @return quantidade de reservas processadas
+     */
+    public long rebuild(LocalDate from, LocalDate to) {
+        long startedAt = System.currentTimeMillis();
+        Long processed = writeTx.execute(status -> {
+            Long[] spaceIds = spaceRepository.findAll().stream().map(Space::getId).toArray(Long[]::new);
+            spaceLocks.lockForTransaction(spaceIds);
+
+            ReservationSearchFilter filter = new ReservationSearchFilter();
+            if (from == null) {
+                rollupRepository.deleteAllInBatch();
+            } else {
+                rollupRepository.deleteRange(from, to);
+                filter.setFrom(from.atStartOfDay());
+                filter.setTo(to.atStartOfDay());
+            }
+
+            Map<SpaceDailyOccupancy.Key, Delta> deltas = new TreeMap<>(KEY_ORDER);
+            long count = 0;
+            try (Stream<Reservation> reservations = reservationRepository.stream(filter, REBUILD_FETCH_SIZE)) {
+                for (Reservation r : (Iterable<Reservation>) reservations::iterator) {
+                    accumulate(deltas, Contribution.of(r), 1, from, to);
+                    count++;
+                }
+            }
+            // Reservas já arquivadas continuam contando no período
+            try (Stream<ArchivedReservation> archived = archiveRepository.stream(filter, REBUILD_FETCH_SIZE)) {
+                for (ArchivedReservation r : (Iterable<ArchivedReservation>) archived::iterator) {
+                    accumulate(deltas, Contribution.of(r), 1, from, to);
+                    count++;
+                }
+            }
+            apply(deltas);
+            return count;
+        });
+        logger.info("Rollups de ocupação reconstruídos ({} a {}): {} reservas em {} ms",
+                from, to, processed, System.currentTimeMillis() - startedAt);
+        return processed != null ? processed : 0;
+    }
+
+    // ------------------- HELPERS -------------------
+
+    private void apply(Map<SpaceDailyOccupancy.Key, Delta> deltas) {
+        deltas.forEach((key, d) -> {
+            if (!d.isZero()) {
+                rollupRepository.addDelta(key.getSpaceId(), key.getDay(),
+                        d.minutes, d.revenue, d.reservations, d.cancellations);
+            }
+        });
+    }
+
+    /**
+     * Soma (sign = 1) ou retira (sign = -1) a contribuição de uma reserva.
+     * Minutos são divididos por dia; receita e contagem vão para o dia de início.
+     * clipFrom/clipTo (opcionais) limitam os dias tocados, usados no rebuild parcial.
+     */
+    static void accumulate(Map<SpaceDailyOccupancy.Key, Delta> deltas, Contribution c, int sign,
+                           LocalDate clipFrom, LocalDate clipTo) {
+        LocalDate startDay = c.start.toLocalDate();
+        if (c.cancelled) {
+            if (inRange(startDay, clipFrom, clipTo)) {
+                delta(deltas, c.spaceId, startDay).cancellations += sign;
+            }
+            return;
+        }
+
+        if (inRange(startDay, clipFrom, clipTo)) {
+            Delta first = delta(deltas, c.spaceId, startDay);
+            first.reservations += sign;
+            first.revenue = first.revenue.add(sign > 0 ? c.price : c.price.negate());
+        }
+
+        LocalDateTime cursor = c.start;
+        while (cursor.isBefore(c.end)) {
+            LocalDate day = cursor.toLocalDate();
+            LocalDateTime dayEnd = day.plusDays(1).atStartOfDay();
+            LocalDateTime segmentEnd = c.end.isBefore(dayEnd) ? c.end : dayEnd;
+            if (inRange(day, clipFrom, clipTo)) {
+                delta(deltas, c.spaceId, day).minutes += sign * Duration.between(cursor, segmentEnd).toMinutes();
+            }
+            cursor = segmentEnd;
+        }
+    }
+
+    private static boolean inRange(LocalDate day, LocalDate from, LocalDate to) {
+        return (from == null || !day.isBefore(from)) && (to == null || day.isBefore(to));
+    }
+
+    private static Delta delta(Map<SpaceDailyOccupancy.Key, Delta> deltas, Long spaceId, LocalDate day) {
+        return deltas.computeIfAbsent(new SpaceDailyOccupancy.Key(spaceId, day), k -> new Delta());
+    }
+
+    static final class Delta {
+        long minutes;
+        BigDecimal revenue = BigDecimal.ZERO;
+        int reservations;
+        int cancellations;
+
+        boolean isZero() {
+            return minutes == 0 && revenue.signum() == 0 && reservations == 0 && cancellations == 0;
+        }
+    }
+
+    /**
+     * Contribuição de uma reserva aos rollups (cópia dos campos relevantes).
+     * Capturada antes de alterar a entidade, para retirar os valores antigos.
+     */
+    public static final class Contribution {
+        private final Long spaceId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final boolean cancelled;
+        private final BigDecimal price;
+
+        private Contribution(Long spaceId, LocalDateTime start, LocalDateTime end, boolean cancelled, BigDecimal price) {
+            this.spaceId = spaceId;
+            this.start = start;
+            this.end = end;
+            this.cancelled = cancelled;
+            this.price = price != null ? price : BigDecimal.ZERO;
+        }
+
+        public static Contribution of(Reservation r) {
+            return new Contribution(r.getSpace().getId(), r.getStartTime(), r.getEndTime(),
+                    r.getStatus() == ReservationStatus.CANCELLED, r.getTotalPrice());
+        }
+
+        public static Contribution of(ArchivedReservation r) {
+            return new Contribution(r.getSpaceId(), r.getStartTime(), r.getEndTime(),
+                    r.getStatus() == ReservationStatus.CANCELLED, r.getTotalPrice());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Contribution)) return false;
+            Contribution other = (Contribution) o;
+            return cancelled == other.cancelled
+                    && spaceId.equals(other.spaceId)
+                    && start.equals(other.start)
+                    && end.equals(other.end)
+                    && price.compareTo(other.price) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(spaceId, start, end, cancelled);
+        }
+    }
+}
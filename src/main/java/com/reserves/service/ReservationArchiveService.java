@@ -0,0 +1,159 @@
+package com.reserves.service;
+
+import com.reserves.algorithm.ReservationIntervalIndex;
+import com.reserves.model.ArchivedReservation;
+import com.reserves.repository.ArchivedReservationRepository;
+import com.reserves.repository.ReservationRepository;
+import com.reserves.repository.ReservationSearchFilter;
+import com.reserves.repository.ReservationSlotView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Separação entre reservas "quentes" e histórico.
+ *
+ * A tabela reservations só cresceria, e toda verificação de conflito, listagem
+ * e reconstrução do índice em memória pagaria por isso, embora quase todo o
+ * tráfego seja sobre o futuro. Esta tarefa move para reservations_archive as
+ * reservas encerradas há mais de reservation.archive.after:
+ *
+ * - Lotes em transações próprias: INSERT ... SELECT no histórico e DELETE na
+ *   tabela quente, com os espaços do lote travados (uma edição concorrente da
+ *   mesma reserva espera e depois não a encontra mais)
+ * - Os espaços do lote são lidos antes e travados antes da transação
+ *   (SpaceLockManager.callLocked), como nas reservas: esperar o lock não
+ *   segura conexão. Cada lote trava no máximo max-spaces-per-batch espaços,
+ *   para não parar as reservas de todos eles de uma vez; as demais linhas
+ *   ficam para os lotes seguintes
+ * - As reservas arquivadas saem do índice de conflitos após o commit
+ * - Rollups de ocupação não mudam: o histórico continua nos relatórios
+ * - O histórico é consultado por um caminho próprio (searchHistory), mais
+ *   lento e sem efeito sobre as consultas da tabela quente
+ */
+@Service
+public class ReservationArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationArchiveService.class);
+
+    private final ReservationRepository reservationRepository;
+    private final ArchivedReservationRepository archiveRepository;
+    private final ReservationIntervalIndex intervalIndex;
+    private final SpaceLockManager spaceLocks;
+    private final TransactionTemplate writeTx;
+    private final boolean enabled;
+    private final Duration archiveAfter;
+    private final int batchSize;
+    private final int maxSpacesPerBatch;
+
+    public ReservationArchiveService(ReservationRepository reservationRepository,
+                                     ArchivedReservationRepository archiveRepository,
+                                     ReservationIntervalIndex intervalIndex,
+                                     SpaceLockManager spaceLocks,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${reservation.archive.enabled:true}") boolean enabled,
+                                     @Value("${reservation.archive.after:30d}") Duration archiveAfter,
+                                     @Value("${reservation.archive.batch-size:1000}") int batchSize,
+                                     @Value("${reservation.archive.max-spaces-per-batch:16}") int maxSpacesPerBatch) {
+        this.reservationRepository = reservationRepository;
+        this.archiveRepository = archiveRepository;
+        this.intervalIndex = intervalIndex;
+        this.spaceLocks = spaceLocks;
+        this.writeTx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.archiveAfter = archiveAfter;
+        this.batchSize = batchSize;
+        this.maxSpacesPerBatch = Math.max(1, maxSpacesPerBatch);
+    }
+
+    @Scheduled(cron = "${reservation.archive.cron:0 30 3 * * *}")
+    public void archiveScheduled() {
+        if (enabled) {
+            archiveEnded();
+        }
+    }
+
+    /**
+     * Move para o histórico todas as reservas encerradas antes de agora - archiveAfter.
+     *
+     * @return quantidade de reservas arquivadas
+     */
+    public long archiveEnded() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(archiveAfter);
+        long startedAt = System.currentTimeMillis();
+        long total = 0;
+        while (true) {
+            List<ReservationSlotView> candidates = reservationRepository.findEndedBefore(cutoff, PageRequest.of(0, batchSize));
+            List<ReservationSlotView> batch = limitSpaces(candidates);
+            if (batch.isEmpty()) {
+                break;
+            }
+            Long[] spaceIds = batch.stream().map(ReservationSlotView::getSpaceId).distinct().toArray(Long[]::new);
+            Integer moved = spaceLocks.callLocked(() -> writeTx.execute(status -> archiveBatch(batch, cutoff)), spaceIds);
+            total += moved != null ? moved : 0;
+            // Página incompleta e nada deixado de fora pelo limite de espaços: acabou
+            if (candidates.size() < batchSize && batch.size() == candidates.size()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            logger.info("Arquivamento: {} reservas encerradas antes de {} movidas para o histórico em {} ms",
+                    total, cutoff, System.currentTimeMillis() - startedAt);
+        }
+        return total;
+    }
+
+    /**
+     * Linhas (na ordem do corte) dos primeiros maxSpacesPerBatch espaços distintos.
+     */
+    private List<ReservationSlotView> limitSpaces(List<ReservationSlotView> candidates) {
+        Set<Long> spaces = new HashSet<>();
+        List<ReservationSlotView> batch = new ArrayList<>(candidates.size());
+        for (ReservationSlotView slot : candidates) {
+            if (spaces.contains(slot.getSpaceId()) || spaces.size() < maxSpacesPerBatch) {
+                spaces.add(slot.getSpaceId());
+                batch.add(slot);
+            }
+        }
+        return batch;
+    }
+
+    private int archiveBatch(List<ReservationSlotView> batch, LocalDateTime cutoff) {
+        // Relido com os espaços já travados: a linha pode ter sido alterada ou removida desde a leitura
+        List<Long> ids = reservationRepository.findIdsEndedBefore(
+                batch.stream().map(ReservationSlotView::getId).collect(Collectors.toList()), cutoff);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Set<Long> moved = new HashSet<>(ids);
+        archiveRepository.copyFromReservations(ids, LocalDateTime.now());
+        int deleted = reservationRepository.deleteByIdIn(ids);
+        batch.stream()
+                .filter(slot -> moved.contains(slot.getId()))
+                .forEach(slot -> intervalIndex.unregister(slot.getSpaceId(), slot.getId()));
+        logger.debug("Arquivamento: lote de {} reservas (removidas da tabela quente: {})", ids.size(), deleted);
+        return ids.size();
+    }
+
+    /**
+     * Página do histórico (reservas arquivadas), com os mesmos filtros e cursor da listagem.
+     */
+    @Transactional(readOnly = true)
+    public List<ArchivedReservation> searchHistory(ReservationSearchFilter filter, int limit) {
+        return archiveRepository.search(filter, limit);
+    }
+}
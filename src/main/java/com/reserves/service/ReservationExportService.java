@@ -0,0 +1,234 @@
+package com.reserves.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.reserves.dto.ReservationDTO;
+import com.reserves.model.ArchivedReservation;
+import com.reserves.model.Reservation;
+import com.reserves.repository.ArchivedReservationRepository;
+import com.reserves.repository.ReservationRepository;
+import com.reserves.repository.ReservationSearchFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Exportação de reservas em streaming (NDJSON ou CSV).
+ *
+ * Lê as reservas por um cursor JDBC (fetch size) em uma transação somente
+ * leitura e escreve cada linha direto no OutputStream da resposta, sem montar
+ * a lista em memória: o consumo de heap não depende do tamanho da tabela.
+ *
+ * Quando o período pedido alcança reservas mais antigas que o corte do
+ * arquivamento (reservation.archive.after), o histórico (reservations_archive)
+ * é anexado depois das reservas da tabela quente. As duas leituras usam o mesmo
+ * snapshot (REPEATABLE READ): um lote arquivado durante a exportação não sai
+ * duplicado nem some.
+ */
+@Service
+public class ReservationExportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final int FETCH_SIZE = 500;
+
+    private static final String CSV_HEADER =
+            "id,spaceId,spaceName,userName,userEmail,startTime,endTime,status,totalPrice,notes,createdAt";
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationExportService.class);
+
+    private final ReservationRepository reservationRepository;
+    private final ArchivedReservationRepository archiveRepository;
+    private final TransactionTemplate readOnlyTx;
+    // Sem flush por linha: o gerador só esvazia o buffer quando enche (e no fim)
+    private final ObjectWriter rowWriter;
+    private final Duration archiveAfter;
+
+    public ReservationExportService(ReservationRepository reservationRepository,
+                                    ArchivedReservationRepository archiveRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    ObjectMapper objectMapper,
+                                    @Value("${reservation.archive.after:30d}") Duration archiveAfter) {
+        this.reservationRepository = reservationRepository;
+        this.archiveRepository = archiveRepository;
+        this.rowWriter = objectMapper.writerFor(ReservationDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.archiveAfter = archiveAfter;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.readOnlyTx.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Escreve todas as reservas que atendem ao filtro: as da tabela quente,
+     * ordenadas por (startTime, id), e em seguida as arquivadas (mesma ordem),
+     * quando o período alcança o histórico.
+     *
+     * @return quantidade de linhas exportadas
+     */
+    public long export(ReservationSearchFilter filter, Format format, OutputStream out) {
+        long startedAt = System.currentTimeMillis();
+        // Arquivadas terminaram antes do corte atual: só entram se o período começa antes dele
+        boolean withArchive = filter.getFrom() == null
+                || filter.getFrom().isBefore(LocalDateTime.now().minus(archiveAfter));
+        Long rows = readOnlyTx.execute(status -> {
+            try {
+                RowWriter writer = format == Format.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+                long count = 0;
+                try (Stream<Reservation> reservations = reservationRepository.stream(filter, FETCH_SIZE)) {
+                    for (Reservation r : (Iterable<Reservation>) reservations::iterator) {
+                        writer.write(toDTO(r));
+                        count++;
+                    }
+                }
+                if (withArchive) {
+                    try (Stream<ArchivedReservation> archived = archiveRepository.stream(filter, FETCH_SIZE)) {
+                        for (ArchivedReservation r : (Iterable<ArchivedReservation>) archived::iterator) {
+                            writer.write(toDTO(r));
+                            count++;
+                        }
+                    }
+                }
+                writer.finish();
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        logger.info("Exportação {} concluída: {} reservas em {} ms (histórico incluído: {})",
+                format, rows, System.currentTimeMillis() - startedAt, withArchive);
+        return rows != null ? rows : 0;
+    }
+
+    private interface RowWriter {
+        void write(ReservationDTO row) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(OutputStream out) throws IOException {
+            generator = rowWriter.getFactory().createGenerator(out);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Linhas separadas só pelo '\n' abaixo (sem o espaço padrão entre valores raiz)
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(ReservationDTO row) throws IOException {
+            rowWriter.writeValue(generator, row);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out) throws IOException {
+            writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        @Override
+        public void write(ReservationDTO r) throws IOException {
+            writer.write(String.valueOf(r.getId()));
+            writer.write(',');
+            writer.write(String.valueOf(r.getSpaceId()));
+            writer.write(',');
+            writeCsvField(writer, r.getSpaceName());
+            writer.write(',');
+            writeCsvField(writer, r.getUserName());
+            writer.write(',');
+            writeCsvField(writer, r.getUserEmail());
+            writer.write(',');
+            writer.write(String.valueOf(r.getStartTime()));
+            writer.write(',');
+            writer.write(String.valueOf(r.getEndTime()));
+            writer.write(',');
+            writer.write(r.getStatus() != null ? r.getStatus() : "");
+            writer.write(',');
+            writer.write(r.getTotalPrice() != null ? r.getTotalPrice().toPlainString() : "");
+            writer.write(',');
+            writeCsvField(writer, r.getNotes());
+            writer.write(',');
+            writer.write(r.getCreatedAt() != null ? r.getCreatedAt().toString() : "");
+            writer.write('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+
+    /**
+     * Campo CSV (RFC 4180): entre aspas quando contém separador, aspas ou quebra de linha.
+     */
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static ReservationDTO toDTO(Reservation r) {
+        ReservationDTO dto = new ReservationDTO();
+        dto.setId(r.getId());
+        dto.setSpaceId(r.getSpace().getId());
+        dto.setSpaceName(r.getSpace().getName());
+        dto.setUserName(r.getUserName());
+        dto.setUserEmail(r.getUserEmail());
+        dto.setStartTime(r.getStartTime());
+        dto.setEndTime(r.getEndTime());
+        dto.setStatus(r.getStatus() != null ? r.getStatus().name() : null);
+        dto.setTotalPrice(r.getTotalPrice());
+        dto.setNotes(r.getNotes());
+        dto.setCreatedAt(r.getCreatedAt());
+        dto.setVersion(r.getVersion());
+        return dto;
+    }
+
+    private static ReservationDTO toDTO(ArchivedReservation r) {
+        ReservationDTO dto = new ReservationDTO();
+        dto.setId(r.getId());
+        dto.setSpaceId(r.getSpaceId());
+        dto.setSpaceName(r.getSpaceName());
+        dto.setUserName(r.getUserName());
+        dto.setUserEmail(r.getUserEmail());
+        dto.setStartTime(r.getStartTime());
+        dto.setEndTime(r.getEndTime());
+        dto.setStatus(r.getStatus() != null ? r.getStatus().name() : null);
+        dto.setTotalPrice(r.getTotalPrice());
+        dto.setNotes(r.getNotes());
+        dto.setCreatedAt(r.getCreatedAt());
+        return dto;
+    }
+}
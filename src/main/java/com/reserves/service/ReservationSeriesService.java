@@ -0,0 +1,303 @@
+package com.reserves.service;
+
+import com.reserves.algorithm.AllocationService;
+import com.reserves.algorithm.RecurrenceRule;
+import com.reserves.algorithm.RecurringSeriesIndex;
+import com.reserves.algorithm.ReservationIntervalIndex;
+import com.reserves.events.OutboxPublisher;
+import com.reserves.exception.BadRequestException;
+import com.reserves.exception.ResourceNotFoundException;
+import com.reserves.model.RecurrenceFrequency;
+import com.reserves.model.ReservationSeries;
+import com.reserves.model.ReservationStatus;
+import com.reserves.model.Space;
+import com.reserves.repository.ReservationRepository;
+import com.reserves.repository.ReservationSeriesRepository;
+import com.reserves.repository.SpaceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Serviço de séries de reservas recorrentes.
+ *
+ * - Guarda apenas a regra da série; ocorrências são expandidas sob demanda
+ * - Na criação, verifica conflitos contra as reservas avulsas de todo o horizonte
+ *   (uma única leitura + varredura ordenada) e contra as demais séries do espaço
+ * - Exceções (cancelar uma ocorrência) não reescrevem a série
+ * - Cada mudança grava no outbox um SERIES_CHANGED por dia afetado, na mesma
+ *   transação: o stream de disponibilidade e os webhooks veem as séries como
+ *   veem as reservas avulsas
+ */
+@Service
+public class ReservationSeriesService {
+
+    // Horizonte máximo de uma série (um ano)
+    static final int MAX_HORIZON_DAYS = 366;
+    private static final int MAX_LISTED_OCCURRENCES = 1000;
+
+    private final ReservationSeriesRepository seriesRepository;
+    private final SpaceRepository spaceRepository;
+    private final ReservationRepository reservationRepository;
+    private final ReservationIntervalIndex intervalIndex;
+    private final RecurringSeriesIndex seriesIndex;
+    private final SpaceLockManager spaceLocks;
+    private final OutboxPublisher outbox;
+    private final TransactionTemplate writeTx;
+    private final TransactionTemplate readTx;
+    private static final Logger logger = LoggerFactory.getLogger(ReservationSeriesService.class);
+
+    public ReservationSeriesService(ReservationSeriesRepository seriesRepository,
+                                    SpaceRepository spaceRepository,
+                                    ReservationRepository reservationRepository,
+                                    ReservationIntervalIndex intervalIndex,
+                                    RecurringSeriesIndex seriesIndex,
+                                    SpaceLockManager spaceLocks,
+                                    OutboxPublisher outbox,
+                                    PlatformTransactionManager transactionManager) {
+        this.seriesRepository = seriesRepository;
+        this.spaceRepository = spaceRepository;
+        this.reservationRepository = reservationRepository;
+        this.intervalIndex = intervalIndex;
+        this.seriesIndex = seriesIndex;
+        this.spaceLocks = spaceLocks;
+        this.outbox = outbox;
+        this.writeTx = new TransactionTemplate(transactionManager);
+        this.readTx = new TransactionTemplate(transactionManager);
+        this.readTx.setReadOnly(true);
+    }
+
+    public ReservationSeries findById(Long id) {
+        return seriesRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Série não encontrada: " + id));
+    }
+
+    public List<ReservationSeries> findByUserEmail(String email) {
+        return seriesRepository.findByUserEmail(email);
+    }
+
+    public ReservationSeries create(ReservationSeries series) {
+        validateRule(series);
+        if (series.getSpace() == null || series.getSpace().getId() == null) {
+            throw new BadRequestException("Espaço é obrigatório.");
+        }
+        // Lock antes da transação: quem espera pelo espaço não segura conexão do pool
+        return spaceLocks.callLocked(() -> writeTx.execute(status -> doCreate(series)), series.getSpace().getId());
+    }
+
+    private ReservationSeries doCreate(ReservationSeries series) {
+        Space space = spaceRepository.findById(series.getSpace().getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Espaço não encontrado"));
+        if (space.getAvailable() != null && !space.getAvailable()) {
+            throw new BadRequestException("Este espaço não está disponível para reservas.");
+        }
+        series.setSpace(space);
+
+        RecurrenceRule rule = RecurrenceRule.of(series);
+
+        // Conflito com outras séries do espaço
+        for (RecurrenceRule other : seriesIndex.rulesOf(space.getId())) {
+            other.firstConflictWith(rule).ifPresent(date -> {
+                throw new BadRequestException("A série conflita com outra série recorrente em " + date + ".");
+            });
+        }
+
+        // Conflito com reservas avulsas em todo o horizonte
+        checkSingleReservations(space.getId(), rule);
+
+        LocalDate day = series.getStartDate();
+        series.setPricePerOccurrence(ReservationService.calculatePrice(
+                space.getPricePerHour(), day.atTime(series.getStartTime()), day.atTime(series.getEndTime())));
+        series.setStatus(ReservationStatus.CONFIRMED);
+
+        logger.info("Creating reservation series for spaceId={} userEmail={} {} from {} until {}",
+                space.getId(), series.getUserEmail(), series.getFrequency(), series.getStartDate(), series.getUntilDate());
+
+        ReservationSeries saved = seriesRepository.save(series);
+        seriesIndex.register(saved);
+        outbox.publishSeriesChanged(saved, occurrenceDays(RecurrenceRule.of(saved)));
+        return saved;
+    }
+
+    /**
+     * Cancela uma única ocorrência (exceção), sem reescrever a série.
+     */
+    public ReservationSeries cancelOccurrence(Long id, LocalDate date) {
+        return withSeriesLocked(id, () -> doCancelOccurrence(id, date));
+    }
+
+    private ReservationSeries doCancelOccurrence(Long id, LocalDate date) {
+        ReservationSeries series = findById(id);
+        if (series.getStatus() == ReservationStatus.CANCELLED) {
+            throw new BadRequestException("A série já está cancelada.");
+        }
+        if (!RecurrenceRule.of(series).occursOn(date)) {
+            throw new BadRequestException("A série não possui ocorrência em " + date + ".");
+        }
+        series.getCancelledDates().add(date);
+        logger.info("Cancelling occurrence {} of series id={}", date, id);
+        ReservationSeries saved = seriesRepository.save(series);
+        seriesIndex.register(saved);
+        outbox.publishSeriesChanged(saved, List.of(date));
+        return saved;
+    }
+
+    public ReservationSeries cancel(Long id) {
+        return withSeriesLocked(id, () -> doCancel(id));
+    }
+
+    private ReservationSeries doCancel(Long id) {
+        ReservationSeries series = findById(id);
+        // Dias que ainda ocupavam o espaço (uma série já cancelada não libera nada)
+        List<LocalDate> freed = series.getStatus() == ReservationStatus.CANCELLED
+                ? List.of() : occurrenceDays(RecurrenceRule.of(series));
+        series.setStatus(ReservationStatus.CANCELLED);
+        logger.info("Cancelling series id={} userEmail={}", id, series.getUserEmail());
+        ReservationSeries saved = seriesRepository.save(series);
+        seriesIndex.register(saved);
+        outbox.publishSeriesChanged(saved, freed);
+        return saved;
+    }
+
+    private static List<LocalDate> occurrenceDays(RecurrenceRule rule) {
+        return rule.occurrences(rule.getHorizonStart().toLocalDate().atStartOfDay(),
+                        rule.getHorizonEnd().toLocalDate().plusDays(1).atStartOfDay())
+                .map(slot -> slot.getStart().toLocalDate())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Ocorrências da série em [from, to), expandidas sob demanda.
+     */
+    @Transactional(readOnly = true)
+    public List<AllocationService.TimeSlot> occurrences(Long id, LocalDateTime from, LocalDateTime to) {
+        ReservationSeries series = findById(id);
+        if (series.getStatus() == ReservationStatus.CANCELLED) {
+            return List.of();
+        }
+        return RecurrenceRule.of(series).occurrences(from, to)
+                .limit(MAX_LISTED_OCCURRENCES)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Ocorrências das séries ativas do usuário em [from, to), de todas as séries,
+     * ordenadas por início (uma leitura: séries com exceções e espaço).
+     */
+    public List<Occurrence> occurrencesOfUser(String email, LocalDateTime from, LocalDateTime to) {
+        return seriesRepository.findByUserEmail(email).stream()
+                .filter(series -> series.getStatus() != ReservationStatus.CANCELLED)
+                .flatMap(series -> RecurrenceRule.of(series).occurrences(from, to)
+                        .map(slot -> new Occurrence(series, slot)))
+                .sorted(Comparator.comparing(o -> o.getSlot().getStart()))
+                .limit(MAX_LISTED_OCCURRENCES)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Uma ocorrência expandida (não persistida) de uma série.
+     */
+    public static class Occurrence {
+        private final ReservationSeries series;
+        private final AllocationService.TimeSlot slot;
+
+        public Occurrence(ReservationSeries series, AllocationService.TimeSlot slot) {
+            this.series = series;
+            this.slot = slot;
+        }
+
+        public ReservationSeries getSeries() { return series; }
+        public AllocationService.TimeSlot getSlot() { return slot; }
+    }
+
+    // ------------------- HELPERS -------------------
+
+    /**
+     * Trava o espaço da série e só então abre a transação de escrita
+     * (a leitura do espaço usa uma transação curta própria, antes do lock).
+     */
+    private ReservationSeries withSeriesLocked(Long id, Supplier<ReservationSeries> work) {
+        Long spaceId = readTx.execute(status -> seriesRepository.findSpaceIdById(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Série não encontrada: " + id));
+        return spaceLocks.callLocked(() -> writeTx.execute(status -> work.get()), spaceId);
+    }
+
+    private void validateRule(ReservationSeries s) {
+        if (s.getFrequency() == null) {
+            throw new BadRequestException("Frequência é obrigatória.");
+        }
+        if (s.getStartDate() == null || s.getUntilDate() == null) {
+            throw new BadRequestException("Datas de início e término da série são obrigatórias.");
+        }
+        if (s.getUntilDate().isBefore(s.getStartDate())) {
+            throw new BadRequestException("A data final da série deve ser igual ou posterior à inicial.");
+        }
+        if (ChronoUnit.DAYS.between(s.getStartDate(), s.getUntilDate()) > MAX_HORIZON_DAYS) {
+            throw new BadRequestException("A série pode durar no máximo " + MAX_HORIZON_DAYS + " dias.");
+        }
+        if (s.getStartTime() == null || s.getEndTime() == null) {
+            throw new BadRequestException("Horários de início e término são obrigatórios.");
+        }
+        if (!s.getEndTime().isAfter(s.getStartTime())) {
+            throw new BadRequestException("Horário final deve ser após o horário inicial.");
+        }
+        if (s.getStartDate().atTime(s.getStartTime()).isBefore(LocalDateTime.now())) {
+            throw new BadRequestException("Não é possível criar uma série no passado.");
+        }
+        if (s.getIntervalCount() == null || s.getIntervalCount() < 1) {
+            s.setIntervalCount(1);
+        }
+        if (s.getFrequency() == RecurrenceFrequency.WEEKLY && (s.getDaysOfWeek() == null || s.getDaysOfWeek() == 0)) {
+            // Sem dias informados: repete no dia da semana da data inicial
+            s.setDaysOfWeek(RecurrenceRule.maskOf(List.of(s.getStartDate().getDayOfWeek())));
+        }
+        if (s.getDaysOfWeek() == null) {
+            s.setDaysOfWeek(0);
+        }
+    }
+
+    /**
+     * Varre as ocorrências da série e as reservas avulsas do horizonte (ambas ordenadas)
+     * com dois ponteiros: O(n + m), uma única leitura de reservas.
+     */
+    private void checkSingleReservations(Long spaceId, RecurrenceRule rule) {
+        LocalDateTime from = rule.getHorizonStart();
+        LocalDateTime to = rule.getHorizonEnd();
+
+        List<AllocationService.TimeSlot> singles = new ArrayList<>();
+        if (intervalIndex.isActive()) {
+            singles.addAll(intervalIndex.occupied(spaceId, from, to));
+        } else {
+            reservationRepository.findConflictingReservations(spaceId, from, to)
+                    .forEach(r -> singles.add(new AllocationService.TimeSlot(r.getStartTime(), r.getEndTime())));
+            singles.sort(Comparator.comparing(AllocationService.TimeSlot::getStart));
+        }
+        List<AllocationService.TimeSlot> busy = AllocationService.mergeIntervals(singles);
+
+        int j = 0;
+        Iterator<AllocationService.TimeSlot> occurrences = rule.occurrences(from, to).iterator();
+        while (occurrences.hasNext()) {
+            AllocationService.TimeSlot occurrence = occurrences.next();
+            while (j < busy.size() && !busy.get(j).getEnd().isAfter(occurrence.getStart())) {
+                j++;
+            }
+            if (j < busy.size() && busy.get(j).getStart().isBefore(occurrence.getEnd())) {
+                throw new BadRequestException("O espaço já está reservado em "
+                        + occurrence.getStart().toLocalDate() + " nesse horário.");
+            }
+        }
+    }
+}
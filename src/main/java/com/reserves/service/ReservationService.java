@@ -1,21 +1,38 @@
 package com.reserves.service;
 
+import com.reserves.algorithm.RecurringSeriesIndex;
+import com.reserves.algorithm.ReservationIntervalIndex;
+import com.reserves.events.OutboxPublisher;
+import com.reserves.events.ReservationEventType;
 import com.reserves.exception.BadRequestException;
+import com.reserves.exception.PreconditionFailedException;
 import com.reserves.exception.ResourceNotFoundException;
 import com.reserves.model.Reservation;
 import com.reserves.model.ReservationStatus;
 import com.reserves.model.Space;
+import com.reserves.model.WaitlistEntry;
+import com.reserves.monitoring.BookingMetrics;
 import com.reserves.repository.ReservationRepository;
+import com.reserves.repository.ReservationSearchFilter;
+import com.reserves.repository.ReservationSummary;
 import com.reserves.repository.SpaceRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -25,36 +42,99 @@ import java.util.stream.Collectors;
  * - Verifica conflitos de horário (não permite sobreposição)
  * - Calcula preço baseado em horas (arredondando para cima)
  * - Marca status e persiste alterações em transação
-+ */
+ * - Serializa escritas por espaço (SpaceLockManager) até o commit, evitando que
+ *   duas requisições concorrentes passem pela verificação de conflito. O lock é
+ *   obtido antes de abrir a transação: a espera por um espaço disputado não
+ *   ocupa conexão do pool
+ * - Atualiza os rollups diários de ocupação (OccupancyAnalyticsService) na mesma transação
+ * - Cancelar/remover uma reserva promove, na mesma transação, os pedidos da lista
+ *   de espera que cabem no horário liberado (WaitlistService)
+ * - Grava um evento de domínio no outbox (OutboxPublisher) a cada alteração; efeitos
+ *   colaterais (webhooks, notificações) rodam depois, no OutboxDispatcher
+ * - Concorrência otimista (@Version): update/cancel aceitam a versão esperada
+ *   (If-Match); sem ela, conflitos de versão no commit são repetidos automaticamente
+ */
 @Service
 public class ReservationService {
 
     private final ReservationRepository reservationRepository;
     private final SpaceRepository spaceRepository;
+    private final ReservationIntervalIndex intervalIndex;
+    private final SpaceLockManager spaceLocks;
+    private final RecurringSeriesIndex seriesIndex;
+    private final OccupancyAnalyticsService occupancyAnalytics;
+    private final OutboxPublisher outbox;
+    private final WaitlistService waitlistService;
+    private final BookingMetrics metrics;
+    private final TransactionTemplate writeTx;
+    private final TransactionTemplate readTx;
+    private final int maxOptimisticAttempts;
     private static final Logger logger = LoggerFactory.getLogger(ReservationService.class);
 
-    public ReservationService(ReservationRepository reservationRepository, SpaceRepository spaceRepository) {
+    public ReservationService(ReservationRepository reservationRepository,
+                              SpaceRepository spaceRepository,
+                              ReservationIntervalIndex intervalIndex,
+                              SpaceLockManager spaceLocks,
+                              RecurringSeriesIndex seriesIndex,
+                              OccupancyAnalyticsService occupancyAnalytics,
+                              OutboxPublisher outbox,
+                              WaitlistService waitlistService,
+                              BookingMetrics metrics,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${reservation.optimistic.max-attempts:3}") int maxOptimisticAttempts) {
         this.reservationRepository = reservationRepository;
         this.spaceRepository = spaceRepository;
+        this.intervalIndex = intervalIndex;
+        this.spaceLocks = spaceLocks;
+        this.seriesIndex = seriesIndex;
+        this.occupancyAnalytics = occupancyAnalytics;
+        this.outbox = outbox;
+        this.waitlistService = waitlistService;
+        this.metrics = metrics;
+        this.writeTx = new TransactionTemplate(transactionManager);
+        this.readTx = new TransactionTemplate(transactionManager);
+        this.readTx.setReadOnly(true);
+        this.maxOptimisticAttempts = Math.max(1, maxOptimisticAttempts);
     }
 
     public List<Reservation> findAll() {
         return reservationRepository.findAll();
     }
 
+    /**
+     * Listagem filtrada e paginada por cursor (ver ReservationSearchFilter).
+     */
+    @Transactional(readOnly = true)
+    public List<ReservationSummary> search(ReservationSearchFilter filter, int limit) {
+        return reservationRepository.searchSummaries(filter, limit);
+    }
+
+    // Carrega o espaço junto: quem chama sempre monta o DTO com o nome dele
     public Reservation findById(Long id) {
-        return reservationRepository.findById(id)
+        return reservationRepository.findWithSpaceById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Reserva não encontrada: " + id));
     }
 
-    public List<Reservation> findByUserEmail(String email) {
-        return reservationRepository.findByUserEmail(email);
+    /**
+     * Reservas do usuário que se sobrepõem a [from, to).
+     */
+    public List<ReservationSummary> findByUserEmail(String email, LocalDateTime from, LocalDateTime to) {
+        return reservationRepository.findSummariesByUserEmail(email, from, to);
     }
 
-    @Transactional
     public Reservation create(Reservation reservation) {
-        validateTimes(reservation);
+        return metrics.timeBooking("create", () -> {
+            validateTimes(reservation);
+            if (reservation.getSpace() == null || reservation.getSpace().getId() == null) {
+                throw new BadRequestException("Espaço é obrigatório.");
+            }
+            // Trava o espaço até o commit: verificação de conflito + insert ficam atômicos
+            return spaceLocks.callLocked(() -> writeTx.execute(status -> doCreate(reservation)),
+                    reservation.getSpace().getId());
+        });
+    }
 
+    private Reservation doCreate(Reservation reservation) {
         // Verifica espaço existe
         Space space = spaceRepository.findById(reservation.getSpace().getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Espaço não encontrado"));
@@ -65,29 +145,167 @@ public class ReservationService {
         }
 
         // Verifica conflitos (criação: não precisa excluir nenhum id)
-        checkConflicts(space.getId(), reservation.getStartTime(), reservation.getEndTime(), null);
-
-        // Calcula preço e define status
-        reservation.setTotalPrice(calculatePrice(space.getPricePerHour(), reservation));
-        reservation.setStatus(ReservationStatus.CONFIRMED);
+        checkConflicts(space.getId(), reservation.getStartTime(), reservation.getEndTime(), null, "create");
 
-        // Ensure we attach the managed Space entity to the reservation
-        reservation.setSpace(space);
+        prepareForInsert(reservation, space);
 
         logger.info("Creating reservation for spaceId={} userEmail={} start={} end={}",
             space.getId(), reservation.getUserEmail(), reservation.getStartTime(), reservation.getEndTime());
 
-        return reservationRepository.save(reservation);
+        Reservation saved = reservationRepository.save(reservation);
+        intervalIndex.register(saved);
+        occupancyAnalytics.recordCreated(saved);
+        outbox.publish(ReservationEventType.RESERVATION_CREATED, saved);
+        metrics.bookingCreated(space.getType(), 1);
+        return saved;
+    }
+
+    /**
+     * Cria várias reservas de uma vez (lote atômico).
+     *
+     * - Valida todos os itens entre si (mesmo espaço, horários sobrepostos) e contra
+     *   as reservas existentes em uma única passada
+     * - Se algum item falhar, nada é persistido e cada item recebe seu resultado
+     * - Caso contrário, todos são inseridos na mesma transação (JDBC batch)
+     */
+    public List<BatchItemResult> createBatch(List<Reservation> reservations) {
+        return metrics.timeBooking("batch", () -> {
+            List<BatchItemResult> results = validateBatch(reservations);
+            Set<Long> spaceIds = results.stream()
+                    .filter(BatchItemResult::isPending)
+                    .map(item -> item.getReservation().getSpace().getId())
+                    .collect(Collectors.toCollection(TreeSet::new));
+
+            // 2. Trava todos os espaços envolvidos (em ordem) antes da transação
+            return spaceLocks.callLocked(() -> writeTx.execute(status -> doCreateBatch(results, spaceIds)),
+                    spaceIds.toArray(new Long[0]));
+        });
+    }
+
+    private List<BatchItemResult> validateBatch(List<Reservation> reservations) {
+        List<BatchItemResult> results = new ArrayList<>(reservations.size());
+        for (int i = 0; i < reservations.size(); i++) {
+            results.add(new BatchItemResult(i, reservations.get(i)));
+        }
+
+        // 1. Validações individuais (horários e espaço informado)
+        for (BatchItemResult item : results) {
+            Reservation r = item.getReservation();
+            try {
+                validateTimes(r);
+                if (r.getSpace() == null || r.getSpace().getId() == null) {
+                    throw new BadRequestException("Espaço é obrigatório.");
+                }
+            } catch (BadRequestException ex) {
+                item.reject(BatchItemStatus.INVALID, ex.getMessage());
+            }
+        }
+        return results;
+    }
+
+    private List<BatchItemResult> doCreateBatch(List<BatchItemResult> results, Set<Long> spaceIds) {
+        // Espaços envolvidos (já travados) em uma única query
+        Map<Long, Space> spaces = spaceRepository.findAllById(spaceIds).stream()
+                .collect(Collectors.toMap(Space::getId, Function.identity()));
+
+        for (BatchItemResult item : results) {
+            if (!item.isPending()) continue;
+            Space space = spaces.get(item.getReservation().getSpace().getId());
+            if (space == null) {
+                item.reject(BatchItemStatus.INVALID, "Espaço não encontrado");
+            } else if (space.getAvailable() != null && !space.getAvailable()) {
+                item.reject(BatchItemStatus.INVALID, "Este espaço não está disponível para reservas.");
+            }
+        }
+
+        // 3. Conflitos dentro do próprio lote: ordena por espaço/início e compara com o maior fim anterior
+        List<BatchItemResult> pending = results.stream()
+                .filter(BatchItemResult::isPending)
+                .sorted(Comparator.comparing((BatchItemResult item) -> item.getReservation().getSpace().getId())
+                        .thenComparing(item -> item.getReservation().getStartTime()))
+                .collect(Collectors.toList());
+
+        BatchItemResult previous = null;
+        for (BatchItemResult item : pending) {
+            Reservation r = item.getReservation();
+            if (previous != null
+                    && previous.getReservation().getSpace().getId().equals(r.getSpace().getId())
+                    && previous.getReservation().getEndTime().isAfter(r.getStartTime())) {
+                item.reject(BatchItemStatus.CONFLICT, "Conflita com o item " + previous.getIndex() + " do lote.");
+                continue;
+            }
+            previous = item;
+        }
+
+        // 4. Conflitos com reservas existentes
+        for (BatchItemResult item : pending) {
+            if (!item.isPending()) continue;
+            Reservation r = item.getReservation();
+            try {
+                checkConflicts(r.getSpace().getId(), r.getStartTime(), r.getEndTime(), null, "batch");
+            } catch (BadRequestException ex) {
+                item.reject(BatchItemStatus.CONFLICT, ex.getMessage());
+            }
+        }
+
+        if (results.stream().anyMatch(item -> item.getStatus() != null)) {
+            results.stream().filter(BatchItemResult::isPending)
+                    .forEach(item -> item.reject(BatchItemStatus.SKIPPED, "Lote rejeitado: nenhum item foi criado."));
+            logger.info("Batch of {} reservations rejected", results.size());
+            return results;
+        }
+
+        // 5. Persistência atômica (ids via sequence com pool + hibernate.jdbc.batch_size)
+        List<Reservation> toSave = new ArrayList<>(results.size());
+        for (BatchItemResult item : results) {
+            Reservation r = item.getReservation();
+            prepareForInsert(r, spaces.get(r.getSpace().getId()));
+            toSave.add(r);
+        }
+        List<Reservation> saved = reservationRepository.saveAll(toSave);
+        for (int i = 0; i < saved.size(); i++) {
+            intervalIndex.register(saved.get(i));
+            results.get(i).created(saved.get(i));
+        }
+        occupancyAnalytics.recordCreated(saved);
+        outbox.publishAll(ReservationEventType.RESERVATION_CREATED, saved);
+        saved.stream()
+                .collect(Collectors.groupingBy(r -> r.getSpace().getType(), Collectors.counting()))
+                .forEach((type, count) -> metrics.bookingCreated(type, count.intValue()));
+
+        logger.info("Created batch of {} reservations across {} spaces", saved.size(), spaces.size());
+        return results;
     }
 
-    @Transactional
     public Reservation update(Long id, Reservation update) {
-        Reservation existing = findById(id);
+        return update(id, update, null);
+    }
+
+    /**
+     * @param expectedVersion versão vista pelo cliente (If-Match); null = sem pré-condição
+     * @throws PreconditionFailedException se a reserva já estiver em outra versão
+     */
+    public Reservation update(Long id, Reservation update, Long expectedVersion) {
+        return metrics.timeBooking("update", () -> {
+            validateTimes(update);
+            return withReservationLocked(id,
+                    () -> inTransactionWithRetry("update", expectedVersion, () -> doUpdate(id, update, expectedVersion)));
+        });
+    }
 
-        validateTimes(update);
+    private Reservation doUpdate(Long id, Reservation update, Long expectedVersion) {
+        Reservation existing = findById(id);
+        checkVersion(existing, expectedVersion);
+        if (existing.getStatus() == ReservationStatus.CANCELLED) {
+            // Alterar horários de uma reserva cancelada "ressuscitaria" o slot sem verificar o cancelamento
+            throw new BadRequestException("Reserva cancelada não pode ser alterada.");
+        }
+        OccupancyAnalyticsService.Contribution before = OccupancyAnalyticsService.Contribution.of(existing);
+        LocalDateTime previousStart = existing.getStartTime();
+        LocalDateTime previousEnd = existing.getEndTime();
 
         // Ao verificar conflitos, excluir a própria reserva atual (para não conflitar consigo mesma)
-        checkConflicts(existing.getSpace().getId(), update.getStartTime(), update.getEndTime(), existing.getId());
+        checkConflicts(existing.getSpace().getId(), update.getStartTime(), update.getEndTime(), existing.getId(), "update");
 
         existing.setUserName(update.getUserName());
         existing.setUserEmail(update.getUserEmail());
@@ -101,24 +319,170 @@ public class ReservationService {
         );
 
         logger.info("Updating reservation id={} userEmail={} start={} end={}", existing.getId(), existing.getUserEmail(), existing.getStartTime(), existing.getEndTime());
-        return reservationRepository.save(existing);
+        Reservation saved = reservationRepository.save(existing);
+        intervalIndex.register(saved);
+        occupancyAnalytics.recordChanged(before, saved);
+        outbox.publishUpdate(saved, previousStart, previousEnd);
+        return saved;
     }
 
-    @Transactional
     public Reservation cancel(Long id) {
+        return cancel(id, null);
+    }
+
+    /**
+     * Cancelar de novo uma reserva já cancelada não altera nada (idempotente).
+     *
+     * @param expectedVersion versão vista pelo cliente (If-Match); null = sem pré-condição
+     */
+    public Reservation cancel(Long id, Long expectedVersion) {
+        return metrics.timeBooking("cancel", () -> withReservationLocked(id,
+                () -> inTransactionWithRetry("cancel", expectedVersion, () -> doCancel(id, expectedVersion))));
+    }
+
+    private Reservation doCancel(Long id, Long expectedVersion) {
         Reservation existing = findById(id);
+        checkVersion(existing, expectedVersion);
+        if (existing.getStatus() == ReservationStatus.CANCELLED) {
+            return existing;
+        }
+        OccupancyAnalyticsService.Contribution before = OccupancyAnalyticsService.Contribution.of(existing);
         existing.setStatus(ReservationStatus.CANCELLED);
         logger.info("Cancelling reservation id={} userEmail={}", existing.getId(), existing.getUserEmail());
-        return reservationRepository.save(existing);
+        Reservation saved = reservationRepository.save(existing);
+        intervalIndex.register(saved);
+        occupancyAnalytics.recordChanged(before, saved);
+        outbox.publish(ReservationEventType.RESERVATION_CANCELLED, saved);
+        promoteFromWaitlist(saved);
+        return saved;
     }
 
-    @Transactional
     public void delete(Long id) {
-        reservationRepository.delete(findById(id));
+        metrics.timeBooking("delete", () -> withReservationLocked(id, () -> inTransactionWithRetry("delete", null, () -> {
+            doDelete(id);
+            return null;
+        })));
+    }
+
+    private void doDelete(Long id) {
+        Reservation existing = findById(id);
+        OccupancyAnalyticsService.Contribution before = OccupancyAnalyticsService.Contribution.of(existing);
+        outbox.publish(ReservationEventType.RESERVATION_DELETED, existing);
+        reservationRepository.delete(existing);
+        intervalIndex.unregister(existing.getSpace().getId(), existing.getId());
+        occupancyAnalytics.recordDeleted(before);
+        if (existing.getStatus() != ReservationStatus.CANCELLED) {
+            promoteFromWaitlist(existing);
+        }
     }
 
     // ------------------- HELPERS -------------------
 
+    /**
+     * Executa a operação em uma transação própria. Se outra transação (outra
+     * instância, por exemplo) alterou a mesma linha antes do commit, a operação
+     * inteira é repetida com os dados atuais — só quando é seguro: sem versão
+     * esperada. Com If-Match, o conflito vira PreconditionFailedException.
+     * Dentro de uma transação externa não há repetição (ela já estaria marcada
+     * para rollback).
+     */
+    private <T> T inTransactionWithRetry(String operation, Long expectedVersion, Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return writeTx.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException ex) {
+                if (expectedVersion != null) {
+                    throw new PreconditionFailedException("A reserva foi alterada por outra operação (versão esperada "
+                            + expectedVersion + ").");
+                }
+                if (attempt >= maxOptimisticAttempts) {
+                    throw ex;
+                }
+                metrics.optimisticRetry(operation);
+                logger.info("Conflito de versão em {} (tentativa {}/{}), repetindo", operation, attempt, maxOptimisticAttempts);
+            }
+        }
+    }
+
+    private static void checkVersion(Reservation existing, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(existing.getVersion())) {
+            throw new PreconditionFailedException("A reserva está na versão " + existing.getVersion()
+                    + " (esperada " + expectedVersion + ").");
+        }
+    }
+
+    /**
+     * Trava o espaço da reserva antes da transação da operação; a reserva é
+     * carregada já dentro dela, então reflete qualquer escrita concorrente
+     * commitada no mesmo espaço. O espaço vem de uma leitura curta, sem lock
+     * (uma reserva não muda de espaço).
+     */
+    private <T> T withReservationLocked(Long id, Supplier<T> work) {
+        Long spaceId = readTx.execute(status -> reservationRepository.findSpaceIdById(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Reserva não encontrada: " + id));
+        return spaceLocks.callLocked(work, spaceId);
+    }
+
+    /**
+     * Atende a lista de espera no intervalo liberado por `freed` (cancelada ou
+     * removida), com o espaço já travado. Os candidatos vêm por prioridade e
+     * ordem de chegada; cada um vira reserva se o seu intervalo estiver livre,
+     * então vários pedidos menores podem ser atendidos no mesmo horário.
+     */
+    private void promoteFromWaitlist(Reservation freed) {
+        Space space = freed.getSpace();
+        if (space.getAvailable() != null && !space.getAvailable()) {
+            return;
+        }
+        List<WaitlistEntry> candidates = waitlistService.candidatesFor(space.getId(), freed.getStartTime(), freed.getEndTime());
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        // Reservas criadas aqui ainda não estão no índice (registro após o commit)
+        List<WaitlistEntry> promoted = new ArrayList<>();
+        for (WaitlistEntry entry : candidates) {
+            boolean overlapsPromoted = promoted.stream().anyMatch(p ->
+                    p.getStartTime().isBefore(entry.getEndTime()) && p.getEndTime().isAfter(entry.getStartTime()));
+            if (overlapsPromoted || isBooked(space.getId(), entry.getStartTime(), entry.getEndTime(), freed.getId())) {
+                continue;
+            }
+
+            Reservation reservation = new Reservation();
+            reservation.setUserName(entry.getUserName());
+            reservation.setUserEmail(entry.getUserEmail());
+            reservation.setUserPhone(entry.getUserPhone());
+            reservation.setStartTime(entry.getStartTime());
+            reservation.setEndTime(entry.getEndTime());
+            reservation.setNotes(entry.getNotes());
+            prepareForInsert(reservation, space);
+
+            Reservation saved = reservationRepository.save(reservation);
+            intervalIndex.register(saved);
+            occupancyAnalytics.recordCreated(saved);
+            outbox.publish(ReservationEventType.RESERVATION_CREATED, saved);
+            waitlistService.markPromoted(entry, saved);
+            metrics.bookingCreated(space.getType(), 1);
+            metrics.waitlistPromoted();
+            promoted.add(entry);
+
+            logger.info("Promoted waitlist entry id={} to reservation id={} spaceId={} start={} end={}",
+                    entry.getId(), saved.getId(), space.getId(), saved.getStartTime(), saved.getEndTime());
+        }
+    }
+
+    private void prepareForInsert(Reservation reservation, Space space) {
+        // Calcula preço e define status
+        reservation.setTotalPrice(calculatePrice(space.getPricePerHour(), reservation));
+        reservation.setStatus(ReservationStatus.CONFIRMED);
+
+        // Ensure we attach the managed Space entity to the reservation
+        reservation.setSpace(space);
+    }
+
     private void validateTimes(Reservation r) {
         LocalDateTime now = LocalDateTime.now();
         if (r.getStartTime() == null || r.getEndTime() == null) {
@@ -135,27 +499,85 @@ public class ReservationService {
     private void checkConflicts(Long spaceId,
                                 LocalDateTime start,
                                 LocalDateTime end,
-                                Long excludeReservationId) {
+                                Long excludeReservationId,
+                                String operation) {
 
-        List<Reservation> conflicts = reservationRepository
-                .findConflictingReservations(spaceId, start, end);
+        Timer.Sample sample = metrics.startConflictCheck();
+        boolean conflict = isBooked(spaceId, start, end, excludeReservationId);
+        metrics.stopConflictCheck(sample, intervalIndex.isActive());
 
-        // Se for uma atualização, ignorar conflito consigo mesmo
-        if (excludeReservationId != null) {
-            conflicts = conflicts.stream()
-                    .filter(r -> !r.getId().equals(excludeReservationId))
-                    .collect(Collectors.toList());
-        }
-
-        if (!conflicts.isEmpty()) {
+        if (conflict) {
+            metrics.conflictRejected(operation);
             throw new BadRequestException("Este espaço já está reservado nesse horário.");
         }
     }
 
+    private boolean isBooked(Long spaceId, LocalDateTime start, LocalDateTime end, Long excludeReservationId) {
+        // Índice em memória quando pronto; caso contrário, consulta de existência no banco.
+        // Em ambos, a reserva excluída (atualização/liberação) é ignorada.
+        boolean conflict = intervalIndex.isActive()
+                ? intervalIndex.hasConflict(spaceId, start, end, excludeReservationId)
+                : reservationRepository.existsConflictingReservation(spaceId, start, end, excludeReservationId);
+
+        // Ocorrências de séries recorrentes (expandidas apenas dentro do intervalo)
+        return conflict || seriesIndex.hasConflict(spaceId, start, end, null);
+    }
+
     private BigDecimal calculatePrice(BigDecimal pricePerHour, Reservation r) {
-        long minutes = Duration.between(r.getStartTime(), r.getEndTime()).toMinutes();
+        return calculatePrice(pricePerHour, r.getStartTime(), r.getEndTime());
+    }
+
+    /**
+     * Valor cobrado pela reserva: horas arredondadas para cima, mínimo de 1 hora.
+     * É também o custo cotado pela busca de alocação.
+     */
+    public static BigDecimal calculatePrice(BigDecimal pricePerHour, LocalDateTime start, LocalDateTime end) {
+        long minutes = Duration.between(start, end).toMinutes();
         double hours = Math.ceil(minutes / 60.0); // arredonda para cima
         if (hours < 1) hours = 1;
         return pricePerHour.multiply(BigDecimal.valueOf((long) hours));
     }
+
+    // ------------------- BATCH -------------------
+
+    public enum BatchItemStatus {
+        CREATED,
+        INVALID,
+        CONFLICT,
+        SKIPPED
+    }
+
+    /**
+     * Resultado de um item do lote. status == null enquanto o item ainda é válido.
+     */
+    public static class BatchItemResult {
+        private final int index;
+        private Reservation reservation;
+        private BatchItemStatus status;
+        private String message;
+
+        public BatchItemResult(int index, Reservation reservation) {
+            this.index = index;
+            this.reservation = reservation;
+        }
+
+        public int getIndex() { return index; }
+        public Reservation getReservation() { return reservation; }
+        public BatchItemStatus getStatus() { return status; }
+        public String getMessage() { return message; }
+
+        boolean isPending() {
+            return status == null;
+        }
+
+        void reject(BatchItemStatus status, String message) {
+            this.status = status;
+            this.message = message;
+        }
+
+        void created(Reservation saved) {
+            this.reservation = saved;
+            this.status = BatchItemStatus.CREATED;
+        }
+    }
 }
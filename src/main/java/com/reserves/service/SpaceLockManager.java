@@ -0,0 +1,129 @@
+package com.reserves.service;
+
+import com.reserves.exception.ResourceBusyException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Locks "listrados" (striped) por espaço.
+ *
+ * - Cada Space é mapeado para uma de N listras (ReentrantLock); reservas de espaços
+ *   diferentes seguem em paralelo, só o mesmo espaço (ou colisão de listra) serializa.
+ * - O lock é mantido até o fim da transação (commit/rollback), ou seja, o
+ *   check-then-insert e a atualização do índice em memória ficam atômicos.
+ * - Caminho preferido (callLocked): o lock é obtido antes de abrir a transação.
+ *   Quem espera um espaço disputado não segura conexão do pool, então uma fila
+ *   num espaço "quente" não esgota o pool nem atrasa reservas de outros espaços.
+ * - Vários espaços são travados em ordem crescente de listra, evitando deadlock.
+ */
+@Component
+public class SpaceLockManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpaceLockManager.class);
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+
+    public SpaceLockManager(@Value("${reservation.lock.stripes:256}") int stripeCount,
+                            @Value("${reservation.lock.timeout-ms:5000}") long timeoutMillis) {
+        // potência de dois para usar máscara no lugar de módulo
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Executa a operação com os espaços travados: o lock vem antes da transação,
+     * que a própria operação abre (ex.: TransactionTemplate), e é liberado depois
+     * do commit/rollback dela.
+     *
+     * Dentro de uma transação já ativa (conexão já ocupada) equivale a
+     * lockForTransaction: o lock fica até o fim da transação externa.
+     *
+     * @throws ResourceBusyException se o lock não for obtido dentro do timeout
+     */
+    public <T> T callLocked(Supplier<T> work, Long... spaceIds) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            lockForTransaction(spaceIds);
+            return work.get();
+        }
+        List<ReentrantLock> acquired = acquire(spaceIds);
+        try {
+            return work.get();
+        } finally {
+            releaseAll(acquired);
+        }
+    }
+
+    /**
+     * Trava os espaços informados até o término da transação ativa.
+     *
+     * @throws ResourceBusyException se o lock não for obtido dentro do timeout
+     */
+    public void lockForTransaction(Long... spaceIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("SpaceLockManager requer uma transação ativa");
+        }
+
+        List<ReentrantLock> acquired = acquire(spaceIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                releaseAll(acquired);
+            }
+        });
+    }
+
+    private List<ReentrantLock> acquire(Long... spaceIds) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (Long spaceId : spaceIds) {
+            indexes.add(stripeOf(spaceId));
+        }
+
+        List<ReentrantLock> acquired = new ArrayList<>(indexes.size());
+        try {
+            for (int index : indexes) {
+                ReentrantLock lock = stripes[index];
+                if (!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                    logger.warn("Timeout aguardando lock dos espaços {}", (Object) spaceIds);
+                    throw new ResourceBusyException("Espaço com alta concorrência no momento. Tente novamente.");
+                }
+                acquired.add(lock);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            releaseAll(acquired);
+            throw new ResourceBusyException("Operação interrompida aguardando o espaço.");
+        } catch (RuntimeException e) {
+            releaseAll(acquired);
+            throw e;
+        }
+        return acquired;
+    }
+
+    private int stripeOf(Long spaceId) {
+        int h = Long.hashCode(spaceId);
+        h ^= (h >>> 16);
+        return h & (stripes.length - 1);
+    }
+
+    private static void releaseAll(List<ReentrantLock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+}
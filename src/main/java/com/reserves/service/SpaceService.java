@@ -1,10 +1,14 @@
 package com.reserves.service;
 
+import com.reserves.config.CacheConfig;
 import com.reserves.exception.BadRequestException;
 import com.reserves.exception.ResourceNotFoundException;
 import com.reserves.model.Space;
 import com.reserves.model.SpaceType;
 import com.reserves.repository.SpaceRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +20,8 @@ import java.util.List;
  *
  * - Responsável por regras simples de negócio relacionadas a spaces
  * - Métodos que alteram o estado do banco possuem @Transactional
+ * - Leituras do catálogo passam pelo cache (CacheConfig); create/update/delete
+ *   invalidam apenas as entradas afetadas, após o commit
  */
 @Service
 public class SpaceService {
@@ -26,19 +32,27 @@ public class SpaceService {
         this.spaceRepository = spaceRepository;
     }
 
+    @Cacheable(CacheConfig.SPACES)
     public List<Space> findAll() {
-        return spaceRepository.findAll();
+        return List.copyOf(spaceRepository.findAllWithAmenities());
     }
 
+    @Cacheable(CacheConfig.SPACE_BY_ID)
     public Space findById(Long id) {
-        return spaceRepository.findById(id)
+        return spaceRepository.findWithAmenitiesById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Espaço não encontrado: " + id));
     }
 
+    @Cacheable(CacheConfig.AVAILABLE_SPACES)
     public List<Space> findAvailableWithFilters(SpaceType type, Integer minCapacity, BigDecimal maxPrice) {
-        return spaceRepository.findAvailableSpacesWithFilters(type, minCapacity, maxPrice);
+        return List.copyOf(spaceRepository.findAvailableSpacesWithFilters(type, minCapacity, maxPrice));
     }
 
+    // Um novo espaço só afeta as listas; não existe entrada por id para ele
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.SPACES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.AVAILABLE_SPACES, allEntries = true)
+    })
     @Transactional
     public Space create(Space space) {
         // Validações básicas antes de salvar
@@ -52,9 +66,14 @@ public class SpaceService {
         return spaceRepository.save(space);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.SPACE_BY_ID, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.SPACES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.AVAILABLE_SPACES, allEntries = true)
+    })
     @Transactional
     public Space update(Long id, Space spaceUpdate) {
-        Space existing = findById(id);
+        Space existing = findManaged(id);
 
         existing.setName(spaceUpdate.getName());
         existing.setDescription(spaceUpdate.getDescription());
@@ -70,9 +89,22 @@ public class SpaceService {
         return spaceRepository.save(existing);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.SPACE_BY_ID, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.SPACES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.AVAILABLE_SPACES, allEntries = true)
+    })
     @Transactional
     public void delete(Long id) {
-        Space existing = findById(id);
+        Space existing = findManaged(id);
         spaceRepository.delete(existing);
     }
+
+    /**
+     * Entidade gerenciada pela transação corrente (nunca a instância do cache).
+     */
+    private Space findManaged(Long id) {
+        return spaceRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Espaço não encontrado: " + id));
+    }
 }
@@ -0,0 +1,159 @@
+package com.reserves.service;
+
+import com.reserves.algorithm.AllocationService;
+import com.reserves.exception.BadRequestException;
+import com.reserves.exception.ResourceNotFoundException;
+import com.reserves.model.Reservation;
+import com.reserves.model.Space;
+import com.reserves.model.WaitlistEntry;
+import com.reserves.model.WaitlistStatus;
+import com.reserves.repository.SpaceRepository;
+import com.reserves.repository.WaitlistEntryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Lista de espera por espaço/intervalo.
+ *
+ * - Entrar na fila só é permitido quando o horário está de fato ocupado
+ *   (verificado com o espaço travado, como na criação de reservas)
+ * - A promoção acontece no ReservationService, na mesma transação do
+ *   cancelamento/remoção que liberou o horário (ver promoteFromWaitlist)
+ * - Pedidos são limitados a MAX_DURATION, o que permite buscar os candidatos
+ *   com um range scan curto no índice (space_id, status, start_time)
+ */
+@Service
+public class WaitlistService {
+
+    // Duração máxima de um pedido na lista de espera
+    static final Duration MAX_DURATION = Duration.ofHours(24);
+
+    private static final Logger logger = LoggerFactory.getLogger(WaitlistService.class);
+
+    private final WaitlistEntryRepository waitlistRepository;
+    private final SpaceRepository spaceRepository;
+    private final AllocationService allocationService;
+    private final SpaceLockManager spaceLocks;
+    private final TransactionTemplate writeTx;
+
+    public WaitlistService(WaitlistEntryRepository waitlistRepository,
+                           SpaceRepository spaceRepository,
+                           AllocationService allocationService,
+                           SpaceLockManager spaceLocks,
+                           PlatformTransactionManager transactionManager) {
+        this.waitlistRepository = waitlistRepository;
+        this.spaceRepository = spaceRepository;
+        this.allocationService = allocationService;
+        this.spaceLocks = spaceLocks;
+        this.writeTx = new TransactionTemplate(transactionManager);
+    }
+
+    public WaitlistEntry findById(Long id) {
+        return waitlistRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Pedido na lista de espera não encontrado: " + id));
+    }
+
+    public List<WaitlistEntry> findByUserEmail(String email) {
+        return waitlistRepository.findByUserEmailOrderByCreatedAtDesc(email);
+    }
+
+    public List<WaitlistEntry> findQueue(Long spaceId) {
+        return waitlistRepository.findQueue(spaceId);
+    }
+
+    public WaitlistEntry join(WaitlistEntry entry) {
+        validate(entry);
+
+        // Mesmo lock da criação de reservas (obtido antes da transação): um cancelamento
+        // concorrente ou já promove este pedido, ou terminou antes e o horário aparece livre aqui
+        return spaceLocks.callLocked(() -> writeTx.execute(status -> doJoin(entry)), entry.getSpace().getId());
+    }
+
+    private WaitlistEntry doJoin(WaitlistEntry entry) {
+        Space space = spaceRepository.findById(entry.getSpace().getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Espaço não encontrado"));
+        if (space.getAvailable() != null && !space.getAvailable()) {
+            throw new BadRequestException("Este espaço não está disponível para reservas.");
+        }
+        if (!allocationService.hasConflict(space, entry.getStartTime(), entry.getEndTime())) {
+            throw new BadRequestException("O horário está disponível: faça a reserva diretamente.");
+        }
+        if (waitlistRepository.existsWaitingOverlap(space.getId(), entry.getUserEmail(),
+                entry.getStartTime(), entry.getEndTime())) {
+            throw new BadRequestException("Você já está na lista de espera deste espaço para esse horário.");
+        }
+
+        entry.setSpace(space);
+        entry.setStatus(WaitlistStatus.WAITING);
+        logger.info("Waitlist join spaceId={} userEmail={} start={} end={} priority={}",
+                space.getId(), entry.getUserEmail(), entry.getStartTime(), entry.getEndTime(), entry.getPriority());
+        return waitlistRepository.save(entry);
+    }
+
+    /**
+     * Sai da lista de espera. Apenas o próprio usuário ou um admin.
+     */
+    @Transactional
+    public WaitlistEntry leave(Long id, String email, boolean admin) {
+        WaitlistEntry entry = findById(id);
+        if (!admin && !entry.getUserEmail().equalsIgnoreCase(email)) {
+            throw new ResourceNotFoundException("Pedido na lista de espera não encontrado: " + id);
+        }
+        if (entry.getStatus() != WaitlistStatus.WAITING) {
+            throw new BadRequestException("O pedido não está mais em espera (status " + entry.getStatus() + ").");
+        }
+        entry.setStatus(WaitlistStatus.CANCELLED);
+        return waitlistRepository.save(entry);
+    }
+
+    /**
+     * Pedidos em espera que sobrepõem o intervalo liberado, na ordem de atendimento.
+     * Deve ser chamado com o espaço travado.
+     */
+    List<WaitlistEntry> candidatesFor(Long spaceId, LocalDateTime start, LocalDateTime end) {
+        return waitlistRepository.findCandidates(spaceId, start, end, start.minus(MAX_DURATION), LocalDateTime.now());
+    }
+
+    void markPromoted(WaitlistEntry entry, Reservation reservation) {
+        entry.setStatus(WaitlistStatus.PROMOTED);
+        entry.setReservationId(reservation.getId());
+        entry.setPromotedAt(LocalDateTime.now());
+        waitlistRepository.save(entry);
+    }
+
+    @Scheduled(fixedDelayString = "${waitlist.expire.fixed-delay-ms:300000}")
+    @Transactional
+    public void expireStarted() {
+        int expired = waitlistRepository.expireStarted(LocalDateTime.now());
+        if (expired > 0) {
+            logger.info("Waitlist: {} pedidos expirados", expired);
+        }
+    }
+
+    private void validate(WaitlistEntry entry) {
+        if (entry.getSpace() == null || entry.getSpace().getId() == null) {
+            throw new BadRequestException("Espaço é obrigatório.");
+        }
+        if (entry.getStartTime() == null || entry.getEndTime() == null) {
+            throw new BadRequestException("Horários de início e término são obrigatórios.");
+        }
+        if (!entry.getEndTime().isAfter(entry.getStartTime())) {
+            throw new BadRequestException("Horário final deve ser após o horário inicial.");
+        }
+        if (!entry.getStartTime().isAfter(LocalDateTime.now())) {
+            throw new BadRequestException("Não é possível entrar na lista de espera de um horário passado.");
+        }
+        if (Duration.between(entry.getStartTime(), entry.getEndTime()).compareTo(MAX_DURATION) > 0) {
+            throw new BadRequestException("A lista de espera aceita pedidos de no máximo " + MAX_DURATION.toHours() + " horas.");
+        }
+    }
+}
@@ -9,3 +9,7 @@ VALUES
 INSERT INTO reservations (id, space_id, user_name, user_email, user_phone, start_time, end_time, status, total_price, notes, created_at)
 VALUES
  (1, 1, 'João Silva', 'joao@example.com', '11999990000', TIMESTAMP '2025-11-18 09:00:00', TIMESTAMP '2025-11-18 11:00:00', 'CONFIRMED', 100.00, 'Reunião mensal', CURRENT_TIMESTAMP);
+
+-- Sequences com pool (allocationSize = 50): reinicia acima dos ids inseridos manualmente
+ALTER SEQUENCE spaces_seq RESTART WITH 100;
+ALTER SEQUENCE reservations_seq RESTART WITH 100;
@@ -0,0 +1,65 @@
+-- ============================================================
+-- V1: schema base, equivalente ao que o Hibernate (ddl-auto=update) criava
+-- antes das migrações: usuários, espaços e reservas com ids IDENTITY (bigserial).
+--
+-- Bancos já existentes (criados pelo Hibernate) não executam este script:
+-- spring.flyway.baseline-on-migrate marca a versão 1 como aplicada e segue a
+-- partir da V2, que cria o restante do schema. Por isso esta versão não deve
+-- receber nada além do schema original.
+-- ============================================================
+
+-- --- Usuários ---
+CREATE TABLE users (
+    id       BIGSERIAL    NOT NULL,
+    name     VARCHAR(255),
+    email    VARCHAR(255),
+    password VARCHAR(255),
+    phone    VARCHAR(255),
+    CONSTRAINT users_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE user_roles (
+    user_id BIGINT       NOT NULL,
+    roles   VARCHAR(255),
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+-- --- Espaços ---
+CREATE TABLE spaces (
+    id             BIGSERIAL      NOT NULL,
+    name           VARCHAR(100)   NOT NULL,
+    description    VARCHAR(1000),
+    type           VARCHAR(255)   NOT NULL,
+    capacity       INTEGER        NOT NULL,
+    price_per_hour NUMERIC(10, 2) NOT NULL,
+    image_url      VARCHAR(500),
+    available      BOOLEAN        NOT NULL,
+    floor          VARCHAR(50),
+    location       VARCHAR(100),
+    created_at     TIMESTAMP,
+    CONSTRAINT spaces_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE space_amenities (
+    space_id BIGINT       NOT NULL,
+    amenity  VARCHAR(255),
+    CONSTRAINT fk_space_amenities_space FOREIGN KEY (space_id) REFERENCES spaces (id)
+);
+
+-- --- Reservas ---
+CREATE TABLE reservations (
+    id          BIGSERIAL      NOT NULL,
+    space_id    BIGINT         NOT NULL,
+    user_name   VARCHAR(100)   NOT NULL,
+    user_email  VARCHAR(100)   NOT NULL,
+    user_phone  VARCHAR(20),
+    start_time  TIMESTAMP      NOT NULL,
+    end_time    TIMESTAMP      NOT NULL,
+    status      VARCHAR(255)   NOT NULL,
+    total_price NUMERIC(10, 2) NOT NULL,
+    notes       VARCHAR(500),
+    created_at  TIMESTAMP,
+    CONSTRAINT reservations_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_reservations_space FOREIGN KEY (space_id) REFERENCES spaces (id)
+);
@@ -0,0 +1,142 @@
+-- ============================================================
+-- V2: schema das funcionalidades adicionadas sobre o schema base (V1):
+-- ids por sequence com pool, versões para concorrência otimista, histórico,
+-- séries recorrentes, lista de espera, outbox e rollups de ocupação.
+--
+-- Roda tanto em bancos novos (depois da V1) quanto em bancos criados pelo
+-- Hibernate e marcados como V1 pelo baseline. IF NOT EXISTS em tudo: bancos
+-- em que o ddl-auto=update já criou parte disto seguem sem erro.
+-- ============================================================
+
+-- --- Espaços e reservas ---
+-- Versão para concorrência otimista (@Version); linhas existentes começam em 0
+ALTER TABLE spaces ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE reservations ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_reservations_end_time ON reservations (end_time);
+
+-- Histórico: sem FK para spaces (o nome do espaço é copiado)
+CREATE TABLE IF NOT EXISTS reservations_archive (
+    id          BIGINT         NOT NULL,
+    space_id    BIGINT         NOT NULL,
+    space_name  VARCHAR(100),
+    user_name   VARCHAR(100)   NOT NULL,
+    user_email  VARCHAR(100)   NOT NULL,
+    user_phone  VARCHAR(20),
+    start_time  TIMESTAMP      NOT NULL,
+    end_time    TIMESTAMP      NOT NULL,
+    status      VARCHAR(255)   NOT NULL,
+    total_price NUMERIC(10, 2) NOT NULL,
+    notes       VARCHAR(500),
+    created_at  TIMESTAMP,
+    archived_at TIMESTAMP      NOT NULL,
+    CONSTRAINT reservations_archive_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_reservations_archive_space_start ON reservations_archive (space_id, start_time);
+CREATE INDEX IF NOT EXISTS idx_reservations_archive_email_start ON reservations_archive (user_email, start_time);
+
+-- --- Séries recorrentes ---
+CREATE TABLE IF NOT EXISTS reservation_series (
+    id                   BIGINT         NOT NULL,
+    space_id             BIGINT         NOT NULL,
+    user_name            VARCHAR(100)   NOT NULL,
+    user_email           VARCHAR(100)   NOT NULL,
+    user_phone           VARCHAR(20),
+    frequency            VARCHAR(255)   NOT NULL,
+    interval_count       INTEGER        NOT NULL,
+    days_of_week         INTEGER        NOT NULL,
+    start_date           DATE           NOT NULL,
+    until_date           DATE           NOT NULL,
+    start_time           TIME           NOT NULL,
+    end_time             TIME           NOT NULL,
+    status               VARCHAR(255)   NOT NULL,
+    price_per_occurrence NUMERIC(10, 2) NOT NULL,
+    notes                VARCHAR(500),
+    created_at           TIMESTAMP,
+    CONSTRAINT reservation_series_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_reservation_series_space FOREIGN KEY (space_id) REFERENCES spaces (id)
+);
+
+CREATE TABLE IF NOT EXISTS reservation_series_exceptions (
+    series_id       BIGINT NOT NULL,
+    occurrence_date DATE,
+    CONSTRAINT fk_reservation_series_exceptions_series FOREIGN KEY (series_id) REFERENCES reservation_series (id)
+);
+
+-- --- Lista de espera ---
+CREATE TABLE IF NOT EXISTS waitlist_entries (
+    id             BIGINT       NOT NULL,
+    space_id       BIGINT       NOT NULL,
+    user_name      VARCHAR(100) NOT NULL,
+    user_email     VARCHAR(100) NOT NULL,
+    user_phone     VARCHAR(20),
+    start_time     TIMESTAMP    NOT NULL,
+    end_time       TIMESTAMP    NOT NULL,
+    priority       INTEGER      NOT NULL,
+    status         VARCHAR(20)  NOT NULL,
+    reservation_id BIGINT,
+    notes          VARCHAR(500),
+    created_at     TIMESTAMP    NOT NULL,
+    promoted_at    TIMESTAMP,
+    CONSTRAINT waitlist_entries_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_waitlist_entries_space FOREIGN KEY (space_id) REFERENCES spaces (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_waitlist_space_status_start ON waitlist_entries (space_id, status, start_time);
+CREATE INDEX IF NOT EXISTS idx_waitlist_user_email ON waitlist_entries (user_email);
+
+-- --- Outbox de eventos ---
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id              BIGINT        NOT NULL,
+    aggregate_type  VARCHAR(50)   NOT NULL,
+    aggregate_id    BIGINT        NOT NULL,
+    event_type      VARCHAR(50)   NOT NULL,
+    payload         TEXT          NOT NULL,
+    created_at      TIMESTAMP     NOT NULL,
+    next_attempt_at TIMESTAMP     NOT NULL,
+    dispatched_at   TIMESTAMP,
+    failed_at       TIMESTAMP,
+    attempts        INTEGER       NOT NULL,
+    last_error      VARCHAR(1000),
+    CONSTRAINT outbox_events_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_pending ON outbox_events (dispatched_at, next_attempt_at);
+
+-- --- Analytics: rollups diários ---
+CREATE TABLE IF NOT EXISTS space_daily_occupancy (
+    space_id           BIGINT         NOT NULL,
+    occupancy_date     DATE           NOT NULL,
+    booked_minutes     BIGINT         NOT NULL,
+    revenue            NUMERIC(14, 2) NOT NULL,
+    reservation_count  INTEGER        NOT NULL,
+    cancellation_count INTEGER        NOT NULL,
+    updated_at         TIMESTAMP,
+    CONSTRAINT space_daily_occupancy_pkey PRIMARY KEY (space_id, occupancy_date)
+);
+
+CREATE INDEX IF NOT EXISTS idx_space_daily_occupancy_date ON space_daily_occupancy (occupancy_date);
+
+-- ------------------------------------------------------------
+-- Sequences com pool (allocationSize = 50 nas entidades): habilitam batch insert
+-- via JDBC. Posicionadas acima do maior id de cada tabela para não colidir com
+-- registros antigos (ids IDENTITY de espaços/reservas, ou de um ddl-auto=update).
+-- ------------------------------------------------------------
+CREATE SEQUENCE IF NOT EXISTS spaces_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS reservations_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS reservation_series_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS outbox_events_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS waitlist_entries_seq START WITH 1 INCREMENT BY 50;
+
+-- Ids de reservas arquivadas não podem voltar a ser gerados
+SELECT setval('spaces_seq', GREATEST((SELECT last_value FROM spaces_seq),
+    COALESCE((SELECT MAX(id) FROM spaces), 0) + 50));
+SELECT setval('reservations_seq', GREATEST((SELECT last_value FROM reservations_seq),
+    GREATEST(COALESCE((SELECT MAX(id) FROM reservations), 0), COALESCE((SELECT MAX(id) FROM reservations_archive), 0)) + 50));
+SELECT setval('reservation_series_seq', GREATEST((SELECT last_value FROM reservation_series_seq),
+    COALESCE((SELECT MAX(id) FROM reservation_series), 0) + 50));
+SELECT setval('outbox_events_seq', GREATEST((SELECT last_value FROM outbox_events_seq),
+    COALESCE((SELECT MAX(id) FROM outbox_events), 0) + 50));
+SELECT setval('waitlist_entries_seq', GREATEST((SELECT last_value FROM waitlist_entries_seq),
+    COALESCE((SELECT MAX(id) FROM waitlist_entries), 0) + 50));
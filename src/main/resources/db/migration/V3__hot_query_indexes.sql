@@ -0,0 +1,77 @@
+-- ============================================================
+-- V3: índices das consultas quentes e restrição de não sobreposição.
+-- IF NOT EXISTS: seguro em bancos vindos do ddl-auto=update (baseline na V1).
+-- Os planos são verificados por HotQueryPlanTest (EXPLAIN sem Seq Scan).
+-- ============================================================
+
+-- Conflito de horário (findConflictingReservations, existsConflictingReservation,
+-- findSpaceIdsWithConflicts, findActiveSlotsBetween):
+--   space_id = ? AND status <> 'CANCELLED' AND start_time < :end AND end_time > :start
+-- Índice parcial só com reservas ativas; end_time incluído para filtrar sem ler a tabela.
+CREATE INDEX IF NOT EXISTS idx_reservations_active_space_start
+    ON reservations (space_id, start_time) INCLUDE (end_time)
+    WHERE status <> 'CANCELLED';
+
+-- Substituídos pelo índice parcial acima; podem existir em bancos criados pelo
+-- ddl-auto=update a partir das anotações @Index da entidade
+DROP INDEX IF EXISTS idx_reservations_space_start;
+DROP INDEX IF EXISTS idx_reservations_status;
+
+-- Reservas do usuário (findSummariesByUserEmail): filtro por e-mail já na ordem (start_time, id)
+CREATE INDEX IF NOT EXISTS idx_reservations_user_email_start
+    ON reservations (user_email, start_time, id);
+
+-- Reservas de um espaço criadas após uma data (findBySpaceIdAndCreatedAtAfter)
+CREATE INDEX IF NOT EXISTS idx_reservations_space_created
+    ON reservations (space_id, created_at);
+
+-- Busca de espaços (findAvailableSpacesWithFilters): só espaços disponíveis, por tipo/capacidade/preço
+CREATE INDEX IF NOT EXISTS idx_spaces_available_type_capacity
+    ON spaces (type, capacity, price_per_hour)
+    WHERE available;
+
+-- Colunas de FK (o PostgreSQL não indexa automaticamente): fetch join de amenities,
+-- roles no login e exceções/listagens de séries
+CREATE INDEX IF NOT EXISTS idx_space_amenities_space ON space_amenities (space_id);
+CREATE INDEX IF NOT EXISTS idx_user_roles_user ON user_roles (user_id);
+CREATE INDEX IF NOT EXISTS idx_reservation_series_space ON reservation_series (space_id);
+CREATE INDEX IF NOT EXISTS idx_reservation_series_user_email ON reservation_series (user_email);
+CREATE INDEX IF NOT EXISTS idx_reservation_series_exceptions_series ON reservation_series_exceptions (series_id);
+
+-- ------------------------------------------------------------
+-- Não sobreposição garantida pelo banco: duas reservas ativas do mesmo espaço
+-- não podem ter intervalos [start_time, end_time) que se cruzam. A aplicação já
+-- verifica (índice em memória + locks por espaço); a restrição cobre escritas
+-- fora dela e múltiplas instâncias.
+-- DEFERRABLE INITIALLY DEFERRED: checada no commit. O Hibernate executa INSERTs
+-- antes de UPDATEs/DELETEs no flush, então cancelar/remover uma reserva e promover
+-- a lista de espera no mesmo horário (mesma transação) violaria uma checagem imediata.
+-- ------------------------------------------------------------
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE reservations
+    ADD CONSTRAINT ck_reservations_time_order CHECK (end_time > start_time);
+
+DO $$
+DECLARE
+    overlapping BIGINT;
+BEGIN
+    SELECT COUNT(*) INTO overlapping
+    FROM reservations a
+    JOIN reservations b
+      ON b.space_id = a.space_id
+     AND b.id > a.id
+     AND b.start_time < a.end_time
+     AND b.end_time > a.start_time
+    WHERE a.status <> 'CANCELLED' AND b.status <> 'CANCELLED';
+
+    IF overlapping > 0 THEN
+        RAISE EXCEPTION 'Existem % pares de reservas ativas sobrepostas; cancele ou ajuste-as antes de aplicar ex_reservations_no_overlap', overlapping;
+    END IF;
+END $$;
+
+ALTER TABLE reservations
+    ADD CONSTRAINT ex_reservations_no_overlap
+    EXCLUDE USING gist (space_id WITH =, tsrange(start_time, end_time, '[)') WITH &&)
+    WHERE (status <> 'CANCELLED')
+    DEFERRABLE INITIALLY DEFERRED;
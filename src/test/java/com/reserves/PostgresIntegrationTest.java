@@ -0,0 +1,63 @@
+package com.reserves;
+
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Base dos testes de integração: PostgreSQL real (Testcontainers), o mesmo banco
+ * de produção. As migrações usam recursos dele (btree_gist, EXCLUDE, índices
+ * parciais) e as consultas nativas (SKIP LOCKED, ON CONFLICT) não rodam no H2.
+ *
+ * - Um único container para toda a execução (contextos Spring em cache
+ *   continuam apontando para a mesma porta)
+ * - Testes Spring usam o banco padrão do container, migrado pelo Flyway no startup
+ * - Testes que precisam de um banco em estado controlado criam o seu (createDatabase)
+ * - Perfil "test" (application-test.properties; sem o usuário admin de desenvolvimento)
+ * - Sem Docker, as classes que estendem esta base são ignoradas
+ */
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresIntegrationTest {
+
+    protected static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    static {
+        POSTGRES.start();
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    /**
+     * Cria (ou recria, vazio) um banco separado no mesmo container.
+     *
+     * @return URL JDBC do banco criado
+     */
+    protected static String createDatabase(String name) {
+        try (Connection connection = DriverManager.getConnection(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP DATABASE IF EXISTS " + name);
+            statement.execute("CREATE DATABASE " + name);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Falha ao criar o banco " + name, e);
+        }
+        return POSTGRES.getJdbcUrl().replaceFirst("/[^/?]+(\\?|$)", "/" + name + "$1");
+    }
+
+    protected static Connection connect(String jdbcUrl) throws SQLException {
+        return DriverManager.getConnection(jdbcUrl, POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+}
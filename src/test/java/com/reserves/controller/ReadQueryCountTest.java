@@ -0,0 +1,221 @@
+package com.reserves.controller;
+
+import com.reserves.PostgresIntegrationTest;
+import com.reserves.model.RecurrenceFrequency;
+import com.reserves.model.Reservation;
+import com.reserves.model.ReservationSeries;
+import com.reserves.model.Space;
+import com.reserves.model.SpaceType;
+import com.reserves.repository.SpaceRepository;
+import com.reserves.security.JwtUtil;
+import com.reserves.service.ReservationSeriesService;
+import com.reserves.service.ReservationService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Quantidade de comandos SQL por endpoint de leitura (estatísticas do Hibernate).
+ *
+ * Cada listagem monta o DTO com uma única consulta, independente do número de
+ * linhas: um N+1 (espaço LAZY, amenities por espaço) aparece aqui como uma
+ * contagem maior. A autenticação usa um JWT com roles, que não consulta o banco.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "outbox.dispatcher.enabled=false"
+})
+@AutoConfigureMockMvc
+class ReadQueryCountTest extends PostgresIntegrationTest {
+
+    private static final int ROWS = 5;
+    private static final String EMAIL = "leitor@example.com";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationSeriesService seriesService;
+
+    @Autowired
+    private SpaceRepository spaceRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Space> spaces = new ArrayList<>();
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        spaces.clear();
+        start = LocalDate.now().plusDays(40).atTime(8, 0);
+        // Um espaço por reserva: o nome de cada espaço viria de um SELECT próprio num N+1
+        for (int i = 0; i < ROWS; i++) {
+            Space space = new Space();
+            space.setName("Sala leitura " + i);
+            space.setType(SpaceType.MEETING_ROOM);
+            space.setCapacity(10);
+            space.setPricePerHour(new BigDecimal("25.00"));
+            space.setAvailable(true);
+            space.setAmenities(new ArrayList<>(List.of("projetor", "wifi")));
+            space = spaceRepository.save(space);
+            spaces.add(space);
+
+            Reservation r = new Reservation();
+            r.setSpace(ref(space));
+            r.setUserName("Leitor");
+            r.setUserEmail(EMAIL);
+            r.setStartTime(start.plusHours(i));
+            r.setEndTime(start.plusHours(i + 1));
+            reservationService.create(r);
+        }
+    }
+
+    @Test
+    void adminListingUsesOneStatement() throws Exception {
+        long statements = countStatements(get("/api/reservations")
+                .param("spaceId", String.valueOf(spaces.get(0).getId()))
+                .header(HttpHeaders.AUTHORIZATION, bearer("admin@example.com", "ROLE_ADMIN")), 1);
+        assertThat(statements).isEqualTo(1);
+
+        statements = countStatements(get("/api/reservations")
+                .param("limit", "1000")
+                .header(HttpHeaders.AUTHORIZATION, bearer("admin@example.com", "ROLE_ADMIN")), ROWS);
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void debugListingSerializesSpaceWithAmenities() throws Exception {
+        // Sem OSIV a entidade é serializada fora da transação: espaço e amenities vêm na mesma consulta
+        statistics().clear();
+        mvc.perform(get("/api/debug/reservations")
+                        .header(HttpHeaders.AUTHORIZATION, bearer("admin@example.com", "ROLE_ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(greaterThanOrEqualTo(ROWS))))
+                .andExpect(jsonPath("$[?(@.userEmail == '" + EMAIL + "')].space.amenities[*]",
+                        hasSize(greaterThanOrEqualTo(2 * ROWS))));
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void myReservationsUseOneStatementPerSource() throws Exception {
+        ReservationSeries series = new ReservationSeries();
+        series.setSpace(ref(spaces.get(0)));
+        series.setUserName("Leitor");
+        series.setUserEmail(EMAIL);
+        series.setFrequency(RecurrenceFrequency.DAILY);
+        series.setIntervalCount(1);
+        series.setStartDate(start.toLocalDate().plusDays(1));
+        series.setUntilDate(start.toLocalDate().plusDays(3));
+        series.setStartTime(LocalTime.of(18, 0));
+        series.setEndTime(LocalTime.of(19, 0));
+        seriesService.create(series);
+
+        // Reservas avulsas (projeção com o nome do espaço) + séries (com exceções e espaço)
+        long statements = countStatements(get("/api/reservations/my")
+                .param("from", start.toLocalDate().atStartOfDay().toString())
+                .param("to", start.toLocalDate().plusDays(10).atStartOfDay().toString())
+                .header(HttpHeaders.AUTHORIZATION, bearer(EMAIL, "ROLE_USER")), ROWS + 3);
+        assertThat(statements).isEqualTo(2);
+
+        // As reservas avulsas respeitam a mesma janela das ocorrências
+        mvc.perform(get("/api/reservations/my")
+                        .param("from", start.toLocalDate().plusDays(1).atStartOfDay().toString())
+                        .param("to", start.toLocalDate().plusDays(10).atStartOfDay().toString())
+                        .header(HttpHeaders.AUTHORIZATION, bearer(EMAIL, "ROLE_USER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.spaceId == " + spaces.get(0).getId() + ")]", hasSize(3)))
+                .andExpect(jsonPath("$[*].seriesId", everyItem(notNullValue())));
+    }
+
+    @Test
+    void spaceReadsUseOneStatementOnColdCache() throws Exception {
+        String token = bearer(EMAIL, "ROLE_USER");
+
+        clearCaches();
+        assertThat(countStatements(get("/api/spaces").header(HttpHeaders.AUTHORIZATION, token), ROWS))
+                .isEqualTo(1);
+        // Em cache: nenhuma consulta
+        assertThat(countStatements(get("/api/spaces").header(HttpHeaders.AUTHORIZATION, token), ROWS))
+                .isZero();
+
+        clearCaches();
+        assertThat(countStatements(get("/api/spaces/available")
+                .param("type", "MEETING_ROOM")
+                .header(HttpHeaders.AUTHORIZATION, token), ROWS))
+                .isEqualTo(1);
+
+        clearCaches();
+        statistics().clear();
+        mvc.perform(get("/api/spaces/{id}", spaces.get(0).getId()).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.amenities", hasSize(2)));
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    /**
+     * Executa a requisição e devolve quantos comandos o Hibernate preparou nela.
+     */
+    private long countStatements(MockHttpServletRequestBuilder request, int minRows) throws Exception {
+        statistics().clear();
+        mvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(greaterThanOrEqualTo(minRows))));
+        return statistics().getPrepareStatementCount();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    private String bearer(String email, String role) {
+        return "Bearer " + jwtUtil.generateToken(new User(email, "", List.of(new SimpleGrantedAuthority(role))));
+    }
+
+    private static Space ref(Space space) {
+        Space ref = new Space();
+        ref.setId(space.getId());
+        return ref;
+    }
+}
@@ -0,0 +1,144 @@
+package com.reserves.repository;
+
+import com.reserves.PostgresIntegrationTest;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Planos das consultas quentes sobre o schema das migrações (V1..Vn, num banco novo).
+ *
+ * Em tabelas pequenas o planner prefere Seq Scan mesmo com índice; por isso os
+ * planos são avaliados com enable_seqscan = off: o que se verifica é que existe
+ * um índice capaz de atender cada consulta (sem ele, o Seq Scan continua no plano).
+ * Os SQLs reproduzem os gerados pelas consultas do ReservationRepository/SpaceRepository.
+ */
+class HotQueryPlanTest extends PostgresIntegrationTest {
+
+    private static String url;
+    private static Connection connection;
+
+    @BeforeAll
+    static void migrate() throws SQLException {
+        url = createDatabase("hot_query_plans");
+        Flyway.configure()
+                .dataSource(url, POSTGRES.getUsername(), POSTGRES.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        connection = connect(url);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO spaces (id, name, type, capacity, price_per_hour, available, version) VALUES "
+                    + "(1, 'Sala A', 'MEETING_ROOM', 10, 50.00, true, 0), "
+                    + "(2, 'Auditório', 'AUDITORIUM', 100, 200.00, true, 0)");
+            statement.execute("INSERT INTO reservations (id, space_id, user_name, user_email, start_time, end_time, "
+                    + "status, total_price, created_at, version) VALUES "
+                    + "(1, 1, 'João', 'joao@example.com', '2026-01-05 09:00', '2026-01-05 10:00', 'CONFIRMED', 50.00, now(), 0), "
+                    + "(2, 2, 'Ana', 'ana@example.com', '2026-01-05 09:00', '2026-01-05 11:00', 'CONFIRMED', 400.00, now(), 0)");
+            statement.execute("ANALYZE");
+        }
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    @Test
+    void conflictCheckUsesIndex() throws SQLException {
+        // findConflictingReservations / existsConflictingReservation
+        assertNoSeqScan("SELECT r.id FROM reservations r "
+                + "WHERE r.space_id = 1 AND r.status <> 'CANCELLED' "
+                + "AND r.start_time < TIMESTAMP '2026-01-05 11:00' AND r.end_time > TIMESTAMP '2026-01-05 09:00'",
+                "reservations");
+        // findSpaceIdsWithConflicts / findActiveSlotsBetween
+        assertNoSeqScan("SELECT r.id, r.space_id, r.start_time, r.end_time FROM reservations r "
+                + "WHERE r.space_id IN (1, 2, 3) AND r.status <> 'CANCELLED' "
+                + "AND r.start_time < TIMESTAMP '2026-01-05 11:00' AND r.end_time > TIMESTAMP '2026-01-05 09:00'",
+                "reservations");
+    }
+
+    @Test
+    void userListingUsesIndex() throws SQLException {
+        // findSummariesByUserEmail
+        assertNoSeqScan("SELECT r.id, s.id, s.name FROM reservations r JOIN spaces s ON s.id = r.space_id "
+                + "WHERE r.user_email = 'joao@example.com' AND r.end_time > TIMESTAMP '2026-01-01 00:00' "
+                + "AND r.start_time < TIMESTAMP '2026-02-01 00:00' ORDER BY r.start_time, r.id", "reservations");
+    }
+
+    @Test
+    void createdAfterUsesIndex() throws SQLException {
+        // findBySpaceIdAndCreatedAtAfter
+        assertNoSeqScan("SELECT r.id FROM reservations r "
+                + "WHERE r.space_id = 1 AND r.created_at > TIMESTAMP '2026-01-01 00:00'", "reservations");
+    }
+
+    @Test
+    void spaceFilterUsesIndex() throws SQLException {
+        // findAvailableSpacesWithFilters (fetch join das amenities)
+        assertNoSeqScan("SELECT s.id, a.amenity FROM spaces s LEFT JOIN space_amenities a ON a.space_id = s.id "
+                + "WHERE s.type = 'MEETING_ROOM' AND s.capacity >= 10 AND s.price_per_hour <= 200 AND s.available = true",
+                "spaces");
+    }
+
+    @Test
+    void archivalSelectionUsesIndex() throws SQLException {
+        // findEndedBefore
+        assertNoSeqScan("SELECT r.id FROM reservations r WHERE r.end_time < TIMESTAMP '2026-01-01 00:00' "
+                + "ORDER BY r.end_time, r.id LIMIT 1000", "reservations");
+    }
+
+    @Test
+    void exclusionConstraintRejectsOverlapAtCommit() throws SQLException {
+        try (Connection tx = connect(url)) {
+            tx.setAutoCommit(false);
+            try (Statement statement = tx.createStatement()) {
+                // Cancelada no mesmo horário: fora da restrição
+                statement.execute(insertReservation(100, 1, "2026-02-02 09:00", "2026-02-02 10:00", "CANCELLED"));
+                statement.execute(insertReservation(101, 1, "2026-02-02 09:00", "2026-02-02 10:00", "CONFIRMED"));
+                // Adiada: a sobreposição só é checada no commit
+                statement.execute(insertReservation(102, 1, "2026-02-02 09:30", "2026-02-02 10:30", "CONFIRMED"));
+            }
+            assertThatThrownBy(tx::commit)
+                    .isInstanceOf(SQLException.class)
+                    .hasMessageContaining("ex_reservations_no_overlap");
+        }
+    }
+
+    private static String insertReservation(long id, long spaceId, String start, String end, String status) {
+        return "INSERT INTO reservations (id, space_id, user_name, user_email, start_time, end_time, status, "
+                + "total_price, created_at, version) VALUES (" + id + ", " + spaceId + ", 'Teste', 'teste@example.com', '"
+                + start + "', '" + end + "', '" + status + "', 50.00, now(), 0)";
+    }
+
+    private static void assertNoSeqScan(String query, String relation) throws SQLException {
+        List<String> plan = new ArrayList<>();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET enable_seqscan = off");
+            try (ResultSet rs = statement.executeQuery("EXPLAIN " + query)) {
+                while (rs.next()) {
+                    plan.add(rs.getString(1));
+                }
+            } finally {
+                statement.execute("RESET enable_seqscan");
+            }
+        }
+        assertThat(plan)
+                .as("plano de %s", query)
+                .noneMatch(line -> line.matches(".*Seq Scan on " + relation + "( .*|$)"));
+    }
+}
@@ -0,0 +1,120 @@
+package com.reserves.repository;
+
+import com.reserves.PostgresIntegrationTest;
+import com.reserves.ReservesApplication;
+import com.reserves.model.Reservation;
+import com.reserves.model.ReservationStatus;
+import com.reserves.model.Space;
+import com.reserves.model.SpaceType;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Banco criado antes das migrações (schema base, hoje a V1, com dados): o
+ * baseline o marca como V1, as versões seguintes criam o restante do schema e a
+ * aplicação sobe com ddl-auto=validate.
+ */
+class LegacySchemaMigrationTest extends PostgresIntegrationTest {
+
+    private static final long LEGACY_MAX_SPACE_ID = 3;
+    private static final long LEGACY_MAX_RESERVATION_ID = 40;
+
+    @Test
+    void baselinedDatabaseIsMigratedAndValidated() throws Exception {
+        String url = createDatabase("legacy_schema");
+        createLegacySchema(url);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ReservesApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + url,
+                        "--spring.datasource.username=" + POSTGRES.getUsername(),
+                        "--spring.datasource.password=" + POSTGRES.getPassword(),
+                        "--outbox.dispatcher.enabled=false")) {
+
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+            List<String> applied = jdbc.queryForList(
+                    "SELECT version || ':' || type FROM flyway_schema_history WHERE success ORDER BY installed_rank",
+                    String.class);
+            assertThat(applied).startsWith("1:BASELINE").contains("2:SQL", "3:SQL");
+
+            // Linhas antigas ganham a versão 0; novas recebem ids acima dos IDENTITY existentes
+            assertThat(jdbc.queryForObject("SELECT MIN(version) FROM reservations", Long.class)).isZero();
+
+            Space space = new Space();
+            space.setName("Sala nova");
+            space.setType(SpaceType.MEETING_ROOM);
+            space.setCapacity(8);
+            space.setPricePerHour(new BigDecimal("40.00"));
+            space.setAvailable(true);
+            space = context.getBean(SpaceRepository.class).save(space);
+            assertThat(space.getId()).isGreaterThan(LEGACY_MAX_SPACE_ID);
+
+            Reservation reservation = new Reservation();
+            reservation.setSpace(space);
+            reservation.setUserName("Nova");
+            reservation.setUserEmail("nova@example.com");
+            reservation.setStartTime(LocalDateTime.of(2030, 1, 7, 9, 0));
+            reservation.setEndTime(LocalDateTime.of(2030, 1, 7, 10, 0));
+            reservation.setStatus(ReservationStatus.CONFIRMED);
+            reservation.setTotalPrice(new BigDecimal("40.00"));
+            reservation = context.getBean(ReservationRepository.class).save(reservation);
+            assertThat(reservation.getId()).isGreaterThan(LEGACY_MAX_RESERVATION_ID);
+
+            assertThat(jdbc.queryForObject(
+                    "SELECT COUNT(*) FROM pg_constraint WHERE conname = 'ex_reservations_no_overlap'", Long.class))
+                    .isEqualTo(1L);
+            // Índices antigos das anotações @Index saem: o índice parcial da V3 os substitui
+            assertThat(jdbc.queryForList("SELECT indexname FROM pg_indexes WHERE tablename = 'reservations'",
+                    String.class))
+                    .contains("idx_reservations_active_space_start")
+                    .doesNotContain("idx_reservations_space_start", "idx_reservations_status");
+        }
+    }
+
+    /**
+     * Schema base e dados como o Hibernate (ddl-auto=update, ids IDENTITY) deixava,
+     * sem histórico do Flyway. Reservas canceladas podem se sobrepor a ativas.
+     */
+    private static void createLegacySchema(String url) throws SQLException, IOException {
+        String baseline = new String(new ClassPathResource("db/migration/V1__baseline_schema.sql")
+                .getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+
+        try (Connection connection = connect(url); Statement statement = connection.createStatement()) {
+            statement.execute(baseline);
+            for (long id = 1; id <= LEGACY_MAX_SPACE_ID; id++) {
+                statement.execute("INSERT INTO spaces (id, name, type, capacity, price_per_hour, available, created_at) "
+                        + "VALUES (" + id + ", 'Sala " + id + "', 'MEETING_ROOM', 10, 50.00, true, now())");
+            }
+            for (long id = 1; id <= LEGACY_MAX_RESERVATION_ID; id++) {
+                long spaceId = id % LEGACY_MAX_SPACE_ID + 1;
+                String status = id % 4 == 0 ? "CANCELLED" : "CONFIRMED";
+                // A cada quatro, uma cancelada no mesmo espaço e horário de outra ativa
+                long slot = id % 4 == 0 ? id - 3 : id;
+                statement.execute("INSERT INTO reservations (id, space_id, user_name, user_email, start_time, end_time, "
+                        + "status, total_price, created_at) VALUES (" + id + ", " + spaceId + ", 'Cliente', 'cliente"
+                        + id + "@example.com', TIMESTAMP '2025-01-01 08:00' + interval '" + slot + " hours', "
+                        + "TIMESTAMP '2025-01-01 09:00' + interval '" + slot + " hours', '" + status + "', 50.00, now())");
+            }
+            // Índices que o ddl-auto=update criava a partir das anotações @Index de Reservation
+            statement.execute("CREATE INDEX idx_reservations_space_start ON reservations (space_id, start_time)");
+            statement.execute("CREATE INDEX idx_reservations_status ON reservations (status)");
+            statement.execute("SELECT setval('spaces_id_seq', " + LEGACY_MAX_SPACE_ID + ")");
+            statement.execute("SELECT setval('reservations_id_seq', " + LEGACY_MAX_RESERVATION_ID + ")");
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.reserves.service;
+
+import com.reserves.PostgresIntegrationTest;
+import com.reserves.exception.BadRequestException;
+import com.reserves.model.Reservation;
+import com.reserves.model.Space;
+import com.reserves.model.SpaceType;
+import com.reserves.repository.SpaceRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Carga concorrente de reservas: um espaço "quente" disputado por muitas threads
+ * e vários espaços "frios", cada um com a sua.
+ *
+ * O pool é menor que o número de threads esperando o espaço quente: como o lock
+ * do espaço vem antes da transação, quem espera não segura conexão e as reservas
+ * dos espaços frios não ficam sem conexão (connection-timeout curto).
+ * Reporta reservas/s de cada grupo no log.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "spring.datasource.hikari.connection-timeout=2000",
+        "reservation.lock.timeout-ms=60000",
+        "outbox.dispatcher.enabled=false"
+})
+class BookingStressTest extends PostgresIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingStressTest.class);
+
+    private static final int HOT_THREADS = 16;
+    private static final int COLD_SPACES = 8;
+    private static final int BOOKINGS_PER_THREAD = 20;
+    // Menos horários que tentativas no espaço quente: parte delas conflita
+    private static final int HOT_SLOTS = HOT_THREADS * BOOKINGS_PER_THREAD / 2;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private SpaceRepository spaceRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void hotSpaceDoesNotStarveColdSpaces() throws Exception {
+        Space hot = newSpace("Quente");
+        List<Space> cold = new ArrayList<>();
+        for (int i = 0; i < COLD_SPACES; i++) {
+            cold.add(newSpace("Fria " + i));
+        }
+        LocalDateTime base = LocalDate.now().plusDays(30).atStartOfDay();
+
+        AtomicInteger hotCreated = new AtomicInteger();
+        AtomicInteger hotConflicts = new AtomicInteger();
+        AtomicInteger coldCreated = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        ExecutorService pool = Executors.newFixedThreadPool(HOT_THREADS + COLD_SPACES);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> hotWorkers = new ArrayList<>();
+        List<Future<Long>> coldWorkers = new ArrayList<>();
+        try {
+            for (int t = 0; t < HOT_THREADS; t++) {
+                int thread = t;
+                hotWorkers.add(pool.submit(() -> {
+                    start.await();
+                    long begin = System.nanoTime();
+                    for (int i = 0; i < BOOKINGS_PER_THREAD; i++) {
+                        int slot = (thread * BOOKINGS_PER_THREAD + i) % HOT_SLOTS;
+                        try {
+                            reservationService.create(newReservation(hot, base.plusHours(slot)));
+                            hotCreated.incrementAndGet();
+                        } catch (BadRequestException conflict) {
+                            hotConflicts.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            failures.add(e);
+                        }
+                    }
+                    return System.nanoTime() - begin;
+                }));
+            }
+            for (Space space : cold) {
+                coldWorkers.add(pool.submit(() -> {
+                    start.await();
+                    long begin = System.nanoTime();
+                    for (int i = 0; i < BOOKINGS_PER_THREAD; i++) {
+                        try {
+                            reservationService.create(newReservation(space, base.plusHours(i)));
+                            coldCreated.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            failures.add(e);
+                        }
+                    }
+                    return System.nanoTime() - begin;
+                }));
+            }
+            start.countDown();
+
+            long hotNanos = slowest(hotWorkers);
+            long coldNanos = slowest(coldWorkers);
+            logger.info("Espaço quente: {} reservas ({} conflitos) em {} ms = {} reservas/s",
+                    hotCreated.get(), hotConflicts.get(), TimeUnit.NANOSECONDS.toMillis(hotNanos),
+                    perSecond(hotCreated.get(), hotNanos));
+            logger.info("Espaços frios: {} reservas em {} ms = {} reservas/s",
+                    coldCreated.get(), TimeUnit.NANOSECONDS.toMillis(coldNanos),
+                    perSecond(coldCreated.get(), coldNanos));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(failures).as("falhas (lock/pool esgotado)").isEmpty();
+        assertThat(hotCreated.get()).isEqualTo(HOT_SLOTS);
+        assertThat(hotCreated.get() + hotConflicts.get()).isEqualTo(HOT_THREADS * BOOKINGS_PER_THREAD);
+        assertThat(coldCreated.get()).isEqualTo(COLD_SPACES * BOOKINGS_PER_THREAD);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM reservations a JOIN reservations b "
+                + "ON a.space_id = b.space_id AND a.id < b.id "
+                + "AND a.status <> 'CANCELLED' AND b.status <> 'CANCELLED' "
+                + "AND a.start_time < b.end_time AND b.start_time < a.end_time", Long.class))
+                .as("reservas sobrepostas")
+                .isZero();
+    }
+
+    private Space newSpace(String name) {
+        Space space = new Space();
+        space.setName(name);
+        space.setType(SpaceType.MEETING_ROOM);
+        space.setCapacity(10);
+        space.setPricePerHour(new BigDecimal("50.00"));
+        space.setAvailable(true);
+        return spaceRepository.save(space);
+    }
+
+    private static Reservation newReservation(Space space, LocalDateTime start) {
+        Space ref = new Space();
+        ref.setId(space.getId());
+        Reservation r = new Reservation();
+        r.setSpace(ref);
+        r.setUserName("Carga");
+        r.setUserEmail("carga@example.com");
+        r.setStartTime(start);
+        r.setEndTime(start.plusHours(1));
+        return r;
+    }
+
+    private static long slowest(List<Future<Long>> workers) throws Exception {
+        long max = 0;
+        for (Future<Long> worker : workers) {
+            max = Math.max(max, worker.get(5, TimeUnit.MINUTES));
+        }
+        return max;
+    }
+
+    private static long perSecond(int count, long nanos) {
+        return nanos == 0 ? 0 : Math.round(count * 1e9 / nanos);
+    }
+}
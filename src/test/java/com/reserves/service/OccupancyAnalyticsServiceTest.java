@@ -0,0 +1,134 @@
+package com.reserves.service;
+
+import com.reserves.model.Reservation;
+import com.reserves.model.ReservationStatus;
+import com.reserves.model.Space;
+import com.reserves.model.SpaceDailyOccupancy;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Distribuição de uma reserva nos rollups diários (OccupancyAnalyticsService.accumulate).
+ */
+class OccupancyAnalyticsServiceTest {
+
+    private static final long SPACE_ID = 7L;
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 10);
+
+    private final Map<SpaceDailyOccupancy.Key, OccupancyAnalyticsService.Delta> deltas = new HashMap<>();
+
+    @Test
+    void splitsMinutesAtMidnightAndKeepsRevenueOnStartDay() {
+        accumulate(reservation(DAY.atTime(22, 0), DAY.plusDays(1).atTime(2, 0), ReservationStatus.CONFIRMED), 1);
+
+        assertThat(deltas).hasSize(2);
+        OccupancyAnalyticsService.Delta first = delta(DAY);
+        assertThat(first.minutes).isEqualTo(120);
+        assertThat(first.reservations).isEqualTo(1);
+        assertThat(first.revenue).isEqualByComparingTo("200.00");
+
+        OccupancyAnalyticsService.Delta second = delta(DAY.plusDays(1));
+        assertThat(second.minutes).isEqualTo(120);
+        assertThat(second.reservations).isZero();
+        assertThat(second.revenue).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void coversEveryDayOfAMultiDayReservation() {
+        accumulate(reservation(DAY.atTime(23, 0), DAY.plusDays(2).atTime(1, 0), ReservationStatus.CONFIRMED), 1);
+
+        assertThat(delta(DAY).minutes).isEqualTo(60);
+        assertThat(delta(DAY.plusDays(1)).minutes).isEqualTo(24 * 60);
+        assertThat(delta(DAY.plusDays(2)).minutes).isEqualTo(60);
+    }
+
+    @Test
+    void endingExactlyAtMidnightDoesNotTouchNextDay() {
+        accumulate(reservation(DAY.atTime(23, 0), DAY.plusDays(1).atStartOfDay(), ReservationStatus.CONFIRMED), 1);
+
+        assertThat(deltas).containsOnlyKeys(new SpaceDailyOccupancy.Key(SPACE_ID, DAY));
+        assertThat(delta(DAY).minutes).isEqualTo(60);
+    }
+
+    @Test
+    void cancelledReservationOnlyCountsTheCancellation() {
+        accumulate(reservation(DAY.atTime(22, 0), DAY.plusDays(1).atTime(2, 0), ReservationStatus.CANCELLED), 1);
+
+        assertThat(deltas).containsOnlyKeys(new SpaceDailyOccupancy.Key(SPACE_ID, DAY));
+        OccupancyAnalyticsService.Delta delta = delta(DAY);
+        assertThat(delta.cancellations).isEqualTo(1);
+        assertThat(delta.reservations).isZero();
+        assertThat(delta.minutes).isZero();
+        assertThat(delta.revenue).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void negativeSignUndoesThePositiveContribution() {
+        Reservation r = reservation(DAY.atTime(22, 0), DAY.plusDays(1).atTime(2, 0), ReservationStatus.CONFIRMED);
+        accumulate(r, 1);
+        accumulate(r, -1);
+
+        assertThat(deltas.values()).allMatch(OccupancyAnalyticsService.Delta::isZero);
+    }
+
+    @Test
+    void partialRebuildClipsDaysOutsideTheRange() {
+        Reservation r = reservation(DAY.atTime(22, 0), DAY.plusDays(1).atTime(2, 0), ReservationStatus.CONFIRMED);
+
+        // Só o segundo dia: minutos dele, sem contagem/receita (ficam no dia de início)
+        OccupancyAnalyticsService.accumulate(deltas, OccupancyAnalyticsService.Contribution.of(r), 1,
+                DAY.plusDays(1), DAY.plusDays(2));
+        assertThat(deltas).containsOnlyKeys(new SpaceDailyOccupancy.Key(SPACE_ID, DAY.plusDays(1)));
+        assertThat(delta(DAY.plusDays(1)).minutes).isEqualTo(120);
+        assertThat(delta(DAY.plusDays(1)).reservations).isZero();
+        assertThat(delta(DAY.plusDays(1)).revenue).isEqualByComparingTo("0");
+
+        // Só o primeiro dia (limite superior exclusivo)
+        deltas.clear();
+        OccupancyAnalyticsService.accumulate(deltas, OccupancyAnalyticsService.Contribution.of(r), 1,
+                DAY, DAY.plusDays(1));
+        assertThat(deltas).containsOnlyKeys(new SpaceDailyOccupancy.Key(SPACE_ID, DAY));
+        assertThat(delta(DAY).minutes).isEqualTo(120);
+        assertThat(delta(DAY).reservations).isEqualTo(1);
+        assertThat(delta(DAY).revenue).isEqualByComparingTo("200.00");
+    }
+
+    @Test
+    void partialRebuildIgnoresCancellationStartingOutsideTheRange() {
+        Reservation r = reservation(DAY.atTime(22, 0), DAY.plusDays(1).atTime(2, 0), ReservationStatus.CANCELLED);
+
+        OccupancyAnalyticsService.accumulate(deltas, OccupancyAnalyticsService.Contribution.of(r), 1,
+                DAY.plusDays(1), null);
+
+        assertThat(deltas).isEmpty();
+    }
+
+    private void accumulate(Reservation r, int sign) {
+        OccupancyAnalyticsService.accumulate(deltas, OccupancyAnalyticsService.Contribution.of(r), sign, null, null);
+    }
+
+    private OccupancyAnalyticsService.Delta delta(LocalDate day) {
+        OccupancyAnalyticsService.Delta delta = deltas.get(new SpaceDailyOccupancy.Key(SPACE_ID, day));
+        assertThat(delta).as("rollup de %s", day).isNotNull();
+        return delta;
+    }
+
+    private static Reservation reservation(LocalDateTime start, LocalDateTime end, ReservationStatus status) {
+        Space space = new Space();
+        space.setId(SPACE_ID);
+        Reservation r = new Reservation();
+        r.setSpace(space);
+        r.setStartTime(start);
+        r.setEndTime(end);
+        r.setStatus(status);
+        r.setTotalPrice(new BigDecimal("200.00"));
+        return r;
+    }
+}
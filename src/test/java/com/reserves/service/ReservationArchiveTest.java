@@ -0,0 +1,126 @@
+package com.reserves.service;
+
+import com.reserves.PostgresIntegrationTest;
+import com.reserves.model.Space;
+import com.reserves.model.SpaceType;
+import com.reserves.repository.ReservationSearchFilter;
+import com.reserves.repository.SpaceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Arquivamento em lotes (espaços travados antes da transação, limite de
+ * espaços por lote) e exportação que inclui o histórico.
+ */
+@SpringBootTest(properties = {
+        "outbox.dispatcher.enabled=false",
+        "reservation.archive.enabled=false",
+        "reservation.archive.batch-size=4",
+        "reservation.archive.max-spaces-per-batch=2"
+})
+class ReservationArchiveTest extends PostgresIntegrationTest {
+
+    private static final int SPACES = 5;
+
+    @Autowired
+    private ReservationArchiveService archiveService;
+
+    @Autowired
+    private ReservationExportService exportService;
+
+    @Autowired
+    private SpaceRepository spaceRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private String email;
+
+    @BeforeEach
+    void setUp() {
+        email = "historico-" + UUID.randomUUID() + "@example.com";
+        LocalDateTime old = LocalDate.now().minusDays(60).atTime(9, 0);
+        for (int i = 0; i < SPACES; i++) {
+            Space space = newSpace("Sala histórico " + i);
+            // Duas reservas antigas por espaço (inseridas direto: a validação recusa horários passados)
+            insert(space, old.plusHours(i), old.plusHours(i + 1));
+            insert(space, old.plusDays(1).plusHours(i), old.plusDays(1).plusHours(i + 1));
+        }
+        // Recente: fica na tabela quente
+        insert(newSpace("Sala recente"), LocalDate.now().minusDays(2).atTime(9, 0), LocalDate.now().minusDays(2).atTime(10, 0));
+    }
+
+    @Test
+    void movesEndedReservationsInBatchesLimitedBySpaces() {
+        long archived = archiveService.archiveEnded();
+
+        // Lotes de até 2 espaços e 4 linhas: todas as antigas saem, em vários lotes
+        assertThat(archived).isGreaterThanOrEqualTo(2 * SPACES);
+        assertThat(count("reservations")).isEqualTo(1);
+        assertThat(count("reservations_archive")).isEqualTo(2 * SPACES);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM reservations WHERE end_time < ?", Long.class,
+                Timestamp.valueOf(LocalDateTime.now().minusDays(30)))).isZero();
+    }
+
+    @Test
+    void exportAppendsArchivedReservationsWhenTheRangeReachesThem() {
+        archiveService.archiveEnded();
+
+        ReservationSearchFilter all = new ReservationSearchFilter();
+        all.setUserEmail(email);
+        List<String> lines = export(all);
+        assertThat(lines).hasSize(2 * SPACES + 1);
+        // Tabela quente primeiro, histórico depois
+        assertThat(lines.get(0)).contains(LocalDate.now().minusDays(2).toString());
+        assertThat(lines).doesNotHaveDuplicates();
+
+        ReservationSearchFilter recent = new ReservationSearchFilter();
+        recent.setUserEmail(email);
+        recent.setFrom(LocalDate.now().minusDays(7).atStartOfDay());
+        assertThat(export(recent)).hasSize(1);
+    }
+
+    private List<String> export(ReservationSearchFilter filter) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.export(filter, ReservationExportService.Format.NDJSON, out);
+        List<String> lines = Arrays.asList(out.toString(StandardCharsets.UTF_8).split("\n"));
+        assertThat(lines).hasSize((int) rows);
+        return lines;
+    }
+
+    private long count(String table) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE user_email = ?", Long.class, email);
+    }
+
+    private void insert(Space space, LocalDateTime start, LocalDateTime end) {
+        jdbc.update("INSERT INTO reservations (space_id, user_name, user_email, start_time, end_time, status, "
+                        + "total_price, created_at, version) VALUES (?, 'Histórico', ?, ?, ?, 'CONFIRMED', 20.00, ?, 0)",
+                space.getId(), email, Timestamp.valueOf(start), Timestamp.valueOf(end),
+                Timestamp.valueOf(start.minusDays(1)));
+    }
+
+    private Space newSpace(String name) {
+        Space space = new Space();
+        space.setName(name);
+        space.setType(SpaceType.MEETING_ROOM);
+        space.setCapacity(4);
+        space.setPricePerHour(new BigDecimal("20.00"));
+        space.setAvailable(true);
+        return spaceRepository.save(space);
+    }
+}
@@ -0,0 +1,96 @@
+package com.reserves.service;
+
+import com.reserves.PostgresIntegrationTest;
+import com.reserves.model.RecurrenceFrequency;
+import com.reserves.model.ReservationSeries;
+import com.reserves.model.Space;
+import com.reserves.model.SpaceType;
+import com.reserves.repository.SpaceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Séries publicam no outbox um SERIES_CHANGED por dia afetado, como as
+ * reservas avulsas publicam os seus eventos.
+ */
+@SpringBootTest(properties = "outbox.dispatcher.enabled=false")
+class ReservationSeriesOutboxTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private ReservationSeriesService seriesService;
+
+    @Autowired
+    private SpaceRepository spaceRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private Space space;
+    private LocalDate first;
+
+    @BeforeEach
+    void setUp() {
+        space = new Space();
+        space.setName("Sala séries");
+        space.setType(SpaceType.MEETING_ROOM);
+        space.setCapacity(6);
+        space.setPricePerHour(new BigDecimal("30.00"));
+        space.setAvailable(true);
+        space = spaceRepository.save(space);
+        first = LocalDate.now().plusDays(10);
+    }
+
+    @Test
+    void publishesOneEventPerAffectedDay() {
+        ReservationSeries series = seriesService.create(newSeries(first, first.plusDays(4)));
+        assertThat(eventDays(series.getId())).containsExactly(
+                first, first.plusDays(1), first.plusDays(2), first.plusDays(3), first.plusDays(4));
+
+        seriesService.cancelOccurrence(series.getId(), first.plusDays(2));
+        assertThat(eventDays(series.getId())).hasSize(6).endsWith(first.plusDays(2));
+
+        // O cancelamento da série libera só os dias que ainda estavam ocupados:
+        // a ocorrência cancelada fica com os eventos da criação e da exceção
+        seriesService.cancel(series.getId());
+        assertThat(eventDays(series.getId())).hasSize(10);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM outbox_events WHERE aggregate_type = 'ReservationSeries' "
+                + "AND aggregate_id = ? AND payload LIKE ?", Long.class, series.getId(),
+                "%\"startTime\":\"" + first.plusDays(2) + "%")).isEqualTo(2L);
+
+        // Cancelar de novo não publica nada
+        seriesService.cancel(series.getId());
+        assertThat(eventDays(series.getId())).hasSize(10);
+    }
+
+    private List<LocalDate> eventDays(Long seriesId) {
+        return jdbc.queryForList("SELECT CAST(CAST(payload AS json)->>'startTime' AS timestamp) FROM outbox_events "
+                        + "WHERE aggregate_type = 'ReservationSeries' AND aggregate_id = ? "
+                        + "AND event_type = 'SERIES_CHANGED' ORDER BY id", Timestamp.class, seriesId)
+                .stream().map(t -> t.toLocalDateTime().toLocalDate()).toList();
+    }
+
+    private ReservationSeries newSeries(LocalDate from, LocalDate until) {
+        ReservationSeries series = new ReservationSeries();
+        series.setSpace(space);
+        series.setUserName("Cliente");
+        series.setUserEmail("cliente@example.com");
+        series.setFrequency(RecurrenceFrequency.DAILY);
+        series.setIntervalCount(1);
+        series.setStartDate(from);
+        series.setUntilDate(until);
+        series.setStartTime(LocalTime.of(9, 0));
+        series.setEndTime(LocalTime.of(10, 0));
+        return series;
+    }
+}
@@ -0,0 +1,216 @@
+package com.reserves.service;
+
+import com.reserves.PostgresIntegrationTest;
+import com.reserves.model.Reservation;
+import com.reserves.model.Space;
+import com.reserves.model.SpaceType;
+import com.reserves.monitoring.BookingMetrics;
+import com.reserves.repository.ReservationRepository;
+import com.reserves.repository.SpaceRepository;
+import com.reserves.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Versão das reservas (@Version + ETag/If-Match): pré-condição, repetição das
+ * escritas sem If-Match e transições a partir de CANCELLED.
+ */
+@SpringBootTest(properties = "outbox.dispatcher.enabled=false")
+@AutoConfigureMockMvc
+class ReservationVersioningTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private SpaceRepository spaceRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @SpyBean
+    private BookingMetrics metrics;
+
+    private String token;
+    private Space space;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        token = jwtUtil.generateToken(new User("cliente@example.com", "",
+                List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+        space = new Space();
+        space.setName("Sala versões");
+        space.setType(SpaceType.MEETING_ROOM);
+        space.setCapacity(6);
+        space.setPricePerHour(new BigDecimal("30.00"));
+        space.setAvailable(true);
+        space = spaceRepository.save(space);
+        start = LocalDate.now().plusDays(20).atTime(9, 0);
+    }
+
+    @Test
+    void staleIfMatchIsRejectedWith412() throws Exception {
+        Reservation r = reservationService.create(newReservation());
+        assertThat(r.getVersion()).isZero();
+        reservationService.update(r.getId(), changedCopy(r, "Primeira alteração"));
+
+        putUpdate(r.getId(), "\"0\"", "Com versão antiga")
+                .andExpect(status().isPreconditionFailed());
+        mvc.perform(post("/api/reservations/{id}/cancel", r.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isPreconditionFailed());
+
+        putUpdate(r.getId(), "\"1\"", "Com versão atual")
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(jsonPath("$.notes").value("Com versão atual"));
+    }
+
+    @Test
+    void blindUpdateIsRetriedAfterConcurrentVersionBump() throws Exception {
+        Reservation r = reservationService.create(newReservation());
+
+        // Primeira tentativa: outra transação altera a linha depois da leitura e antes do flush
+        AtomicBoolean bump = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            if (bump.compareAndSet(true, false)) {
+                try (Connection connection = dataSource.getConnection();
+                     PreparedStatement statement = connection.prepareStatement(
+                             "UPDATE reservations SET version = version + 1 WHERE id = ?")) {
+                    connection.setAutoCommit(true);
+                    statement.setLong(1, r.getId());
+                    statement.executeUpdate();
+                }
+            }
+            return invocation.callRealMethod();
+        }).when(metrics).startConflictCheck();
+
+        Reservation updated = reservationService.update(r.getId(), changedCopy(r, "Depois da repetição"));
+
+        verify(metrics, times(1)).optimisticRetry("update");
+        assertThat(updated.getVersion()).isEqualTo(2L);
+        Reservation stored = reservationRepository.findById(r.getId()).orElseThrow();
+        assertThat(stored.getNotes()).isEqualTo("Depois da repetição");
+        assertThat(stored.getVersion()).isEqualTo(2L);
+    }
+
+    @Test
+    void updatingCancelledReservationIsRejectedWith400() throws Exception {
+        Reservation r = reservationService.create(newReservation());
+        reservationService.cancel(r.getId());
+
+        putUpdate(r.getId(), null, "Tentando reativar")
+                .andExpect(status().isBadRequest());
+
+        Reservation stored = reservationRepository.findById(r.getId()).orElseThrow();
+        assertThat(stored.getNotes()).isNull();
+        assertThat(stored.getStartTime()).isEqualTo(start);
+    }
+
+    @Test
+    void cancellingTwiceIsANoOp() throws Exception {
+        Reservation r = reservationService.create(newReservation());
+
+        String firstETag = cancel(r.getId()).andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CANCELLED"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        // A segunda vez devolve a mesma versão (If-Match da primeira resposta continua válido)
+        mvc.perform(post("/api/reservations/{id}/cancel", r.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .header(HttpHeaders.IF_MATCH, firstETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, firstETag));
+
+        assertThat(reservationRepository.findById(r.getId()).orElseThrow().getVersion()).isEqualTo(1L);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM outbox_events WHERE aggregate_id = ? "
+                + "AND event_type = 'RESERVATION_CANCELLED'", Long.class, r.getId())).isEqualTo(1L);
+        verify(metrics, never()).optimisticRetry(anyString());
+    }
+
+    private ResultActions putUpdate(Long id, String ifMatch, String notes) throws Exception {
+        String body = "{\"userName\":\"Cliente\",\"userEmail\":\"cliente@example.com\","
+                + "\"startTime\":\"" + start + "\",\"endTime\":\"" + start.plusHours(1) + "\","
+                + "\"notes\":\"" + notes + "\"}";
+        var request = put("/api/reservations/{id}", id)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body);
+        if (ifMatch != null) {
+            request.header(HttpHeaders.IF_MATCH, ifMatch);
+        }
+        return mvc.perform(request);
+    }
+
+    private ResultActions cancel(Long id) throws Exception {
+        return mvc.perform(post("/api/reservations/{id}/cancel", id)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+    }
+
+    private Reservation newReservation() {
+        Space ref = new Space();
+        ref.setId(space.getId());
+        Reservation r = new Reservation();
+        r.setSpace(ref);
+        r.setUserName("Cliente");
+        r.setUserEmail("cliente@example.com");
+        r.setStartTime(start);
+        r.setEndTime(start.plusHours(1));
+        return r;
+    }
+
+    private static Reservation changedCopy(Reservation r, String notes) {
+        Reservation update = new Reservation();
+        update.setUserName(r.getUserName());
+        update.setUserEmail(r.getUserEmail());
+        update.setStartTime(r.getStartTime());
+        update.setEndTime(r.getEndTime());
+        update.setNotes(notes);
+        return update;
+    }
+}
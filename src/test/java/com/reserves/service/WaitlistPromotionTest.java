@@ -0,0 +1,206 @@
+package com.reserves.service;
+
+import com.reserves.PostgresIntegrationTest;
+import com.reserves.model.Reservation;
+import com.reserves.model.ReservationStatus;
+import com.reserves.model.Space;
+import com.reserves.model.SpaceType;
+import com.reserves.model.WaitlistEntry;
+import com.reserves.model.WaitlistStatus;
+import com.reserves.repository.ReservationRepository;
+import com.reserves.repository.SpaceRepository;
+import com.reserves.repository.WaitlistEntryRepository;
+import com.reserves.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Promoção da lista de espera quando uma reserva é cancelada (ReservationService.promoteFromWaitlist).
+ */
+@SpringBootTest(properties = "outbox.dispatcher.enabled=false")
+@AutoConfigureMockMvc
+class WaitlistPromotionTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private WaitlistEntryRepository waitlistRepository;
+
+    @Autowired
+    private SpaceRepository spaceRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private MockMvc mvc;
+
+    private Space space;
+    private LocalDateTime ten;
+
+    @BeforeEach
+    void setUp() {
+        space = new Space();
+        space.setName("Sala fila");
+        space.setType(SpaceType.MEETING_ROOM);
+        space.setCapacity(8);
+        space.setPricePerHour(new BigDecimal("40.00"));
+        space.setAvailable(true);
+        space = spaceRepository.save(space);
+        ten = LocalDate.now().plusDays(15).atTime(10, 0);
+    }
+
+    @Test
+    void promotesByPriorityThenArrivalOrder() {
+        Reservation booked = book("dono@example.com", ten, ten.plusHours(1));
+        WaitlistEntry first = join("primeiro@example.com", ten, ten.plusHours(1), 0);
+        WaitlistEntry urgent = join("urgente@example.com", ten, ten.plusHours(1), 5);
+        WaitlistEntry second = join("segundo@example.com", ten, ten.plusHours(1), 0);
+
+        reservationService.cancel(booked.getId());
+
+        // Maior prioridade primeiro, mesmo tendo chegado depois
+        assertThat(statusOf(urgent)).isEqualTo(WaitlistStatus.PROMOTED);
+        assertThat(statusOf(first)).isEqualTo(WaitlistStatus.WAITING);
+        assertThat(statusOf(second)).isEqualTo(WaitlistStatus.WAITING);
+
+        // Mesma prioridade: ordem de chegada
+        reservationService.cancel(reloaded(urgent).getReservationId());
+        assertThat(statusOf(first)).isEqualTo(WaitlistStatus.PROMOTED);
+        assertThat(statusOf(second)).isEqualTo(WaitlistStatus.WAITING);
+
+        Reservation promoted = reservationRepository.findById(reloaded(first).getReservationId()).orElseThrow();
+        assertThat(promoted.getUserEmail()).isEqualTo("primeiro@example.com");
+        assertThat(promoted.getStatus()).isEqualTo(ReservationStatus.CONFIRMED);
+        assertNoOverlaps();
+    }
+
+    @Test
+    void severalSmallerEntriesFillOneFreedSlot() {
+        Reservation booked = book("dono@example.com", ten, ten.plusHours(2));
+        WaitlistEntry morning = join("a@example.com", ten, ten.plusHours(1), 0);
+        WaitlistEntry later = join("b@example.com", ten.plusHours(1), ten.plusHours(2), 0);
+
+        reservationService.cancel(booked.getId());
+
+        assertThat(statusOf(morning)).isEqualTo(WaitlistStatus.PROMOTED);
+        assertThat(statusOf(later)).isEqualTo(WaitlistStatus.PROMOTED);
+        assertNoOverlaps();
+    }
+
+    @Test
+    void skipsEntryOverlappingOneAlreadyPromotedInTheSameTransaction() {
+        Reservation booked = book("dono@example.com", ten, ten.plusHours(2));
+        WaitlistEntry whole = join("inteiro@example.com", ten, ten.plusHours(2), 0);
+        WaitlistEntry partial = join("parcial@example.com", ten.plusMinutes(30), ten.plusMinutes(90), 0);
+        WaitlistEntry outside = join("fora@example.com", ten.plusHours(1), ten.plusHours(3), 0);
+
+        reservationService.cancel(booked.getId());
+
+        // As reservas promovidas só entram no índice após o commit: a sobreposição
+        // entre pedidos precisa ser checada na própria promoção
+        assertThat(statusOf(whole)).isEqualTo(WaitlistStatus.PROMOTED);
+        assertThat(statusOf(partial)).isEqualTo(WaitlistStatus.WAITING);
+        assertThat(statusOf(outside)).isEqualTo(WaitlistStatus.WAITING);
+        assertNoOverlaps();
+    }
+
+    @Test
+    void priorityFromNonAdminIsIgnored() throws Exception {
+        book("dono@example.com", ten, ten.plusHours(1));
+        String body = "{\"spaceId\":" + space.getId() + ",\"userName\":\"Cliente\","
+                + "\"startTime\":\"" + ten + "\",\"endTime\":\"" + ten.plusHours(1) + "\",\"priority\":9}";
+
+        mvc.perform(post("/api/waitlist")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token("cliente@example.com", "ROLE_USER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.priority").value(0));
+
+        mvc.perform(post("/api/waitlist")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token("admin@example.com", "ROLE_ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.priority").value(9));
+    }
+
+    private Reservation book(String email, LocalDateTime start, LocalDateTime end) {
+        Reservation r = new Reservation();
+        r.setSpace(spaceRef());
+        r.setUserName("Cliente");
+        r.setUserEmail(email);
+        r.setStartTime(start);
+        r.setEndTime(end);
+        return reservationService.create(r);
+    }
+
+    private WaitlistEntry join(String email, LocalDateTime start, LocalDateTime end, int priority) {
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setSpace(spaceRef());
+        entry.setUserName("Cliente");
+        entry.setUserEmail(email);
+        entry.setStartTime(start);
+        entry.setEndTime(end);
+        entry.setPriority(priority);
+        return waitlistService.join(entry);
+    }
+
+    private Space spaceRef() {
+        Space ref = new Space();
+        ref.setId(space.getId());
+        return ref;
+    }
+
+    private WaitlistEntry reloaded(WaitlistEntry entry) {
+        return waitlistRepository.findById(entry.getId()).orElseThrow();
+    }
+
+    private WaitlistStatus statusOf(WaitlistEntry entry) {
+        return reloaded(entry).getStatus();
+    }
+
+    private String token(String email, String role) {
+        return jwtUtil.generateToken(new User(email, "", List.of(new SimpleGrantedAuthority(role))));
+    }
+
+    private void assertNoOverlaps() {
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM reservations a JOIN reservations b "
+                + "ON a.space_id = b.space_id AND a.id < b.id "
+                + "AND a.status <> 'CANCELLED' AND b.status <> 'CANCELLED' "
+                + "AND a.start_time < b.end_time AND b.start_time < a.end_time "
+                + "WHERE a.space_id = ?", Long.class, space.getId()))
+                .as("reservas sobrepostas")
+                .isZero();
+    }
+}